@@ -1,7 +1,9 @@
 package io.stepprflow.core;
 
 import java.time.Duration;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
@@ -57,6 +59,46 @@ public class StepprFlowProperties {
      */
     private Timeout timeout = new Timeout();
 
+    /**
+     * Workflow starter configuration.
+     */
+    private Starter starter = new Starter();
+
+    /**
+     * Admission control of workflow starts.
+     */
+    private Admission admission = new Admission();
+
+    /**
+     * Broker backlog collection.
+     */
+    private Backlog backlog = new Backlog();
+
+    /**
+     * Step dispatcher configuration.
+     */
+    private Dispatcher dispatcher = new Dispatcher();
+
+    /**
+     * In-process step chaining configuration.
+     */
+    private Chaining chaining = new Chaining();
+
+    /**
+     * Redelivery deduplication configuration.
+     */
+    private Dedup dedup = new Dedup();
+
+    /**
+     * Claim-check storage of large payloads.
+     */
+    private ClaimCheck claimCheck = new ClaimCheck();
+
+    /**
+     * Wire format of broker messages.
+     */
+    private Wire wire = new Wire();
+
     /**
      * MongoDB configuration for persistence.
      */
@@ -124,6 +166,11 @@ public class StepprFlowProperties {
         private List<String> trustedPackages =
                 List.of("io.stepprflow.core.model");
 
+        /**
+         * Delay topics for durable retry scheduling.
+         */
+        private DelayTopics delayTopics = new DelayTopics();
+
         /**
          * Kafka consumer configuration.
          */
@@ -175,6 +222,47 @@ public class StepprFlowProperties {
              */
             private int lingerMs = 5;
         }
+
+        /**
+         * Kafka delay topic configuration.
+         */
+        @Data
+        public static class DelayTopics {
+            /**
+             * Send retries to a ladder of delay topics, consumed by every
+             * instance and sent back to the workflow topic when due,
+             * instead of the retry topic polled by the monitor.
+             */
+            private boolean enabled = false;
+
+            /**
+             * Delay of each topic of the ladder.
+             */
+            private List<Duration> delays = List.of(
+                    Duration.ofSeconds(1), Duration.ofSeconds(10),
+                    Duration.ofMinutes(1), Duration.ofMinutes(10));
+
+            /**
+             * Prefix of the delay topic names, followed by the delay
+             * (for example {@code stepprflow-delay-10s}).
+             */
+            private String topicPrefix = "stepprflow-delay-";
+
+            /**
+             * Consumer group of the delay topics.
+             */
+            private String groupId = "stepprflow-delay-scheduler";
+
+            /**
+             * Partitions of auto-created delay topics.
+             */
+            private int partitions = 3;
+
+            /**
+             * Replication factor of auto-created delay topics.
+             */
+            private short replicationFactor = 1;
+        }
     }
 
     /**
@@ -208,6 +296,75 @@ public class StepprFlowProperties {
         private List<String> nonRetryableExceptions = List.of(
                 "java.lang.IllegalArgumentException"
         );
+
+        /**
+         * Random jitter applied to backoff delays, so that executions
+         * failing together do not retry together.
+         */
+        private Jitter jitter = Jitter.NONE;
+
+        /**
+         * In-memory timer for short retry delays.
+         */
+        private Timer timer = new Timer();
+
+        /**
+         * Backoff jitter strategies.
+         */
+        public enum Jitter {
+            /**
+             * Exact exponential delays.
+             */
+            NONE,
+
+            /**
+             * Uniform between zero and the exponential delay.
+             */
+            FULL,
+
+            /**
+             * Half the exponential delay, plus a uniform share of the
+             * other half.
+             */
+            EQUAL
+        }
+
+        /**
+         * In-memory retry timer configuration.
+         */
+        @Data
+        public static class Timer {
+            /**
+             * Hold retries with a short delay in a timing wheel of the
+             * worker, and send them back to the workflow topic when due,
+             * instead of going through the retry topic and the monitor's
+             * retry scheduler. Retries held in memory are lost if the
+             * process crashes.
+             */
+            private boolean enabled = false;
+
+            /**
+             * Longest delay held in memory; longer delays go through the
+             * retry topic.
+             */
+            private Duration maxDelay = Duration.ofSeconds(30);
+
+            /**
+             * Timer resolution.
+             */
+            private Duration tick = Duration.ofMillis(10);
+
+            /**
+             * Number of wheel slots.
+             */
+            private int wheelSize = 512;
+
+            /**
+             * Maximum retries held in memory; further retries go through
+             * the retry topic.
+             */
+            private int capacity = 10_000;
+        }
     }
 
     /**
@@ -297,6 +454,31 @@ public class StepprFlowProperties {
          */
         private List<String> trustedPackages =
                 List.of("io.stepprflow.core.model");
+
+        /**
+         * Delay queue configuration.
+         */
+        private DelayQueues delayQueues = new DelayQueues();
+
+        /**
+         * RabbitMQ delay queue configuration.
+         */
+        @Data
+        public static class DelayQueues {
+            /**
+             * Send retries to a ladder of per-workflow queues with a
+             * message TTL, dead-lettered back to the workflow queue when
+             * it expires, instead of the retry queue polled by the monitor.
+             */
+            private boolean enabled = true;
+
+            /**
+             * Message TTL of each queue of the ladder.
+             */
+            private List<Duration> delays = List.of(
+                    Duration.ofSeconds(1), Duration.ofSeconds(10),
+                    Duration.ofMinutes(1), Duration.ofMinutes(10));
+        }
     }
 
     /**
@@ -356,7 +538,8 @@ public class StepprFlowProperties {
     @Data
     public static class Timeout {
         /**
-         * Enable timeout enforcement.
+         * Apply the default step timeout to steps without explicit timeout.
+         * Timeouts declared with {@code @Timeout} are always enforced.
          */
         private boolean enabled = false;
 
@@ -364,6 +547,234 @@ public class StepprFlowProperties {
          * Default timeout for steps without explicit timeout.
          */
         private Duration defaultStepTimeout = Duration.ofMinutes(5);
+
+        /**
+         * Interval at which running steps are checked against their
+         * workflow deadline.
+         */
+        private Duration sweepInterval = Duration.ofSeconds(1);
+    }
+
+    /**
+     * Workflow starter configuration.
+     */
+    @Data
+    public static class Starter {
+        /**
+         * Maximum number of asynchronous starts sent but not yet
+         * acknowledged by the broker. Callers of {@code startAsync} block
+         * when the limit is reached.
+         */
+        private int maxInFlight = 10_000;
+
+        /**
+         * Maximum time a caller of {@code startAsync} waits for capacity
+         * before its start fails.
+         */
+        private Duration acquireTimeout = Duration.ofSeconds(30);
+    }
+
+    /**
+     * Admission control configuration.
+     */
+    @Data
+    public static class Admission {
+        /**
+         * Rate limit and shed workflow starts per topic.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Starts per second admitted per topic, 0 for no rate limit.
+         */
+        private double rate = 0;
+
+        /**
+         * Starts admitted at once above the rate, 0 for one second of rate.
+         */
+        private int burst = 0;
+
+        /**
+         * Rate limits by topic, overriding the default rate and burst.
+         */
+        private Map<String, Limit> topics = new HashMap<>();
+
+        /**
+         * Maximum time a start waits for the rate limit before it is
+         * rejected; 0 rejects at once.
+         */
+        private Duration maxWait = Duration.ZERO;
+
+        /**
+         * Backlog above which starts are shed, by backlog probe name
+         * (such as {@code active-workflows}, {@code consumer-lag},
+         * {@code broker-backlog} or {@code outbox-pending}). Probes without a
+         * limit are not read.
+         */
+        private Map<String, Long> backlogLimits = new HashMap<>();
+
+        /**
+         * Delay between backlog readings, in the background.
+         */
+        private Duration probeInterval = Duration.ofSeconds(1);
+
+        /**
+         * Rate limit of a topic.
+         */
+        @Data
+        public static class Limit {
+            /**
+             * Starts per second, 0 for no rate limit.
+             */
+            private double rate = 0;
+
+            /**
+             * Starts admitted at once above the rate, 0 for one second of rate.
+             */
+            private int burst = 0;
+        }
+    }
+
+    /**
+     * Broker backlog collection configuration.
+     */
+    @Data
+    public static class Backlog {
+        /**
+         * Read the consumer lag (Kafka) or queue depth (RabbitMQ) of the
+         * workflow topics in the background, and publish it as gauges.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Delay between two readings.
+         */
+        private Duration interval = Duration.ofSeconds(15);
+    }
+
+    /**
+     * Step dispatcher configuration.
+     */
+    @Data
+    public static class Dispatcher {
+        /**
+         * Run steps on virtual threads instead of the broker consumer
+         * threads.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Maximum number of messages accepted but not yet completed.
+         * RabbitMQ consumers block when the limit is reached; Kafka
+         * consumers pause their partitions.
+         */
+        private int maxInFlight = 1000;
+
+        /**
+         * Maximum time to wait for accepted messages on shutdown.
+         */
+        private Duration shutdownTimeout = Duration.ofSeconds(30);
+    }
+
+    /**
+     * In-process step chaining configuration.
+     */
+    @Data
+    public static class Chaining {
+        /**
+         * Honor {@code @Chained}; when disabled every step transition
+         * goes through the broker.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Default maximum number of steps run between two checkpoints.
+         */
+        private int maxSteps = 5;
+
+        /**
+         * Default maximum time spent between two checkpoints.
+         */
+        private Duration maxDuration = Duration.ofSeconds(1);
+    }
+
+    /**
+     * Redelivery deduplication configuration.
+     */
+    @Data
+    public static class Dedup {
+        /**
+         * Drop redelivered messages whose step was already processed.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Maximum number of processed deliveries remembered in memory.
+         */
+        private int capacity = 100_000;
+
+        /**
+         * Number of independently locked stripes of the in-memory store.
+         */
+        private int stripes = 16;
+
+        /**
+         * Also record processed deliveries in the monitor's MongoDB, so
+         * deduplication survives restarts and spans instances. Requires
+         * the monitor module.
+         */
+        private boolean persistent = false;
+    }
+
+    /**
+     * Claim-check storage of large payloads.
+     */
+    @Data
+    public static class ClaimCheck {
+        /**
+         * Store large payloads outside of broker messages, which then only
+         * carry a reference and a content hash.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Serialized payload size, in bytes, above which the payload is
+         * stored outside of the message.
+         */
+        private int threshold = 256 * 1024;
+
+        /**
+         * Directory of the filesystem payload store, used when no other
+         * payload store is configured.
+         */
+        private String directory = System.getProperty("java.io.tmpdir") + "/stepprflow-payloads";
+
+        /**
+         * Store payloads in the monitor's MongoDB (GridFS) instead of the
+         * local filesystem. Requires the monitor module.
+         */
+        private boolean gridfs = false;
+    }
+
+    /**
+     * Wire format of broker messages.
+     */
+    @Data
+    public static class Wire {
+        /**
+         * Content type of sent messages: {@code application/json} or
+         * {@code application/x-jackson-smile}. Received messages are decoded
+         * according to their own content type, whatever this setting.
+         */
+        private String contentType = "application/json";
+
+        /**
+         * Forward the received body unchanged on step transitions, with the
+         * step, status and send time in headers only. Enable once every
+         * consumer runs a version reading the envelope headers: older
+         * consumers would read the step found in the forwarded body.
+         */
+        private boolean forwardBody = false;
     }
 
     /**
@@ -0,0 +1,38 @@
+package io.stepprflow.core.admission;
+
+import io.stepprflow.core.metrics.WorkflowMetrics;
+
+/**
+ * Backlog probe reading the active workflows of a topic from the
+ * {@code stepprflow.workflow.active} gauges.
+ *
+ * <p>The gauges count the workflows seen started and not yet finished by
+ * this instance's metrics listener.
+ */
+public class ActiveWorkflowsProbe implements BacklogProbe {
+
+    /** The probe name. */
+    public static final String NAME = "active-workflows";
+
+    /** The workflow metrics. */
+    private final WorkflowMetrics metrics;
+
+    /**
+     * Create a probe.
+     *
+     * @param workflowMetrics the workflow metrics
+     */
+    public ActiveWorkflowsProbe(final WorkflowMetrics workflowMetrics) {
+        this.metrics = workflowMetrics;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public long backlog(final String topic) {
+        return metrics.getActiveWorkflows(topic);
+    }
+}
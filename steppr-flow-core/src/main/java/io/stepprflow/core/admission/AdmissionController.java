@@ -0,0 +1,246 @@
+package io.stepprflow.core.admission;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.stepprflow.core.StepprFlowProperties;
+import io.stepprflow.core.exception.WorkflowAdmissionException;
+import io.stepprflow.core.exception.WorkflowException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Admits or rejects workflow starts, per topic.
+ *
+ * <p>A start is shed while a {@link BacklogProbe} reads a backlog above its
+ * limit ({@code stepprflow.admission.backlog-limits}). The probes are read
+ * in the background every {@code probe-interval}, for the topics seen
+ * started, so that a slow probe never delays a start; the first starts of a
+ * topic are admitted until its backlog is read. A start is then rate limited by a token bucket of
+ * the topic ({@code rate} and {@code burst}, overridden under
+ * {@code topics}): a start waits for a token for up to {@code max-wait}.
+ * Rejected starts throw {@link WorkflowAdmissionException} before anything
+ * is sent.
+ *
+ * <p>When a {@link MeterRegistry} is available, the controller publishes
+ * stepprflow.admission.rejected, a counter of rejected starts tagged by
+ * topic and reason.
+ *
+ * <p>Enabled with {@code stepprflow.admission.enabled=true}.
+ */
+@Component
+@ConditionalOnProperty(prefix = "stepprflow.admission", name = "enabled", havingValue = "true")
+@Slf4j
+public class AdmissionController implements SmartLifecycle {
+
+    /** Reason of starts rejected by the rate limit. */
+    public static final String RATE_REASON = "rate";
+
+    /** The admission configuration. */
+    private final StepprFlowProperties.Admission config;
+
+    /** Probes with a backlog limit. */
+    private final List<BacklogProbe> probes;
+
+    /** The meter registry, or null. */
+    private final MeterRegistry meterRegistry;
+
+    /** Clock, in nanoseconds. */
+    private final LongSupplier nanoClock;
+
+    /** Token buckets by topic, absent for topics without rate limit. */
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    /** Topics without rate limit. */
+    private final Map<String, Boolean> unlimited = new ConcurrentHashMap<>();
+
+    /** Topics seen started, whose backlog is read. */
+    private final Set<String> probedTopics = ConcurrentHashMap.newKeySet();
+
+    /** Last backlog readings by probe and topic. */
+    private final Map<String, Long> readings = new ConcurrentHashMap<>();
+
+    /** Scheduler of the backlog readings, while running. */
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * Constructor.
+     *
+     * @param properties    the steppr-flow properties
+     * @param backlogProbes the backlog probes
+     * @param meterRegistry the meter registry (optional)
+     */
+    @Autowired
+    public AdmissionController(
+            final StepprFlowProperties properties,
+            final ObjectProvider<BacklogProbe> backlogProbes,
+            @Autowired(required = false) final MeterRegistry meterRegistry) {
+        this(properties.getAdmission(), backlogProbes.orderedStream().toList(), meterRegistry, System::nanoTime);
+    }
+
+    /**
+     * Constructor with a clock, for tests.
+     *
+     * @param admission     the admission configuration
+     * @param backlogProbes the backlog probes
+     * @param registry      the meter registry, or null
+     * @param clock         clock, in nanoseconds
+     */
+    AdmissionController(
+            final StepprFlowProperties.Admission admission,
+            final Collection<? extends BacklogProbe> backlogProbes,
+            final MeterRegistry registry,
+            final LongSupplier clock) {
+        this.config = admission;
+        this.probes = backlogProbes.stream()
+                .filter(probe -> admission.getBacklogLimits().containsKey(probe.getName()))
+                .map(BacklogProbe.class::cast)
+                .toList();
+        this.meterRegistry = registry;
+        this.nanoClock = clock;
+    }
+
+    /**
+     * Admit a start, waiting for the rate limit if needed.
+     *
+     * @param topic the workflow topic
+     * @throws WorkflowAdmissionException if the start is rejected
+     */
+    public void admit(final String topic) {
+        for (BacklogProbe probe : probes) {
+            long backlog = backlog(probe, topic);
+            long limit = config.getBacklogLimits().get(probe.getName());
+            if (backlog > limit) {
+                throw reject(topic, probe.getName(), config.getProbeInterval());
+            }
+        }
+
+        TokenBucket bucket = bucket(topic);
+        if (bucket == null) {
+            return;
+        }
+        long wait = bucket.reserve(config.getMaxWait().toNanos());
+        if (wait < 0) {
+            throw reject(topic, RATE_REASON, Duration.ofNanos(-wait));
+        }
+        if (wait > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new WorkflowException("Interrupted while waiting for admission to topic " + topic, e);
+            }
+        }
+    }
+
+    private long backlog(final BacklogProbe probe, final String topic) {
+        if (probedTopics.add(topic)) {
+            readSoon();
+        }
+        Long backlog = readings.get(probe.getName() + ":" + topic);
+        return backlog != null ? backlog : -1;
+    }
+
+    /**
+     * Read the backlog of the topics seen started.
+     */
+    void refresh() {
+        for (String topic : probedTopics) {
+            for (BacklogProbe probe : probes) {
+                long backlog;
+                try {
+                    backlog = probe.backlog(topic);
+                } catch (RuntimeException e) {
+                    log.warn("Cannot read backlog {} of topic {}: {}", probe.getName(), topic, e.getMessage());
+                    backlog = -1;
+                }
+                readings.put(probe.getName() + ":" + topic, backlog);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void start() {
+        if (scheduler != null || probes.isEmpty()) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("stepprflow-admission").daemon().factory());
+        long interval = config.getProbeInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::refreshSafely, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return scheduler != null;
+    }
+
+    private synchronized void readSoon() {
+        if (scheduler != null) {
+            scheduler.execute(this::refreshSafely);
+        }
+    }
+
+    private void refreshSafely() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            // Keep the schedule alive
+            log.error("Backlog reading failed", e);
+        }
+    }
+
+    private TokenBucket bucket(final String topic) {
+        if (unlimited.containsKey(topic)) {
+            return null;
+        }
+        TokenBucket bucket = buckets.get(topic);
+        if (bucket != null) {
+            return bucket;
+        }
+        StepprFlowProperties.Admission.Limit limit = config.getTopics().get(topic);
+        double rate = limit != null ? limit.getRate() : config.getRate();
+        int burst = limit != null ? limit.getBurst() : config.getBurst();
+        if (rate <= 0) {
+            unlimited.put(topic, Boolean.TRUE);
+            return null;
+        }
+        int capacity = burst > 0 ? burst : (int) Math.ceil(rate);
+        return buckets.computeIfAbsent(topic, t -> new TokenBucket(rate, capacity, nanoClock));
+    }
+
+    private WorkflowAdmissionException reject(final String topic, final String reason, final Duration retryAfter) {
+        if (meterRegistry != null) {
+            Counter.builder("stepprflow.admission.rejected")
+                    .description("Workflow starts rejected by admission control")
+                    .tag("topic", topic)
+                    .tag("reason", reason)
+                    .register(meterRegistry)
+                    .increment();
+        }
+        log.debug("Rejected workflow start for topic {}: {}", topic, reason);
+        return new WorkflowAdmissionException(topic, reason, retryAfter);
+    }
+}
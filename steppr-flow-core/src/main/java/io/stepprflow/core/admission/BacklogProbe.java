@@ -0,0 +1,27 @@
+package io.stepprflow.core.admission;
+
+/**
+ * Reads a backlog that workflow starts add to.
+ *
+ * <p>The admission controller sheds the starts of a topic while the backlog
+ * read by a probe is above the limit configured for its name in
+ * {@code stepprflow.admission.backlog-limits}. Probes without a limit are
+ * never read.
+ */
+public interface BacklogProbe {
+
+    /**
+     * Get the probe name, used as key of its backlog limit.
+     *
+     * @return the probe name
+     */
+    String getName();
+
+    /**
+     * Read the backlog of a topic.
+     *
+     * @param topic the workflow topic
+     * @return the backlog, or a negative value if unknown
+     */
+    long backlog(String topic);
+}
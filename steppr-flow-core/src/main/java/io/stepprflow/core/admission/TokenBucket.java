@@ -0,0 +1,67 @@
+package io.stepprflow.core.admission;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket admitting starts at a steady rate, with bursts up to its
+ * capacity.
+ *
+ * <p>A start may reserve a token not yet available: the bucket goes into
+ * debt, and the caller waits until the token would have been refilled.
+ */
+final class TokenBucket {
+
+    /** Tokens refilled per nanosecond. */
+    private final double ratePerNano;
+
+    /** Maximum number of tokens. */
+    private final double capacity;
+
+    /** Clock, in nanoseconds. */
+    private final LongSupplier nanoClock;
+
+    /** Available tokens, negative when in debt. */
+    private double tokens;
+
+    /** Time of the last refill. */
+    private long lastRefill;
+
+    /**
+     * Create a full bucket.
+     *
+     * @param ratePerSecond tokens refilled per second
+     * @param burst         maximum number of tokens
+     * @param nanoClock     clock, in nanoseconds
+     */
+    TokenBucket(final double ratePerSecond, final int burst, final LongSupplier nanoClock) {
+        this.ratePerNano = ratePerSecond / 1_000_000_000d;
+        this.capacity = Math.max(1, burst);
+        this.nanoClock = nanoClock;
+        this.tokens = capacity;
+        this.lastRefill = nanoClock.getAsLong();
+    }
+
+    /**
+     * Reserve a token.
+     *
+     * @param maxWaitNanos longest acceptable wait for the token
+     * @return the time to wait before using the reserved token, zero or
+     *         more; or, if no token can be reserved within the wait, the
+     *         negated time until one is available
+     */
+    synchronized long reserve(final long maxWaitNanos) {
+        long now = nanoClock.getAsLong();
+        tokens = Math.min(capacity, tokens + (now - lastRefill) * ratePerNano);
+        lastRefill = now;
+        if (tokens >= 1) {
+            tokens -= 1;
+            return 0;
+        }
+        long wait = (long) Math.ceil((1 - tokens) / ratePerNano);
+        if (wait > maxWaitNanos) {
+            return -wait;
+        }
+        tokens -= 1;
+        return wait;
+    }
+}
@@ -0,0 +1,14 @@
+/**
+ * Admission control of workflow starts.
+ *
+ * <p>This package provides:
+ * <ul>
+ *   <li>{@link io.stepprflow.core.admission.AdmissionController} - Rate
+ *   limits starts per topic and sheds them while a backlog is too deep</li>
+ *   <li>{@link io.stepprflow.core.admission.BacklogProbe} - Backlog probe
+ *   SPI, implemented by the broker and monitor modules</li>
+ *   <li>{@link io.stepprflow.core.admission.ActiveWorkflowsProbe} - Active
+ *   workflows of a topic, from the workflow metrics</li>
+ * </ul>
+ */
+package io.stepprflow.core.admission;
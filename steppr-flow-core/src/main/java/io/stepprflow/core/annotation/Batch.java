@@ -0,0 +1,57 @@
+package io.stepprflow.core.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs a step for many executions in one invocation.
+ *
+ * <p>The step method receives the payloads of the batch, optionally
+ * followed by their execution IDs. Messages reaching the step are grouped
+ * until the batch holds {@link #maxSize()} messages or the first one has
+ * waited for {@link #linger()}. If the method returns, every execution of
+ * the batch moves on; if it throws, each execution goes through retry and
+ * DLQ handling on its own.
+ *
+ * <p>Batches only fill when many messages are processed at once, for
+ * example with {@code stepprflow.dispatcher.enabled=true}.
+ *
+ * <p>Example usage:
+ * <pre>
+ * &#64;Step(id = 2, label = "Reserve inventory")
+ * &#64;Batch(maxSize = 200, linger = 20)
+ * public void reserve(List&lt;OrderPayload&gt; orders, List&lt;String&gt; executionIds) {
+ *     inventory.reserveAll(orders);
+ * }
+ * </pre>
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Batch {
+
+    /**
+     * Maximum number of executions per invocation.
+     *
+     * @return the maximum batch size
+     */
+    int maxSize() default 100;
+
+    /**
+     * Maximum time the first message of a batch waits for others.
+     *
+     * @return the linger time
+     */
+    long linger() default 50;
+
+    /**
+     * Time unit of {@link #linger()} (default: MILLISECONDS).
+     *
+     * @return the time unit
+     */
+    TimeUnit unit() default TimeUnit.MILLISECONDS;
+}
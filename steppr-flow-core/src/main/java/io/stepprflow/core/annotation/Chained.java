@@ -0,0 +1,55 @@
+package io.stepprflow.core.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the next step in-process, without a broker round-trip.
+ * Can be applied at class level (every step) or method level (the step
+ * after the annotated one).
+ *
+ * <p>Chained steps run back-to-back on the thread that consumed the
+ * message. A checkpoint message is sent through the broker once the chain
+ * has run {@link #maxSteps()} steps or for {@link #maxDuration()}; after a
+ * crash the workflow resumes from the last checkpoint, so chained steps
+ * may run again and must be idempotent.
+ *
+ * <p>Example usage:
+ * <pre>
+ * &#64;Topic("order-processing")
+ * &#64;Chained(maxSteps = 4)
+ * public class OrderWorkflow implements StepprFlow { }
+ * </pre>
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Chained {
+
+    /**
+     * Maximum number of steps run between two checkpoints
+     * (default: {@code stepprflow.chaining.max-steps}).
+     *
+     * @return the maximum number of steps, or 0 for the default
+     */
+    int maxSteps() default 0;
+
+    /**
+     * Maximum time spent between two checkpoints
+     * (default: {@code stepprflow.chaining.max-duration}).
+     *
+     * @return the maximum duration, or 0 for the default
+     */
+    long maxDuration() default 0;
+
+    /**
+     * Time unit of {@link #maxDuration()} (default: MILLISECONDS).
+     *
+     * @return the time unit
+     */
+    TimeUnit unit() default TimeUnit.MILLISECONDS;
+}
@@ -0,0 +1,36 @@
+package io.stepprflow.core.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Groups steps that run concurrently.
+ * Steps of a group must have consecutive IDs; the workflow moves past the
+ * group once every step of it has completed.
+ *
+ * <p>Example usage:
+ * <pre>
+ * &#64;Step(id = 2, label = "Reserve inventory")
+ * &#64;Parallel("checks")
+ * public void reserveInventory(OrderPayload payload) { }
+ *
+ * &#64;Step(id = 3, label = "Fraud check")
+ * &#64;Parallel("checks")
+ * public void fraudCheck(OrderPayload payload) { }
+ * </pre>
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Parallel {
+
+    /**
+     * Group name, unique within the workflow.
+     *
+     * @return the group name
+     */
+    String value();
+}
@@ -0,0 +1,320 @@
+package io.stepprflow.core.backlog;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.stepprflow.core.StepprFlowProperties;
+import io.stepprflow.core.admission.BacklogProbe;
+import io.stepprflow.core.service.WorkflowRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Reads the broker backlog of the workflow topics in the background.
+ *
+ * <p>Every {@code stepprflow.backlog.interval}, the {@link BacklogReader}
+ * of the broker module reads the queues of the registered topics. The last
+ * reading is kept for the monitoring API and, as the
+ * {@code broker-backlog} {@link BacklogProbe}, for admission control.
+ *
+ * <p>When a {@link MeterRegistry} is available, the collector publishes the
+ * following gauges:
+ * <ul>
+ *   <li>stepprflow.broker.backlog - Messages waiting in a queue
+ *   (by topic, queue)</li>
+ *   <li>stepprflow.broker.consumers - Consumers of a queue
+ *   (by topic, queue)</li>
+ *   <li>stepprflow.broker.topic.backlog - Messages waiting in the queues of
+ *   a topic (by topic)</li>
+ * </ul>
+ * Gauges read NaN while their queue or topic is not reported, including
+ * after a failed reading, so that a stale backlog is never reported.
+ *
+ * <p>Enabled with {@code stepprflow.backlog.enabled=true}.
+ */
+@Component
+@ConditionalOnProperty(prefix = "stepprflow.backlog", name = "enabled", havingValue = "true")
+@Slf4j
+public class BacklogCollector implements BacklogProbe, SmartLifecycle {
+
+    /** The probe name. */
+    public static final String NAME = "broker-backlog";
+
+    private static final String PREFIX = "stepprflow.broker";
+    private static final String TAG_TOPIC = "topic";
+    private static final String TAG_QUEUE = "queue";
+
+    /** The backlog reader of the broker. */
+    private final BacklogReader reader;
+
+    /** Supplier of the workflow topics. */
+    private final Supplier<? extends Collection<String>> topics;
+
+    /** The meter registry, or null. */
+    private final MeterRegistry meterRegistry;
+
+    /** Delay between readings. */
+    private final Duration interval;
+
+    /** Backlog gauge values by queue. */
+    private final Map<QueueKey, GaugeValue> queueBacklogs = new ConcurrentHashMap<>();
+
+    /** Consumer gauge values by queue. */
+    private final Map<QueueKey, GaugeValue> queueConsumers = new ConcurrentHashMap<>();
+
+    /** Backlog gauge values by topic. */
+    private final Map<String, GaugeValue> topicBacklogs = new ConcurrentHashMap<>();
+
+    /** The last reading. */
+    private volatile Reading reading = Reading.NONE;
+
+    /** Scheduler of the readings, while running. */
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * Constructor.
+     *
+     * @param properties       the steppr-flow properties
+     * @param reader           the backlog reader of the broker
+     * @param workflowRegistry the workflow registry
+     * @param meterRegistry    the meter registry (optional)
+     */
+    @Autowired
+    public BacklogCollector(
+            final StepprFlowProperties properties,
+            final BacklogReader reader,
+            final WorkflowRegistry workflowRegistry,
+            @Autowired(required = false) final MeterRegistry meterRegistry) {
+        this(reader, workflowRegistry::getTopics, meterRegistry, properties.getBacklog().getInterval());
+    }
+
+    /**
+     * Constructor with a topic supplier, for tests.
+     *
+     * @param backlogReader the backlog reader
+     * @param topicSupplier supplier of the workflow topics
+     * @param registry      the meter registry, or null
+     * @param readInterval  delay between readings
+     */
+    BacklogCollector(
+            final BacklogReader backlogReader,
+            final Supplier<? extends Collection<String>> topicSupplier,
+            final MeterRegistry registry,
+            final Duration readInterval) {
+        this.reader = backlogReader;
+        this.topics = topicSupplier;
+        this.meterRegistry = registry;
+        this.interval = readInterval;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public long backlog(final String topic) {
+        return getBacklog(topic);
+    }
+
+    /**
+     * Get the backlog of a topic, from the last reading.
+     *
+     * @param topic the workflow topic
+     * @return the messages waiting in the queues of the topic, or -1 if
+     *         unknown
+     */
+    public long getBacklog(final String topic) {
+        Long backlog = reading.topics().get(topic);
+        return backlog != null ? backlog : -1;
+    }
+
+    /**
+     * Get the backlog of every queue, from the last reading.
+     *
+     * @return the queue backlogs, empty if the last reading failed
+     */
+    public List<QueueBacklog> getQueues() {
+        return reading.queues();
+    }
+
+    /**
+     * Get the backlog of every topic, from the last reading.
+     *
+     * @return the messages waiting by topic, empty if the last reading failed
+     */
+    public Map<String, Long> getTopicBacklogs() {
+        return reading.topics();
+    }
+
+    /**
+     * Get the time of the last successful reading.
+     *
+     * @return the reading time, or null if the last reading failed
+     */
+    public Instant getCollectedAt() {
+        return reading.collectedAt();
+    }
+
+    /**
+     * Read the backlog and update the gauges.
+     */
+    void collect() {
+        List<QueueBacklog> queues;
+        try {
+            queues = List.copyOf(reader.read(topics.get()));
+        } catch (RuntimeException e) {
+            log.warn("Cannot read broker backlog: {}", e.getMessage());
+            reading = Reading.NONE;
+            queueBacklogs.values().forEach(GaugeValue::clear);
+            queueConsumers.values().forEach(GaugeValue::clear);
+            topicBacklogs.values().forEach(GaugeValue::clear);
+            return;
+        }
+
+        Map<String, Long> byTopic = new HashMap<>();
+        Set<QueueKey> reported = new HashSet<>();
+        for (QueueBacklog queue : queues) {
+            byTopic.merge(queue.topic(), queue.backlog(), Long::sum);
+            QueueKey key = new QueueKey(queue.topic(), queue.queue());
+            reported.add(key);
+            if (meterRegistry != null) {
+                queueBacklogs.computeIfAbsent(key, k -> queueGauge(PREFIX + ".backlog",
+                                "Messages waiting in a broker queue", k))
+                        .set(queue.backlog());
+                queueConsumers.computeIfAbsent(key, k -> queueGauge(PREFIX + ".consumers",
+                                "Consumers of a broker queue", k))
+                        .set(queue.consumers());
+            }
+        }
+        if (meterRegistry != null) {
+            byTopic.forEach((topic, backlog) ->
+                    topicBacklogs.computeIfAbsent(topic, this::topicGauge).set(backlog));
+        }
+        queueBacklogs.forEach((key, value) -> {
+            if (!reported.contains(key)) {
+                value.clear();
+            }
+        });
+        queueConsumers.forEach((key, value) -> {
+            if (!reported.contains(key)) {
+                value.clear();
+            }
+        });
+        topicBacklogs.forEach((topic, value) -> {
+            if (!byTopic.containsKey(topic)) {
+                value.clear();
+            }
+        });
+        reading = new Reading(queues, Map.copyOf(byTopic), Instant.now());
+    }
+
+    @Override
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("stepprflow-backlog").daemon().factory());
+        scheduler.scheduleWithFixedDelay(this::collectSafely, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return scheduler != null;
+    }
+
+    private void collectSafely() {
+        try {
+            collect();
+        } catch (RuntimeException e) {
+            // Keep the schedule alive
+            log.error("Broker backlog collection failed", e);
+        }
+    }
+
+    private GaugeValue queueGauge(final String name, final String description, final QueueKey key) {
+        GaugeValue value = new GaugeValue();
+        Gauge.builder(name, value, GaugeValue::get)
+                .tag(TAG_TOPIC, key.topic())
+                .tag(TAG_QUEUE, key.queue())
+                .description(description)
+                .register(meterRegistry);
+        return value;
+    }
+
+    private GaugeValue topicGauge(final String topic) {
+        GaugeValue value = new GaugeValue();
+        Gauge.builder(PREFIX + ".topic.backlog", value, GaugeValue::get)
+                .tag(TAG_TOPIC, topic)
+                .description("Messages waiting in the broker queues of a workflow topic")
+                .register(meterRegistry);
+        return value;
+    }
+
+    /**
+     * A queue of a topic.
+     *
+     * @param topic the workflow topic
+     * @param queue the queue name
+     */
+    private record QueueKey(String topic, String queue) {
+    }
+
+    /**
+     * A reading of the backlog.
+     *
+     * @param queues      the queue backlogs
+     * @param topics      the backlog by topic
+     * @param collectedAt the reading time, or null for no reading
+     */
+    private record Reading(List<QueueBacklog> queues, Map<String, Long> topics, Instant collectedAt) {
+
+        /** No reading. */
+        static final Reading NONE = new Reading(List.of(), Map.of(), null);
+    }
+
+    /**
+     * Value read by a gauge, NaN while unknown.
+     */
+    private static final class GaugeValue {
+
+        private volatile double value = Double.NaN;
+
+        double get() {
+            return value;
+        }
+
+        void set(final double newValue) {
+            value = newValue;
+        }
+
+        void clear() {
+            value = Double.NaN;
+        }
+    }
+}
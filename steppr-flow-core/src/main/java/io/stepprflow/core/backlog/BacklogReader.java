@@ -0,0 +1,21 @@
+package io.stepprflow.core.backlog;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Reads the backlog of the queues the workers consume, from the broker.
+ */
+public interface BacklogReader {
+
+    /**
+     * Read the backlog of the queues of workflow topics.
+     *
+     * @param topics the workflow topics
+     * @return the backlog of each queue of the topics; queues the broker
+     *         reports nothing for are left out
+     * @throws io.stepprflow.core.exception.MessageBrokerException if the
+     *         broker cannot be read
+     */
+    List<QueueBacklog> read(Collection<String> topics);
+}
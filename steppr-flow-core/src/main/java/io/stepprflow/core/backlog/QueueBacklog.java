@@ -0,0 +1,14 @@
+package io.stepprflow.core.backlog;
+
+/**
+ * Backlog of a queue consumed by the workers: a partition of a Kafka topic,
+ * or a RabbitMQ queue.
+ *
+ * @param topic     the workflow topic
+ * @param queue     the queue name, {@code <topic>-<partition>} for Kafka
+ * @param backlog   the messages waiting: consumer group lag for Kafka,
+ *                  ready messages for RabbitMQ
+ * @param consumers the consumers of the queue
+ */
+public record QueueBacklog(String topic, String queue, long backlog, int consumers) {
+}
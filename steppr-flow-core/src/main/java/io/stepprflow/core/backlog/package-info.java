@@ -0,0 +1,15 @@
+/**
+ * Broker backlog of the workflow topics.
+ *
+ * <p>This package provides:
+ * <ul>
+ *   <li>{@link io.stepprflow.core.backlog.BacklogReader} - Reads the
+ *   backlog of the queues consumed by the workers, implemented by the
+ *   broker modules</li>
+ *   <li>{@link io.stepprflow.core.backlog.QueueBacklog} - Backlog and
+ *   consumers of a Kafka partition or RabbitMQ queue</li>
+ *   <li>{@link io.stepprflow.core.backlog.BacklogCollector} - Reads the
+ *   backlog in the background and publishes it as gauges</li>
+ * </ul>
+ */
+package io.stepprflow.core.backlog;
@@ -0,0 +1,116 @@
+package io.stepprflow.core.broker;
+
+import io.stepprflow.core.exception.MessageSendException;
+import io.stepprflow.core.exception.WorkflowException;
+import io.stepprflow.core.model.WorkflowMessage;
+import io.stepprflow.core.payload.ClaimCheck;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A wrapper around MessageBroker that stores large payloads outside of the
+ * messages it sends, through the {@link ClaimCheck}.
+ *
+ * <p>Broker auto-configurations wrap their broker with this class when the
+ * claim check is enabled, so that every message sent (step, retry, DLQ,
+ * completion, resume) goes through it.
+ */
+public class ClaimCheckMessageBroker implements MessageBroker {
+
+    /** The delegate message broker. */
+    private final MessageBroker delegate;
+
+    /** The claim check. */
+    private final ClaimCheck claimCheck;
+
+    /**
+     * Constructs a new claim-check message broker.
+     *
+     * @param delegateBroker the delegate broker
+     * @param check          the claim check
+     */
+    public ClaimCheckMessageBroker(
+            final MessageBroker delegateBroker,
+            final ClaimCheck check) {
+        this.delegate = delegateBroker;
+        this.claimCheck = check;
+    }
+
+    @Override
+    public void send(final String destination, final WorkflowMessage message) {
+        delegate.send(destination, checkIn(destination, message));
+    }
+
+    @Override
+    public CompletableFuture<Void> sendAsync(
+            final String destination,
+            final WorkflowMessage message) {
+        WorkflowMessage checkedIn;
+        try {
+            checkedIn = checkIn(destination, message);
+        } catch (MessageSendException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return delegate.sendAsync(destination, checkedIn);
+    }
+
+    @Override
+    public void sendSync(final String destination, final WorkflowMessage message) {
+        delegate.sendSync(destination, checkIn(destination, message));
+    }
+
+    @Override
+    public List<CompletableFuture<Void>> sendBatch(
+            final String destination,
+            final List<WorkflowMessage> messages) {
+        List<CompletableFuture<Void>> results = new ArrayList<>(messages.size());
+        List<WorkflowMessage> checkedIn = new ArrayList<>(messages.size());
+        List<Integer> positions = new ArrayList<>(messages.size());
+        for (WorkflowMessage message : messages) {
+            try {
+                checkedIn.add(checkIn(destination, message));
+                positions.add(results.size());
+                results.add(null);
+            } catch (MessageSendException e) {
+                results.add(CompletableFuture.failedFuture(e));
+            }
+        }
+        if (!checkedIn.isEmpty()) {
+            List<CompletableFuture<Void>> sent = delegate.sendBatch(destination, checkedIn);
+            for (int i = 0; i < sent.size(); i++) {
+                results.set(positions.get(i), sent.get(i));
+            }
+        }
+        return results;
+    }
+
+    @Override
+    public String getBrokerType() {
+        return delegate.getBrokerType();
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return delegate.isAvailable();
+    }
+
+    /**
+     * Get the delegate broker.
+     *
+     * @return the delegate broker
+     */
+    public MessageBroker getDelegate() {
+        return delegate;
+    }
+
+    private WorkflowMessage checkIn(final String destination, final WorkflowMessage message) {
+        try {
+            return claimCheck.checkIn(message);
+        } catch (WorkflowException e) {
+            throw new MessageSendException(delegate.getBrokerType(), destination,
+                    message.getExecutionId(), e.getMessage(), e);
+        }
+    }
+}
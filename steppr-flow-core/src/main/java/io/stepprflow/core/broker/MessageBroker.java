@@ -2,6 +2,8 @@ package io.stepprflow.core.broker;
 
 import io.stepprflow.core.model.WorkflowMessage;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
 /**
@@ -35,6 +37,26 @@ public interface MessageBroker {
      */
     void sendSync(String destination, WorkflowMessage message);
 
+    /**
+     * Send messages to a destination as one batch.
+     *
+     * <p>Brokers send the whole batch before waiting for any
+     * acknowledgment. The default implementation sends each message with
+     * {@link #sendAsync(String, WorkflowMessage)}.
+     *
+     * @param destination the destination name
+     * @param messages    the workflow messages to send
+     * @return one future per message, in order, completing when the message
+     *         is acknowledged
+     */
+    default List<CompletableFuture<Void>> sendBatch(String destination, List<WorkflowMessage> messages) {
+        List<CompletableFuture<Void>> results = new ArrayList<>(messages.size());
+        for (WorkflowMessage message : messages) {
+            results.add(sendAsync(destination, message));
+        }
+        return results;
+    }
+
     /**
      * Get the broker type identifier.
      *
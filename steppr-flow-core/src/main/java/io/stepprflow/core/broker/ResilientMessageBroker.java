@@ -9,6 +9,7 @@ import io.stepprflow.core.exception.CircuitBreakerOpenException;
 import io.stepprflow.core.model.WorkflowMessage;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
 /**
@@ -140,6 +141,26 @@ public class ResilientMessageBroker implements MessageBroker {
         }
     }
 
+    @Override
+    public List<CompletableFuture<Void>> sendBatch(
+            final String destination,
+            final List<WorkflowMessage> messages) {
+        if (!enabled) {
+            return delegate.sendBatch(destination, messages);
+        }
+
+        try {
+            return circuitBreaker.executeSupplier(
+                    () -> delegate.sendBatch(destination, messages));
+        } catch (CallNotPermittedException e) {
+            CircuitBreakerOpenException open = new CircuitBreakerOpenException(
+                    circuitBreaker.getName(), circuitBreaker.getState(), e);
+            return messages.stream()
+                    .map(message -> CompletableFuture.<Void>failedFuture(open))
+                    .toList();
+        }
+    }
+
     @Override
     public String getBrokerType() {
         return delegate.getBrokerType();
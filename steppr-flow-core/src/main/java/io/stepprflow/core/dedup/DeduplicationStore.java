@@ -0,0 +1,29 @@
+package io.stepprflow.core.dedup;
+
+/**
+ * Store of processed delivery keys.
+ *
+ * <p>The {@link MessageDeduplicator} always keeps recent keys in memory; a
+ * bean implementing this interface adds a persistent backing store, checked
+ * when a key is not found in memory, so that deduplication survives restarts
+ * and spans instances.
+ *
+ * <p>Implementations must be thread-safe.
+ */
+public interface DeduplicationStore {
+
+    /**
+     * Check whether a delivery key was recorded as processed.
+     *
+     * @param key the delivery key
+     * @return true if the key was recorded
+     */
+    boolean contains(String key);
+
+    /**
+     * Record a delivery key as processed.
+     *
+     * @param key the delivery key
+     */
+    void add(String key);
+}
@@ -0,0 +1,97 @@
+package io.stepprflow.core.dedup;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded in-memory store of processed delivery keys.
+ *
+ * <p>Keys are spread over a fixed number of stripes by hash, each an LRU
+ * map guarded by its own lock, so concurrent consumers rarely contend. Each
+ * stripe holds at most {@code capacity / stripes} keys and evicts its least
+ * recently used key beyond that.
+ */
+public final class InMemoryDeduplicationStore implements DeduplicationStore {
+
+    /** The stripes. */
+    private final Stripe[] stripes;
+
+    /**
+     * Create a store.
+     *
+     * @param capacity    the maximum number of keys
+     * @param stripeCount the number of stripes
+     */
+    public InMemoryDeduplicationStore(final int capacity, final int stripeCount) {
+        if (capacity < 1 || stripeCount < 1) {
+            throw new IllegalArgumentException("Capacity and stripe count must be positive");
+        }
+        int count = Math.min(stripeCount, capacity);
+        int perStripe = Math.max(1, capacity / count);
+        this.stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Stripe(perStripe);
+        }
+    }
+
+    @Override
+    public boolean contains(final String key) {
+        Stripe stripe = stripeFor(key);
+        stripe.lock.lock();
+        try {
+            return stripe.keys.get(key) != null;
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    @Override
+    public void add(final String key) {
+        Stripe stripe = stripeFor(key);
+        stripe.lock.lock();
+        try {
+            stripe.keys.put(key, Boolean.TRUE);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * Get the number of keys held.
+     *
+     * @return the key count
+     */
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                size += stripe.keys.size();
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        return size;
+    }
+
+    private Stripe stripeFor(final String key) {
+        int hash = key.hashCode();
+        // Spread the high bits, as HashMap does
+        return stripes[Math.floorMod(hash ^ (hash >>> 16), stripes.length)];
+    }
+
+    private static final class Stripe {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<String, Boolean> keys;
+
+        private Stripe(final int capacity) {
+            this.keys = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<String, Boolean> eldest) {
+                    return size() > capacity;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package io.stepprflow.core.dedup;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.stepprflow.core.StepprFlowProperties;
+import io.stepprflow.core.model.WorkflowMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Drops redelivered messages that were already processed.
+ *
+ * <p>Brokers deliver at least once: a consumer rebalance, a channel close or
+ * a crash before the offset commit or ack replays messages whose step has
+ * already run. Broker listeners ask {@link #isDuplicate(WorkflowMessage)}
+ * before executing a message, and {@link #markProcessed(WorkflowMessage)}
+ * once the step executor has returned; a message is never marked before its
+ * step has run, so a crash in between leads to a re-execution, not a loss.
+ *
+ * <p>A delivery is identified by its execution ID, current step, retry
+ * attempt and send time ({@code updatedAt}, or {@code createdAt} for the
+ * first message). The send time is identical on every redelivery of a
+ * message but differs on a new send of the same step and attempt, such as a
+ * resume from the dashboard, which must run again.
+ *
+ * <p>Recent keys are kept in an {@link InMemoryDeduplicationStore}. When a
+ * {@link DeduplicationStore} bean is present, it backs the memory: keys
+ * missing from memory are looked up there, and processed keys are written
+ * to both.
+ *
+ * <p>When a {@link MeterRegistry} is available, the deduplicator publishes:
+ * <ul>
+ *   <li>stepprflow.dedup.hits - Counter of dropped duplicate deliveries</li>
+ *   <li>stepprflow.dedup.misses - Counter of deliveries let through</li>
+ * </ul>
+ *
+ * <p>Enabled with {@code stepprflow.dedup.enabled=true}.
+ */
+@Component
+@ConditionalOnProperty(prefix = "stepprflow.dedup", name = "enabled", havingValue = "true")
+@Slf4j
+public class MessageDeduplicator {
+
+    /** Recently processed keys. */
+    private final InMemoryDeduplicationStore memory;
+
+    /** The persistent backing store, or null. */
+    private final DeduplicationStore backingStore;
+
+    /** Number of dropped duplicates. */
+    private final LongAdder hits = new LongAdder();
+
+    /** Number of deliveries let through. */
+    private final LongAdder misses = new LongAdder();
+
+    /** Hit counter, or null without a meter registry. */
+    private final Counter hitCounter;
+
+    /** Miss counter, or null without a meter registry. */
+    private final Counter missCounter;
+
+    /**
+     * Constructor.
+     *
+     * @param properties    the steppr-flow properties
+     * @param backingStore  the persistent backing store (optional)
+     * @param meterRegistry the meter registry (optional)
+     */
+    @Autowired
+    public MessageDeduplicator(
+            final StepprFlowProperties properties,
+            @Autowired(required = false) final DeduplicationStore backingStore,
+            @Autowired(required = false) final MeterRegistry meterRegistry) {
+        StepprFlowProperties.Dedup config = properties.getDedup();
+        this.memory = new InMemoryDeduplicationStore(config.getCapacity(), config.getStripes());
+        this.backingStore = backingStore;
+        if (meterRegistry != null) {
+            this.hitCounter = Counter.builder("stepprflow.dedup.hits")
+                    .description("Redelivered messages dropped as already processed")
+                    .register(meterRegistry);
+            this.missCounter = Counter.builder("stepprflow.dedup.misses")
+                    .description("Messages let through the deduplication filter")
+                    .register(meterRegistry);
+        } else {
+            this.hitCounter = null;
+            this.missCounter = null;
+        }
+    }
+
+    /**
+     * Check whether a message was already processed.
+     *
+     * @param message the received message
+     * @return true if the message is a duplicate and must be dropped
+     */
+    public boolean isDuplicate(final WorkflowMessage message) {
+        String key = keyOf(message);
+        if (key == null) {
+            return false;
+        }
+        boolean duplicate = memory.contains(key) || isInBackingStore(key);
+        if (duplicate) {
+            hits.increment();
+            if (hitCounter != null) {
+                hitCounter.increment();
+            }
+            log.info("Dropping duplicate delivery: executionId={}, step={}",
+                    message.getExecutionId(), message.getCurrentStep());
+        } else {
+            misses.increment();
+            if (missCounter != null) {
+                missCounter.increment();
+            }
+        }
+        return duplicate;
+    }
+
+    /**
+     * Record a message as processed.
+     *
+     * @param message the processed message
+     */
+    public void markProcessed(final WorkflowMessage message) {
+        String key = keyOf(message);
+        if (key == null) {
+            return;
+        }
+        memory.add(key);
+        if (backingStore != null) {
+            try {
+                backingStore.add(key);
+            } catch (Exception e) {
+                // The in-memory key still covers redeliveries to this instance
+                log.warn("Failed to record processed delivery {}: {}", key, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Get the number of duplicates dropped.
+     *
+     * @return the hit count
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Get the number of deliveries let through.
+     *
+     * @return the miss count
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Build the delivery key of a message.
+     *
+     * @param message the message
+     * @return the key, or null if the message cannot be identified
+     */
+    static String keyOf(final WorkflowMessage message) {
+        Instant sentAt = message.getUpdatedAt() != null ? message.getUpdatedAt() : message.getCreatedAt();
+        if (message.getExecutionId() == null || sentAt == null) {
+            return null;
+        }
+        int attempt = message.getRetryInfo() != null ? message.getRetryInfo().getAttempt() : 0;
+        return message.getExecutionId() + ':' + message.getCurrentStep() + ':' + attempt + ':'
+                + sentAt.getEpochSecond() + '.' + sentAt.getNano();
+    }
+
+    private boolean isInBackingStore(final String key) {
+        if (backingStore == null) {
+            return false;
+        }
+        try {
+            if (backingStore.contains(key)) {
+                memory.add(key);
+                return true;
+            }
+        } catch (Exception e) {
+            // Fail open: a redundant execution is better than a dropped one
+            log.warn("Failed to look up processed delivery {}: {}", key, e.getMessage());
+        }
+        return false;
+    }
+}
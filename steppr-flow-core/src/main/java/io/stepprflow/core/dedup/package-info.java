@@ -0,0 +1,14 @@
+/**
+ * Redelivery deduplication for broker listeners.
+ *
+ * <p>This package provides:
+ * <ul>
+ *   <li>{@link io.stepprflow.core.dedup.MessageDeduplicator} - Drops
+ *   deliveries of messages that were already processed</li>
+ *   <li>{@link io.stepprflow.core.dedup.DeduplicationStore} - Store of
+ *   processed delivery keys</li>
+ *   <li>{@link io.stepprflow.core.dedup.InMemoryDeduplicationStore} -
+ *   Bounded, lock-striped in-memory store</li>
+ * </ul>
+ */
+package io.stepprflow.core.dedup;
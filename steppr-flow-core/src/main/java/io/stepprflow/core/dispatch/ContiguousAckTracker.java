@@ -0,0 +1,159 @@
+package io.stepprflow.core.dispatch;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Tracks out-of-order completion of messages received in order, and settles
+ * them with the broker only up to the last contiguous completed one.
+ *
+ * <p>One tracker is used per ordered delivery stream: a Kafka partition or a
+ * RabbitMQ channel. Messages are registered in delivery order with their
+ * sequence number (offset or delivery tag) and completed in any order. The
+ * tracker settles the completed prefix: runs of successful messages are
+ * acknowledged with a single cumulative {@link Settler#ack} on the last one;
+ * failed messages are settled individually with {@link Settler#reject}.
+ *
+ * <p>Registering a sequence number not greater than the last one (after a
+ * rebalance or a seek) discards the pending entries: they will be delivered
+ * again.
+ *
+ * <p>Instances are thread-safe; settlement callbacks are invoked under the
+ * tracker lock, so they are serialized per stream.
+ *
+ * @param <H> the broker acknowledgment handle type
+ */
+public final class ContiguousAckTracker<H> {
+
+    /**
+     * Broker-specific settlement of completed messages.
+     *
+     * @param <H> the broker acknowledgment handle type
+     */
+    public interface Settler<H> {
+
+        /**
+         * Acknowledge a message and every earlier message of the stream.
+         *
+         * @param handle the handle of the last message to acknowledge
+         */
+        void ack(H handle);
+
+        /**
+         * Settle a single failed message.
+         *
+         * @param handle the handle of the failed message
+         */
+        void reject(H handle);
+    }
+
+    /** Settlement callbacks. */
+    private final Settler<H> settler;
+
+    /** Pending entries in delivery order. */
+    private final Deque<Entry<H>> pending = new ArrayDeque<>();
+
+    /** Pending entries by sequence number. */
+    private final Map<Long, Entry<H>> bySequence = new HashMap<>();
+
+    /** Last registered sequence number. */
+    private long lastSequence = Long.MIN_VALUE;
+
+    /**
+     * Create a tracker.
+     *
+     * @param settler the settlement callbacks
+     */
+    public ContiguousAckTracker(final Settler<H> settler) {
+        this.settler = settler;
+    }
+
+    /**
+     * Register a received message, in delivery order.
+     *
+     * @param sequence the offset or delivery tag
+     * @param handle   the acknowledgment handle
+     */
+    public synchronized void register(final long sequence, final H handle) {
+        if (sequence <= lastSequence) {
+            pending.clear();
+            bySequence.clear();
+        }
+        lastSequence = sequence;
+        Entry<H> entry = new Entry<>(handle);
+        pending.addLast(entry);
+        bySequence.put(sequence, entry);
+    }
+
+    /**
+     * Withdraw the last registered message, which was not processed and will
+     * be delivered again with the same sequence number. Its redelivery does
+     * not discard the pending entries.
+     *
+     * @param sequence the offset or delivery tag of the last registered message
+     */
+    public synchronized void unregister(final long sequence) {
+        if (sequence != lastSequence) {
+            return;
+        }
+        Entry<H> entry = bySequence.remove(sequence);
+        if (entry != null) {
+            pending.removeLastOccurrence(entry);
+        }
+        lastSequence = sequence - 1;
+    }
+
+    /**
+     * Mark a message as completed and settle the contiguous completed prefix.
+     *
+     * @param sequence the offset or delivery tag
+     * @param success  whether processing succeeded
+     */
+    public synchronized void complete(final long sequence, final boolean success) {
+        Entry<H> entry = bySequence.remove(sequence);
+        if (entry == null) {
+            // Discarded by a reset
+            return;
+        }
+        entry.done = true;
+        entry.success = success;
+
+        H lastAck = null;
+        while (!pending.isEmpty() && pending.peekFirst().done) {
+            Entry<H> head = pending.pollFirst();
+            if (head.success) {
+                lastAck = head.handle;
+            } else {
+                if (lastAck != null) {
+                    settler.ack(lastAck);
+                    lastAck = null;
+                }
+                settler.reject(head.handle);
+            }
+        }
+        if (lastAck != null) {
+            settler.ack(lastAck);
+        }
+    }
+
+    /**
+     * Get the number of registered messages not yet settled.
+     *
+     * @return the pending count
+     */
+    public synchronized int getPendingCount() {
+        return pending.size();
+    }
+
+    private static final class Entry<H> {
+        private final H handle;
+        private boolean done;
+        private boolean success;
+
+        private Entry(final H handle) {
+            this.handle = handle;
+        }
+    }
+}
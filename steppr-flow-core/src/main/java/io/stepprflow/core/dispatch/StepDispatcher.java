@@ -0,0 +1,251 @@
+package io.stepprflow.core.dispatch;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.stepprflow.core.StepprFlowProperties;
+import io.stepprflow.core.model.WorkflowMessage;
+import io.stepprflow.core.service.StepExecutor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Runs workflow steps on virtual threads, decoupled from the broker
+ * consumer threads.
+ *
+ * <p>Broker listeners hand each received message to
+ * {@link #dispatch(WorkflowMessage, Consumer)} and return immediately, so
+ * throughput is no longer capped by the consumer concurrency or prefetch.
+ * Messages of the same execution run one after the other, in dispatch
+ * order; messages of different executions run concurrently.
+ *
+ * <p>At most {@code stepprflow.dispatcher.max-in-flight} messages are
+ * accepted but not completed at any time; {@code dispatch} blocks the
+ * consumer thread beyond that limit, while
+ * {@link #tryDispatch(WorkflowMessage, Runnable, Consumer)} refuses the
+ * message, for consumers that must keep polling.
+ *
+ * <p>When a {@link MeterRegistry} is available, the dispatcher publishes:
+ * <ul>
+ *   <li>stepprflow.dispatcher.inflight - Gauge of steps currently running</li>
+ *   <li>stepprflow.dispatcher.queue.depth - Gauge of accepted messages
+ *   waiting behind a running step of the same execution</li>
+ * </ul>
+ *
+ * <p>Enabled with {@code stepprflow.dispatcher.enabled=true}.
+ */
+@Component
+@ConditionalOnProperty(prefix = "stepprflow.dispatcher", name = "enabled", havingValue = "true")
+@Slf4j
+public class StepDispatcher implements DisposableBean {
+
+    /** The step executor. */
+    private final StepExecutor stepExecutor;
+
+    /** Permits for accepted, uncompleted messages. */
+    private final Semaphore permits;
+
+    /** Maximum time to wait for accepted messages on shutdown. */
+    private final Duration shutdownTimeout;
+
+    /** Executor running the lanes, one virtual thread per active lane. */
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("stepprflow-dispatch-", 0).factory());
+
+    /**
+     * Active lanes by execution ID, holding the messages queued behind the
+     * running one. A key is present while a thread runs its lane.
+     */
+    private final Map<String, Deque<Task>> lanes = new ConcurrentHashMap<>();
+
+    /** Number of steps currently running. */
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    /** Number of messages queued behind a running step. */
+    private final AtomicInteger queued = new AtomicInteger();
+
+    /**
+     * Constructor.
+     *
+     * @param stepExecutor  the step executor
+     * @param properties    the steppr-flow properties
+     * @param meterRegistry the meter registry (optional)
+     */
+    @Autowired
+    public StepDispatcher(
+            final StepExecutor stepExecutor,
+            final StepprFlowProperties properties,
+            @Autowired(required = false) final MeterRegistry meterRegistry) {
+        this.stepExecutor = stepExecutor;
+        this.permits = new Semaphore(properties.getDispatcher().getMaxInFlight());
+        this.shutdownTimeout = properties.getDispatcher().getShutdownTimeout();
+        if (meterRegistry != null) {
+            Gauge.builder("stepprflow.dispatcher.inflight", inFlight, AtomicInteger::get)
+                    .description("Workflow steps currently running on the dispatcher")
+                    .register(meterRegistry);
+            Gauge.builder("stepprflow.dispatcher.queue.depth", queued, AtomicInteger::get)
+                    .description("Messages waiting behind a running step of the same execution")
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Dispatch a message for execution.
+     *
+     * <p>The completion callback runs on the dispatcher thread once the step
+     * has been executed, with the exception thrown by the step executor, or
+     * null on success.
+     *
+     * @param message    the workflow message
+     * @param completion the completion callback
+     * @throws InterruptedException if interrupted while waiting for capacity
+     */
+    public void dispatch(
+            final WorkflowMessage message,
+            final Consumer<Exception> completion) throws InterruptedException {
+        permits.acquire();
+        submit(new Task(message, completion));
+    }
+
+    /**
+     * Dispatch a message for execution if there is capacity for it, without
+     * waiting.
+     *
+     * <p>The accepted callback runs on the calling thread before the step
+     * starts, and only when the message is accepted. The completion
+     * callback is as for {@link #dispatch(WorkflowMessage, Consumer)}.
+     *
+     * @param message    the workflow message
+     * @param accepted   the callback run once the message is accepted
+     * @param completion the completion callback
+     * @return true if the message was accepted, false if at capacity
+     */
+    public boolean tryDispatch(
+            final WorkflowMessage message,
+            final Runnable accepted,
+            final Consumer<Exception> completion) {
+        if (!permits.tryAcquire()) {
+            return false;
+        }
+        try {
+            accepted.run();
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+        submit(new Task(message, completion));
+        return true;
+    }
+
+    private void submit(final Task task) {
+        String key = task.message().getExecutionId();
+        if (key == null) {
+            executor.execute(() -> run(task));
+            return;
+        }
+
+        boolean[] start = new boolean[1];
+        lanes.compute(key, (k, lane) -> {
+            if (lane == null) {
+                start[0] = true;
+                return new ArrayDeque<>();
+            }
+            lane.addLast(task);
+            queued.incrementAndGet();
+            return lane;
+        });
+        if (start[0]) {
+            executor.execute(() -> runLane(key, task));
+        }
+    }
+
+    /**
+     * Get the number of steps currently running.
+     *
+     * @return the in-flight count
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Get the number of messages waiting behind a running step.
+     *
+     * @return the queue depth
+     */
+    public int getQueueDepth() {
+        return queued.get();
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(shutdownTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+            log.warn("Dispatcher did not drain within {}, {} steps still running, {} queued",
+                    shutdownTimeout, inFlight.get(), queued.get());
+            executor.shutdownNow();
+        }
+    }
+
+    private void runLane(final String key, final Task first) {
+        Task task = first;
+        while (task != null) {
+            run(task);
+            task = next(key);
+        }
+    }
+
+    private Task next(final String key) {
+        Task[] next = new Task[1];
+        lanes.computeIfPresent(key, (k, lane) -> {
+            next[0] = lane.pollFirst();
+            return next[0] == null ? null : lane;
+        });
+        if (next[0] != null) {
+            queued.decrementAndGet();
+        }
+        return next[0];
+    }
+
+    private void run(final Task task) {
+        inFlight.incrementAndGet();
+        Exception error = null;
+        try {
+            stepExecutor.execute(task.message());
+        } catch (Exception e) {
+            log.error("Error processing message: {}", e.getMessage(), e);
+            error = e;
+        } finally {
+            inFlight.decrementAndGet();
+            permits.release();
+        }
+        try {
+            task.completion().accept(error);
+        } catch (Exception e) {
+            log.error("Error in dispatch completion callback", e);
+        }
+    }
+
+    /**
+     * A dispatched message and its completion callback.
+     *
+     * @param message    the workflow message
+     * @param completion the completion callback
+     */
+    private record Task(WorkflowMessage message, Consumer<Exception> completion) {
+    }
+}
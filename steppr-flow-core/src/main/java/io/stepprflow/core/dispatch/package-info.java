@@ -0,0 +1,12 @@
+/**
+ * Concurrent step dispatch for broker listeners.
+ *
+ * <p>This package provides:
+ * <ul>
+ *   <li>{@link io.stepprflow.core.dispatch.StepDispatcher} - Virtual-thread
+ *   step execution with per-execution ordering</li>
+ *   <li>{@link io.stepprflow.core.dispatch.ContiguousAckTracker} - Broker
+ *   acknowledgment of the contiguous completed prefix</li>
+ * </ul>
+ */
+package io.stepprflow.core.dispatch;
@@ -0,0 +1,23 @@
+package io.stepprflow.core.exception;
+
+/**
+ * Exception thrown when a step of a parallel group fails.
+ *
+ * <p>The cause is the exception thrown by the failing step.
+ */
+public class BranchFailedException extends StepExecutionException {
+
+    /**
+     * Constructs a new branch failed exception.
+     *
+     * @param label the label of the failing step
+     * @param id the ID of the failing step
+     * @param cause the exception thrown by the step
+     */
+    public BranchFailedException(
+            final String label,
+            final int id,
+            final Throwable cause) {
+        super(label, id, String.valueOf(cause.getMessage()), cause);
+    }
+}
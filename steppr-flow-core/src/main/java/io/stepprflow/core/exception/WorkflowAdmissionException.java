@@ -0,0 +1,43 @@
+package io.stepprflow.core.exception;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Exception thrown when a workflow start is rejected by admission control.
+ *
+ * <p>The start was not sent: the caller may try again after
+ * {@link #getRetryAfter()}, for instance by answering HTTP 429 with a
+ * {@code Retry-After} header.
+ */
+@Getter
+public class WorkflowAdmissionException extends WorkflowException {
+
+    /** The workflow topic. */
+    private final String topic;
+
+    /** The reason: {@code rate}, or the name of the backlog probe over its limit. */
+    private final String reason;
+
+    /** The time after which a start may be admitted. */
+    private final Duration retryAfter;
+
+    /**
+     * Constructs a new workflow admission exception.
+     *
+     * @param topicName  the workflow topic
+     * @param why        the reason of the rejection
+     * @param retryDelay the time after which a start may be admitted
+     */
+    public WorkflowAdmissionException(
+            final String topicName,
+            final String why,
+            final Duration retryDelay) {
+        super(String.format("Workflow start rejected for topic '%s' (%s), retry after %d ms",
+                topicName, why, retryDelay.toMillis()));
+        this.topic = topicName;
+        this.reason = why;
+        this.retryAfter = retryDelay;
+    }
+}
@@ -0,0 +1,46 @@
+package io.stepprflow.core.exception;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Exception thrown when a workflow exceeds its workflow-level timeout.
+ *
+ * <p>The deadline of a workflow is its creation time plus the timeout
+ * declared with the Timeout annotation on the workflow class. Unlike
+ * {@link StepTimeoutException}, a workflow timeout is never retried: the
+ * execution is sent to the DLQ directly.
+ */
+@Getter
+public class WorkflowTimeoutException extends WorkflowException {
+
+    /** The execution ID. */
+    private final String executionId;
+
+    /** The step that was running or about to run. */
+    private final String stepLabel;
+
+    /** The configured workflow timeout. */
+    private final Duration timeout;
+
+    /**
+     * Constructs a new workflow timeout exception.
+     *
+     * @param execId          the execution ID
+     * @param label           the step that was running or about to run
+     * @param timeoutDuration the configured workflow timeout
+     */
+    public WorkflowTimeoutException(
+            final String execId,
+            final String label,
+            final Duration timeoutDuration) {
+        super(String.format(
+            "Workflow '%s' exceeded its timeout of %s at step '%s'",
+            execId, timeoutDuration, label
+        ));
+        this.executionId = execId;
+        this.stepLabel = label;
+        this.timeout = timeoutDuration;
+    }
+}
@@ -0,0 +1,20 @@
+package io.stepprflow.core.id;
+
+/**
+ * Generator of execution, correlation and outbox IDs.
+ *
+ * <p>A bean of this type replaces the default
+ * {@link TimeOrderedIdGenerator}. Implementations are called concurrently
+ * on every workflow start and must not block; for random UUIDs as in
+ * earlier versions, declare {@code () -> UUID.randomUUID().toString()}.
+ */
+@FunctionalInterface
+public interface IdGenerator {
+
+    /**
+     * Generate a new unique ID.
+     *
+     * @return the ID
+     */
+    String nextId();
+}
@@ -0,0 +1,11 @@
+/**
+ * ID generation for executions, correlations and outbox messages.
+ *
+ * <p>This package provides:
+ * <ul>
+ *   <li>{@link io.stepprflow.core.id.IdGenerator} - ID generator SPI</li>
+ *   <li>{@link io.stepprflow.core.id.TimeOrderedIdGenerator} - Default,
+ *   lock-free generator of monotonic version 7 UUIDs</li>
+ * </ul>
+ */
+package io.stepprflow.core.id;
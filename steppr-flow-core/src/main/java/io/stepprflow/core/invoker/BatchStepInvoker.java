@@ -0,0 +1,26 @@
+package io.stepprflow.core.invoker;
+
+import java.util.List;
+
+/**
+ * Compiled invoker for a {@link io.stepprflow.core.annotation.Batch} step
+ * method, already bound to its workflow handler.
+ *
+ * <p>Instances are created by {@link MethodInvokers#forBatchStep} and are
+ * thread-safe.
+ */
+@FunctionalInterface
+public interface BatchStepInvoker {
+
+    /**
+     * Invoke the step method with a batch of payloads.
+     *
+     * <p>Exceptions thrown by the step method are propagated as-is,
+     * without {@link java.lang.reflect.InvocationTargetException} wrapping.
+     *
+     * @param payloads     the deserialized payloads
+     * @param executionIds the execution IDs, in payload order
+     * @throws Throwable any exception thrown by the step method
+     */
+    void invoke(List<Object> payloads, List<String> executionIds) throws Throwable;
+}
@@ -0,0 +1,148 @@
+package io.stepprflow.core.invoker;
+
+import io.stepprflow.core.model.WorkflowMessage;
+
+import java.lang.invoke.MethodHandle;
+
+/**
+ * Compiled invoker for an {@link io.stepprflow.core.annotation.OnSuccess} or
+ * {@link io.stepprflow.core.annotation.OnFailure} callback method.
+ *
+ * <p>The argument mapping is resolved once from the method signature:
+ * <ul>
+ *   <li>no parameters</li>
+ *   <li>one parameter: {@link WorkflowMessage}, {@link Throwable} or the payload</li>
+ *   <li>two parameters: message or payload, then the error (or null if the
+ *       second parameter is not a {@link Throwable})</li>
+ * </ul>
+ * Methods with more parameters are reported as unsupported by
+ * {@link #isSupported()} and are never invoked.
+ *
+ * <p>The invoker is not bound to a handler instance; the handler is passed
+ * on each call. Instances are thread-safe.
+ */
+public final class CallbackInvoker {
+
+    /**
+     * Supplies the payload argument, only called when the callback takes one.
+     */
+    @FunctionalInterface
+    public interface PayloadResolver {
+
+        /**
+         * Resolve the payload to pass to the callback.
+         *
+         * @param message the workflow message
+         * @return the payload argument
+         * @throws Exception if the payload cannot be resolved
+         */
+        Object resolve(WorkflowMessage message) throws Exception;
+    }
+
+    /** Kind of value bound to a callback parameter. */
+    enum ArgumentKind {
+        /** The workflow message. */
+        MESSAGE,
+        /** The error, falling back to the payload when there is none. */
+        ERROR_OR_PAYLOAD,
+        /** The error (possibly null). */
+        ERROR,
+        /** The payload. */
+        PAYLOAD,
+        /** Always null. */
+        NULL
+    }
+
+    /** Callback method name, for logging. */
+    private final String methodName;
+
+    /** Declared parameter count. */
+    private final int parameterCount;
+
+    /** Handle of type (Object, Object...)void, or null when unsupported. */
+    private final MethodHandle handle;
+
+    /** Argument kinds, one per parameter. */
+    private final ArgumentKind[] arguments;
+
+    CallbackInvoker(
+            final String methodName,
+            final int parameterCount,
+            final MethodHandle handle,
+            final ArgumentKind[] arguments) {
+        this.methodName = methodName;
+        this.parameterCount = parameterCount;
+        this.handle = handle;
+        this.arguments = arguments;
+    }
+
+    /**
+     * Get the callback method name.
+     *
+     * @return the method name
+     */
+    public String getMethodName() {
+        return methodName;
+    }
+
+    /**
+     * Get the declared parameter count of the callback.
+     *
+     * @return the parameter count
+     */
+    public int getParameterCount() {
+        return parameterCount;
+    }
+
+    /**
+     * Whether the callback signature is supported.
+     *
+     * @return true if the callback can be invoked
+     */
+    public boolean isSupported() {
+        return handle != null;
+    }
+
+    /**
+     * Invoke the callback.
+     *
+     * @param handler  the workflow handler instance
+     * @param message  the workflow message
+     * @param error    the error (null for success callbacks)
+     * @param resolver resolves the payload argument when needed
+     * @throws Throwable any exception thrown by the callback or the resolver
+     */
+    public void invoke(
+            final Object handler,
+            final WorkflowMessage message,
+            final Throwable error,
+            final PayloadResolver resolver) throws Throwable {
+        if (handle == null) {
+            return;
+        }
+        switch (arguments.length) {
+            case 0 -> handle.invokeExact(handler);
+            case 1 -> handle.invokeExact(handler,
+                    argument(arguments[0], message, error, resolver));
+            case 2 -> handle.invokeExact(handler,
+                    argument(arguments[0], message, error, resolver),
+                    argument(arguments[1], message, error, resolver));
+            default -> throw new IllegalStateException(
+                    "Unsupported callback arity: " + arguments.length);
+        }
+    }
+
+    private static Object argument(
+            final ArgumentKind kind,
+            final WorkflowMessage message,
+            final Throwable error,
+            final PayloadResolver resolver) throws Exception {
+        return switch (kind) {
+            case MESSAGE -> message;
+            case ERROR -> error;
+            case ERROR_OR_PAYLOAD -> error != null ? error : resolver.resolve(message);
+            case PAYLOAD -> resolver.resolve(message);
+            case NULL -> null;
+        };
+    }
+}
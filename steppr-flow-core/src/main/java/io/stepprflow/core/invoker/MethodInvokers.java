@@ -0,0 +1,200 @@
+package io.stepprflow.core.invoker;
+
+import io.stepprflow.core.exception.WorkflowDefinitionException;
+import io.stepprflow.core.invoker.CallbackInvoker.ArgumentKind;
+import io.stepprflow.core.model.WorkflowMessage;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.List;
+
+/**
+ * Compiles reflective {@link Method}s into {@link StepInvoker},
+ * {@link BatchStepInvoker} and {@link CallbackInvoker} instances.
+ *
+ * <p>Step methods are compiled with {@link LambdaMetafactory} into a
+ * generated {@link StepInvoker} implementation that calls the method
+ * directly, so the JIT can inline the call like any other virtual call.
+ * When that is not possible (static or primitive-typed methods, restricted
+ * class loaders), a {@link MethodHandle} bound to the handler is used instead.
+ * Both avoid the per-call access checks and argument array allocation of
+ * {@link Method#invoke}.
+ */
+@Slf4j
+public final class MethodInvokers {
+
+    /** SAM type of {@link StepInvoker#invoke(Object)}. */
+    private static final MethodType STEP_SAM_TYPE =
+            MethodType.methodType(void.class, Object.class);
+
+    /** SAM type of {@link BatchStepInvoker#invoke(List, List)}. */
+    private static final MethodType BATCH_SAM_TYPE =
+            MethodType.methodType(void.class, List.class, List.class);
+
+    private MethodInvokers() {
+        // Utility class
+    }
+
+    /**
+     * Compile a step method bound to its handler.
+     *
+     * <p>Step methods take the payload as their single parameter, or no
+     * parameter at all. Other signatures compile to an invoker that throws
+     * {@link IllegalArgumentException}, matching {@link Method#invoke}.
+     *
+     * @param method  the step method
+     * @param handler the workflow handler instance
+     * @return the compiled invoker
+     * @throws WorkflowDefinitionException if the method cannot be accessed
+     */
+    public static StepInvoker forStep(final Method method, final Object handler) {
+        int parameterCount = method.getParameterCount();
+        if (parameterCount > 1) {
+            String error = "Step method " + method.getName()
+                    + " must declare at most one parameter, found " + parameterCount;
+            return payload -> {
+                throw new IllegalArgumentException(error);
+            };
+        }
+
+        StepInvoker lambda = tryMetafactory(method, handler);
+        if (lambda != null) {
+            return lambda;
+        }
+
+        MethodHandle target = unreflect(method);
+        if (!Modifier.isStatic(method.getModifiers())) {
+            target = target.bindTo(handler);
+        }
+        if (parameterCount == 0) {
+            target = MethodHandles.dropArguments(target, 0, Object.class);
+        }
+        MethodHandle bound = target.asType(STEP_SAM_TYPE);
+        return payload -> {
+            bound.invokeExact(payload);
+        };
+    }
+
+    /**
+     * Compile a batch step method bound to its handler.
+     *
+     * <p>Batch step methods take the list of payloads, optionally followed
+     * by the list of execution IDs. Other signatures compile to an invoker
+     * that throws {@link IllegalArgumentException}.
+     *
+     * @param method  the batch step method
+     * @param handler the workflow handler instance
+     * @return the compiled invoker
+     * @throws WorkflowDefinitionException if the method cannot be accessed
+     */
+    public static BatchStepInvoker forBatchStep(final Method method, final Object handler) {
+        Class<?>[] paramTypes = method.getParameterTypes();
+        boolean valid = (paramTypes.length == 1 || paramTypes.length == 2)
+                && paramTypes[0].isAssignableFrom(List.class)
+                && (paramTypes.length == 1 || paramTypes[1].isAssignableFrom(List.class));
+        if (!valid) {
+            String error = "Batch step method " + method.getName()
+                    + " must declare (List payloads) or (List payloads, List executionIds)";
+            return (payloads, executionIds) -> {
+                throw new IllegalArgumentException(error);
+            };
+        }
+
+        MethodHandle target = unreflect(method);
+        if (!Modifier.isStatic(method.getModifiers())) {
+            target = target.bindTo(handler);
+        }
+        if (paramTypes.length == 1) {
+            target = MethodHandles.dropArguments(target, 1, List.class);
+        }
+        MethodHandle bound = target.asType(BATCH_SAM_TYPE);
+        return (payloads, executionIds) -> {
+            bound.invokeExact(payloads, executionIds);
+        };
+    }
+
+    /**
+     * Compile a callback method.
+     *
+     * @param method the OnSuccess or OnFailure method
+     * @return the compiled invoker
+     * @throws WorkflowDefinitionException if the method cannot be accessed
+     */
+    public static CallbackInvoker forCallback(final Method method) {
+        Class<?>[] paramTypes = method.getParameterTypes();
+        ArgumentKind[] arguments;
+        if (paramTypes.length == 0) {
+            arguments = new ArgumentKind[0];
+        } else if (paramTypes.length == 1) {
+            arguments = new ArgumentKind[] {singleArgument(paramTypes[0])};
+        } else if (paramTypes.length == 2) {
+            arguments = new ArgumentKind[] {
+                    WorkflowMessage.class.isAssignableFrom(paramTypes[0])
+                            ? ArgumentKind.MESSAGE : ArgumentKind.PAYLOAD,
+                    Throwable.class.isAssignableFrom(paramTypes[1])
+                            ? ArgumentKind.ERROR : ArgumentKind.NULL};
+        } else {
+            return new CallbackInvoker(method.getName(), paramTypes.length, null, null);
+        }
+
+        MethodHandle handle = unreflect(method);
+        if (Modifier.isStatic(method.getModifiers())) {
+            handle = MethodHandles.dropArguments(handle, 0, Object.class);
+        }
+        handle = handle.asType(MethodType.genericMethodType(paramTypes.length + 1)
+                .changeReturnType(void.class));
+        return new CallbackInvoker(method.getName(), paramTypes.length, handle, arguments);
+    }
+
+    private static ArgumentKind singleArgument(final Class<?> paramType) {
+        if (WorkflowMessage.class.isAssignableFrom(paramType)) {
+            return ArgumentKind.MESSAGE;
+        }
+        if (Throwable.class.isAssignableFrom(paramType)) {
+            return ArgumentKind.ERROR_OR_PAYLOAD;
+        }
+        return ArgumentKind.PAYLOAD;
+    }
+
+    private static StepInvoker tryMetafactory(final Method method, final Object handler) {
+        if (Modifier.isStatic(method.getModifiers()) || method.getParameterCount() != 1
+                || method.getParameterTypes()[0].isPrimitive()) {
+            return null;
+        }
+        Class<?> declaringClass = method.getDeclaringClass();
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(
+                    declaringClass, MethodHandles.lookup());
+            MethodHandle implementation = lookup.unreflect(method);
+            CallSite site = LambdaMetafactory.metafactory(
+                    lookup,
+                    "invoke",
+                    MethodType.methodType(StepInvoker.class, declaringClass),
+                    STEP_SAM_TYPE,
+                    implementation,
+                    MethodType.methodType(void.class, method.getParameterTypes()[0]));
+            return (StepInvoker) site.getTarget().invoke(handler);
+        } catch (Throwable e) {
+            log.debug("LambdaMetafactory unavailable for {}.{}, using method handle: {}",
+                    declaringClass.getSimpleName(), method.getName(), e.toString());
+            return null;
+        }
+    }
+
+    private static MethodHandle unreflect(final Method method) {
+        try {
+            method.setAccessible(true);
+            return MethodHandles.lookup().unreflect(method);
+        } catch (RuntimeException | IllegalAccessException e) {
+            throw new WorkflowDefinitionException(
+                    method.getDeclaringClass().getName(),
+                    "cannot access method " + method.getName(), e);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package io.stepprflow.core.invoker;
+
+/**
+ * Compiled invoker for a {@link io.stepprflow.core.annotation.Step} method,
+ * already bound to its workflow handler.
+ *
+ * <p>Instances are created by {@link MethodInvokers#forStep} and are
+ * thread-safe.
+ */
+@FunctionalInterface
+public interface StepInvoker {
+
+    /**
+     * Invoke the step method with the given payload.
+     *
+     * <p>Exceptions thrown by the step method are propagated as-is,
+     * without {@link java.lang.reflect.InvocationTargetException} wrapping.
+     *
+     * @param payload the deserialized payload (may be null)
+     * @throws Throwable any exception thrown by the step method
+     */
+    void invoke(Object payload) throws Throwable;
+}
@@ -0,0 +1,13 @@
+/**
+ * Pre-compiled invokers for workflow step and callback methods.
+ *
+ * <p>Step and callback methods are discovered by reflection once, at
+ * registration time, and compiled into direct call sites so that the
+ * per-message dispatch path does not go through {@code Method.invoke}:
+ * <ul>
+ *   <li>{@link io.stepprflow.core.invoker.StepInvoker} - Step method bound to its handler</li>
+ *   <li>{@link io.stepprflow.core.invoker.CallbackInvoker} - OnSuccess / OnFailure callback</li>
+ *   <li>{@link io.stepprflow.core.invoker.MethodInvokers} - Factory for both</li>
+ * </ul>
+ */
+package io.stepprflow.core.invoker;
@@ -0,0 +1,89 @@
+package io.stepprflow.core.metrics;
+
+/**
+ * Bucket layout of the latency histograms of the rolling windows.
+ *
+ * <p>Values are in microseconds. Values below 8 have a bucket each; above,
+ * each power of two is split into 8 buckets, so that a bucket is at most
+ * 12.5% wide relative to its values (as an HDR histogram with one
+ * significant digit). Values above about 76 hours fall in the last bucket.
+ *
+ * <p>Histograms with the same layout are merged by adding their counts,
+ * bucket by bucket.
+ */
+final class LatencyHistogram {
+
+    /** Bits of sub-bucket index within a power of two. */
+    private static final int SUB_BITS = 3;
+
+    /** Buckets per power of two. */
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+
+    /** Exponent of the highest power of two tracked. */
+    private static final int MAX_EXPONENT = 37;
+
+    /** Highest value tracked, in microseconds. */
+    private static final long MAX_VALUE = (1L << (MAX_EXPONENT + 1)) - 1;
+
+    /** Number of buckets. */
+    static final int BUCKETS = (MAX_EXPONENT - SUB_BITS + 2) * SUB_BUCKETS;
+
+    private LatencyHistogram() {
+    }
+
+    /**
+     * Get the bucket of a value.
+     *
+     * @param micros the value in microseconds
+     * @return the bucket index
+     */
+    static int index(final long micros) {
+        long value = Math.min(Math.max(micros, 0), MAX_VALUE);
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        return (exponent - SUB_BITS + 1) * SUB_BUCKETS
+                + (int) ((value >>> (exponent - SUB_BITS)) - SUB_BUCKETS);
+    }
+
+    /**
+     * Get the highest value of a bucket.
+     *
+     * @param index the bucket index
+     * @return the highest value in microseconds
+     */
+    static long highestValue(final int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int exponent = index / SUB_BUCKETS + SUB_BITS - 1;
+        long subBucket = index % SUB_BUCKETS + SUB_BUCKETS;
+        return ((subBucket + 1) << (exponent - SUB_BITS)) - 1;
+    }
+
+    /**
+     * Get the value at a quantile of a histogram.
+     *
+     * @param counts the bucket counts
+     * @param total  the sum of the counts
+     * @param max    the highest value recorded, in microseconds
+     * @param quantile the quantile, between 0 and 1
+     * @return the highest value of the bucket of the quantile, capped by
+     *         max, in microseconds; 0 for an empty histogram
+     */
+    static long valueAt(final long[] counts, final long total, final long max, final double quantile) {
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * total));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(highestValue(i), max);
+            }
+        }
+        return max;
+    }
+}
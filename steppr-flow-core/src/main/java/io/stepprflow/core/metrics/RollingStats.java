@@ -0,0 +1,82 @@
+package io.stepprflow.core.metrics;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Throughput and latency percentiles of a workflow or step over a recent
+ * window, for API exposure.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RollingStats {
+
+    /**
+     * The window: "1m", "5m" or "15m".
+     */
+    private String window;
+
+    /**
+     * Seconds covered, shorter than the window right after start-up.
+     */
+    private double seconds;
+
+    /**
+     * Workflows started (always 0 for steps).
+     */
+    private long started;
+
+    /**
+     * Workflows completed, or steps executed successfully.
+     */
+    private long completed;
+
+    /**
+     * Workflows or steps failed.
+     */
+    private long failed;
+
+    /**
+     * Starts per second.
+     */
+    private double startedPerSecond;
+
+    /**
+     * Completions per second.
+     */
+    private double completedPerSecond;
+
+    /**
+     * Failures per second.
+     */
+    private double failedPerSecond;
+
+    /**
+     * Median duration in milliseconds.
+     */
+    private double p50Ms;
+
+    /**
+     * 95th percentile duration in milliseconds.
+     */
+    private double p95Ms;
+
+    /**
+     * 99th percentile duration in milliseconds.
+     */
+    private double p99Ms;
+
+    /**
+     * 99.9th percentile duration in milliseconds.
+     */
+    private double p999Ms;
+
+    /**
+     * Longest duration in milliseconds.
+     */
+    private double maxMs;
+}
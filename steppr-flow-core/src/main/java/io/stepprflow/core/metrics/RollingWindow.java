@@ -0,0 +1,262 @@
+package io.stepprflow.core.metrics;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Recent starts, completions, failures and latencies of a workflow or step.
+ *
+ * <p>Records go to a ring of 15-second slots covering the longest
+ * {@link Window}. A slot counts with striped counters and a
+ * {@link LatencyHistogram}; it is replaced, not cleared, when the ring
+ * wraps around, so recording never locks. A window sums the slots it
+ * covers: its last complete slots and the current one.
+ */
+final class RollingWindow {
+
+    /** Duration of a slot. */
+    static final Duration SLOT = Duration.ofSeconds(15);
+
+    private static final long SLOT_NANOS = SLOT.toNanos();
+
+    /** Slots of the ring: the longest window (15 minutes) and the current slot. */
+    private static final int SLOTS = (int) (Duration.ofMinutes(15).toNanos() / SLOT_NANOS) + 1;
+
+    /** Clock, in nanoseconds. */
+    private final LongSupplier clock;
+
+    /** Clock value of the start of slot 0. */
+    private final long origin;
+
+    /** Clock value at creation. */
+    private final long createdAt;
+
+    /** The slots, by slot number modulo the ring size. */
+    private final AtomicReferenceArray<Slot> slots = new AtomicReferenceArray<>(SLOTS);
+
+    /**
+     * Constructor.
+     *
+     * @param nanoClock the clock, in nanoseconds
+     * @param clockOrigin clock value of the start of slot 0, shared by the
+     *                    windows merged together
+     */
+    RollingWindow(final LongSupplier nanoClock, final long clockOrigin) {
+        this.clock = nanoClock;
+        this.origin = clockOrigin;
+        this.createdAt = nanoClock.getAsLong();
+    }
+
+    /**
+     * Record a start.
+     */
+    void started() {
+        slot().started.increment();
+    }
+
+    /**
+     * Record a completion.
+     *
+     * @param nanos the latency in nanoseconds
+     */
+    void completed(final long nanos) {
+        Slot slot = slot();
+        slot.completed.increment();
+        slot.record(nanos);
+    }
+
+    /**
+     * Record a failure.
+     *
+     * @param nanos the latency in nanoseconds, or -1 if unknown
+     */
+    void failed(final long nanos) {
+        Slot slot = slot();
+        slot.failed.increment();
+        if (nanos >= 0) {
+            slot.record(nanos);
+        }
+    }
+
+    /**
+     * Read a window.
+     *
+     * @param window the window
+     * @return the counts and latencies of the window
+     */
+    Snapshot snapshot(final Window window) {
+        long now = clock.getAsLong();
+        long current = (now - origin) / SLOT_NANOS;
+        Snapshot snapshot = new Snapshot();
+        for (long number = current; number >= 0 && number >= current - window.slots; number--) {
+            Slot slot = slots.get((int) (number % SLOTS));
+            if (slot != null && slot.number == number) {
+                snapshot.add(slot);
+            }
+        }
+        long covered = window.slots * SLOT_NANOS + (now - origin) - current * SLOT_NANOS;
+        snapshot.coveredNanos = Math.min(covered, now - createdAt);
+        return snapshot;
+    }
+
+    private Slot slot() {
+        long number = (clock.getAsLong() - origin) / SLOT_NANOS;
+        int index = (int) (number % SLOTS);
+        Slot slot = slots.get(index);
+        while (slot == null || slot.number < number) {
+            Slot next = new Slot(number);
+            if (slots.compareAndSet(index, slot, next)) {
+                return next;
+            }
+            slot = slots.get(index);
+        }
+        return slot;
+    }
+
+    /**
+     * Rolling windows.
+     */
+    enum Window {
+
+        /** The last minute. */
+        ONE_MINUTE("1m", Duration.ofMinutes(1)),
+
+        /** The last five minutes. */
+        FIVE_MINUTES("5m", Duration.ofMinutes(5)),
+
+        /** The last fifteen minutes. */
+        FIFTEEN_MINUTES("15m", Duration.ofMinutes(15));
+
+        /** The window label. */
+        private final String label;
+
+        /** Complete slots covered. */
+        private final int slots;
+
+        Window(final String windowLabel, final Duration length) {
+            this.label = windowLabel;
+            this.slots = (int) (length.toNanos() / SLOT.toNanos());
+        }
+
+        /**
+         * Get the window label.
+         *
+         * @return the label, such as {@code 1m}
+         */
+        String getLabel() {
+            return label;
+        }
+    }
+
+    /**
+     * Counts of a slot.
+     */
+    private static final class Slot {
+
+        /** The slot number, from the clock origin. */
+        private final long number;
+
+        private final LongAdder started = new LongAdder();
+        private final LongAdder completed = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+
+        /** Latency histogram, in microseconds. */
+        private final AtomicLongArray latencies = new AtomicLongArray(LatencyHistogram.BUCKETS);
+
+        /** Highest latency, in microseconds. */
+        private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+        Slot(final long slotNumber) {
+            this.number = slotNumber;
+        }
+
+        void record(final long nanos) {
+            long micros = nanos / 1_000;
+            latencies.incrementAndGet(LatencyHistogram.index(micros));
+            max.accumulate(micros);
+        }
+    }
+
+    /**
+     * Counts and latencies of a window, mergeable with the snapshots of
+     * other windows with the same clock origin.
+     */
+    static final class Snapshot {
+
+        private long started;
+        private long completed;
+        private long failed;
+        private final long[] latencies = new long[LatencyHistogram.BUCKETS];
+        private long recorded;
+        private long max;
+        private long coveredNanos;
+
+        private void add(final Slot slot) {
+            started += slot.started.sum();
+            completed += slot.completed.sum();
+            failed += slot.failed.sum();
+            for (int i = 0; i < latencies.length; i++) {
+                long count = slot.latencies.get(i);
+                latencies[i] += count;
+                recorded += count;
+            }
+            max = Math.max(max, slot.max.get());
+        }
+
+        /**
+         * Add the counts and latencies of another snapshot.
+         *
+         * @param other the other snapshot
+         * @return this snapshot
+         */
+        Snapshot merge(final Snapshot other) {
+            started += other.started;
+            completed += other.completed;
+            failed += other.failed;
+            for (int i = 0; i < latencies.length; i++) {
+                latencies[i] += other.latencies[i];
+            }
+            recorded += other.recorded;
+            max = Math.max(max, other.max);
+            coveredNanos = Math.max(coveredNanos, other.coveredNanos);
+            return this;
+        }
+
+        /**
+         * Get the statistics of the snapshot.
+         *
+         * @param window the window read
+         * @return the statistics
+         */
+        RollingStats toStats(final Window window) {
+            double seconds = coveredNanos / 1e9;
+            return RollingStats.builder()
+                    .window(window.getLabel())
+                    .seconds(seconds)
+                    .started(started)
+                    .completed(completed)
+                    .failed(failed)
+                    .startedPerSecond(perSecond(started, seconds))
+                    .completedPerSecond(perSecond(completed, seconds))
+                    .failedPerSecond(perSecond(failed, seconds))
+                    .p50Ms(millisAt(0.50))
+                    .p95Ms(millisAt(0.95))
+                    .p99Ms(millisAt(0.99))
+                    .p999Ms(millisAt(0.999))
+                    .maxMs(max / 1_000.0)
+                    .build();
+        }
+
+        private double millisAt(final double quantile) {
+            return LatencyHistogram.valueAt(latencies, recorded, max, quantile) / 1_000.0;
+        }
+
+        private static double perSecond(final long count, final double seconds) {
+            return seconds > 0 ? count / seconds : 0.0;
+        }
+    }
+}
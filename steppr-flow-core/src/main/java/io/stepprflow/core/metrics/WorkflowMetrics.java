@@ -4,14 +4,18 @@ import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
+import io.stepprflow.core.model.ExecutionPlan;
 import io.stepprflow.core.model.WorkflowStatus;
 import java.time.Duration;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -39,11 +43,24 @@ import lombok.extern.slf4j.Slf4j;
  *   (by topic, step)</li>
  *   <li>stepprflow.step.timeout - Counter of timed out steps
  *   (by topic, step)</li>
+ *   <li>stepprflow.step.phase - Timer, with percentile histogram, of the
+ *   phases of a step execution (by topic, step, phase): see
+ *   {@link StepPhase}</li>
  *   <li>stepprflow.retry.count - Counter of retry attempts
  *   (by topic)</li>
  *   <li>stepprflow.dlq.count - Counter of messages sent to DLQ
  *   (by topic)</li>
  * </ul>
+ *
+ * <p>Meters are registered once per topic, service and step, on first
+ * record or ahead of it from the execution plans with
+ * {@link #register(ExecutionPlan, String)}. Records then only look up their
+ * handles, without allocating.
+ *
+ * <p>Besides the lifetime meters, each workflow (topic and service) and
+ * step keeps its recent starts, completions, failures and durations in
+ * rolling windows of 1, 5 and 15 minutes, read as {@link RollingStats}
+ * with throughput and latency percentiles.
  */
 @Slf4j
 public class WorkflowMetrics {
@@ -53,6 +70,7 @@ public class WorkflowMetrics {
     private static final String TAG_SERVICE = "service";
     private static final String TAG_STEP = "step";
     private static final String TAG_STATUS = "status";
+    private static final String TAG_PHASE = "phase";
     private static final String UNKNOWN_SERVICE = "unknown";
 
     /**
@@ -61,74 +79,58 @@ public class WorkflowMetrics {
     private final MeterRegistry registry;
 
     /**
-     * Gauges for active workflows per topic.
-     */
-    private final Map<String, AtomicLong> activeWorkflowsByTopic =
-            new ConcurrentHashMap<>();
-
-    /**
-     * Cached counters for performance - started workflows.
-     */
-    private final Map<String, Counter> startedCounters =
-            new ConcurrentHashMap<>();
-
-    /**
-     * Cached counters for performance - completed workflows.
-     */
-    private final Map<String, Counter> completedCounters =
-            new ConcurrentHashMap<>();
-
-    /**
-     * Cached counters for performance - failed workflows.
+     * Meters by topic.
      */
-    private final Map<String, Counter> failedCounters =
-            new ConcurrentHashMap<>();
+    private final Map<String, TopicMeters> meters = new ConcurrentHashMap<>();
 
     /**
-     * Cached counters for performance - cancelled workflows.
+     * Clock of the rolling windows, in nanoseconds.
      */
-    private final Map<String, Counter> cancelledCounters =
-            new ConcurrentHashMap<>();
+    private final LongSupplier clock;
 
     /**
-     * Cached counters for performance - retry attempts.
+     * Clock value of the start of the rolling windows.
      */
-    private final Map<String, Counter> retryCounters =
-            new ConcurrentHashMap<>();
+    private final long clockOrigin;
 
     /**
-     * Cached counters for performance - DLQ messages.
-     */
-    private final Map<String, Counter> dlqCounters =
-            new ConcurrentHashMap<>();
-
-    /**
-     * Cached counters for performance - executed steps.
-     */
-    private final Map<String, Counter> stepExecutedCounters =
-            new ConcurrentHashMap<>();
-
-    /**
-     * Cached counters for performance - failed steps.
+     * Constructor.
+     *
+     * @param registry the meter registry
      */
-    private final Map<String, Counter> stepFailedCounters =
-            new ConcurrentHashMap<>();
+    public WorkflowMetrics(final MeterRegistry registry) {
+        this(registry, System::nanoTime);
+        log.info("WorkflowMetrics initialized with registry: {}",
+                registry.getClass().getSimpleName());
+    }
 
     /**
-     * Cached counters for performance - timed out steps.
+     * Constructor with a clock, for tests.
+     *
+     * @param registry the meter registry
+     * @param nanoClock the clock of the rolling windows, in nanoseconds
      */
-    private final Map<String, Counter> stepTimeoutCounters =
-            new ConcurrentHashMap<>();
+    WorkflowMetrics(final MeterRegistry registry, final LongSupplier nanoClock) {
+        this.registry = registry;
+        this.clock = nanoClock;
+        this.clockOrigin = nanoClock.getAsLong();
+    }
 
     /**
-     * Constructor.
+     * Register the meters of a workflow ahead of its first record.
      *
-     * @param registry the meter registry
+     * @param plan the execution plan of the workflow
+     * @param serviceName the service name
      */
-    public WorkflowMetrics(final MeterRegistry registry) {
-        this.registry = registry;
-        log.info("WorkflowMetrics initialized with registry: {}",
-                registry.getClass().getSimpleName());
+    public void register(final ExecutionPlan plan, final String serviceName) {
+        TopicMeters topicMeters = topicMeters(plan.getTopic());
+        topicMeters.service(serviceName != null ? serviceName : UNKNOWN_SERVICE);
+        for (ExecutionPlan.StepPlan step = plan.getFirstStep(); step != null; step = step.getNext()) {
+            for (ExecutionPlan.StepPlan branch : step.getBranches()) {
+                topicMeters.step(branch.getLabel());
+            }
+            topicMeters.step(step.getLabel());
+        }
     }
 
     // ========== Workflow Lifecycle Metrics ==========
@@ -150,14 +152,12 @@ public class WorkflowMetrics {
      */
     public void recordWorkflowStarted(final String topic,
                                       final String serviceName) {
-        String service = serviceName != null
-                ? serviceName : UNKNOWN_SERVICE;
-        getOrCreateCounter(startedCounters,
-                PREFIX + ".workflow.started",
-                TAG_TOPIC, topic, TAG_SERVICE, service).increment();
-        getOrCreateActiveGauge(topic, service).incrementAndGet();
+        ServiceMeters service = serviceMeters(topic, serviceName);
+        service.started.increment();
+        service.active.incrementAndGet();
+        service.window.started();
         log.debug("Recorded workflow started: topic={}, service={}",
-                topic, service);
+                topic, service.name);
     }
 
     /**
@@ -181,16 +181,15 @@ public class WorkflowMetrics {
     public void recordWorkflowCompleted(final String topic,
                                         final String serviceName,
                                         final Duration duration) {
-        String service = serviceName != null
-                ? serviceName : UNKNOWN_SERVICE;
-        getOrCreateCounter(completedCounters,
-                PREFIX + ".workflow.completed",
-                TAG_TOPIC, topic, TAG_SERVICE, service).increment();
-        getOrCreateActiveGauge(topic, service).decrementAndGet();
-        recordWorkflowDuration(topic, service,
-                WorkflowStatus.COMPLETED, duration);
-        log.debug("Recorded workflow completed: topic={}, service={}, "
-                + "duration={}ms", topic, service, duration.toMillis());
+        ServiceMeters service = serviceMeters(topic, serviceName);
+        service.completed.increment();
+        service.active.decrementAndGet();
+        service.completedDuration.record(duration.toMillis(), TimeUnit.MILLISECONDS);
+        service.window.completed(duration.toNanos());
+        if (log.isDebugEnabled()) {
+            log.debug("Recorded workflow completed: topic={}, service={}, "
+                    + "duration={}ms", topic, service.name, duration.toMillis());
+        }
     }
 
     /**
@@ -214,16 +213,15 @@ public class WorkflowMetrics {
     public void recordWorkflowFailed(final String topic,
                                      final String serviceName,
                                      final Duration duration) {
-        String service = serviceName != null
-                ? serviceName : UNKNOWN_SERVICE;
-        getOrCreateCounter(failedCounters,
-                PREFIX + ".workflow.failed",
-                TAG_TOPIC, topic, TAG_SERVICE, service).increment();
-        getOrCreateActiveGauge(topic, service).decrementAndGet();
-        recordWorkflowDuration(topic, service,
-                WorkflowStatus.FAILED, duration);
-        log.debug("Recorded workflow failed: topic={}, service={}, "
-                + "duration={}ms", topic, service, duration.toMillis());
+        ServiceMeters service = serviceMeters(topic, serviceName);
+        service.failed.increment();
+        service.active.decrementAndGet();
+        service.failedDuration.record(duration.toMillis(), TimeUnit.MILLISECONDS);
+        service.window.failed(duration.toNanos());
+        if (log.isDebugEnabled()) {
+            log.debug("Recorded workflow failed: topic={}, service={}, "
+                    + "duration={}ms", topic, service.name, duration.toMillis());
+        }
     }
 
     /**
@@ -243,14 +241,11 @@ public class WorkflowMetrics {
      */
     public void recordWorkflowCancelled(final String topic,
                                         final String serviceName) {
-        String service = serviceName != null
-                ? serviceName : UNKNOWN_SERVICE;
-        getOrCreateCounter(cancelledCounters,
-                PREFIX + ".workflow.cancelled",
-                TAG_TOPIC, topic, TAG_SERVICE, service).increment();
-        getOrCreateActiveGauge(topic, service).decrementAndGet();
+        ServiceMeters service = serviceMeters(topic, serviceName);
+        service.cancelled.increment();
+        service.active.decrementAndGet();
         log.debug("Recorded workflow cancelled: topic={}, service={}",
-                topic, service);
+                topic, service.name);
     }
 
     // ========== Step Metrics ==========
@@ -265,13 +260,14 @@ public class WorkflowMetrics {
     public void recordStepExecuted(final String topic,
                                    final String stepLabel,
                                    final Duration duration) {
-        String key = topic + ":" + stepLabel;
-        getOrCreateCounter(stepExecutedCounters,
-                PREFIX + ".step.executed",
-                TAG_TOPIC, topic, TAG_STEP, stepLabel).increment();
-        recordStepDuration(topic, stepLabel, duration);
-        log.debug("Recorded step executed: topic={}, step={}, "
-                + "duration={}ms", topic, stepLabel, duration.toMillis());
+        StepMeters step = topicMeters(topic).step(stepLabel);
+        step.executed.increment();
+        step.duration.record(duration.toMillis(), TimeUnit.MILLISECONDS);
+        step.window.completed(duration.toNanos());
+        if (log.isDebugEnabled()) {
+            log.debug("Recorded step executed: topic={}, step={}, "
+                    + "duration={}ms", topic, stepLabel, duration.toMillis());
+        }
     }
 
     /**
@@ -282,10 +278,9 @@ public class WorkflowMetrics {
      */
     public void recordStepFailed(final String topic,
                                  final String stepLabel) {
-        String key = topic + ":" + stepLabel;
-        getOrCreateCounter(stepFailedCounters,
-                PREFIX + ".step.failed",
-                TAG_TOPIC, topic, TAG_STEP, stepLabel).increment();
+        StepMeters step = topicMeters(topic).step(stepLabel);
+        step.failed.increment();
+        step.window.failed(-1);
         log.debug("Recorded step failed: topic={}, step={}",
                 topic, stepLabel);
     }
@@ -298,14 +293,27 @@ public class WorkflowMetrics {
      */
     public void recordStepTimeout(final String topic,
                                   final String stepLabel) {
-        String key = topic + ":" + stepLabel;
-        getOrCreateCounter(stepTimeoutCounters,
-                PREFIX + ".step.timeout",
-                TAG_TOPIC, topic, TAG_STEP, stepLabel).increment();
+        topicMeters(topic).step(stepLabel).timeout.increment();
         log.debug("Recorded step timeout: topic={}, step={}",
                 topic, stepLabel);
     }
 
+    /**
+     * Record the duration of a phase of a step execution.
+     *
+     * @param topic the workflow topic
+     * @param stepLabel the step label
+     * @param phase the phase
+     * @param nanos the duration in nanoseconds
+     */
+    public void recordStepPhase(final String topic,
+                                final String stepLabel,
+                                final StepPhase phase,
+                                final long nanos) {
+        topicMeters(topic).step(stepLabel).phases[phase.ordinal()]
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
     // ========== Retry and DLQ Metrics ==========
 
     /**
@@ -315,9 +323,10 @@ public class WorkflowMetrics {
      * @param attempt the retry attempt number
      */
     public void recordRetry(final String topic, final int attempt) {
-        getOrCreateCounter(retryCounters,
-                PREFIX + ".retry.count", TAG_TOPIC, topic).increment();
-        log.debug("Recorded retry: topic={}, attempt={}", topic, attempt);
+        topicMeters(topic).retries.increment();
+        if (log.isDebugEnabled()) {
+            log.debug("Recorded retry: topic={}, attempt={}", topic, attempt);
+        }
     }
 
     /**
@@ -326,93 +335,253 @@ public class WorkflowMetrics {
      * @param topic the workflow topic
      */
     public void recordDlq(final String topic) {
-        getOrCreateCounter(dlqCounters,
-                PREFIX + ".dlq.count", TAG_TOPIC, topic).increment();
+        topicMeters(topic).dlq.increment();
         log.debug("Recorded DLQ: topic={}", topic);
     }
 
-    // ========== Duration Recording ==========
+    // ========== Meter Handles ==========
 
     /**
-     * Record workflow duration.
+     * Get the meters of a topic, registering them on first use.
      *
      * @param topic the workflow topic
-     * @param serviceName the service name
-     * @param status the workflow status
-     * @param duration the duration
+     * @return the topic meters
      */
-    private void recordWorkflowDuration(final String topic,
-                                        final String serviceName,
-                                        final WorkflowStatus status,
-                                        final Duration duration) {
-        Timer.builder(PREFIX + ".workflow.duration")
-                .tag(TAG_TOPIC, topic)
-                .tag(TAG_SERVICE, serviceName)
-                .tag(TAG_STATUS, status.name())
-                .description("Workflow execution duration")
-                .register(registry)
-                .record(duration.toMillis(), TimeUnit.MILLISECONDS);
+    private TopicMeters topicMeters(final String topic) {
+        TopicMeters topicMeters = meters.get(topic);
+        return topicMeters != null
+                ? topicMeters : meters.computeIfAbsent(topic, TopicMeters::new);
     }
 
     /**
-     * Record step duration.
+     * Get the meters of a topic and service, registering them on first use.
      *
      * @param topic the workflow topic
-     * @param stepLabel the step label
-     * @param duration the duration
+     * @param serviceName the service name, or null if unknown
+     * @return the service meters
      */
-    private void recordStepDuration(final String topic,
-                                    final String stepLabel,
-                                    final Duration duration) {
-        Timer.builder(PREFIX + ".step.duration")
-                .tag(TAG_TOPIC, topic)
-                .tag(TAG_STEP, stepLabel)
-                .description("Step execution duration")
-                .register(registry)
-                .record(duration.toMillis(), TimeUnit.MILLISECONDS);
+    private ServiceMeters serviceMeters(final String topic,
+                                        final String serviceName) {
+        return topicMeters(topic).service(
+                serviceName != null ? serviceName : UNKNOWN_SERVICE);
+    }
+
+    /**
+     * Meters of a topic, with the meters of its services and steps.
+     *
+     * <p>Meters are registered once; records only look up their handles.
+     */
+    private final class TopicMeters {
+
+        /** The workflow topic. */
+        private final String topic;
+
+        /** Retry attempts. */
+        private final Counter retries;
+
+        /** Messages sent to DLQ. */
+        private final Counter dlq;
+
+        /** Meters by service name. */
+        private final Map<String, ServiceMeters> services = new ConcurrentHashMap<>();
+
+        /** Meters by step label. */
+        private final Map<String, StepMeters> steps = new ConcurrentHashMap<>();
+
+        TopicMeters(final String topicName) {
+            this.topic = topicName;
+            this.retries = Counter.builder(PREFIX + ".retry.count")
+                    .tag(TAG_TOPIC, topicName)
+                    .register(registry);
+            this.dlq = Counter.builder(PREFIX + ".dlq.count")
+                    .tag(TAG_TOPIC, topicName)
+                    .register(registry);
+        }
+
+        ServiceMeters service(final String serviceName) {
+            ServiceMeters service = services.get(serviceName);
+            return service != null
+                    ? service : services.computeIfAbsent(serviceName, name -> new ServiceMeters(topic, name));
+        }
+
+        StepMeters step(final String stepLabel) {
+            StepMeters step = steps.get(stepLabel);
+            return step != null
+                    ? step : steps.computeIfAbsent(stepLabel, label -> new StepMeters(topic, label));
+        }
+    }
+
+    /**
+     * Meters of a topic and service.
+     */
+    private final class ServiceMeters {
+
+        /** The service name. */
+        private final String name;
+
+        /** Started workflows. */
+        private final Counter started;
+
+        /** Completed workflows. */
+        private final Counter completed;
+
+        /** Failed workflows. */
+        private final Counter failed;
+
+        /** Cancelled workflows. */
+        private final Counter cancelled;
+
+        /** Active workflows, read by a gauge. */
+        private final AtomicLong active = new AtomicLong();
+
+        /** Duration of completed workflows. */
+        private final Timer completedDuration;
+
+        /** Duration of failed workflows. */
+        private final Timer failedDuration;
+
+        /** Recent starts, completions and failures. */
+        private final RollingWindow window = new RollingWindow(clock, clockOrigin);
+
+        ServiceMeters(final String topic, final String serviceName) {
+            this.name = serviceName;
+            this.started = counter(PREFIX + ".workflow.started",
+                    TAG_TOPIC, topic, TAG_SERVICE, serviceName);
+            this.completed = counter(PREFIX + ".workflow.completed",
+                    TAG_TOPIC, topic, TAG_SERVICE, serviceName);
+            this.failed = counter(PREFIX + ".workflow.failed",
+                    TAG_TOPIC, topic, TAG_SERVICE, serviceName);
+            this.cancelled = counter(PREFIX + ".workflow.cancelled",
+                    TAG_TOPIC, topic, TAG_SERVICE, serviceName);
+            Gauge.builder(PREFIX + ".workflow.active", active, AtomicLong::get)
+                    .tag(TAG_TOPIC, topic)
+                    .tag(TAG_SERVICE, serviceName)
+                    .description("Number of active workflows")
+                    .register(registry);
+            this.completedDuration = workflowTimer(topic, serviceName, WorkflowStatus.COMPLETED);
+            this.failedDuration = workflowTimer(topic, serviceName, WorkflowStatus.FAILED);
+        }
     }
 
-    // ========== Helper Methods ==========
+    /**
+     * Meters of a topic and step.
+     */
+    private final class StepMeters {
+
+        /** Executed steps. */
+        private final Counter executed;
+
+        /** Failed steps. */
+        private final Counter failed;
+
+        /** Timed out steps. */
+        private final Counter timeout;
+
+        /** Step duration. */
+        private final Timer duration;
+
+        /** Phase durations, by phase ordinal. */
+        private final Timer[] phases = new Timer[StepPhase.values().length];
+
+        /** Recent executions and failures. */
+        private final RollingWindow window = new RollingWindow(clock, clockOrigin);
+
+        StepMeters(final String topic, final String stepLabel) {
+            this.executed = counter(PREFIX + ".step.executed",
+                    TAG_TOPIC, topic, TAG_STEP, stepLabel);
+            this.failed = counter(PREFIX + ".step.failed",
+                    TAG_TOPIC, topic, TAG_STEP, stepLabel);
+            this.timeout = counter(PREFIX + ".step.timeout",
+                    TAG_TOPIC, topic, TAG_STEP, stepLabel);
+            this.duration = Timer.builder(PREFIX + ".step.duration")
+                    .tag(TAG_TOPIC, topic)
+                    .tag(TAG_STEP, stepLabel)
+                    .description("Step execution duration")
+                    .register(registry);
+            for (StepPhase phase : StepPhase.values()) {
+                phases[phase.ordinal()] = Timer.builder(PREFIX + ".step.phase")
+                        .tag(TAG_TOPIC, topic)
+                        .tag(TAG_STEP, stepLabel)
+                        .tag(TAG_PHASE, phase.getTag())
+                        .description("Step execution phase duration")
+                        .publishPercentileHistogram()
+                        .register(registry);
+            }
+        }
+    }
 
     /**
-     * Get or create a counter.
+     * Register a counter.
      *
-     * @param cache the counter cache
      * @param name the counter name
      * @param tags the tags
      * @return the counter
      */
-    private Counter getOrCreateCounter(final Map<String, Counter> cache,
-                                       final String name,
-                                       final String... tags) {
-        String key = name + ":" + String.join(":", tags);
-        return cache.computeIfAbsent(key, k ->
-                Counter.builder(name)
-                        .tags(tags)
-                        .register(registry)
-        );
+    private Counter counter(final String name, final String... tags) {
+        return Counter.builder(name)
+                .tags(tags)
+                .register(registry);
     }
 
     /**
-     * Get or create an active gauge.
+     * Register a workflow duration timer.
      *
      * @param topic the workflow topic
      * @param serviceName the service name
-     * @return the atomic long for the gauge
-     */
-    private AtomicLong getOrCreateActiveGauge(final String topic,
-                                              final String serviceName) {
-        String key = topic + ":" + serviceName;
-        return activeWorkflowsByTopic.computeIfAbsent(key, k -> {
-            AtomicLong gauge = new AtomicLong(0);
-            Gauge.builder(PREFIX + ".workflow.active",
-                    gauge, AtomicLong::get)
-                    .tag(TAG_TOPIC, topic)
-                    .tag(TAG_SERVICE, serviceName)
-                    .description("Number of active workflows")
-                    .register(registry);
-            return gauge;
-        });
+     * @param status the workflow status
+     * @return the timer
+     */
+    private Timer workflowTimer(final String topic,
+                                final String serviceName,
+                                final WorkflowStatus status) {
+        return Timer.builder(PREFIX + ".workflow.duration")
+                .tag(TAG_TOPIC, topic)
+                .tag(TAG_SERVICE, serviceName)
+                .tag(TAG_STATUS, status.name())
+                .description("Workflow execution duration")
+                .register(registry);
+    }
+
+    /**
+     * Phases of a step execution.
+     */
+    public enum StepPhase {
+
+        /** From the send of the step message to its consumption. */
+        QUEUE("queue"),
+
+        /** Loading and decoding the payload. */
+        DECODE("decode"),
+
+        /** Running the step method, or the whole parallel group. */
+        EXECUTION("execution"),
+
+        /** Running the success callback, after the last step. */
+        CALLBACK("callback"),
+
+        /**
+         * Handing the next step or completion message to the broker client.
+         * Ends when {@code MessageBroker.send} returns, not on the broker
+         * acknowledgment: the Kafka client returns once the record is
+         * buffered for its batch.
+         */
+        HANDOFF("handoff");
+
+        /** The tag value. */
+        private final String tag;
+
+        StepPhase(final String tagValue) {
+            this.tag = tagValue;
+        }
+
+        /**
+         * Get the value of the phase tag.
+         *
+         * @return the tag value
+         */
+        public String getTag() {
+            return tag;
+        }
     }
 
     // ========== Metrics Summary (for API) ==========
@@ -444,50 +613,52 @@ public class WorkflowMetrics {
      */
     public MetricsSummary getSummary(final String topic,
                                      final String serviceName) {
-        String key = topic + ":" + serviceName;
+        TopicMeters topicMeters = meters.get(topic);
+        ServiceMeters service = topicMeters != null
+                ? topicMeters.services.get(serviceName) : null;
         return MetricsSummary.builder()
                 .topic(topic)
                 .serviceName(serviceName)
-                .workflowsStarted(getCounterValue(startedCounters,
-                        PREFIX + ".workflow.started",
-                        TAG_TOPIC, topic, TAG_SERVICE, serviceName))
-                .workflowsCompleted(getCounterValue(completedCounters,
-                        PREFIX + ".workflow.completed",
-                        TAG_TOPIC, topic, TAG_SERVICE, serviceName))
-                .workflowsFailed(getCounterValue(failedCounters,
-                        PREFIX + ".workflow.failed",
-                        TAG_TOPIC, topic, TAG_SERVICE, serviceName))
-                .workflowsCancelled(getCounterValue(cancelledCounters,
-                        PREFIX + ".workflow.cancelled",
-                        TAG_TOPIC, topic, TAG_SERVICE, serviceName))
-                .workflowsActive(activeWorkflowsByTopic.getOrDefault(key,
-                        new AtomicLong(0)).get())
-                .retryCount(getCounterValue(retryCounters,
-                        PREFIX + ".retry.count", TAG_TOPIC, topic))
-                .dlqCount(getCounterValue(dlqCounters,
-                        PREFIX + ".dlq.count", TAG_TOPIC, topic))
-                .avgWorkflowDurationMs(getTimerMeanWithService(topic,
-                        serviceName))
+                .workflowsStarted(service != null ? count(service.started) : 0L)
+                .workflowsCompleted(service != null ? count(service.completed) : 0L)
+                .workflowsFailed(service != null ? count(service.failed) : 0L)
+                .workflowsCancelled(service != null ? count(service.cancelled) : 0L)
+                .workflowsActive(service != null ? service.active.get() : 0L)
+                .retryCount(topicMeters != null ? count(topicMeters.retries) : 0L)
+                .dlqCount(topicMeters != null ? count(topicMeters.dlq) : 0L)
+                .avgWorkflowDurationMs(service != null ? meanDuration(service) : 0.0)
                 .build();
     }
 
+    /**
+     * Get the number of active workflows of a topic, across services.
+     *
+     * @param topic the workflow topic
+     * @return the number of active workflows
+     */
+    public long getActiveWorkflows(final String topic) {
+        TopicMeters topicMeters = meters.get(topic);
+        if (topicMeters == null) {
+            return 0;
+        }
+        long active = 0;
+        for (ServiceMeters service : topicMeters.services.values()) {
+            active += service.active.get();
+        }
+        return active;
+    }
+
     /**
      * Get all active workflow keys (topic:serviceName pairs).
      *
-     * @return the set of active workflow keys
+     * @return the set of keys of the workflows started at least once
      */
     public Set<WorkflowKey> getActiveWorkflowKeys() {
         Set<WorkflowKey> keys = new HashSet<>();
-        String prefix = PREFIX + ".workflow.started:";
-        for (String key : startedCounters.keySet()) {
-            if (key.startsWith(prefix)) {
-                // Key format:
-                // stepprflow.workflow.started:topic:{topic}:service:{service}
-                String remainder = key.substring(prefix.length());
-                String[] parts = remainder.split(":");
-                if (parts.length >= 4 && "topic".equals(parts[0])
-                        && "service".equals(parts[2])) {
-                    keys.add(new WorkflowKey(parts[1], parts[3]));
+        for (TopicMeters topicMeters : meters.values()) {
+            for (ServiceMeters service : topicMeters.services.values()) {
+                if (service.started.count() > 0) {
+                    keys.add(new WorkflowKey(topicMeters.topic, service.name));
                 }
             }
         }
@@ -500,14 +671,24 @@ public class WorkflowMetrics {
      * @return the global metrics summary
      */
     public MetricsSummary getGlobalSummary() {
-        long started = sumCounterValues(startedCounters);
-        long completed = sumCounterValues(completedCounters);
-        long failed = sumCounterValues(failedCounters);
-        long cancelled = sumCounterValues(cancelledCounters);
-        long active = activeWorkflowsByTopic.values().stream()
-                .mapToLong(AtomicLong::get).sum();
-        long retries = sumCounterValues(retryCounters);
-        long dlq = sumCounterValues(dlqCounters);
+        long started = 0;
+        long completed = 0;
+        long failed = 0;
+        long cancelled = 0;
+        long active = 0;
+        long retries = 0;
+        long dlq = 0;
+        for (TopicMeters topicMeters : meters.values()) {
+            retries += count(topicMeters.retries);
+            dlq += count(topicMeters.dlq);
+            for (ServiceMeters service : topicMeters.services.values()) {
+                started += count(service.started);
+                completed += count(service.completed);
+                failed += count(service.failed);
+                cancelled += count(service.cancelled);
+                active += service.active.get();
+            }
+        }
 
         return MetricsSummary.builder()
                 .topic("_global")
@@ -526,73 +707,119 @@ public class WorkflowMetrics {
     /**
      * Get counter value.
      *
-     * @param cache the counter cache
-     * @param name the counter name
-     * @param tags the tags
+     * @param counter the counter
      * @return the counter value
      */
-    private long getCounterValue(final Map<String, Counter> cache,
-                                 final String name,
-                                 final String... tags) {
-        String key = name + ":" + String.join(":", tags);
-        Counter counter = cache.get(key);
-        return counter != null ? (long) counter.count() : 0L;
+    private static long count(final Counter counter) {
+        return (long) counter.count();
     }
 
     /**
-     * Sum all counter values in a cache.
+     * Get the mean duration of the finished workflows of a service.
      *
-     * @param cache the counter cache
-     * @return the sum of all counter values
+     * @param service the service meters
+     * @return the mean value in milliseconds
      */
-    private long sumCounterValues(final Map<String, Counter> cache) {
-        return cache.values().stream()
-                .mapToLong(c -> (long) c.count())
-                .sum();
+    private static double meanDuration(final ServiceMeters service) {
+        long finished = service.completedDuration.count() + service.failedDuration.count();
+        return finished > 0
+                ? (service.completedDuration.totalTime(TimeUnit.MILLISECONDS)
+                        + service.failedDuration.totalTime(TimeUnit.MILLISECONDS)) / finished
+                : 0.0;
     }
 
     /**
-     * Get timer mean value.
+     * Get all topics that have recorded metrics.
      *
-     * @param name the timer name
-     * @param tags the tags
-     * @return the mean value in milliseconds
+     * @return the set of topics with workflows started at least once
      */
-    private double getTimerMean(final String name, final String... tags) {
-        Timer timer = registry.find(name).tags(tags).timer();
-        return timer != null ? timer.mean(TimeUnit.MILLISECONDS) : 0.0;
+    public Set<String> getActiveTopics() {
+        Set<String> topics = new HashSet<>();
+        for (TopicMeters topicMeters : meters.values()) {
+            for (ServiceMeters service : topicMeters.services.values()) {
+                if (service.started.count() > 0) {
+                    topics.add(topicMeters.topic);
+                    break;
+                }
+            }
+        }
+        return topics;
     }
 
+    // ========== Rolling Windows (for API) ==========
+
     /**
-     * Get timer mean value with service tag.
+     * Get the recent throughput and durations of a workflow.
      *
      * @param topic the workflow topic
      * @param serviceName the service name
-     * @return the mean value in milliseconds
-     */
-    private double getTimerMeanWithService(final String topic,
-                                           final String serviceName) {
-        Timer timer = registry.find(PREFIX + ".workflow.duration")
-                .tag(TAG_TOPIC, topic)
-                .tag(TAG_SERVICE, serviceName)
-                .timer();
-        return timer != null ? timer.mean(TimeUnit.MILLISECONDS) : 0.0;
+     * @return the statistics by window ("1m", "5m", "15m")
+     */
+    public Map<String, RollingStats> getRollingStats(final String topic,
+                                                     final String serviceName) {
+        TopicMeters topicMeters = meters.get(topic);
+        ServiceMeters service = topicMeters != null
+                ? topicMeters.services.get(serviceName) : null;
+        return rollingStats(window -> service != null
+                ? service.window.snapshot(window) : new RollingWindow.Snapshot());
     }
 
     /**
-     * Get all topics that have recorded metrics.
-     * Extracts topic names from the startedCounters cache keys.
+     * Get the recent executions and durations of a step.
      *
-     * @return the set of active topics
-     */
-    public Set<String> getActiveTopics() {
-        Set<String> topics = new HashSet<>();
-        String prefix = PREFIX + ".workflow.started:topic:";
-        for (String key : startedCounters.keySet()) {
-            if (key.startsWith(prefix)) {
-                topics.add(key.substring(prefix.length()));
+     * @param topic the workflow topic
+     * @param stepLabel the step label
+     * @return the statistics by window ("1m", "5m", "15m")
+     */
+    public Map<String, RollingStats> getStepRollingStats(final String topic,
+                                                         final String stepLabel) {
+        TopicMeters topicMeters = meters.get(topic);
+        StepMeters step = topicMeters != null
+                ? topicMeters.steps.get(stepLabel) : null;
+        return rollingStats(window -> step != null
+                ? step.window.snapshot(window) : new RollingWindow.Snapshot());
+    }
+
+    /**
+     * Get the recent throughput and durations across all workflows.
+     *
+     * @return the statistics by window ("1m", "5m", "15m")
+     */
+    public Map<String, RollingStats> getGlobalRollingStats() {
+        return rollingStats(window -> {
+            RollingWindow.Snapshot merged = new RollingWindow.Snapshot();
+            for (TopicMeters topicMeters : meters.values()) {
+                for (ServiceMeters service : topicMeters.services.values()) {
+                    merged.merge(service.window.snapshot(window));
+                }
             }
+            return merged;
+        });
+    }
+
+    /**
+     * Get the labels of the steps of a topic with meters.
+     *
+     * @param topic the workflow topic
+     * @return the step labels, empty for an unknown topic
+     */
+    public Set<String> getStepLabels(final String topic) {
+        TopicMeters topicMeters = meters.get(topic);
+        return topicMeters != null ? Set.copyOf(topicMeters.steps.keySet()) : Set.of();
+    }
+
+    /**
+     * Read every rolling window.
+     *
+     * @param snapshot reads the snapshot of a window
+     * @return the statistics by window label, shortest first
+     */
+    private static Map<String, RollingStats> rollingStats(
+            final Function<RollingWindow.Window, RollingWindow.Snapshot> snapshot) {
+        Map<String, RollingStats> stats = new LinkedHashMap<>();
+        for (RollingWindow.Window window : RollingWindow.Window.values()) {
+            stats.put(window.getLabel(), snapshot.apply(window).toStats(window));
         }
-        return topics;
+        return stats;
     }
 }
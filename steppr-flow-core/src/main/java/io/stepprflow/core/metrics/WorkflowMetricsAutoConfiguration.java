@@ -1,10 +1,17 @@
 package io.stepprflow.core.metrics;
 
 import io.micrometer.core.instrument.MeterRegistry;
+import io.stepprflow.core.admission.ActiveWorkflowsProbe;
+import io.stepprflow.core.admission.BacklogProbe;
+import io.stepprflow.core.service.WorkflowRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
 
 /**
  * Auto-configuration for StepprFlow workflow metrics.
@@ -40,4 +47,43 @@ public class WorkflowMetricsAutoConfiguration {
             final WorkflowMetrics workflowMetrics) {
         return new WorkflowMetricsListener(workflowMetrics);
     }
+
+    /**
+     * Registers the meters of every registered workflow once all singletons
+     * are created, so that the first records do not register them.
+     *
+     * @param workflowMetrics the workflow metrics instance
+     * @param workflowRegistry the workflow registry
+     * @param environment the environment, for the service name
+     * @return the registration callback
+     */
+    @Bean
+    @ConditionalOnBean(WorkflowMetrics.class)
+    public SmartInitializingSingleton workflowMetricsRegistration(
+            final WorkflowMetrics workflowMetrics,
+            final ObjectProvider<WorkflowRegistry> workflowRegistry,
+            final Environment environment) {
+        return () -> workflowRegistry.ifAvailable(registry -> {
+            String serviceName = environment.getProperty("spring.application.name", "unknown");
+            for (String topic : registry.getTopics()) {
+                if (registry.getPlan(topic) != null) {
+                    workflowMetrics.register(registry.getPlan(topic), serviceName);
+                }
+            }
+        });
+    }
+
+    /**
+     * Creates the backlog probe reading active workflows, for admission
+     * control.
+     *
+     * @param workflowMetrics the workflow metrics instance
+     * @return the backlog probe
+     */
+    @Bean
+    @ConditionalOnBean(WorkflowMetrics.class)
+    @ConditionalOnProperty(prefix = "stepprflow.admission", name = "enabled", havingValue = "true")
+    public BacklogProbe activeWorkflowsProbe(final WorkflowMetrics workflowMetrics) {
+        return new ActiveWorkflowsProbe(workflowMetrics);
+    }
 }
@@ -3,11 +3,9 @@ package io.stepprflow.core.metrics;
 import io.stepprflow.core.event.WorkflowMessageEvent;
 import io.stepprflow.core.model.WorkflowMessage;
 import io.stepprflow.core.model.WorkflowStatus;
+import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.event.EventListener;
 
@@ -16,8 +14,14 @@ import org.springframework.context.event.EventListener;
  * Works with WorkflowMetrics to update in-memory metrics counters.
  * Bean is created by WorkflowMetricsAutoConfiguration when
  * MeterRegistry is available.
+ *
+ * <p>Workflow durations are computed from the timestamps the messages
+ * carry: from {@code createdAt}, set at start, to {@code updatedAt}, set on
+ * completion or failure. They are correct whichever instance sees the
+ * start and the end. Steps are timed the same way, from the message they
+ * were executed with, so no start time is tracked: {@code IN_PROGRESS}
+ * messages record nothing.
  */
-@RequiredArgsConstructor
 @Slf4j
 public class WorkflowMetricsListener {
 
@@ -27,16 +31,30 @@ public class WorkflowMetricsListener {
     private final WorkflowMetrics metrics;
 
     /**
-     * Track workflow start times for duration calculation.
+     * The clock.
      */
-    private final Map<String, Instant> workflowStartTimes =
-            new ConcurrentHashMap<>();
+    private final Clock clock;
 
     /**
-     * Track step start times for duration calculation.
+     * Constructor.
+     *
+     * @param workflowMetrics the workflow metrics instance
      */
-    private final Map<String, Instant> stepStartTimes =
-            new ConcurrentHashMap<>();
+    public WorkflowMetricsListener(final WorkflowMetrics workflowMetrics) {
+        this(workflowMetrics, Clock.systemUTC());
+    }
+
+    /**
+     * Constructor with clock, for tests.
+     *
+     * @param workflowMetrics the workflow metrics instance
+     * @param timeSource the clock
+     */
+    WorkflowMetricsListener(final WorkflowMetrics workflowMetrics,
+                            final Clock timeSource) {
+        this.metrics = workflowMetrics;
+        this.clock = timeSource;
+    }
 
     /**
      * Handles workflow message events.
@@ -53,7 +71,6 @@ public class WorkflowMetricsListener {
         try {
             switch (status) {
                 case PENDING -> handlePending(message);
-                case IN_PROGRESS -> handleInProgress(message);
                 case COMPLETED -> handleCompleted(message);
                 case FAILED -> handleFailed(message);
                 case CANCELLED -> handleCancelled(message);
@@ -73,34 +90,17 @@ public class WorkflowMetricsListener {
      * @param message the workflow message
      */
     private void handlePending(final WorkflowMessage message) {
-        String executionId = message.getExecutionId();
-        workflowStartTimes.put(executionId, Instant.now());
         metrics.recordWorkflowStarted(message.getTopic(),
                 message.getServiceName());
     }
 
-    /**
-     * Handles in-progress workflow status.
-     *
-     * @param message the workflow message
-     */
-    private void handleInProgress(final WorkflowMessage message) {
-        String executionId = message.getExecutionId();
-        String stepKey = executionId + ":" + message.getCurrentStep();
-        stepStartTimes.put(stepKey, Instant.now());
-    }
-
     /**
      * Handles completed workflow status.
      *
      * @param message the workflow message
      */
     private void handleCompleted(final WorkflowMessage message) {
-        String executionId = message.getExecutionId();
-        Instant startTime = workflowStartTimes.remove(executionId);
-        Duration duration = startTime != null
-                ? Duration.between(startTime, Instant.now())
-                : Duration.ZERO;
+        Duration duration = workflowDuration(message);
         metrics.recordWorkflowCompleted(message.getTopic(),
                 message.getServiceName(), duration);
     }
@@ -111,11 +111,7 @@ public class WorkflowMetricsListener {
      * @param message the workflow message
      */
     private void handleFailed(final WorkflowMessage message) {
-        String executionId = message.getExecutionId();
-        Instant startTime = workflowStartTimes.remove(executionId);
-        Duration duration = startTime != null
-                ? Duration.between(startTime, Instant.now())
-                : Duration.ZERO;
+        Duration duration = workflowDuration(message);
         metrics.recordWorkflowFailed(message.getTopic(),
                 message.getServiceName(), duration);
         metrics.recordDlq(message.getTopic());
@@ -127,8 +123,6 @@ public class WorkflowMetricsListener {
      * @param message the workflow message
      */
     private void handleCancelled(final WorkflowMessage message) {
-        String executionId = message.getExecutionId();
-        workflowStartTimes.remove(executionId);
         metrics.recordWorkflowCancelled(message.getTopic(),
                 message.getServiceName());
     }
@@ -145,24 +139,41 @@ public class WorkflowMetricsListener {
     }
 
     /**
-     * Record step completion with duration.
-     * Called directly from StepExecutor after successful step execution.
+     * Record step completion.
+     *
+     * <p>Step starts are not tracked, so the duration is recorded as zero.
      *
      * @param topic the workflow topic
      * @param stepLabel the step label
      * @param executionId the execution ID
      * @param stepId the step ID
+     * @deprecated Use {@link #recordStepCompleted(String, WorkflowMessage)} instead.
      */
+    @Deprecated
     public void recordStepCompleted(final String topic,
                                     final String stepLabel,
                                     final String executionId,
                                     final int stepId) {
-        String stepKey = executionId + ":" + stepId;
-        Instant startTime = stepStartTimes.remove(stepKey);
-        Duration duration = startTime != null
-                ? Duration.between(startTime, Instant.now())
-                : Duration.ZERO;
-        metrics.recordStepExecuted(topic, stepLabel, duration);
+        metrics.recordStepExecuted(topic, stepLabel, Duration.ZERO);
+    }
+
+    /**
+     * Record step completion, timed from the message of the step.
+     *
+     * <p>The step is timed from the time its message was sent
+     * ({@code updatedAt}, or {@code createdAt} for the first step), so no
+     * start needs to be tracked; the duration includes the time the message
+     * waited in the broker.
+     *
+     * @param stepLabel the step label
+     * @param message the message the step was executed with
+     */
+    public void recordStepCompleted(final String stepLabel,
+                                    final WorkflowMessage message) {
+        Instant sentAt = message.getUpdatedAt() != null
+                ? message.getUpdatedAt() : message.getCreatedAt();
+        metrics.recordStepExecuted(message.getTopic(), stepLabel,
+                between(sentAt, clock.instant()));
     }
 
     /**
@@ -180,4 +191,23 @@ public class WorkflowMetricsListener {
         }
         metrics.recordStepFailed(topic, stepLabel);
     }
+
+    /**
+     * Get the duration of a finished workflow from its message timestamps.
+     *
+     * @param message the completed or failed workflow message
+     * @return the duration, zero if the start time is unknown
+     */
+    private Duration workflowDuration(final WorkflowMessage message) {
+        Instant end = message.getUpdatedAt() != null
+                ? message.getUpdatedAt() : clock.instant();
+        return between(message.getCreatedAt(), end);
+    }
+
+    private static Duration between(final Instant start, final Instant end) {
+        if (start == null || end.isBefore(start)) {
+            return Duration.ZERO;
+        }
+        return Duration.between(start, end);
+    }
 }
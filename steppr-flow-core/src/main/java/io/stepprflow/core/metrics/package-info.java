@@ -15,6 +15,7 @@
  *   <li>Active workflow gauges</li>
  *   <li>Workflow and step duration timers</li>
  *   <li>Retry and DLQ counters</li>
+ *   <li>Rolling 1m/5m/15m throughput and latency percentiles</li>
  * </ul>
  */
 package io.stepprflow.core.metrics;
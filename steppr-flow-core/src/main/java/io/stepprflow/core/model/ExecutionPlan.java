@@ -0,0 +1,484 @@
+package io.stepprflow.core.model;
+
+import io.stepprflow.core.StepprFlowProperties;
+import io.stepprflow.core.exception.WorkflowDefinitionException;
+import io.stepprflow.core.invoker.BatchStepInvoker;
+import io.stepprflow.core.invoker.CallbackInvoker;
+import io.stepprflow.core.invoker.MethodInvokers;
+import io.stepprflow.core.invoker.StepInvoker;
+import io.stepprflow.core.service.StepprFlow;
+import lombok.Getter;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Immutable, pre-computed execution plan for a workflow topic.
+ *
+ * <p>Built once per topic by the registry from a {@link WorkflowDefinition}
+ * and the current {@link StepprFlowProperties}, so that the per-message
+ * path only does array lookups:
+ * <ul>
+ *   <li>steps in a dense array indexed by step ID, each with a pointer
+ *       to the next step and a last-step flag</li>
+ *   <li>destination names for completion, retry and DLQ</li>
+ *   <li>compiled step and callback invokers</li>
+ *   <li>the resolved payload class of each step</li>
+ *   <li>the retry policy and effective step timeouts</li>
+ *   <li>in-process chaining limits of each step</li>
+ *   <li>parallel groups, reached through their first step</li>
+ *   <li>compiled batch invokers of batch steps</li>
+ * </ul>
+ */
+@Getter
+public final class ExecutionPlan {
+
+    /** Suffix of the completion destination. */
+    public static final String COMPLETED_SUFFIX = ".completed";
+
+    /** Suffix of the retry destination. */
+    public static final String RETRY_SUFFIX = ".retry";
+
+    /** Topic name, also the destination of step transitions. */
+    private final String topic;
+
+    /** Source workflow definition. */
+    private final WorkflowDefinition definition;
+
+    /** Workflow handler instance. */
+    private final StepprFlow handler;
+
+    /** Number of steps. */
+    private final int totalSteps;
+
+    /** First step to execute. */
+    private final StepPlan firstStep;
+
+    /** Destination for completed workflows. */
+    private final String completedDestination;
+
+    /** Destination for scheduled retries. */
+    private final String retryDestination;
+
+    /** Destination for dead letters, or null when the DLQ is disabled. */
+    private final String dlqDestination;
+
+    /** Compiled success callback, or null. */
+    private final CallbackInvoker onSuccessInvoker;
+
+    /** Compiled failure callback, or null. */
+    private final CallbackInvoker onFailureInvoker;
+
+    /** Workflow-level timeout, or null. */
+    private final Duration timeout;
+
+    /** Retry policy. */
+    private final RetryPolicy retryPolicy;
+
+    /** Steps indexed by step ID; gaps are null. */
+    @Getter(lombok.AccessLevel.NONE)
+    private final StepPlan[] stepsById;
+
+    private ExecutionPlan(
+            final WorkflowDefinition definition,
+            final StepprFlowProperties properties,
+            final StepPlan[] stepsById,
+            final StepPlan firstStep) {
+        this.topic = definition.getTopic();
+        this.definition = definition;
+        this.handler = definition.getHandler();
+        this.totalSteps = definition.getSteps().size();
+        this.stepsById = stepsById;
+        this.firstStep = firstStep;
+        this.completedDestination = topic + COMPLETED_SUFFIX;
+        this.retryDestination = topic + RETRY_SUFFIX;
+        this.dlqDestination = properties.getDlq().isEnabled()
+                ? topic + properties.getDlq().getSuffix() : null;
+        this.onSuccessInvoker = callbackInvoker(
+                definition.getOnSuccessInvoker(), definition.getOnSuccessMethod());
+        this.onFailureInvoker = callbackInvoker(
+                definition.getOnFailureInvoker(), definition.getOnFailureMethod());
+        this.timeout = definition.getTimeout();
+        this.retryPolicy = RetryPolicy.of(properties.getRetry());
+    }
+
+    /**
+     * Compile the execution plan of a workflow definition.
+     *
+     * <p>Step and callback invokers already compiled on the definition are
+     * reused; missing ones are compiled here.
+     *
+     * @param definition the workflow definition
+     * @param properties the steppr-flow properties
+     * @return the execution plan
+     * @throws WorkflowDefinitionException if a parallel group is not contiguous
+     */
+    public static ExecutionPlan compile(
+            final WorkflowDefinition definition,
+            final StepprFlowProperties properties) {
+        List<StepDefinition> steps = definition.getSteps().stream()
+                .sorted((a, b) -> Integer.compare(a.getId(), b.getId()))
+                .toList();
+        int maxId = steps.isEmpty() ? 0 : Math.max(0, steps.get(steps.size() - 1).getId());
+        StepPlan[] stepsById = new StepPlan[maxId + 1];
+
+        StepPlan next = null;
+        Set<String> groups = new HashSet<>();
+        int i = steps.size() - 1;
+        while (i >= 0) {
+            StepDefinition step = steps.get(i);
+            if (step.getId() < 0) {
+                i--;
+                continue;
+            }
+            String group = step.getParallelGroup();
+            int first = i;
+            while (group != null && first > 0 && group.equals(steps.get(first - 1).getParallelGroup())) {
+                first--;
+            }
+            if (group != null && !groups.add(group)) {
+                throw new WorkflowDefinitionException(definition.getTopic(),
+                        "steps of parallel group '" + group + "' must have consecutive IDs");
+            }
+
+            // Every step of a group continues to the step after the group
+            List<StepPlan> branches = new ArrayList<>();
+            for (int j = first + 1; j <= i; j++) {
+                StepDefinition branch = steps.get(j);
+                StepPlan plan = new StepPlan(branch, stepInvoker(branch, definition.getHandler()), next,
+                        effectiveTimeout(branch, definition, properties),
+                        batchInvoker(branch, definition.getHandler()), properties.getChaining(), List.of());
+                stepsById[branch.getId()] = plan;
+                branches.add(plan);
+            }
+            StepDefinition head = steps.get(first);
+            StepPlan plan = new StepPlan(head, stepInvoker(head, definition.getHandler()), next,
+                    effectiveTimeout(head, definition, properties),
+                    batchInvoker(head, definition.getHandler()), properties.getChaining(), branches);
+            stepsById[head.getId()] = plan;
+            next = plan;
+            i = first - 1;
+        }
+        return new ExecutionPlan(definition, properties, stepsById, next);
+    }
+
+    /**
+     * Get a step by ID in constant time.
+     *
+     * @param stepId the step ID
+     * @return the step plan or null if not found
+     */
+    public StepPlan getStep(final int stepId) {
+        return stepId >= 0 && stepId < stepsById.length ? stepsById[stepId] : null;
+    }
+
+    private static StepInvoker stepInvoker(final StepDefinition step, final Object handler) {
+        if (step.getInvoker() == null && step.getMethod() != null) {
+            step.setInvoker(MethodInvokers.forStep(step.getMethod(), handler));
+        }
+        return step.getInvoker();
+    }
+
+    private static BatchStepInvoker batchInvoker(final StepDefinition step, final Object handler) {
+        if (step.getBatchSize() <= 0 || step.getMethod() == null) {
+            return null;
+        }
+        return MethodInvokers.forBatchStep(step.getMethod(), handler);
+    }
+
+    private static CallbackInvoker callbackInvoker(
+            final CallbackInvoker compiled,
+            final Method method) {
+        if (compiled != null || method == null) {
+            return compiled;
+        }
+        return MethodInvokers.forCallback(method);
+    }
+
+    private static Duration effectiveTimeout(
+            final StepDefinition step,
+            final WorkflowDefinition definition,
+            final StepprFlowProperties properties) {
+        if (step.getTimeout() != null) {
+            return step.getTimeout();
+        }
+        if (definition.getTimeout() != null) {
+            return definition.getTimeout();
+        }
+        StepprFlowProperties.Timeout timeoutConfig = properties.getTimeout();
+        return timeoutConfig != null && timeoutConfig.isEnabled()
+                ? timeoutConfig.getDefaultStepTimeout() : null;
+    }
+
+    /**
+     * Pre-computed view of a single step.
+     */
+    @Getter
+    public static final class StepPlan {
+
+        /** Step ID. */
+        private final int id;
+
+        /** Step label. */
+        private final String label;
+
+        /** Source step definition. */
+        private final StepDefinition definition;
+
+        /** Compiled invoker bound to the handler. */
+        private final StepInvoker invoker;
+
+        /** Next step, or null for the last step. */
+        private final StepPlan next;
+
+        /** Whether this is the last step. */
+        private final boolean last;
+
+        /** Whether to continue on failure (only meaningful if not last). */
+        private final boolean continueOnFailure;
+
+        /** Effective step timeout, or null for none. */
+        private final Duration timeout;
+
+        /** Declared payload parameter class, or null for untyped steps. */
+        private final Class<?> payloadClass;
+
+        /** Compiled batch invoker bound to the handler, or null. */
+        private final BatchStepInvoker batchInvoker;
+
+        /** Maximum executions per batch, or 0 for a per-execution step. */
+        private final int batchSize;
+
+        /** Maximum time the first message of a batch waits for others. */
+        private final Duration batchLinger;
+
+        /** Parallel group name, or null. */
+        private final String parallelGroup;
+
+        /**
+         * Steps run concurrently when this step is reached: this step and
+         * the other steps of its group, for the first step of a group;
+         * empty otherwise.
+         */
+        private final List<StepPlan> branches;
+
+        /** Whether the next step runs in-process (never for the last step). */
+        private final boolean chained;
+
+        /** Maximum steps between two checkpoints, for a chain starting here. */
+        private final int chainMaxSteps;
+
+        /** Maximum time between two checkpoints, for a chain starting here. */
+        private final Duration chainMaxDuration;
+
+        StepPlan(
+                final StepDefinition definition,
+                final StepInvoker invoker,
+                final StepPlan next,
+                final Duration timeout,
+                final BatchStepInvoker batchInvoker,
+                final StepprFlowProperties.Chaining chaining,
+                final List<StepPlan> otherBranches) {
+            this.id = definition.getId();
+            this.label = definition.getLabel();
+            this.definition = definition;
+            this.invoker = invoker;
+            this.next = next;
+            this.last = next == null;
+            this.continueOnFailure = definition.isContinueOnFailure();
+            this.timeout = timeout;
+            this.batchInvoker = batchInvoker;
+            this.batchSize = batchInvoker != null ? definition.getBatchSize() : 0;
+            this.batchLinger = batchSize > 0 && definition.getBatchLinger() != null
+                    ? definition.getBatchLinger() : Duration.ZERO;
+            this.payloadClass = batchSize > 0
+                    ? batchElementClassOf(definition.getMethod())
+                    : payloadClassOf(definition.getMethod());
+            this.parallelGroup = definition.getParallelGroup();
+            if (otherBranches.isEmpty()) {
+                this.branches = List.of();
+            } else {
+                List<StepPlan> group = new ArrayList<>(otherBranches.size() + 1);
+                group.add(this);
+                group.addAll(otherBranches);
+                this.branches = List.copyOf(group);
+            }
+            this.chained = definition.isChained() && next != null
+                    && chaining != null && chaining.isEnabled();
+            this.chainMaxSteps = definition.getChainMaxSteps() > 0
+                    ? definition.getChainMaxSteps()
+                    : chaining != null ? chaining.getMaxSteps() : 1;
+            this.chainMaxDuration = definition.getChainMaxDuration() != null
+                    ? definition.getChainMaxDuration()
+                    : chaining != null ? chaining.getMaxDuration() : Duration.ZERO;
+        }
+
+        /**
+         * Check if this step is invoked once per batch of executions.
+         *
+         * @return true for a batch step
+         */
+        public boolean isBatched() {
+            return batchInvoker != null;
+        }
+
+        /**
+         * Check if this step starts a parallel group.
+         *
+         * @return true if reaching this step runs its group
+         */
+        public boolean isParallel() {
+            return !branches.isEmpty();
+        }
+
+        private static Class<?> batchElementClassOf(final Method method) {
+            Type type = method.getGenericParameterTypes().length > 0
+                    ? method.getGenericParameterTypes()[0] : null;
+            if (type instanceof ParameterizedType parameterized
+                    && parameterized.getActualTypeArguments()[0] instanceof Class<?> element) {
+                return element == Object.class ? null : element;
+            }
+            return null;
+        }
+
+        private static Class<?> payloadClassOf(final Method method) {
+            if (method == null || method.getParameterCount() != 1) {
+                return null;
+            }
+            Class<?> type = method.getParameterTypes()[0];
+            return type == Object.class || type.isPrimitive() ? null : type;
+        }
+    }
+
+    /**
+     * Retry policy snapshot with pre-computed backoff delays, read by the
+     * failure handler instead of the retry properties.
+     *
+     * <p>Backoff is exponential: {@code initialDelay * multiplier^(attempt-1)},
+     * capped at {@code maxDelay}, then randomized according to the jitter:
+     * with {@code FULL} jitter uniform in [0, delay], with {@code EQUAL}
+     * jitter uniform in [delay / 2, delay].
+     */
+    @Getter
+    public static final class RetryPolicy {
+
+        /** Maximum attempts for new retry chains. */
+        private final int maxAttempts;
+
+        /** Fully-qualified names of non-retryable exceptions. */
+        private final Set<String> nonRetryableExceptions;
+
+        /** Capped backoff delays in milliseconds by attempt (index 0 = attempt 1). */
+        @Getter(lombok.AccessLevel.NONE)
+        private final long[] delays;
+
+        /** Jitter applied to each delay. */
+        @Getter(lombok.AccessLevel.NONE)
+        private final StepprFlowProperties.Retry.Jitter jitter;
+
+        /** Initial delay in milliseconds, for attempts beyond the pre-computed range. */
+        @Getter(lombok.AccessLevel.NONE)
+        private final long initialMs;
+
+        /** Backoff multiplier, for attempts beyond the pre-computed range. */
+        @Getter(lombok.AccessLevel.NONE)
+        private final double multiplier;
+
+        /** Maximum delay in milliseconds, for attempts beyond the pre-computed range. */
+        @Getter(lombok.AccessLevel.NONE)
+        private final long maxMs;
+
+        private RetryPolicy(final StepprFlowProperties.Retry retry) {
+            this.maxAttempts = retry.getMaxAttempts();
+            this.nonRetryableExceptions = Set.copyOf(retry.getNonRetryableExceptions());
+            this.jitter = retry.getJitter();
+            this.initialMs = retry.getInitialDelay().toMillis();
+            this.multiplier = retry.getMultiplier();
+            this.maxMs = retry.getMaxDelay().toMillis();
+            this.delays = new long[Math.max(1, maxAttempts)];
+            for (int i = 0; i < delays.length; i++) {
+                delays[i] = delay(initialMs, multiplier, maxMs, i + 1);
+            }
+        }
+
+        /**
+         * Build a policy from retry properties.
+         *
+         * @param retry the retry properties
+         * @return the retry policy
+         */
+        public static RetryPolicy of(final StepprFlowProperties.Retry retry) {
+            return new RetryPolicy(retry);
+        }
+
+        /**
+         * Check if an exception is retryable.
+         *
+         * @param cause the exception to check
+         * @return true if the exception is retryable
+         */
+        public boolean isRetryable(final Throwable cause) {
+            return !nonRetryableExceptions.contains(cause.getClass().getName());
+        }
+
+        /**
+         * Get the backoff delay for an attempt, jittered as configured.
+         *
+         * @param attempt the current attempt number (1-based)
+         * @return the backoff duration
+         */
+        public Duration backoff(final int attempt) {
+            long delayMs = attempt >= 1 && attempt <= delays.length
+                    ? delays[attempt - 1] : delay(initialMs, multiplier, maxMs, attempt);
+            return Duration.ofMillis(jitter(delayMs, jitter));
+        }
+
+        /**
+         * Compute the backoff delay for an attempt from retry properties,
+         * without building a policy.
+         *
+         * @param retry   the retry properties
+         * @param attempt the current attempt number (1-based)
+         * @return the backoff duration
+         */
+        public static Duration backoff(final StepprFlowProperties.Retry retry, final int attempt) {
+            long delayMs = delay(retry.getInitialDelay().toMillis(), retry.getMultiplier(),
+                    retry.getMaxDelay().toMillis(), attempt);
+            return Duration.ofMillis(jitter(delayMs, retry.getJitter()));
+        }
+
+        /**
+         * Randomize a backoff delay.
+         *
+         * @param delayMs the capped delay in milliseconds
+         * @param jitter  the jitter strategy, or null for none
+         * @return the randomized delay in milliseconds
+         */
+        public static long jitter(final long delayMs, final StepprFlowProperties.Retry.Jitter jitter) {
+            if (delayMs <= 0 || jitter == null) {
+                return delayMs;
+            }
+            return switch (jitter) {
+                case NONE -> delayMs;
+                case FULL -> ThreadLocalRandom.current().nextLong(delayMs + 1);
+                case EQUAL -> delayMs / 2 + ThreadLocalRandom.current().nextLong(delayMs - delayMs / 2 + 1);
+            };
+        }
+
+        private static long delay(
+                final long initialMs,
+                final double multiplier,
+                final long maxMs,
+                final int attempt) {
+            long delayMs = (long) (initialMs * Math.pow(multiplier, attempt - 1));
+            return Math.min(delayMs, maxMs);
+        }
+    }
+}
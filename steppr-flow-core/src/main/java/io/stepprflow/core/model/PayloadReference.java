@@ -0,0 +1,31 @@
+package io.stepprflow.core.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Reference to a payload stored outside of the message (claim check).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PayloadReference {
+
+    /**
+     * Location of the payload in the payload store.
+     */
+    private String location;
+
+    /**
+     * SHA-256 hash of the payload JSON, hex-encoded.
+     */
+    private String hash;
+
+    /**
+     * Size of the payload JSON in bytes.
+     */
+    private long size;
+}
@@ -0,0 +1,170 @@
+package io.stepprflow.core.model;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.ObjectCodec;
+import com.fasterxml.jackson.core.io.SegmentedStringWriter;
+import com.fasterxml.jackson.core.json.JsonGeneratorImpl;
+import com.fasterxml.jackson.core.util.BufferRecycler;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Workflow payload kept as the raw JSON text received from the broker.
+ *
+ * <p>The payload is only parsed when something asks for it: a step binds it
+ * directly to its declared type through the payload codec, and
+ * {@link WorkflowMessage#getPayload()} materializes the generic
+ * {@code Map}/{@code List} form on first access. As long as nobody replaces
+ * the payload, the original JSON is written back as-is when the message is
+ * forwarded to the next step.
+ *
+ * <p>Instances are immutable apart from the cached materialized value.
+ */
+public final class RawPayload implements JsonSerializable {
+
+    /** Fallback codec when the parser did not carry one. */
+    private static final ObjectMapper DEFAULT_CODEC = new ObjectMapper();
+
+    /** Raw JSON text. */
+    private final String json;
+
+    /** Codec used to materialize the generic value. */
+    private final ObjectCodec codec;
+
+    /** Materialized generic value (lazily set). */
+    private volatile Object value;
+
+    /** Whether {@link #value} has been materialized. */
+    private volatile boolean materialized;
+
+    /**
+     * Create a raw payload.
+     *
+     * @param json  the raw JSON text
+     * @param codec the codec used to materialize the value (may be null)
+     */
+    public RawPayload(final String json, final ObjectCodec codec) {
+        this.json = json;
+        this.codec = codec != null ? codec : DEFAULT_CODEC;
+    }
+
+    /**
+     * Get the raw JSON text.
+     *
+     * @return the JSON text
+     */
+    public String getJson() {
+        return json;
+    }
+
+    /**
+     * Get the size of the raw JSON text in characters.
+     *
+     * @return the length of the JSON text
+     */
+    public int length() {
+        return json.length();
+    }
+
+    /**
+     * Whether the generic value has already been materialized.
+     *
+     * @return true if {@link #value()} was called before
+     */
+    public boolean isMaterialized() {
+        return materialized;
+    }
+
+    /**
+     * Get the generic value ({@code Map}, {@code List}, scalar), parsing the
+     * JSON on first call.
+     *
+     * @return the generic value
+     * @throws UncheckedIOException if the JSON cannot be parsed
+     */
+    public Object value() {
+        if (!materialized) {
+            synchronized (this) {
+                if (!materialized) {
+                    try (JsonParser parser = codec.getFactory().createParser(json)) {
+                        value = codec.readValue(parser, Object.class);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException("Cannot parse raw payload", e);
+                    }
+                    materialized = true;
+                }
+            }
+        }
+        return value;
+    }
+
+    @Override
+    public void serialize(
+            final JsonGenerator gen,
+            final SerializerProvider serializers) throws IOException {
+        if (gen instanceof JsonGeneratorImpl) {
+            // Textual JSON output: forward the original bytes untouched
+            gen.writeRawValue(json);
+        } else {
+            // Token buffers and non-JSON formats need real tokens
+            serializers.defaultSerializeValue(value(), gen);
+        }
+    }
+
+    @Override
+    public void serializeWithType(
+            final JsonGenerator gen,
+            final SerializerProvider serializers,
+            final TypeSerializer typeSer) throws IOException {
+        serialize(gen, serializers);
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        return this == o || o instanceof RawPayload other && json.equals(other.json);
+    }
+
+    @Override
+    public int hashCode() {
+        return json.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return json;
+    }
+
+    /**
+     * Deserializer capturing the payload subtree as raw JSON text.
+     *
+     * <p>The subtree is streamed token by token into a buffer, without
+     * building an intermediate {@code Map} or tree.
+     */
+    public static final class Deserializer extends JsonDeserializer<Object> {
+
+        @Override
+        public Object deserialize(
+                final JsonParser p,
+                final DeserializationContext ctxt) throws IOException {
+            ObjectCodec codec = p.getCodec() != null ? p.getCodec() : DEFAULT_CODEC;
+            if (!JsonFactory.FORMAT_NAME_JSON.equals(codec.getFactory().getFormatName())) {
+                // Binary formats cannot be kept as JSON text
+                return ctxt.readValue(p, Object.class);
+            }
+            SegmentedStringWriter writer = new SegmentedStringWriter(new BufferRecycler());
+            try (JsonGenerator gen = codec.getFactory().createGenerator(writer)) {
+                gen.copyCurrentStructure(p);
+            }
+            return new RawPayload(writer.getAndClear(), codec);
+        }
+    }
+}
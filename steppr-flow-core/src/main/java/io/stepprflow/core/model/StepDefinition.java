@@ -1,5 +1,6 @@
 package io.stepprflow.core.model;
 
+import io.stepprflow.core.invoker.StepInvoker;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -37,6 +38,11 @@ public class StepDefinition {
      */
     private Method method;
 
+    /**
+     * Compiled invoker for {@link #method}, bound to the workflow handler.
+     */
+    private StepInvoker invoker;
+
     /**
      * Whether step is skippable.
      */
@@ -51,4 +57,35 @@ public class StepDefinition {
      * Step timeout.
      */
     private Duration timeout;
+
+    /**
+     * Maximum executions per invocation of a batch step, or 0 for a
+     * step invoked once per execution.
+     */
+    private int batchSize;
+
+    /**
+     * Maximum time the first message of a batch waits for others.
+     */
+    private Duration batchLinger;
+
+    /**
+     * Name of the parallel group this step belongs to, or null.
+     */
+    private String parallelGroup;
+
+    /**
+     * Whether the next step runs in-process after this one.
+     */
+    private boolean chained;
+
+    /**
+     * Maximum steps between two checkpoints, or 0 for the default.
+     */
+    private int chainMaxSteps;
+
+    /**
+     * Maximum time between two checkpoints, or null for the default.
+     */
+    private Duration chainMaxDuration;
 }
@@ -0,0 +1,55 @@
+package io.stepprflow.core.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Timeline of a step execution, split into phases.
+ *
+ * <p>Stamped by the step executor on the message it sends after the step,
+ * so that the monitor can store it with the step. Durations are in
+ * microseconds; the handoff phase is not included since it ends after the
+ * message is sent.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StepTiming {
+
+    /**
+     * ID of the step.
+     */
+    private int stepId;
+
+    /**
+     * Time the step message was consumed.
+     */
+    private Instant consumedAt;
+
+    /**
+     * Time between the send and the consumption of the step message.
+     * Zero for a step run in the same call as the previous one.
+     */
+    private long queueMicros;
+
+    /**
+     * Time spent loading and decoding the payload.
+     */
+    private long decodeMicros;
+
+    /**
+     * Time spent in the step method, or in the whole group for a parallel
+     * step.
+     */
+    private long executionMicros;
+
+    /**
+     * Time spent in the success callback, after the last step.
+     */
+    private long callbackMicros;
+}
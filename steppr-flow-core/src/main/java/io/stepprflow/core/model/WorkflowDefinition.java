@@ -1,5 +1,6 @@
 package io.stepprflow.core.model;
 
+import io.stepprflow.core.invoker.CallbackInvoker;
 import io.stepprflow.core.service.StepprFlow;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -54,6 +55,16 @@ public class WorkflowDefinition {
      */
     private Method onFailureMethod;
 
+    /**
+     * Compiled success callback invoker.
+     */
+    private CallbackInvoker onSuccessInvoker;
+
+    /**
+     * Compiled failure callback invoker.
+     */
+    private CallbackInvoker onFailureInvoker;
+
     /**
      * Workflow timeout.
      */
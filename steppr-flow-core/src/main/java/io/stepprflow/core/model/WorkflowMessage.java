@@ -1,14 +1,23 @@
 package io.stepprflow.core.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import io.stepprflow.core.id.IdGenerator;
+import io.stepprflow.core.id.TimeOrderedIdGenerator;
+import io.stepprflow.core.wire.WireBody;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.time.Instant;
 import java.util.Map;
-import java.util.UUID;
 
 /**
  * Message structure for workflow communication via Kafka.
@@ -57,7 +66,12 @@ public class WorkflowMessage {
 
     /**
      * Payload data (JSON object).
+     *
+     * <p>Messages read from a broker hold a {@link RawPayload} here until
+     * the payload is replaced, so that an unchanged payload is forwarded
+     * without being parsed and re-serialized.
      */
+    @Getter(AccessLevel.NONE)
     private Object payload;
 
     /**
@@ -65,6 +79,14 @@ public class WorkflowMessage {
      */
     private String payloadType;
 
+    /**
+     * Reference to the payload when it is stored outside of the message.
+     *
+     * <p>Set with no payload on the wire; once the payload is resolved from
+     * the store both are present, until the payload is replaced.
+     */
+    private PayloadReference payloadRef;
+
     /**
      * Security context (encrypted or encoded token).
      */
@@ -97,7 +119,83 @@ public class WorkflowMessage {
     private Instant updatedAt;
 
     /**
-     * Create a new execution message.
+     * Timeline of the step run before this message was sent. Carried in
+     * the envelope headers only, like the send time.
+     */
+    @JsonIgnore
+    private StepTiming stepTiming;
+
+    /**
+     * Body received from the broker, forwarded as-is by step transitions
+     * while it still describes the message. Never serialized.
+     */
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private WireBody wireBody;
+
+    /**
+     * Get the payload.
+     *
+     * <p>A raw payload received from a broker is materialized to its
+     * generic form ({@code Map}, {@code List}, scalar) on first access.
+     * Steps should use the payload codec instead, which binds the raw JSON
+     * directly to the declared type.
+     *
+     * @return the payload
+     */
+    @JsonIgnore
+    public Object getPayload() {
+        return payload instanceof RawPayload raw ? raw.value() : payload;
+    }
+
+    /**
+     * Replace the payload.
+     *
+     * <p>Drops the payload reference, which no longer matches the payload.
+     *
+     * @param payloadData the new payload
+     */
+    @JsonIgnore
+    public void setPayload(final Object payloadData) {
+        this.payload = payloadData;
+        this.payloadRef = null;
+    }
+
+    /**
+     * Get the raw payload received from the broker, if still unchanged.
+     *
+     * @return the raw payload, or null
+     */
+    @JsonIgnore
+    public RawPayload getRawPayload() {
+        return payload instanceof RawPayload raw ? raw : null;
+    }
+
+    /**
+     * Get the payload as it should be written on the wire: the raw payload
+     * if unchanged, otherwise the payload object. Use this when copying the
+     * payload into another message.
+     *
+     * @return the wire payload
+     */
+    @JsonProperty("payload")
+    public Object getWirePayload() {
+        return payload;
+    }
+
+    @JsonProperty("payload")
+    @JsonDeserialize(using = RawPayload.Deserializer.class)
+    private void setWirePayload(final Object wirePayload) {
+        this.payload = wirePayload;
+    }
+
+    /**
+     * Create a new execution message with IDs from the default generator.
+     *
+     * <p>For use outside a Spring context; within one, pass the
+     * application's {@link IdGenerator} bean to
+     * {@link #createNew(String, Object, IdGenerator)}.
      *
      * @param topicName the topic name
      * @param payloadData the payload data
@@ -106,9 +204,24 @@ public class WorkflowMessage {
     public static WorkflowMessage createNew(
             final String topicName,
             final Object payloadData) {
+        return createNew(topicName, payloadData, TimeOrderedIdGenerator.getDefault());
+    }
+
+    /**
+     * Create a new execution message.
+     *
+     * @param topicName the topic name
+     * @param payloadData the payload data
+     * @param idGenerator the generator of the execution and correlation IDs
+     * @return a new workflow message
+     */
+    public static WorkflowMessage createNew(
+            final String topicName,
+            final Object payloadData,
+            final IdGenerator idGenerator) {
         return WorkflowMessage.builder()
-                .executionId(UUID.randomUUID().toString())
-                .correlationId(UUID.randomUUID().toString())
+                .executionId(idGenerator.nextId())
+                .correlationId(idGenerator.nextId())
                 .topic(topicName)
                 .currentStep(1)
                 .status(WorkflowStatus.PENDING)
@@ -123,19 +236,32 @@ public class WorkflowMessage {
      * @return a new message for the next step
      */
     public WorkflowMessage nextStep() {
+        return nextStep(this.currentStep + 1);
+    }
+
+    /**
+     * Create next step message targeting an explicit step ID.
+     *
+     * @param stepId the ID of the next step
+     * @return the next step message
+     */
+    public WorkflowMessage nextStep(final int stepId) {
         return WorkflowMessage.builder()
                 .executionId(this.executionId)
                 .correlationId(this.correlationId)
                 .topic(this.topic)
-                .currentStep(this.currentStep + 1)
+                .serviceName(this.serviceName)
+                .currentStep(stepId)
                 .totalSteps(this.totalSteps)
                 .status(WorkflowStatus.IN_PROGRESS)
                 .payload(this.payload)
                 .payloadType(this.payloadType)
+                .payloadRef(this.payloadRef)
                 .securityContext(this.securityContext)
                 .metadata(this.metadata)
                 .createdAt(this.createdAt)
                 .updatedAt(Instant.now())
+                .wireBody(this.wireBody)
                 .build();
     }
 
@@ -151,11 +277,13 @@ public class WorkflowMessage {
                 .executionId(this.executionId)
                 .correlationId(this.correlationId)
                 .topic(this.topic)
+                .serviceName(this.serviceName)
                 .currentStep(this.currentStep)
                 .totalSteps(this.totalSteps)
                 .status(WorkflowStatus.FAILED)
                 .payload(this.payload)
                 .payloadType(this.payloadType)
+                .payloadRef(this.payloadRef)
                 .securityContext(this.securityContext)
                 .metadata(this.metadata)
                 .retryInfo(this.retryInfo)
@@ -179,15 +307,18 @@ public class WorkflowMessage {
                 .executionId(this.executionId)
                 .correlationId(this.correlationId)
                 .topic(this.topic)
+                .serviceName(this.serviceName)
                 .currentStep(this.currentStep)
                 .totalSteps(this.totalSteps)
                 .status(WorkflowStatus.COMPLETED)
                 .payload(this.payload)
                 .payloadType(this.payloadType)
+                .payloadRef(this.payloadRef)
                 .securityContext(this.securityContext)
                 .metadata(this.metadata)
                 .createdAt(this.createdAt)
                 .updatedAt(Instant.now())
+                .wireBody(this.wireBody)
                 .build();
     }
 }
@@ -4,8 +4,10 @@
  * <p>This package contains the core data models used throughout the framework:
  * <ul>
  *   <li>{@link io.stepprflow.core.model.WorkflowMessage} - Message for Kafka</li>
+ *   <li>{@link io.stepprflow.core.model.PayloadReference} - Reference to a payload stored outside of the message</li>
  *   <li>{@link io.stepprflow.core.model.WorkflowDefinition} - Workflow definition</li>
  *   <li>{@link io.stepprflow.core.model.StepDefinition} - Step definition</li>
+ *   <li>{@link io.stepprflow.core.model.ExecutionPlan} - Compiled per-topic execution plan</li>
  *   <li>{@link io.stepprflow.core.model.WorkflowStatus} - Execution status</li>
  * </ul>
  */
@@ -0,0 +1,252 @@
+package io.stepprflow.core.payload;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.stepprflow.core.StepprFlowProperties;
+import io.stepprflow.core.exception.WorkflowException;
+import io.stepprflow.core.model.PayloadReference;
+import io.stepprflow.core.model.RawPayload;
+import io.stepprflow.core.model.WorkflowMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps large payloads out of broker messages.
+ *
+ * <p>Before a message is sent, {@link #checkIn(WorkflowMessage)} writes a
+ * payload larger than {@code stepprflow.claim-check.threshold} to the
+ * {@link PayloadStore} and replaces it in the message with a
+ * {@link PayloadReference}: the store location and the SHA-256 hash of the
+ * payload JSON. The step executor calls {@link #resolve(WorkflowMessage)}
+ * only when it is about to run a step, and checks the hash of what it
+ * reads back.
+ *
+ * <p>A resolved message keeps its reference next to the payload. Messages
+ * derived from it (next step, retry, DLQ, completion) carry both, so an
+ * unchanged payload is sent again as the same reference without being
+ * serialized, hashed or stored a second time. Replacing the payload drops
+ * the reference.
+ *
+ * <p>The {@link PayloadStore} bean is used when present, otherwise a
+ * {@link FileSystemPayloadStore} in {@code stepprflow.claim-check.directory}.
+ *
+ * <p>When a {@link MeterRegistry} is available, the claim check publishes:
+ * <ul>
+ *   <li>stepprflow.payload.size - Distribution of sent payload sizes in
+ *   bytes, with histogram buckets (by topic)</li>
+ *   <li>stepprflow.payload.claim-checks - Counter of payloads stored
+ *   outside of the message (by topic)</li>
+ * </ul>
+ *
+ * <p>Enabled with {@code stepprflow.claim-check.enabled=true}.
+ */
+@Component
+@ConditionalOnProperty(prefix = "stepprflow.claim-check", name = "enabled", havingValue = "true")
+@Slf4j
+public class ClaimCheck {
+
+    /** Payload size summary name. */
+    static final String SIZE_SUMMARY = "stepprflow.payload.size";
+
+    /** Stored payload counter name. */
+    static final String STORED_COUNTER = "stepprflow.payload.claim-checks";
+
+    /** The object mapper. */
+    private final ObjectMapper objectMapper;
+
+    /** The payload store. */
+    private final PayloadStore store;
+
+    /** Size in bytes above which payloads are stored. */
+    private final int threshold;
+
+    /** The meter registry, or null. */
+    private final MeterRegistry meterRegistry;
+
+    /** Payload size summaries by topic. */
+    private final Map<String, DistributionSummary> sizeSummaries = new ConcurrentHashMap<>();
+
+    /** Stored payload counters by topic. */
+    private final Map<String, Counter> storedCounters = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor used by Spring.
+     *
+     * @param objectMapper  the object mapper
+     * @param properties    the steppr-flow properties
+     * @param payloadStore  the payload store (optional)
+     * @param meterRegistry the meter registry (optional)
+     */
+    @Autowired
+    public ClaimCheck(
+            final ObjectMapper objectMapper,
+            final StepprFlowProperties properties,
+            final ObjectProvider<PayloadStore> payloadStore,
+            @Autowired(required = false) final MeterRegistry meterRegistry) {
+        this(objectMapper,
+                payloadStore.getIfAvailable(() -> new FileSystemPayloadStore(
+                        Path.of(properties.getClaimCheck().getDirectory()))),
+                properties.getClaimCheck().getThreshold(),
+                meterRegistry);
+    }
+
+    /**
+     * Constructor with an explicit store.
+     *
+     * @param objectMapper  the object mapper
+     * @param store         the payload store
+     * @param threshold     the size in bytes above which payloads are stored
+     * @param meterRegistry the meter registry (may be null)
+     */
+    public ClaimCheck(
+            final ObjectMapper objectMapper,
+            final PayloadStore store,
+            final int threshold,
+            final MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.store = store;
+        this.threshold = threshold;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Prepare a message for sending, storing its payload if it is large.
+     *
+     * @param message the message to send
+     * @return the message to put on the wire: the same message if the
+     *         payload stays inline, otherwise a copy carrying only the
+     *         payload reference
+     * @throws WorkflowException if the payload cannot be serialized or stored
+     */
+    public WorkflowMessage checkIn(final WorkflowMessage message) {
+        Object payload = message.getWirePayload();
+        PayloadReference ref = message.getPayloadRef();
+        if (ref != null) {
+            // Payload unchanged since it was resolved (or never resolved)
+            recordSize(message.getTopic(), ref.getSize());
+            return payload == null ? message : message.toBuilder().payload(null).build();
+        }
+        if (payload == null) {
+            return message;
+        }
+
+        byte[] content = serialize(payload);
+        recordSize(message.getTopic(), content.length);
+        if (content.length <= threshold) {
+            return message;
+        }
+
+        String hash = sha256(ByteBuffer.wrap(content));
+        String location;
+        try {
+            location = store.put(hash, content);
+        } catch (IOException e) {
+            throw new WorkflowException("Cannot store payload of execution " + message.getExecutionId(), e);
+        }
+        countStored(message.getTopic());
+        log.debug("Stored payload of {} bytes for execution {} at {}",
+                content.length, message.getExecutionId(), location);
+
+        return message.toBuilder()
+                .payload(null)
+                .payloadRef(PayloadReference.builder()
+                        .location(location)
+                        .hash(hash)
+                        .size(content.length)
+                        .build())
+                .build();
+    }
+
+    /**
+     * Load the payload of a message received with a payload reference.
+     *
+     * @param message the received message
+     * @return the same message if it carries its payload, otherwise a copy
+     *         holding the stored payload as raw JSON, and still the reference
+     * @throws WorkflowException if the payload cannot be read or its hash
+     *         does not match
+     */
+    public WorkflowMessage resolve(final WorkflowMessage message) {
+        PayloadReference ref = message.getPayloadRef();
+        if (ref == null || message.getWirePayload() != null) {
+            return message;
+        }
+        ByteBuffer content;
+        try {
+            content = store.get(ref.getLocation());
+        } catch (IOException e) {
+            throw new WorkflowException("Cannot read payload of execution " + message.getExecutionId()
+                    + " at " + ref.getLocation(), e);
+        }
+        if (!sha256(content.duplicate()).equals(ref.getHash())) {
+            throw new WorkflowException("Payload of execution " + message.getExecutionId()
+                    + " at " + ref.getLocation() + " does not match its hash");
+        }
+        String json = StandardCharsets.UTF_8.decode(content).toString();
+        return message.toBuilder()
+                .payload(new RawPayload(json, objectMapper))
+                .build();
+    }
+
+    private byte[] serialize(final Object payload) {
+        if (payload instanceof RawPayload raw) {
+            return raw.getJson().getBytes(StandardCharsets.UTF_8);
+        }
+        try {
+            return objectMapper.writeValueAsBytes(payload);
+        } catch (JsonProcessingException e) {
+            throw new WorkflowException("Cannot serialize payload", e);
+        }
+    }
+
+    private void recordSize(final String topic, final long size) {
+        if (meterRegistry == null || topic == null) {
+            return;
+        }
+        sizeSummaries.computeIfAbsent(topic, t -> DistributionSummary.builder(SIZE_SUMMARY)
+                .tag("topic", t)
+                .baseUnit("bytes")
+                .description("Serialized payload size")
+                .publishPercentileHistogram()
+                .register(meterRegistry))
+                .record(size);
+    }
+
+    private void countStored(final String topic) {
+        if (meterRegistry == null || topic == null) {
+            return;
+        }
+        storedCounters.computeIfAbsent(topic, t -> Counter.builder(STORED_COUNTER)
+                .tag("topic", t)
+                .description("Payloads stored outside of the message")
+                .register(meterRegistry))
+                .increment();
+    }
+
+    private static String sha256(final ByteBuffer content) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(content);
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            // Every JRE provides SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package io.stepprflow.core.payload;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.regex.Pattern;
+
+/**
+ * Payload store on the local filesystem.
+ *
+ * <p>Each payload is a file named after its hash, under a sub-directory
+ * named after the first two hash characters. Files are written to a
+ * temporary file and moved into place, so readers never see a partial
+ * payload, and read through a memory mapping, so that the content is not
+ * copied into the heap before being decoded.
+ *
+ * <p>The directory must be shared by all instances running the workflows,
+ * for example on a network volume. Payloads are never deleted by this
+ * store.
+ */
+public final class FileSystemPayloadStore implements PayloadStore {
+
+    /** Valid locations: a hex SHA-256 hash. */
+    private static final Pattern LOCATION = Pattern.compile("[0-9a-f]{64}");
+
+    /** The root directory. */
+    private final Path directory;
+
+    /**
+     * Create a store.
+     *
+     * @param directory the root directory, created if missing
+     */
+    public FileSystemPayloadStore(final Path directory) {
+        this.directory = directory;
+    }
+
+    @Override
+    public String put(final String hash, final byte[] content) throws IOException {
+        Path file = pathOf(hash);
+        if (Files.exists(file)) {
+            return hash;
+        }
+        Files.createDirectories(file.getParent());
+        Path temp = Files.createTempFile(file.getParent(), hash, ".tmp");
+        try {
+            Files.write(temp, content);
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException e) {
+            // Written concurrently with the same content
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        return hash;
+    }
+
+    @Override
+    public ByteBuffer get(final String location) throws IOException {
+        try (FileChannel channel = FileChannel.open(pathOf(location), StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    private Path pathOf(final String location) {
+        if (location == null || !LOCATION.matcher(location).matches()) {
+            // Never resolve a path taken from a message as-is
+            throw new IllegalArgumentException("Invalid payload location: " + location);
+        }
+        return directory.resolve(location.substring(0, 2)).resolve(location);
+    }
+}
@@ -0,0 +1,147 @@
+package io.stepprflow.core.payload;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.stepprflow.core.model.RawPayload;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Codec for a single payload type.
+ *
+ * <p>Holds a pre-built {@link ObjectReader} and {@link ObjectWriter} for the
+ * type, so that decoding does not resolve the type or look up serializers
+ * per message. Instances are created by {@link PayloadCodecRegistry} and
+ * are thread-safe.
+ */
+public final class PayloadCodec {
+
+    /** Decode timer name. */
+    static final String DECODE_TIMER = "stepprflow.payload.decode";
+
+    /** Payload type. */
+    private final Class<?> type;
+
+    /** Jackson type of {@link #type}. */
+    private final JavaType javaType;
+
+    /** Object mapper, for conversion of already-parsed payloads. */
+    private final ObjectMapper objectMapper;
+
+    /** Reader bound to {@link #javaType}. */
+    private final ObjectReader reader;
+
+    /** Writer bound to {@link #javaType}. */
+    private final ObjectWriter writer;
+
+    /** Meter registry, or null when metrics are disabled. */
+    private final MeterRegistry meterRegistry;
+
+    /** Decode timers by topic. */
+    private final Map<String, Timer> decodeTimers = new ConcurrentHashMap<>();
+
+    PayloadCodec(
+            final Class<?> type,
+            final ObjectMapper objectMapper,
+            final MeterRegistry meterRegistry) {
+        this.type = type;
+        this.javaType = objectMapper.constructType(type);
+        this.objectMapper = objectMapper;
+        this.reader = objectMapper.readerFor(javaType);
+        this.writer = objectMapper.writerFor(javaType);
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Get the payload type.
+     *
+     * @return the payload type
+     */
+    public Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * Decode a payload to this codec's type.
+     *
+     * <p>Accepts a {@link RawPayload} or raw JSON bytes (bound directly from
+     * the JSON text), a parsed {@link JsonNode}, an instance of
+     * the type itself (returned as-is) or a generic structure such as the
+     * {@code Map} produced by a broker's JSON converter.
+     *
+     * <p>Binding failures are reported as {@link IllegalArgumentException},
+     * like {@link ObjectMapper#convertValue}, so that they are treated as
+     * non-retryable by default.
+     *
+     * @param payload the payload in any supported form
+     * @return the typed payload
+     * @throws IllegalArgumentException if the payload cannot be bound to the type
+     */
+    public Object decode(final Object payload) {
+        if (payload == null || type.isInstance(payload)) {
+            return payload;
+        }
+        try {
+            if (payload instanceof RawPayload raw) {
+                return reader.readValue(raw.getJson());
+            }
+            if (payload instanceof byte[] bytes) {
+                return reader.readValue(bytes);
+            }
+            if (payload instanceof JsonNode node) {
+                return reader.readValue(node);
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException(
+                    "Cannot decode payload as " + type.getName(), e);
+        }
+        return objectMapper.convertValue(payload, javaType);
+    }
+
+    /**
+     * Decode a payload and record the decode time for a topic.
+     *
+     * @param topic   the workflow topic
+     * @param payload the payload in any supported form
+     * @return the typed payload
+     * @throws IllegalArgumentException if the payload cannot be bound to the type
+     */
+    public Object decode(final String topic, final Object payload) {
+        if (meterRegistry == null || topic == null) {
+            return decode(payload);
+        }
+        long start = System.nanoTime();
+        try {
+            return decode(payload);
+        } finally {
+            decodeTimer(topic).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Encode a payload to JSON bytes.
+     *
+     * @param value the payload
+     * @return the JSON bytes
+     * @throws IOException if the payload cannot be serialized
+     */
+    public byte[] encode(final Object value) throws IOException {
+        return writer.writeValueAsBytes(value);
+    }
+
+    private Timer decodeTimer(final String topic) {
+        return decodeTimers.computeIfAbsent(topic, t -> Timer.builder(DECODE_TIMER)
+                .tag("topic", t)
+                .tag("type", type.getSimpleName())
+                .description("Payload deserialization time")
+                .register(meterRegistry));
+    }
+}
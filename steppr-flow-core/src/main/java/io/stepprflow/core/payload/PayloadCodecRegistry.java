@@ -0,0 +1,264 @@
+package io.stepprflow.core.payload;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.stepprflow.core.StepprFlowProperties;
+import io.stepprflow.core.model.WorkflowMessage;
+import io.stepprflow.core.security.TrustedPackagesValidator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Registry of payload codecs, keyed by payload type name.
+ *
+ * <p>The payload type carried by a message is resolved to a class at most
+ * once. Only the following types are resolved:
+ * <ul>
+ *   <li>types registered explicitly, such as the declared parameter types
+ *   of registered steps</li>
+ *   <li>types in a trusted package, from the Kafka and RabbitMQ
+ *   {@code trusted-packages} settings</li>
+ *   <li>JDK value types ({@code java.lang}, {@code java.util},
+ *   {@code java.math}, {@code java.time})</li>
+ * </ul>
+ * Any other type is never loaded, and the raw payload is used instead.
+ *
+ * <p>When a {@link MeterRegistry} is available, the registry publishes:
+ * <ul>
+ *   <li>stepprflow.payload.codec.lookups - Counter of type lookups
+ *   (by result: hit, miss)</li>
+ *   <li>stepprflow.payload.decode - Timer of payload deserialization
+ *   (by topic, type)</li>
+ * </ul>
+ */
+@Component
+@Slf4j
+public class PayloadCodecRegistry {
+
+    /** Lookup counter name. */
+    private static final String LOOKUP_COUNTER = "stepprflow.payload.codec.lookups";
+
+    /** JDK packages whose value types are always trusted. */
+    private static final Set<String> JDK_PACKAGES =
+            Set.of("java.lang", "java.util", "java.math", "java.time");
+
+    /** Maximum number of rejected type names remembered. */
+    private static final int MAX_REJECTED = 1024;
+
+    /** The object mapper. */
+    private final ObjectMapper objectMapper;
+
+    /** The meter registry, or null. */
+    private final MeterRegistry meterRegistry;
+
+    /** Trusted packages (exact package match). */
+    private final Set<String> trustedPackages;
+
+    /** Resolved codecs by type name. */
+    private final Map<String, PayloadCodec> codecs = new ConcurrentHashMap<>();
+
+    /** Type names that were rejected or not found. */
+    private final Set<String> rejected = ConcurrentHashMap.newKeySet();
+
+    /** Lookup hits. */
+    private final LongAdder hits = new LongAdder();
+
+    /** Lookup misses. */
+    private final LongAdder misses = new LongAdder();
+
+    /** Lookup hit counter, or null. */
+    private final Counter hitCounter;
+
+    /** Lookup miss counter, or null. */
+    private final Counter missCounter;
+
+    /**
+     * Constructor used by Spring.
+     *
+     * @param objectMapper  the object mapper
+     * @param properties    the steppr-flow properties
+     * @param meterRegistry the meter registry (optional)
+     */
+    @Autowired
+    public PayloadCodecRegistry(
+            final ObjectMapper objectMapper,
+            final StepprFlowProperties properties,
+            @Autowired(required = false) final MeterRegistry meterRegistry) {
+        this(objectMapper, trustedPackagesOf(properties), meterRegistry);
+    }
+
+    /**
+     * Constructor with an explicit list of trusted packages.
+     *
+     * @param objectMapper    the object mapper
+     * @param trustedPackages the trusted payload packages
+     * @param meterRegistry   the meter registry (may be null)
+     * @throws SecurityException if a trusted package contains a wildcard
+     */
+    public PayloadCodecRegistry(
+            final ObjectMapper objectMapper,
+            final Collection<String> trustedPackages,
+            final MeterRegistry meterRegistry) {
+        TrustedPackagesValidator.validate(List.copyOf(trustedPackages));
+        this.objectMapper = objectMapper;
+        this.trustedPackages = Set.copyOf(trustedPackages);
+        this.meterRegistry = meterRegistry;
+        if (meterRegistry != null) {
+            this.hitCounter = Counter.builder(LOOKUP_COUNTER)
+                    .tag("result", "hit")
+                    .description("Payload codec lookups")
+                    .register(meterRegistry);
+            this.missCounter = Counter.builder(LOOKUP_COUNTER)
+                    .tag("result", "miss")
+                    .description("Payload codec lookups")
+                    .register(meterRegistry);
+        } else {
+            this.hitCounter = null;
+            this.missCounter = null;
+        }
+    }
+
+    /**
+     * Register a trusted payload type, regardless of its package.
+     *
+     * @param type the payload type
+     * @return the codec for the type
+     */
+    public PayloadCodec register(final Class<?> type) {
+        rejected.remove(type.getName());
+        return codecs.computeIfAbsent(type.getName(), n -> newCodec(type));
+    }
+
+    /**
+     * Get the codec for a payload type name.
+     *
+     * @param typeName the fully-qualified type name
+     * @return the codec, or empty if the type is not trusted or not found
+     */
+    public Optional<PayloadCodec> forType(final String typeName) {
+        PayloadCodec codec = codecs.get(typeName);
+        if (codec != null) {
+            hit();
+            return Optional.of(codec);
+        }
+        miss();
+        if (typeName == null || rejected.contains(typeName)) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(resolve(typeName));
+    }
+
+    /**
+     * Decode the payload of a message to its declared type.
+     *
+     * <p>A payload still held as raw JSON is bound directly to the type,
+     * without materializing the generic form first. Returns the generic
+     * payload when the message carries no payload type, or when the type is
+     * not trusted or cannot be found.
+     *
+     * @param message the workflow message
+     * @return the decoded payload, or null if the payload is null
+     * @throws IllegalArgumentException if the payload cannot be bound to the type
+     */
+    public Object decode(final WorkflowMessage message) {
+        Object wirePayload = message.getWirePayload();
+        if (wirePayload == null || message.getPayloadType() == null) {
+            return message.getPayload();
+        }
+        return forType(message.getPayloadType())
+                .map(codec -> codec.decode(message.getTopic(), wirePayload))
+                .orElseGet(message::getPayload);
+    }
+
+    /**
+     * Get the number of lookups served from the cache.
+     *
+     * @return the hit count
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Get the number of lookups that required class resolution.
+     *
+     * @return the miss count
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Check if a type name belongs to a trusted package.
+     *
+     * @param typeName the fully-qualified type name
+     * @return true if the package is trusted
+     */
+    public boolean isTrusted(final String typeName) {
+        int lastDot = typeName.lastIndexOf('.');
+        if (lastDot <= 0) {
+            return false;
+        }
+        String pkg = typeName.substring(0, lastDot);
+        return trustedPackages.contains(pkg) || JDK_PACKAGES.contains(pkg);
+    }
+
+    private PayloadCodec resolve(final String typeName) {
+        if (!isTrusted(typeName)) {
+            reject(typeName, "Payload type {} is not in a trusted package, using raw payload");
+            return null;
+        }
+        try {
+            Class<?> type = ClassUtils.forName(typeName, ClassUtils.getDefaultClassLoader());
+            return codecs.computeIfAbsent(typeName, n -> newCodec(type));
+        } catch (ClassNotFoundException | LinkageError e) {
+            reject(typeName, "Could not find payload class {}, using raw payload");
+            return null;
+        }
+    }
+
+    private void reject(final String typeName, final String logMessage) {
+        if (rejected.size() < MAX_REJECTED && rejected.add(typeName)) {
+            log.warn(logMessage, typeName);
+        } else {
+            log.debug(logMessage, typeName);
+        }
+    }
+
+    private PayloadCodec newCodec(final Class<?> type) {
+        return new PayloadCodec(type, objectMapper, meterRegistry);
+    }
+
+    private void hit() {
+        hits.increment();
+        if (hitCounter != null) {
+            hitCounter.increment();
+        }
+    }
+
+    private void miss() {
+        misses.increment();
+        if (missCounter != null) {
+            missCounter.increment();
+        }
+    }
+
+    private static Set<String> trustedPackagesOf(final StepprFlowProperties properties) {
+        Set<String> packages = new LinkedHashSet<>();
+        packages.addAll(properties.getKafka().getTrustedPackages());
+        packages.addAll(properties.getRabbitmq().getTrustedPackages());
+        return packages;
+    }
+}
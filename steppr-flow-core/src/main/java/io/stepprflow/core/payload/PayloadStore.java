@@ -0,0 +1,37 @@
+package io.stepprflow.core.payload;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Store of payloads kept outside of broker messages by the
+ * {@link ClaimCheck}.
+ *
+ * <p>Payloads are content-addressed: storing a payload whose hash is
+ * already present may return the existing location instead of writing it
+ * again, which is the common case of a payload forwarded unchanged from one
+ * step to the next.
+ *
+ * <p>Implementations must be thread-safe.
+ */
+public interface PayloadStore {
+
+    /**
+     * Store a payload.
+     *
+     * @param hash    the SHA-256 hash of the content, hex-encoded
+     * @param content the payload JSON bytes
+     * @return the location of the payload in this store
+     * @throws IOException if the payload cannot be stored
+     */
+    String put(String hash, byte[] content) throws IOException;
+
+    /**
+     * Read a payload.
+     *
+     * @param location the location returned by {@link #put(String, byte[])}
+     * @return the payload JSON bytes
+     * @throws IOException if the payload cannot be read
+     */
+    ByteBuffer get(String location) throws IOException;
+}
@@ -0,0 +1,18 @@
+/**
+ * Payload encoding and decoding.
+ *
+ * <p>This package provides:
+ * <ul>
+ *   <li>{@link io.stepprflow.core.payload.PayloadCodecRegistry} - Trusted type
+ *   resolution and per-type codecs</li>
+ *   <li>{@link io.stepprflow.core.payload.PayloadCodec} - Pre-built Jackson
+ *   reader/writer for one payload type</li>
+ *   <li>{@link io.stepprflow.core.payload.ClaimCheck} - Storage of large
+ *   payloads outside of broker messages</li>
+ *   <li>{@link io.stepprflow.core.payload.PayloadStore} - Store of
+ *   claim-checked payloads</li>
+ *   <li>{@link io.stepprflow.core.payload.FileSystemPayloadStore} -
+ *   Filesystem payload store with memory-mapped reads</li>
+ * </ul>
+ */
+package io.stepprflow.core.payload;
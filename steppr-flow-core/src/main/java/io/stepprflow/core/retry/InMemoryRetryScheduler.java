@@ -0,0 +1,165 @@
+package io.stepprflow.core.retry;
+
+import io.stepprflow.core.StepprFlowProperties;
+import io.stepprflow.core.broker.MessageBroker;
+import io.stepprflow.core.metrics.WorkflowMetrics;
+import io.stepprflow.core.model.WorkflowMessage;
+import io.stepprflow.core.model.WorkflowStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Holds short-delay retries in memory until they are due.
+ *
+ * <p>By default a retry goes to the retry topic, where the monitor stores
+ * it and its retry scheduler sends it back once due, on its next poll. With
+ * this scheduler, a retry whose backoff is at most
+ * {@code stepprflow.retry.timer.max-delay} stays in a {@link TimingWheel}
+ * of the worker instead, and is sent back to the workflow topic when due,
+ * at the timer's resolution and without any MongoDB round-trip.
+ *
+ * <p>Retries with a longer delay, or arriving while the wheel is full, are
+ * left to the next {@link RetryScheduler} or the retry topic. On shutdown, retries still held are
+ * sent to the retry topic, and so is a due retry that cannot be sent to
+ * the workflow topic. A process crash loses the retries held in memory.
+ *
+ * <p>Enabled with {@code stepprflow.retry.timer.enabled=true}.
+ */
+@Component
+@ConditionalOnProperty(prefix = "stepprflow.retry.timer", name = "enabled", havingValue = "true")
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@Slf4j
+public class InMemoryRetryScheduler implements RetryScheduler, DisposableBean {
+
+    /** The message broker. */
+    private final MessageBroker messageBroker;
+
+    /** The workflow metrics, or null. */
+    private final WorkflowMetrics metrics;
+
+    /** Longest delay held in memory. */
+    private final Duration maxDelay;
+
+    /** The timing wheel. */
+    private final TimingWheel<HeldRetry> wheel;
+
+    /** Executor sending due retries, one virtual thread per retry. */
+    private final ExecutorService sender = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("stepprflow-retry-", 0).factory());
+
+    /**
+     * Constructor.
+     *
+     * @param messageBroker the message broker
+     * @param properties    the steppr-flow properties
+     * @param metrics       the workflow metrics (optional)
+     */
+    @Autowired
+    public InMemoryRetryScheduler(
+            final MessageBroker messageBroker,
+            final StepprFlowProperties properties,
+            @Autowired(required = false) final WorkflowMetrics metrics) {
+        StepprFlowProperties.Retry.Timer config = properties.getRetry().getTimer();
+        this.messageBroker = messageBroker;
+        this.metrics = metrics;
+        this.maxDelay = config.getMaxDelay();
+        this.wheel = new TimingWheel<>("stepprflow-retry-timer", config.getTick(),
+                config.getWheelSize(), config.getCapacity(),
+                retry -> sender.execute(() -> send(retry)));
+    }
+
+    /**
+     * Hold a retry until it is due.
+     *
+     * @param retryMessage     the retry message, with RETRY_PENDING status
+     * @param topic            the workflow topic to send it to when due
+     * @param retryDestination the retry topic, used when it cannot be held
+     * @param delay            the backoff delay
+     * @return false if the delay is too long or the timer is full
+     */
+    @Override
+    public boolean schedule(
+            final WorkflowMessage retryMessage,
+            final String topic,
+            final String retryDestination,
+            final Duration delay) {
+        if (delay.compareTo(maxDelay) > 0
+                || !wheel.schedule(new HeldRetry(retryMessage, topic, retryDestination), delay)) {
+            return false;
+        }
+        if (metrics != null) {
+            // Not seen on the retry topic, so not counted by the metrics listener
+            metrics.recordRetry(retryMessage.getTopic(), retryMessage.getRetryInfo().getAttempt());
+        }
+        return true;
+    }
+
+    /**
+     * Get the number of retries held.
+     *
+     * @return the number of retries waiting in memory
+     */
+    public int getPendingCount() {
+        return wheel.size();
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        List<HeldRetry> pending = wheel.stop();
+        if (!pending.isEmpty()) {
+            log.info("Sending {} pending in-memory retries to their retry topic", pending.size());
+        }
+        for (HeldRetry retry : pending) {
+            sendToRetryTopic(retry);
+        }
+        sender.shutdown();
+        if (!sender.awaitTermination(10, TimeUnit.SECONDS)) {
+            log.warn("In-memory retries still being sent at shutdown");
+        }
+    }
+
+    private void send(final HeldRetry retry) {
+        WorkflowMessage message = retry.message().toBuilder()
+                .status(WorkflowStatus.IN_PROGRESS)
+                .updatedAt(Instant.now())
+                .build();
+        try {
+            messageBroker.send(retry.topic(), message);
+        } catch (RuntimeException e) {
+            log.warn("Cannot send retry of execution {}, falling back to {}: {}",
+                    message.getExecutionId(), retry.retryDestination(), e.getMessage());
+            sendToRetryTopic(retry);
+        }
+    }
+
+    private void sendToRetryTopic(final HeldRetry retry) {
+        try {
+            messageBroker.send(retry.retryDestination(), retry.message());
+        } catch (RuntimeException e) {
+            log.error("Lost retry of execution {}: {}",
+                    retry.message().getExecutionId(), e.getMessage(), e);
+        }
+    }
+
+    /**
+     * A retry held in the wheel.
+     *
+     * @param message          the retry message
+     * @param topic            the workflow topic
+     * @param retryDestination the retry topic
+     */
+    private record HeldRetry(WorkflowMessage message, String topic, String retryDestination) {
+    }
+}
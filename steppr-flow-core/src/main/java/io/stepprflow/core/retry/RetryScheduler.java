@@ -0,0 +1,28 @@
+package io.stepprflow.core.retry;
+
+import io.stepprflow.core.model.WorkflowMessage;
+
+import java.time.Duration;
+
+/**
+ * Schedules retries outside of the retry topic.
+ *
+ * <p>The failure handler offers each retry to the scheduler beans in their
+ * order; the first one accepting it sends it back to the workflow topic
+ * when due. A retry declined by all of them goes to the retry topic, where
+ * the monitor's retry scheduler handles it.
+ */
+public interface RetryScheduler {
+
+    /**
+     * Schedule a retry.
+     *
+     * @param retryMessage     the retry message, with RETRY_PENDING status
+     * @param topic            the workflow topic to send it to when due
+     * @param retryDestination the retry topic of the workflow
+     * @param delay            the backoff delay
+     * @return true if the retry was accepted, false to let the next
+     *         scheduler or the retry topic handle it
+     */
+    boolean schedule(WorkflowMessage retryMessage, String topic, String retryDestination, Duration delay);
+}
@@ -0,0 +1,221 @@
+package io.stepprflow.core.retry;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Hashed timing wheel expiring items after a delay.
+ *
+ * <p>The wheel is a ring of {@code wheelSize} slots, each covering one
+ * tick. An item is placed in the slot of its deadline, with the number of
+ * full turns left before it is due, so that scheduling costs O(1) whatever
+ * the delay, and each tick only visits one slot. Items expire on their
+ * deadline's tick, at most one tick late.
+ *
+ * <p>{@link #schedule(Object, Duration)} only appends to a lock-free queue;
+ * slots are owned by a single platform thread, which moves queued items to
+ * their slot and passes expired items to the expiry handler. The handler
+ * runs on that thread and must not block.
+ *
+ * @param <T> the type of scheduled items
+ */
+@Slf4j
+public final class TimingWheel<T> {
+
+    /** Duration of a tick, in nanoseconds. */
+    private final long tickNanos;
+
+    /** Slot index mask; the wheel size is a power of two. */
+    private final int mask;
+
+    /** The slots, only accessed by the wheel thread. */
+    private final ArrayDeque<Entry<T>>[] slots;
+
+    /** Items scheduled but not yet placed in a slot. */
+    private final Queue<Entry<T>> incoming = new ConcurrentLinkedQueue<>();
+
+    /** Number of items scheduled and not expired. */
+    private final AtomicInteger size = new AtomicInteger();
+
+    /** Maximum number of items held. */
+    private final int capacity;
+
+    /** Handler of expired items. */
+    private final Consumer<T> onExpiry;
+
+    /** The wheel thread. */
+    private final Thread worker;
+
+    /** Start time of the wheel, from {@link System#nanoTime()}. */
+    private final long startNanos;
+
+    /** Whether the wheel accepts and expires items. */
+    private volatile boolean running = true;
+
+    /**
+     * Create and start a wheel.
+     *
+     * @param name      the wheel thread name
+     * @param tick      the duration of a tick
+     * @param wheelSize the number of slots, rounded up to a power of two
+     * @param capacity  the maximum number of items held
+     * @param onExpiry  the handler of expired items
+     */
+    @SuppressWarnings("unchecked")
+    public TimingWheel(
+            final String name,
+            final Duration tick,
+            final int wheelSize,
+            final int capacity,
+            final Consumer<T> onExpiry) {
+        if (tick.toNanos() <= 0 || wheelSize <= 0) {
+            throw new IllegalArgumentException("Tick and wheel size must be positive");
+        }
+        int slotCount = Integer.highestOneBit(Math.max(1, wheelSize - 1)) << 1;
+        this.tickNanos = tick.toNanos();
+        this.mask = slotCount - 1;
+        this.slots = new ArrayDeque[slotCount];
+        for (int i = 0; i < slotCount; i++) {
+            slots[i] = new ArrayDeque<>();
+        }
+        this.capacity = capacity;
+        this.onExpiry = onExpiry;
+        this.startNanos = System.nanoTime();
+        this.worker = Thread.ofPlatform().name(name).daemon().unstarted(this::run);
+        worker.start();
+    }
+
+    /**
+     * Schedule an item.
+     *
+     * @param item  the item
+     * @param delay the delay before it expires
+     * @return false if the wheel is stopped or full, and the item was not
+     *         scheduled
+     */
+    public boolean schedule(final T item, final Duration delay) {
+        if (!running) {
+            return false;
+        }
+        if (size.incrementAndGet() > capacity) {
+            size.decrementAndGet();
+            return false;
+        }
+        long deadline = System.nanoTime() - startNanos + Math.max(0, delay.toNanos());
+        Entry<T> entry = new Entry<>(item, deadline);
+        incoming.add(entry);
+        if (!running && incoming.remove(entry)) {
+            // Stopped concurrently, before the entry could be drained
+            size.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Get the number of items held.
+     *
+     * @return the number of scheduled items not yet expired
+     */
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * Stop the wheel. Items not yet expired are not expired any more.
+     *
+     * @return the items not yet expired
+     */
+    public List<T> stop() {
+        running = false;
+        LockSupport.unpark(worker);
+        try {
+            worker.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        List<T> pending = new ArrayList<>();
+        for (ArrayDeque<Entry<T>> slot : slots) {
+            for (Entry<T> entry : slot) {
+                pending.add(entry.item);
+            }
+            slot.clear();
+        }
+        Entry<T> entry;
+        while ((entry = incoming.poll()) != null) {
+            pending.add(entry.item);
+        }
+        size.set(0);
+        return pending;
+    }
+
+    private void run() {
+        long tick = 0;
+        while (running) {
+            long deadline = (tick + 1) * tickNanos;
+            long sleep;
+            while (running && (sleep = deadline - (System.nanoTime() - startNanos)) > 0) {
+                LockSupport.parkNanos(this, sleep);
+            }
+            if (!running) {
+                return;
+            }
+            placeIncoming(tick);
+            expire(slots[(int) (tick & mask)]);
+            tick++;
+        }
+    }
+
+    private void placeIncoming(final long currentTick) {
+        Entry<T> entry;
+        while ((entry = incoming.poll()) != null) {
+            long dueTick = Math.max(entry.deadline / tickNanos, currentTick);
+            entry.rounds = (dueTick - currentTick) / slots.length;
+            slots[(int) (dueTick & mask)].add(entry);
+        }
+    }
+
+    private void expire(final ArrayDeque<Entry<T>> slot) {
+        Iterator<Entry<T>> it = slot.iterator();
+        while (it.hasNext()) {
+            Entry<T> entry = it.next();
+            if (entry.rounds > 0) {
+                entry.rounds--;
+                continue;
+            }
+            it.remove();
+            size.decrementAndGet();
+            try {
+                onExpiry.accept(entry.item);
+            } catch (RuntimeException e) {
+                log.error("Error handling expired timer item", e);
+            }
+        }
+    }
+
+    /**
+     * A scheduled item.
+     *
+     * @param <T> the type of the item
+     */
+    private static final class Entry<T> {
+        private final T item;
+        private final long deadline;
+        private long rounds;
+
+        Entry(final T item, final long deadline) {
+            this.item = item;
+            this.deadline = deadline;
+        }
+    }
+}
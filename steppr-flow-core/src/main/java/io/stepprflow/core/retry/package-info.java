@@ -0,0 +1,14 @@
+/**
+ * Scheduling of retry backoffs outside of the retry topic.
+ *
+ * <p>This package provides:
+ * <ul>
+ *   <li>{@link io.stepprflow.core.retry.RetryScheduler} - Retry scheduler
+ *   SPI, tried in order before the retry topic</li>
+ *   <li>{@link io.stepprflow.core.retry.InMemoryRetryScheduler} - Holds
+ *   short-delay retries in the worker and sends them back when due</li>
+ *   <li>{@link io.stepprflow.core.retry.TimingWheel} - Hashed timing wheel
+ *   with lock-free scheduling</li>
+ * </ul>
+ */
+package io.stepprflow.core.retry;
@@ -1,13 +1,18 @@
 package io.stepprflow.core.service;
 
 import io.stepprflow.core.StepprFlowProperties;
+import io.stepprflow.core.model.ExecutionPlan.RetryPolicy;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
 import java.time.Duration;
 
 /**
- * Calculates exponential backoff delays for retry attempts.
+ * Calculates exponential backoff delays for retry attempts from the current
+ * retry properties.
+ *
+ * <p>The formula and the jitter are those of {@link RetryPolicy}; the
+ * failure path uses the policy compiled into each execution plan instead.
  */
 @Component
 @RequiredArgsConstructor
@@ -19,20 +24,25 @@ public class BackoffCalculator {
     /**
      * Calculate the backoff duration for a retry attempt.
      * Uses exponential backoff: initialDelay * multiplier^(attempt-1)
-     * The result is capped at maxDelay.
+     * The result is capped at maxDelay, then jittered.
      *
      * @param attempt the current attempt number (1-based)
      * @return the backoff duration
      */
     public Duration calculate(final int attempt) {
-        StepprFlowProperties.Retry retryConfig = properties.getRetry();
-        long initialMs = retryConfig.getInitialDelay().toMillis();
-        double multiplier = retryConfig.getMultiplier();
-        long maxMs = retryConfig.getMaxDelay().toMillis();
-
-        long delayMs = (long) (initialMs * Math.pow(multiplier, attempt - 1));
-        delayMs = Math.min(delayMs, maxMs);
+        return RetryPolicy.backoff(properties.getRetry(), attempt);
+    }
 
-        return Duration.ofMillis(delayMs);
+    /**
+     * Randomize a backoff delay.
+     *
+     * @param delayMs the capped delay in milliseconds
+     * @param jitter  the jitter strategy, or null for none
+     * @return the randomized delay in milliseconds
+     * @deprecated Use {@link RetryPolicy#jitter(long, StepprFlowProperties.Retry.Jitter)} instead.
+     */
+    @Deprecated
+    public static long jitter(final long delayMs, final StepprFlowProperties.Retry.Jitter jitter) {
+        return RetryPolicy.jitter(delayMs, jitter);
     }
 }
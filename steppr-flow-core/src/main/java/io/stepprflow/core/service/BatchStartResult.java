@@ -0,0 +1,79 @@
+package io.stepprflow.core.service;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Result of starting a batch of workflows.
+ *
+ * <p>Execution IDs are listed in payload order, with null for payloads
+ * that could not be started; failures are listed by payload index.
+ */
+public final class BatchStartResult {
+
+    /** The execution ID of each payload, null if it failed. */
+    private final List<String> executionIds;
+
+    /** The failed payloads, by index. */
+    private final List<Failure> failures;
+
+    /**
+     * Constructs a new batch start result.
+     *
+     * @param ids            the execution ID of each payload, null if it failed
+     * @param failedPayloads the failed payloads, in any order
+     */
+    public BatchStartResult(final List<String> ids, final List<Failure> failedPayloads) {
+        this.executionIds = Collections.unmodifiableList(ids);
+        this.failures = failedPayloads.stream()
+                .sorted(Comparator.comparingInt(Failure::index))
+                .toList();
+    }
+
+    /**
+     * Get the execution IDs.
+     *
+     * @return the execution ID of each payload, in payload order, with null
+     *         for payloads that failed
+     */
+    public List<String> getExecutionIds() {
+        return executionIds;
+    }
+
+    /**
+     * Get the failures.
+     *
+     * @return the failed payloads, by increasing index
+     */
+    public List<Failure> getFailures() {
+        return failures;
+    }
+
+    /**
+     * Get the number of workflows started.
+     *
+     * @return the number of payloads that did not fail
+     */
+    public int getStartedCount() {
+        return executionIds.size() - failures.size();
+    }
+
+    /**
+     * Check if every workflow was started.
+     *
+     * @return true if no payload failed
+     */
+    public boolean isComplete() {
+        return failures.isEmpty();
+    }
+
+    /**
+     * A payload that could not be started.
+     *
+     * @param index the index of the payload in the batch
+     * @param error the cause of the failure
+     */
+    public record Failure(int index, Throwable error) {
+    }
+}
@@ -1,15 +1,22 @@
 package io.stepprflow.core.service;
 
+import io.stepprflow.core.invoker.CallbackInvoker;
+import io.stepprflow.core.invoker.MethodInvokers;
 import io.stepprflow.core.model.WorkflowMessage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * Invokes callback methods (onSuccess, onFailure) using reflection.
+ * Invokes callback methods (onSuccess, onFailure) through compiled invokers.
  * Handles various method signatures: no args, single arg, or two args.
+ *
+ * <p>Methods are compiled on first use and cached; see {@link MethodInvokers}.
  */
 @Component
 @RequiredArgsConstructor
@@ -19,6 +26,9 @@ public class CallbackMethodInvoker {
     /** The payload deserializer. */
     private final PayloadDeserializer payloadDeserializer;
 
+    /** Compiled invokers, keyed by callback method. */
+    private final Map<Method, CallbackInvoker> invokers = new ConcurrentHashMap<>();
+
     /**
      * Invoke a callback method with deserialized payload.
      *
@@ -33,19 +43,29 @@ public class CallbackMethodInvoker {
             final Object handler,
             final WorkflowMessage message,
             final Throwable error) throws Exception {
-        method.setAccessible(true);
-        Class<?>[] paramTypes = method.getParameterTypes();
+        invoke(compiled(method), handler, message, error);
+    }
 
-        if (paramTypes.length == 0) {
-            method.invoke(handler);
-        } else if (paramTypes.length == 1) {
-            invokeWithOneParam(method, handler, message, error, paramTypes[0], true);
-        } else if (paramTypes.length == 2) {
-            invokeWithTwoParams(method, handler, message, error, paramTypes, true);
-        } else {
+    /**
+     * Invoke a pre-compiled callback with deserialized payload.
+     *
+     * @param invoker the compiled callback
+     * @param handler the handler object
+     * @param message the workflow message
+     * @param error   the error (can be null for success callbacks)
+     * @throws Exception if invocation fails
+     */
+    public void invoke(
+            final CallbackInvoker invoker,
+            final Object handler,
+            final WorkflowMessage message,
+            final Throwable error) throws Exception {
+        if (!invoker.isSupported()) {
             log.warn("Callback method {} has unsupported parameter count: {} (invoke with deserialization)",
-                     method.getName(), paramTypes.length);
+                     invoker.getMethodName(), invoker.getParameterCount());
+            return;
         }
+        call(invoker, handler, message, error, payloadDeserializer::deserialize);
     }
 
     /**
@@ -63,67 +83,47 @@ public class CallbackMethodInvoker {
             final Object handler,
             final WorkflowMessage message,
             final Throwable error) throws Exception {
-        method.setAccessible(true);
-        Class<?>[] paramTypes = method.getParameterTypes();
-
-        if (paramTypes.length == 0) {
-            method.invoke(handler);
-        } else if (paramTypes.length == 1) {
-            invokeWithOneParam(method, handler, message, error, paramTypes[0], false);
-        } else if (paramTypes.length == 2) {
-            invokeWithTwoParams(method, handler, message, error, paramTypes, false);
-        } else {
-            log.warn("Callback method {} has unsupported parameter count: {} (invokeRaw without deserialization)",
-                     method.getName(), paramTypes.length);
-        }
+        invokeRaw(compiled(method), handler, message, error);
     }
 
-    private void invokeWithOneParam(
-            final Method method,
+    /**
+     * Invoke a pre-compiled callback using raw payload (no deserialization).
+     *
+     * @param invoker the compiled callback
+     * @param handler the handler object
+     * @param message the workflow message
+     * @param error   the error (can be null for success callbacks)
+     * @throws Exception if invocation fails
+     */
+    public void invokeRaw(
+            final CallbackInvoker invoker,
             final Object handler,
             final WorkflowMessage message,
-            final Throwable error,
-            final Class<?> paramType,
-            final boolean deserialize) throws Exception {
-        if (WorkflowMessage.class.isAssignableFrom(paramType)) {
-            method.invoke(handler, message);
-        } else if (Throwable.class.isAssignableFrom(paramType) && error != null) {
-            method.invoke(handler, error);
-        } else {
-            // Assume it's the payload type
-            Object payload = deserialize
-                    ? payloadDeserializer.deserialize(message)
-                    : message.getPayload();
-            method.invoke(handler, payload);
+            final Throwable error) throws Exception {
+        if (!invoker.isSupported()) {
+            log.warn("Callback method {} has unsupported parameter count: {} (invokeRaw without deserialization)",
+                     invoker.getMethodName(), invoker.getParameterCount());
+            return;
         }
+        call(invoker, handler, message, error, WorkflowMessage::getPayload);
     }
 
-    private void invokeWithTwoParams(
-            final Method method,
+    private CallbackInvoker compiled(final Method method) {
+        return invokers.computeIfAbsent(method, MethodInvokers::forCallback);
+    }
+
+    private static void call(
+            final CallbackInvoker invoker,
             final Object handler,
             final WorkflowMessage message,
             final Throwable error,
-            final Class<?>[] paramTypes,
-            final boolean deserialize) throws Exception {
-        Class<?> firstParam = paramTypes[0];
-        Class<?> secondParam = paramTypes[1];
-
-        Object firstArg;
-        if (WorkflowMessage.class.isAssignableFrom(firstParam)) {
-            firstArg = message;
-        } else {
-            firstArg = deserialize
-                    ? payloadDeserializer.deserialize(message)
-                    : message.getPayload();
-        }
-
-        Object secondArg;
-        if (Throwable.class.isAssignableFrom(secondParam)) {
-            secondArg = error;
-        } else {
-            secondArg = null;
+            final CallbackInvoker.PayloadResolver resolver) throws Exception {
+        try {
+            invoker.invoke(handler, message, error, resolver);
+        } catch (Exception e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new InvocationTargetException(t);
         }
-
-        method.invoke(handler, firstArg, secondArg);
     }
 }
@@ -1,5 +1,7 @@
 package io.stepprflow.core.service;
 
+import io.stepprflow.core.exception.StepTimeoutException;
+import io.stepprflow.core.exception.WorkflowTimeoutException;
 import io.stepprflow.core.model.ErrorInfo;
 import io.stepprflow.core.model.RetryInfo;
 import io.stepprflow.core.model.StepDefinition;
@@ -38,8 +40,9 @@ public class CoreMessageFactory {
                 .currentStep(original.getCurrentStep())
                 .totalSteps(original.getTotalSteps())
                 .status(WorkflowStatus.RETRY_PENDING)
-                .payload(original.getPayload())
+                .payload(original.getWirePayload())
                 .payloadType(original.getPayloadType())
+                .payloadRef(original.getPayloadRef())
                 .securityContext(original.getSecurityContext())
                 .metadata(original.getMetadata())
                 .retryInfo(retryInfo)
@@ -65,8 +68,9 @@ public class CoreMessageFactory {
                 .currentStep(original.getCurrentStep())
                 .totalSteps(original.getTotalSteps())
                 .status(WorkflowStatus.FAILED)
-                .payload(original.getPayload())
+                .payload(original.getWirePayload())
                 .payloadType(original.getPayloadType())
+                .payloadRef(original.getPayloadRef())
                 .securityContext(original.getSecurityContext())
                 .metadata(original.getMetadata())
                 .retryInfo(original.getRetryInfo())
@@ -79,13 +83,16 @@ public class CoreMessageFactory {
     /**
      * Create error info from an exception and step definition.
      *
+     * <p>The error code is {@code STEP_TIMEOUT} or {@code WORKFLOW_TIMEOUT}
+     * for timeouts, and {@code STEP_EXECUTION_FAILED} otherwise.
+     *
      * @param cause the exception that caused the error
      * @param step  the step definition where the error occurred
      * @return an ErrorInfo instance with details about the error
      */
     public ErrorInfo createErrorInfo(final Throwable cause, final StepDefinition step) {
         return ErrorInfo.builder()
-                .code("STEP_EXECUTION_FAILED")
+                .code(errorCode(cause))
                 .message(cause.getMessage())
                 .exceptionType(cause.getClass().getName())
                 .stackTrace(getStackTrace(cause))
@@ -94,6 +101,16 @@ public class CoreMessageFactory {
                 .build();
     }
 
+    private static String errorCode(final Throwable cause) {
+        if (cause instanceof StepTimeoutException) {
+            return "STEP_TIMEOUT";
+        }
+        if (cause instanceof WorkflowTimeoutException) {
+            return "WORKFLOW_TIMEOUT";
+        }
+        return "STEP_EXECUTION_FAILED";
+    }
+
     private String getStackTrace(final Throwable cause) {
         StringWriter sw = new StringWriter();
         PrintWriter pw = new PrintWriter(sw);
@@ -0,0 +1,155 @@
+package io.stepprflow.core.service;
+
+import io.stepprflow.core.exception.BranchFailedException;
+import io.stepprflow.core.exception.WorkflowTimeoutException;
+import io.stepprflow.core.model.ExecutionPlan;
+import io.stepprflow.core.model.ExecutionPlan.StepPlan;
+import io.stepprflow.core.model.WorkflowMessage;
+import io.stepprflow.core.payload.PayloadCodecRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Runs the steps of a parallel group concurrently.
+ *
+ * <p>Each step of the group runs on its own virtual thread, under its
+ * timeout through {@link StepDeadlineExecutor}, with its own decoded copy of
+ * the payload. The group joins on an atomic counter of outstanding
+ * branches: the last branch to finish releases the caller.
+ *
+ * <p>A failing step with {@code continueOnFailure} counts as completed,
+ * unless the workflow deadline has passed.
+ * Any other failure is reported, once every branch has finished, as a
+ * {@link BranchFailedException} for the first failing step; a retry runs
+ * the whole group again.
+ */
+@Component
+@Slf4j
+public class ParallelStepExecutor implements DisposableBean {
+
+    /** The executor enforcing step and workflow timeouts. */
+    private final StepDeadlineExecutor deadlineExecutor;
+
+    /** The payload codec registry. */
+    private final PayloadCodecRegistry payloadCodecs;
+
+    /** Executor running the branches, one virtual thread per branch. */
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("stepprflow-branch-", 0).factory());
+
+    /**
+     * Constructor.
+     *
+     * @param deadlineExecutor the executor enforcing step timeouts
+     * @param payloadCodecs    the payload codec registry
+     */
+    public ParallelStepExecutor(
+            final StepDeadlineExecutor deadlineExecutor,
+            final PayloadCodecRegistry payloadCodecs) {
+        this.deadlineExecutor = deadlineExecutor;
+        this.payloadCodecs = payloadCodecs;
+    }
+
+    /**
+     * Run every step of a parallel group and wait for all of them.
+     *
+     * @param plan    the execution plan of the workflow
+     * @param group   the first step of the group
+     * @param message the message being processed
+     * @throws BranchFailedException if a step of the group failed
+     * @throws InterruptedException  if interrupted while waiting; running
+     *                               branches are interrupted
+     */
+    public void invoke(
+            final ExecutionPlan plan,
+            final StepPlan group,
+            final WorkflowMessage message) throws BranchFailedException, InterruptedException {
+        List<StepPlan> branches = group.getBranches();
+        Join join = new Join(branches.size());
+        List<Future<?>> futures = new ArrayList<>(branches.size());
+        for (StepPlan branch : branches) {
+            futures.add(executor.submit(() -> runBranch(plan, branch, message, join)));
+        }
+
+        try {
+            join.done().get();
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw e;
+        } catch (ExecutionException e) {
+            // The join future is only ever completed normally
+            throw new IllegalStateException(e.getCause());
+        }
+
+        BranchFailedException failure = join.failure().get();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private void runBranch(
+            final ExecutionPlan plan,
+            final StepPlan branch,
+            final WorkflowMessage message,
+            final Join join) {
+        try {
+            log.info("Executing parallel step {} ({}) of group {} for workflow {} [{}]",
+                    branch.getId(), branch.getLabel(), branch.getParallelGroup(),
+                    plan.getTopic(), message.getExecutionId());
+            deadlineExecutor.invoke(plan, branch, message, payloadCodecs.decode(message));
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            if (branch.isContinueOnFailure() && !(e instanceof WorkflowTimeoutException)) {
+                log.warn("Parallel step {} ({}) failed, continuing (continueOnFailure=true): {}",
+                        branch.getId(), branch.getLabel(), e.getMessage());
+            } else if (!join.failure().compareAndSet(null,
+                    new BranchFailedException(branch.getLabel(), branch.getId(), e))) {
+                log.error("Parallel step {} ({}) also failed: {}",
+                        branch.getId(), branch.getLabel(), e.getMessage());
+            }
+        } finally {
+            join.arrive();
+        }
+    }
+
+    /**
+     * Join state of a running group.
+     *
+     * @param remaining number of branches still running
+     * @param failure   the first failure, or null
+     * @param done      completed by the last branch to finish
+     */
+    private record Join(
+            AtomicInteger remaining,
+            AtomicReference<BranchFailedException> failure,
+            CompletableFuture<Void> done) {
+
+        Join(final int branches) {
+            this(new AtomicInteger(branches), new AtomicReference<>(), new CompletableFuture<>());
+        }
+
+        void arrive() {
+            if (remaining.decrementAndGet() == 0) {
+                done.complete(null);
+            }
+        }
+    }
+}
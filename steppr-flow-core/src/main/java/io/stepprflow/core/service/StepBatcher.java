@@ -0,0 +1,201 @@
+package io.stepprflow.core.service;
+
+import io.stepprflow.core.model.ExecutionPlan;
+import io.stepprflow.core.model.ExecutionPlan.StepPlan;
+import io.stepprflow.core.model.WorkflowMessage;
+import io.stepprflow.core.payload.PayloadCodecRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Groups messages reaching the same batch step into one invocation.
+ *
+ * <p>Callers add their message with {@link #execute} and wait for the
+ * batch to run. A batch runs as soon as it holds the step's maximum batch
+ * size, on the thread that filled it, or once its first message has waited
+ * for the step's linger time, on a virtual thread. The outcome of the
+ * invocation is returned to every caller of the batch, which then handles
+ * its own execution as for a regular step.
+ *
+ * <p>Because callers wait, a batch only fills with messages processed
+ * concurrently: by several consumer threads or by the step dispatcher.
+ */
+@Component
+@Slf4j
+public class StepBatcher implements DisposableBean {
+
+    /** The executor enforcing step timeouts. */
+    private final StepDeadlineExecutor deadlineExecutor;
+
+    /** The payload codec registry. */
+    private final PayloadCodecRegistry payloadCodecs;
+
+    /** Open batch of each batch step. */
+    private final Map<StepPlan, OpenBatch> openBatches = new ConcurrentHashMap<>();
+
+    /** Executor running lingering batches, one virtual thread per batch. */
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("stepprflow-batch-", 0).factory());
+
+    /** Scheduler closing batches once their linger time has passed. */
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("stepprflow-batch-linger").daemon().factory());
+
+    /**
+     * Constructor.
+     *
+     * @param deadlineExecutor the executor enforcing step timeouts
+     * @param payloadCodecs    the payload codec registry
+     */
+    public StepBatcher(
+            final StepDeadlineExecutor deadlineExecutor,
+            final PayloadCodecRegistry payloadCodecs) {
+        this.deadlineExecutor = deadlineExecutor;
+        this.payloadCodecs = payloadCodecs;
+    }
+
+    /**
+     * Add a message to the open batch of its step and wait for the batch
+     * to run.
+     *
+     * @param plan    the execution plan of the workflow
+     * @param step    the batch step
+     * @param message the message being processed
+     * @throws InterruptedException if interrupted while waiting
+     * @throws Exception            the exception thrown by the batch invocation
+     */
+    public void execute(
+            final ExecutionPlan plan,
+            final StepPlan step,
+            final WorkflowMessage message) throws Exception {
+        Entry entry = new Entry(message, new CompletableFuture<>());
+        OpenBatch[] full = new OpenBatch[1];
+        openBatches.compute(step, (key, batch) -> {
+            if (batch == null) {
+                batch = new OpenBatch(new ArrayList<>(step.getBatchSize()));
+                OpenBatch opened = batch;
+                scheduler.schedule(() -> closeLingering(plan, step, opened),
+                        step.getBatchLinger().toNanos(), TimeUnit.NANOSECONDS);
+            }
+            batch.entries().add(entry);
+            if (batch.entries().size() >= step.getBatchSize()) {
+                full[0] = batch;
+                return null;
+            }
+            return batch;
+        });
+        if (full[0] != null) {
+            run(plan, step, full[0].entries());
+        }
+
+        try {
+            entry.result().get();
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception cause ? cause : e;
+        }
+    }
+
+    /**
+     * Get the number of messages waiting in open batches.
+     *
+     * @return the number of waiting messages
+     */
+    public int getPendingCount() {
+        int[] count = new int[1];
+        for (StepPlan step : openBatches.keySet()) {
+            // Read each batch under its key lock
+            openBatches.computeIfPresent(step, (key, open) -> {
+                count[0] += open.entries().size();
+                return open;
+            });
+        }
+        return count[0];
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    private void closeLingering(
+            final ExecutionPlan plan,
+            final StepPlan step,
+            final OpenBatch batch) {
+        if (openBatches.remove(step, batch)) {
+            executor.execute(() -> run(plan, step, batch.entries()));
+        }
+    }
+
+    private void run(
+            final ExecutionPlan plan,
+            final StepPlan step,
+            final List<Entry> entries) {
+        List<Entry> decoded = new ArrayList<>(entries.size());
+        List<Object> payloads = new ArrayList<>(entries.size());
+        List<String> executionIds = new ArrayList<>(entries.size());
+        for (Entry entry : entries) {
+            try {
+                payloads.add(payloadCodecs.decode(entry.message()));
+                executionIds.add(entry.message().getExecutionId());
+                decoded.add(entry);
+            } catch (RuntimeException e) {
+                // Only this execution fails
+                entry.result().completeExceptionally(e);
+            }
+        }
+        if (decoded.isEmpty()) {
+            return;
+        }
+
+        log.info("Executing batch step {} ({}) for workflow {} with {} executions",
+                step.getId(), step.getLabel(), plan.getTopic(), decoded.size());
+        Exception failure = null;
+        try {
+            deadlineExecutor.invokeBatch(plan, step,
+                    Collections.unmodifiableList(payloads), Collections.unmodifiableList(executionIds));
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            failure = e;
+        }
+        for (Entry entry : decoded) {
+            if (failure == null) {
+                entry.result().complete(null);
+            } else {
+                entry.result().completeExceptionally(failure);
+            }
+        }
+    }
+
+    /**
+     * A batch accepting messages.
+     *
+     * @param entries the messages of the batch, in arrival order
+     */
+    private record OpenBatch(List<Entry> entries) {
+    }
+
+    /**
+     * A message waiting for its batch.
+     *
+     * @param message the workflow message
+     * @param result  completed with the outcome of the batch invocation
+     */
+    private record Entry(WorkflowMessage message, CompletableFuture<Void> result) {
+    }
+}
@@ -0,0 +1,328 @@
+package io.stepprflow.core.service;
+
+import io.stepprflow.core.StepprFlowProperties;
+import io.stepprflow.core.exception.StepTimeoutException;
+import io.stepprflow.core.exception.WorkflowTimeoutException;
+import io.stepprflow.core.metrics.WorkflowMetrics;
+import io.stepprflow.core.model.ExecutionPlan;
+import io.stepprflow.core.model.ExecutionPlan.StepPlan;
+import io.stepprflow.core.model.WorkflowMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.InvocationTargetException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs step methods under their step timeout and workflow deadline.
+ *
+ * <p>A step with an effective timeout, or belonging to a workflow with a
+ * timeout, runs on a virtual thread while the calling consumer thread waits
+ * for it. A hung downstream call therefore never pins the consumer:
+ * <ul>
+ *   <li>the step timeout bounds the caller's wait; on expiry the step
+ *       thread is interrupted and a {@link StepTimeoutException} is
+ *       thrown</li>
+ *   <li>the workflow deadline (creation time plus workflow timeout) is
+ *       checked before the step starts, and a sweeper interrupts running
+ *       steps once it has passed; the caller then gets a
+ *       {@link WorkflowTimeoutException}</li>
+ * </ul>
+ * Steps that ignore interruption keep running in the background, but no
+ * longer hold the consumer. Steps without any timeout run inline on the
+ * calling thread.
+ *
+ * <p>Every timeout is recorded with {@link WorkflowMetrics#recordStepTimeout}
+ * when metrics are available.
+ */
+@Component
+@Slf4j
+public class StepDeadlineExecutor implements DisposableBean {
+
+    /** Interval between two workflow deadline sweeps. */
+    private final Duration sweepInterval;
+
+    /** The workflow metrics, or null. */
+    private final WorkflowMetrics metrics;
+
+    /** Executor running the steps, one virtual thread per step. */
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("stepprflow-step-", 0).factory());
+
+    /** Running steps with a workflow deadline. */
+    private final Set<RunningStep> running = ConcurrentHashMap.newKeySet();
+
+    /** The deadline sweeper, started on first use. */
+    private volatile ScheduledExecutorService sweeper;
+
+    /**
+     * Constructor.
+     *
+     * @param properties the steppr-flow properties
+     * @param metrics    the workflow metrics (optional)
+     */
+    @Autowired
+    public StepDeadlineExecutor(
+            final StepprFlowProperties properties,
+            @Autowired(required = false) final WorkflowMetrics metrics) {
+        this.sweepInterval = properties.getTimeout().getSweepInterval();
+        this.metrics = metrics;
+    }
+
+    /**
+     * Invoke a step, enforcing its timeout and the workflow deadline.
+     *
+     * @param plan    the execution plan of the workflow
+     * @param step    the step to invoke
+     * @param message the message being processed
+     * @param payload the decoded payload
+     * @throws StepTimeoutException     if the step exceeds its timeout
+     * @throws WorkflowTimeoutException if the workflow deadline has passed
+     * @throws InvocationTargetException if the step throws an error
+     * @throws Exception                 if the step throws an exception
+     */
+    public void invoke(
+            final ExecutionPlan plan,
+            final StepPlan step,
+            final WorkflowMessage message,
+            final Object payload) throws Exception {
+        Instant workflowDeadline = workflowDeadline(plan, message);
+        if (step.getTimeout() == null && workflowDeadline == null) {
+            invokeStep(step, payload);
+            return;
+        }
+        checkWorkflowDeadline(plan, step, message);
+        run(plan, step, message.getExecutionId(), workflowDeadline, () -> invokeStep(step, payload));
+    }
+
+    /**
+     * Invoke a batch step under its step timeout.
+     *
+     * <p>Workflow deadlines are not enforced while the batch runs; callers
+     * check them per message with {@link #checkWorkflowDeadline} before
+     * adding a message to a batch.
+     *
+     * @param plan         the execution plan of the workflow
+     * @param step         the batch step to invoke
+     * @param payloads     the decoded payloads
+     * @param executionIds the execution IDs, in payload order
+     * @throws StepTimeoutException      if the batch exceeds the step timeout
+     * @throws InvocationTargetException if the step throws an error
+     * @throws Exception                 if the step throws an exception
+     */
+    public void invokeBatch(
+            final ExecutionPlan plan,
+            final StepPlan step,
+            final List<Object> payloads,
+            final List<String> executionIds) throws Exception {
+        if (step.getTimeout() == null) {
+            invokeBatchStep(step, payloads, executionIds);
+            return;
+        }
+        run(plan, step, "batch of " + payloads.size(), null,
+                () -> invokeBatchStep(step, payloads, executionIds));
+    }
+
+    /**
+     * Fail if the workflow deadline of a message has passed.
+     *
+     * @param plan    the execution plan of the workflow
+     * @param step    the step about to run
+     * @param message the message being processed
+     * @throws WorkflowTimeoutException if the workflow deadline has passed
+     */
+    public void checkWorkflowDeadline(
+            final ExecutionPlan plan,
+            final StepPlan step,
+            final WorkflowMessage message) throws WorkflowTimeoutException {
+        Instant workflowDeadline = workflowDeadline(plan, message);
+        if (workflowDeadline != null && !Instant.now().isBefore(workflowDeadline)) {
+            recordTimeout(plan.getTopic(), step.getLabel());
+            throw workflowTimeout(plan, step, message.getExecutionId());
+        }
+    }
+
+    private void run(
+            final ExecutionPlan plan,
+            final StepPlan step,
+            final String executionId,
+            final Instant workflowDeadline,
+            final StepCall call) throws Exception {
+        Duration stepTimeout = step.getTimeout();
+        long start = System.nanoTime();
+        Future<Void> future = executor.submit(() -> {
+            call.run();
+            return null;
+        });
+        RunningStep entry = null;
+        if (workflowDeadline != null) {
+            entry = new RunningStep(plan.getTopic(), step.getLabel(),
+                    executionId, workflowDeadline, future);
+            running.add(entry);
+            ensureSweeper();
+        }
+
+        try {
+            if (stepTimeout != null) {
+                future.get(stepTimeout.toNanos(), TimeUnit.NANOSECONDS);
+            } else {
+                future.get();
+            }
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            recordTimeout(plan.getTopic(), step.getLabel());
+            throw new StepTimeoutException(step.getLabel(), step.getId(), stepTimeout,
+                    Duration.ofNanos(System.nanoTime() - start));
+        } catch (CancellationException e) {
+            // Cancelled by the sweeper
+            recordTimeout(plan.getTopic(), step.getLabel());
+            throw workflowTimeout(plan, step, executionId);
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw e;
+        } finally {
+            if (entry != null) {
+                running.remove(entry);
+            }
+        }
+    }
+
+    /**
+     * Get the number of running steps tracked against a workflow deadline.
+     *
+     * @return the number of tracked steps
+     */
+    public int getTrackedStepCount() {
+        return running.size();
+    }
+
+    /**
+     * Interrupt running steps whose workflow deadline has passed.
+     */
+    void sweep() {
+        Instant now = Instant.now();
+        for (RunningStep step : running) {
+            if (!now.isBefore(step.deadline()) && step.future().cancel(true)) {
+                running.remove(step);
+                log.warn("Interrupted step {} of workflow {} [{}]: workflow deadline {} has passed",
+                        step.stepLabel(), step.topic(), step.executionId(), step.deadline());
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+        if (sweeper != null) {
+            sweeper.shutdownNow();
+        }
+    }
+
+    private void ensureSweeper() {
+        if (sweeper == null) {
+            synchronized (this) {
+                if (sweeper == null) {
+                    ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+                            Thread.ofPlatform().name("stepprflow-deadline-sweeper").daemon().factory());
+                    long intervalMs = Math.max(1, sweepInterval.toMillis());
+                    scheduler.scheduleWithFixedDelay(this::sweep, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+                    sweeper = scheduler;
+                }
+            }
+        }
+    }
+
+    private void recordTimeout(final String topic, final String stepLabel) {
+        if (metrics != null) {
+            metrics.recordStepTimeout(topic, stepLabel);
+        }
+    }
+
+    private static WorkflowTimeoutException workflowTimeout(
+            final ExecutionPlan plan,
+            final StepPlan step,
+            final String executionId) {
+        return new WorkflowTimeoutException(executionId, step.getLabel(), plan.getTimeout());
+    }
+
+    private static Instant workflowDeadline(
+            final ExecutionPlan plan,
+            final WorkflowMessage message) {
+        if (plan.getTimeout() == null || message.getCreatedAt() == null) {
+            return null;
+        }
+        return message.getCreatedAt().plus(plan.getTimeout());
+    }
+
+    private static void invokeStep(
+            final StepPlan step,
+            final Object payload) throws Exception {
+        try {
+            step.getInvoker().invoke(payload);
+        } catch (Exception e) {
+            throw e;
+        } catch (Throwable t) {
+            // Keep errors on the retry/DLQ path, as Method.invoke did
+            throw new InvocationTargetException(t);
+        }
+    }
+
+    private static void invokeBatchStep(
+            final StepPlan step,
+            final List<Object> payloads,
+            final List<String> executionIds) throws Exception {
+        try {
+            step.getBatchInvoker().invoke(payloads, executionIds);
+        } catch (Exception e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new InvocationTargetException(t);
+        }
+    }
+
+    private static Exception unwrap(final Throwable cause) {
+        return cause instanceof Exception e ? e : new InvocationTargetException(cause);
+    }
+
+    /**
+     * A step invocation run on the step executor.
+     */
+    @FunctionalInterface
+    private interface StepCall {
+        void run() throws Exception;
+    }
+
+    /**
+     * A running step tracked against its workflow deadline.
+     *
+     * @param topic       the workflow topic
+     * @param stepLabel   the step label
+     * @param executionId the execution ID
+     * @param deadline    the workflow deadline
+     * @param future      the step future
+     */
+    private record RunningStep(
+            String topic,
+            String stepLabel,
+            String executionId,
+            Instant deadline,
+            Future<Void> future) {
+    }
+}
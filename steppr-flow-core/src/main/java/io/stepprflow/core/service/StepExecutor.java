@@ -1,30 +1,56 @@
 package io.stepprflow.core.service;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import io.stepprflow.core.StepprFlowProperties;
 import io.stepprflow.core.broker.MessageBroker;
-import io.stepprflow.core.model.ErrorInfo;
-import io.stepprflow.core.model.RetryInfo;
-import io.stepprflow.core.model.StepDefinition;
-import io.stepprflow.core.model.WorkflowDefinition;
+import io.stepprflow.core.exception.BranchFailedException;
+import io.stepprflow.core.invoker.CallbackInvoker;
+import io.stepprflow.core.metrics.WorkflowMetrics;
+import io.stepprflow.core.metrics.WorkflowMetrics.StepPhase;
+import io.stepprflow.core.model.ExecutionPlan;
+import io.stepprflow.core.model.ExecutionPlan.StepPlan;
+import io.stepprflow.core.model.StepTiming;
 import io.stepprflow.core.model.WorkflowMessage;
-import io.stepprflow.core.model.WorkflowStatus;
-import lombok.RequiredArgsConstructor;
+import io.stepprflow.core.payload.ClaimCheck;
+import io.stepprflow.core.payload.PayloadCodecRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
-import java.io.PrintWriter;
-import java.io.StringWriter;
 import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.time.Duration;
 import java.time.Instant;
 
 /**
  * Executes workflow steps.
+ *
+ * <p>Steps run under their timeout through {@link StepDeadlineExecutor};
+ * failures, including timeouts, are routed to
+ * {@link WorkflowFailureHandler}.
+ *
+ * <p>After a {@code @Chained} step the next step runs in the same call,
+ * without a broker round-trip, until the chain reaches its step or time
+ * budget; the next step message is then sent as a checkpoint. A failure
+ * inside a chain is handled for the failing step.
+ *
+ * <p>Reaching the first step of a {@code @Parallel} group runs the whole
+ * group through {@link ParallelStepExecutor}; the workflow then continues
+ * with the step after the group.
+ *
+ * <p>A {@code @Batch} step runs through {@link StepBatcher}, together with
+ * other executions reaching the same step; each execution then continues,
+ * retries or fails on its own.
+ *
+ * <p>A payload stored by the {@link ClaimCheck} is only loaded here, once
+ * the step is known to run; a failure to load it is handled as a failure
+ * of the step.
+ *
+ * <p>Each step execution is timed by phase: the queue wait from the send
+ * time of the consumed message (retry delays included), loading and
+ * decoding the payload, the step method, the success callback and the send
+ * of the next message. With {@link WorkflowMetrics}, the phases are
+ * recorded as stepprflow.step.phase; all but the send are also stamped as
+ * a {@link StepTiming} on the message sent after the step.
  */
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class StepExecutor {
 
@@ -34,14 +60,109 @@ public class StepExecutor {
     /** The message broker. */
     private final MessageBroker messageBroker;
 
-    /** The steppr-flow properties. */
-    private final StepprFlowProperties properties;
+    /** The payload codec registry. */
+    private final PayloadCodecRegistry payloadCodecs;
 
-    /** The JSON object mapper. */
-    private final ObjectMapper objectMapper;
+    /** The executor enforcing step and workflow timeouts. */
+    private final StepDeadlineExecutor deadlineExecutor;
 
-    /** Maximum length for stack trace strings. */
-    private static final int MAX_STACK_TRACE_LENGTH = 2000;
+    /** The executor running parallel groups. */
+    private final ParallelStepExecutor parallelExecutor;
+
+    /** The micro-batcher of batch steps. */
+    private final StepBatcher batcher;
+
+    /** The failure handler. */
+    private final WorkflowFailureHandler failureHandler;
+
+    /** The claim check, or null when disabled. */
+    private final ClaimCheck claimCheck;
+
+    /** The workflow metrics, or null when disabled. */
+    private final WorkflowMetrics metrics;
+
+    /**
+     * Constructor.
+     *
+     * @param registry          the workflow registry
+     * @param messageBroker     the message broker
+     * @param payloadCodecs     the payload codec registry
+     * @param deadlineExecutor  the executor enforcing timeouts
+     * @param parallelExecutor  the executor running parallel groups
+     * @param batcher           the micro-batcher of batch steps
+     * @param failureHandler    the failure handler
+     */
+    public StepExecutor(
+            final WorkflowRegistry registry,
+            final MessageBroker messageBroker,
+            final PayloadCodecRegistry payloadCodecs,
+            final StepDeadlineExecutor deadlineExecutor,
+            final ParallelStepExecutor parallelExecutor,
+            final StepBatcher batcher,
+            final WorkflowFailureHandler failureHandler) {
+        this(registry, messageBroker, payloadCodecs, deadlineExecutor, parallelExecutor,
+                batcher, failureHandler, null);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param registry          the workflow registry
+     * @param messageBroker     the message broker
+     * @param payloadCodecs     the payload codec registry
+     * @param deadlineExecutor  the executor enforcing timeouts
+     * @param parallelExecutor  the executor running parallel groups
+     * @param batcher           the micro-batcher of batch steps
+     * @param failureHandler    the failure handler
+     * @param claimCheck        the claim check, or null
+     */
+    public StepExecutor(
+            final WorkflowRegistry registry,
+            final MessageBroker messageBroker,
+            final PayloadCodecRegistry payloadCodecs,
+            final StepDeadlineExecutor deadlineExecutor,
+            final ParallelStepExecutor parallelExecutor,
+            final StepBatcher batcher,
+            final WorkflowFailureHandler failureHandler,
+            final ClaimCheck claimCheck) {
+        this(registry, messageBroker, payloadCodecs, deadlineExecutor, parallelExecutor,
+                batcher, failureHandler, claimCheck, null);
+    }
+
+    /**
+     * Constructor used by Spring.
+     *
+     * @param registry          the workflow registry
+     * @param messageBroker     the message broker
+     * @param payloadCodecs     the payload codec registry
+     * @param deadlineExecutor  the executor enforcing timeouts
+     * @param parallelExecutor  the executor running parallel groups
+     * @param batcher           the micro-batcher of batch steps
+     * @param failureHandler    the failure handler
+     * @param claimCheck        the claim check (optional)
+     * @param metrics           the workflow metrics (optional)
+     */
+    @Autowired
+    public StepExecutor(
+            final WorkflowRegistry registry,
+            final MessageBroker messageBroker,
+            final PayloadCodecRegistry payloadCodecs,
+            final StepDeadlineExecutor deadlineExecutor,
+            final ParallelStepExecutor parallelExecutor,
+            final StepBatcher batcher,
+            final WorkflowFailureHandler failureHandler,
+            @Autowired(required = false) final ClaimCheck claimCheck,
+            @Autowired(required = false) final WorkflowMetrics metrics) {
+        this.registry = registry;
+        this.messageBroker = messageBroker;
+        this.payloadCodecs = payloadCodecs;
+        this.deadlineExecutor = deadlineExecutor;
+        this.parallelExecutor = parallelExecutor;
+        this.batcher = batcher;
+        this.failureHandler = failureHandler;
+        this.claimCheck = claimCheck;
+        this.metrics = metrics;
+    }
 
     /**
      * Execute a workflow step.
@@ -52,280 +173,192 @@ public class StepExecutor {
         String topic = message.getTopic();
         int stepId = message.getCurrentStep();
 
-        WorkflowDefinition definition = registry.getDefinition(topic);
-        if (definition == null) {
+        ExecutionPlan plan = registry.getPlan(topic);
+        if (plan == null) {
             log.error("Unknown workflow topic: {}", topic);
             return;
         }
 
-        StepDefinition step = definition.getStep(stepId);
+        StepPlan step = plan.getStep(stepId);
         if (step == null) {
             log.error("Unknown step {} for workflow {}", stepId, topic);
             return;
         }
 
-        log.info("Executing step {}/{} ({}) for workflow {} [{}]",
-                stepId, message.getTotalSteps(), step.getLabel(),
-                topic, message.getExecutionId());
-
+        WorkflowMessage current = message;
+        int chainedSteps = 0;
+        int chainMaxSteps = 0;
+        long chainDeadline = 0;
+        Instant consumedAt = Instant.now();
+        long queueNanos = queueNanos(message, consumedAt);
+        long decodeNanos = 0;
         try {
-            // Deserialize payload
-            Object payload = deserializePayload(message);
+            if (claimCheck != null) {
+                long loadStart = System.nanoTime();
+                current = claimCheck.resolve(current);
+                decodeNanos = System.nanoTime() - loadStart;
+            }
+            while (true) {
+                log.info("Executing step {}/{} ({}) for workflow {} [{}]",
+                        step.getId(), current.getTotalSteps(), step.getLabel(),
+                        topic, current.getExecutionId());
+
+                long executionStart = System.nanoTime();
+                if (step.isParallel()) {
+                    // Run the whole group concurrently and join
+                    parallelExecutor.invoke(plan, step, current);
+                } else if (step.isBatched()) {
+                    // Join the open batch of the step and wait for it to run
+                    deadlineExecutor.checkWorkflowDeadline(plan, step, current);
+                    batcher.execute(plan, step, current);
+                } else {
+                    // Deserialize payload
+                    Object payload = payloadCodecs.decode(current);
+                    long decodeEnd = System.nanoTime();
+                    decodeNanos += decodeEnd - executionStart;
+                    executionStart = decodeEnd;
+
+                    // Execute step method under its timeout and workflow deadline
+                    deadlineExecutor.invoke(plan, step, current, payload);
+                }
+                long executionNanos = System.nanoTime() - executionStart;
+
+                recordPhase(topic, step, StepPhase.QUEUE, queueNanos);
+                recordPhase(topic, step, StepPhase.DECODE, decodeNanos);
+                recordPhase(topic, step, StepPhase.EXECUTION, executionNanos);
+                StepTiming timing = StepTiming.builder()
+                        .stepId(step.getId())
+                        .consumedAt(consumedAt)
+                        .queueMicros(Math.max(queueNanos, 0) / 1000)
+                        .decodeMicros(decodeNanos / 1000)
+                        .executionMicros(executionNanos / 1000)
+                        .build();
+
+                // Check if last step
+                if (step.isLast()) {
+                    handleCompletion(current, plan, step, timing);
+                    return;
+                }
 
-            // Execute step method
-            Method method = step.getMethod();
-            // TODO throw custom exception when private method
-            method.setAccessible(true);
-            method.invoke(definition.getHandler(), payload);
+                WorkflowMessage nextMessage = current.nextStep(step.getNext().getId());
+                if (step.isChained()) {
+                    if (chainedSteps == 0) {
+                        // The chain budget is set by the step starting it
+                        chainMaxSteps = step.getChainMaxSteps();
+                        chainDeadline = System.nanoTime() + step.getChainMaxDuration().toNanos();
+                    }
+                    chainedSteps++;
+                    if (chainedSteps < chainMaxSteps && System.nanoTime() - chainDeadline < 0) {
+                        // Run the next step in-process; the consumed message
+                        // stays the checkpoint until the chain ends
+                        log.debug("Chained to step {}/{} for workflow {} [{}]",
+                                nextMessage.getCurrentStep(), current.getTotalSteps(),
+                                topic, current.getExecutionId());
+                        current = nextMessage;
+                        step = step.getNext();
+                        // The next step was not queued
+                        consumedAt = Instant.now();
+                        queueNanos = -1;
+                        decodeNanos = 0;
+                        continue;
+                    }
+                }
 
-            // Check if last step
-            if (definition.isLastStep(stepId)) {
-                handleCompletion(message, definition);
-            } else {
                 // Advance to next step
-                WorkflowMessage nextMessage = message.nextStep();
+                nextMessage.setStepTiming(timing);
+                long handoffStart = System.nanoTime();
                 messageBroker.send(topic, nextMessage);
+                recordPhase(topic, step, StepPhase.HANDOFF, System.nanoTime() - handoffStart);
                 log.info("Advanced to step {}/{} for workflow {} [{}]",
-                        nextMessage.getCurrentStep(), message.getTotalSteps(),
-                        topic, message.getExecutionId());
+                        nextMessage.getCurrentStep(), current.getTotalSteps(),
+                        topic, current.getExecutionId());
+                return;
             }
-
+        } catch (BranchFailedException e) {
+            // Report the failing step of the group, with its own exception
+            Throwable cause = e.getCause();
+            failureHandler.handleFailure(current, plan.getStep(e.getStepId()), plan,
+                    cause instanceof Exception ex ? ex : e);
         } catch (Exception e) {
-            handleFailure(message, step, definition, e);
-        }
-    }
-
-    private Object deserializePayload(
-            final WorkflowMessage message) throws Exception {
-        if (message.getPayload() == null) {
-            return null;
-        }
-
-        String payloadType = message.getPayloadType();
-        if (payloadType == null) {
-            return message.getPayload();
-        }
-
-        try {
-            Class<?> payloadClass = Class.forName(payloadType);
-            return objectMapper.convertValue(message.getPayload(), payloadClass);
-        } catch (ClassNotFoundException e) {
-            log.warn("Could not find payload class {}, using raw payload",
-                     payloadType);
-            return message.getPayload();
+            failureHandler.handleFailure(current, step, plan, e);
+            if (e instanceof InterruptedException) {
+                // Consumer is shutting down; the step goes through retry
+                Thread.currentThread().interrupt();
+            }
         }
     }
 
     private void handleCompletion(
             final WorkflowMessage message,
-            final WorkflowDefinition definition) {
+            final ExecutionPlan plan,
+            final StepPlan step,
+            final StepTiming timing) {
         log.info("Workflow {} completed successfully [{}]",
                  message.getTopic(), message.getExecutionId());
 
         // Call success callback if defined
-        if (definition.getOnSuccessMethod() != null) {
+        if (plan.getOnSuccessInvoker() != null) {
+            long callbackStart = System.nanoTime();
             try {
-                definition.getOnSuccessMethod().setAccessible(true);
-                invokeCallback(definition.getOnSuccessMethod(),
-                              definition.getHandler(), message);
+                invokeCallback(plan.getOnSuccessInvoker(), plan, message, null);
             } catch (Exception e) {
                 log.error("Error in success callback", e);
             }
+            long callbackNanos = System.nanoTime() - callbackStart;
+            recordPhase(message.getTopic(), step, StepPhase.CALLBACK, callbackNanos);
+            timing.setCallbackMicros(callbackNanos / 1000);
         }
 
         // Send completion message
         WorkflowMessage completedMessage = message.complete();
-        messageBroker.send(message.getTopic() + ".completed", completedMessage);
-    }
-
-    private void invokeCallback(
-            final Method method,
-            final Object handler,
-            final WorkflowMessage message) throws Exception {
-        invokeCallback(method, handler, message, null);
+        completedMessage.setStepTiming(timing);
+        long handoffStart = System.nanoTime();
+        messageBroker.send(plan.getCompletedDestination(), completedMessage);
+        recordPhase(message.getTopic(), step, StepPhase.HANDOFF, System.nanoTime() - handoffStart);
     }
 
-    private void invokeCallback(
-            final Method method,
-            final Object handler,
-            final WorkflowMessage message,
-            final Throwable error) throws Exception {
-        Class<?>[] paramTypes = method.getParameterTypes();
-
-        if (paramTypes.length == 0) {
-            method.invoke(handler);
-        } else if (paramTypes.length == 1) {
-            Class<?> paramType = paramTypes[0];
-            if (WorkflowMessage.class.isAssignableFrom(paramType)) {
-                method.invoke(handler, message);
-            } else {
-                // Assume it's the payload type
-                Object payload = deserializePayload(message);
-                method.invoke(handler, payload);
-            }
-        } else if (paramTypes.length == 2
-                   && Throwable.class.isAssignableFrom(paramTypes[1])) {
-            // Failure callback with payload and error
-            Object payload = deserializePayload(message);
-            method.invoke(handler, payload, error);
-        } else {
-            log.warn("Callback method {} has unsupported parameter count: {}",
-                     method.getName(), paramTypes.length);
+    /**
+     * Get the time a message waited between its send and now.
+     *
+     * @param message    the consumed message
+     * @param consumedAt the consumption time
+     * @return the wait in nanoseconds, zero under clock skew, or -1 if the
+     *         message has no send time
+     */
+    private static long queueNanos(final WorkflowMessage message, final Instant consumedAt) {
+        Instant sentAt = message.getUpdatedAt() != null ? message.getUpdatedAt() : message.getCreatedAt();
+        if (sentAt == null) {
+            return -1;
         }
+        return Math.max(Duration.between(sentAt, consumedAt).toNanos(), 0);
     }
 
-    private void handleFailure(
-            final WorkflowMessage message,
-            final StepDefinition step,
-            final WorkflowDefinition definition,
-            final Exception e) {
-        Throwable cause = e instanceof InvocationTargetException
-                ? e.getCause() : e;
-        String errorMessage = cause.getMessage();
-
-        log.error("Step {}/{} ({}) failed for workflow {} [{}]: {}",
-                step.getId(), message.getTotalSteps(), step.getLabel(),
-                message.getTopic(), message.getExecutionId(), errorMessage, cause);
-
-        // Check if should continue on failure
-        if (step.isContinueOnFailure() && !definition.isLastStep(step.getId())) {
-            log.info("Continuing to next step despite failure (continueOnFailure=true)");
-            WorkflowMessage nextMessage = message.nextStep();
-            messageBroker.send(message.getTopic(), nextMessage);
-            return;
-        }
-
-        // Check if should retry
-        RetryInfo retryInfo = message.getRetryInfo();
-        if (retryInfo == null) {
-            retryInfo = RetryInfo.builder()
-                    .attempt(1)
-                    .maxAttempts(properties.getRetry().getMaxAttempts())
-                    .build();
-        }
-
-        if (!retryInfo.isExhausted() && isRetryable(cause)) {
-            scheduleRetry(message, retryInfo, errorMessage);
-        } else {
-            // Send to DLQ
-            sendToDlq(message, step, cause);
-
-            // Call failure callback
-            if (definition.getOnFailureMethod() != null) {
-                try {
-                    definition.getOnFailureMethod().setAccessible(true);
-                    invokeCallback(definition.getOnFailureMethod(),
-                                  definition.getHandler(), message, cause);
-                } catch (Exception ex) {
-                    log.error("Error in failure callback", ex);
-                }
-            }
+    private void recordPhase(
+            final String topic,
+            final StepPlan step,
+            final StepPhase phase,
+            final long nanos) {
+        if (metrics != null && nanos >= 0) {
+            metrics.recordStepPhase(topic, step.getLabel(), phase, nanos);
         }
     }
 
-    private boolean isRetryable(final Throwable cause) {
-        String exceptionType = cause.getClass().getName();
-        return !properties.getRetry().getNonRetryableExceptions().contains(exceptionType);
-    }
-
-    private void scheduleRetry(
-            final WorkflowMessage message,
-            final RetryInfo retryInfo,
-            final String errorMessage) {
-        Duration delay = calculateBackoff(retryInfo.getAttempt());
-        Instant nextRetry = Instant.now().plus(delay);
-
-        RetryInfo newRetryInfo = retryInfo.nextAttempt(nextRetry, errorMessage);
-
-        WorkflowMessage retryMessage = WorkflowMessage.builder()
-                .executionId(message.getExecutionId())
-                .correlationId(message.getCorrelationId())
-                .topic(message.getTopic())
-                .currentStep(message.getCurrentStep())
-                .totalSteps(message.getTotalSteps())
-                .status(WorkflowStatus.RETRY_PENDING)
-                .payload(message.getPayload())
-                .payloadType(message.getPayloadType())
-                .securityContext(message.getSecurityContext())
-                .metadata(message.getMetadata())
-                .retryInfo(newRetryInfo)
-                .createdAt(message.getCreatedAt())
-                .updatedAt(Instant.now())
-                .build();
-
-        log.info("Scheduling retry {}/{} for workflow {} [{}] at {}",
-                newRetryInfo.getAttempt(), newRetryInfo.getMaxAttempts(),
-                message.getTopic(), message.getExecutionId(), nextRetry);
-
-        // In core module, we just send to retry topic
-        // The monitor module handles the scheduled retry
-        messageBroker.send(message.getTopic() + ".retry", retryMessage);
-    }
-
-    private Duration calculateBackoff(final int attempt) {
-        StepprFlowProperties.Retry retryConfig = properties.getRetry();
-        long initialMs = retryConfig.getInitialDelay().toMillis();
-        double multiplier = retryConfig.getMultiplier();
-        long maxMs = retryConfig.getMaxDelay().toMillis();
-
-        long delayMs = (long) (initialMs * Math.pow(multiplier, attempt - 1));
-        delayMs = Math.min(delayMs, maxMs);
-
-        return Duration.ofMillis(delayMs);
-    }
-
-    private void sendToDlq(
+    private void invokeCallback(
+            final CallbackInvoker invoker,
+            final ExecutionPlan plan,
             final WorkflowMessage message,
-            final StepDefinition step,
-            final Throwable cause) {
-        if (!properties.getDlq().isEnabled()) {
+            final Throwable error) throws Exception {
+        if (!invoker.isSupported()) {
+            log.warn("Callback method {} has unsupported parameter count: {}",
+                     invoker.getMethodName(), invoker.getParameterCount());
             return;
         }
-
-        ErrorInfo errorInfo = ErrorInfo.builder()
-                .code("STEP_EXECUTION_FAILED")
-                .message(cause.getMessage())
-                .exceptionType(cause.getClass().getName())
-                .stackTrace(getStackTrace(cause))
-                .stepId(step.getId())
-                .stepLabel(step.getLabel())
-                .build();
-
-        WorkflowMessage dlqMessage = WorkflowMessage.builder()
-                .executionId(message.getExecutionId())
-                .correlationId(message.getCorrelationId())
-                .topic(message.getTopic())
-                .currentStep(message.getCurrentStep())
-                .totalSteps(message.getTotalSteps())
-                .status(WorkflowStatus.FAILED)
-                .payload(message.getPayload())
-                .payloadType(message.getPayloadType())
-                .securityContext(message.getSecurityContext())
-                .metadata(message.getMetadata())
-                .retryInfo(message.getRetryInfo())
-                .errorInfo(errorInfo)
-                .createdAt(message.getCreatedAt())
-                .updatedAt(Instant.now())
-                .build();
-
-        String dlqTopic = message.getTopic() + properties.getDlq().getSuffix();
-        messageBroker.send(dlqTopic, dlqMessage);
-
-        log.info("Sent workflow {} [{}] to DLQ: {}",
-                 message.getTopic(), message.getExecutionId(), dlqTopic);
-    }
-
-    private String getStackTrace(final Throwable cause) {
-        StringWriter sw = new StringWriter();
-        PrintWriter pw = new PrintWriter(sw);
-        cause.printStackTrace(pw);
-        String stackTrace = sw.toString();
-
-        // Truncate if too long
-        if (stackTrace.length() > MAX_STACK_TRACE_LENGTH) {
-            stackTrace = stackTrace.substring(0, MAX_STACK_TRACE_LENGTH) + "...";
+        try {
+            invoker.invoke(plan.getHandler(), message, error, payloadCodecs::decode);
+        } catch (Exception | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new InvocationTargetException(t);
         }
-
-        return stackTrace;
     }
 }
@@ -2,24 +2,37 @@ package io.stepprflow.core.service;
 
 import io.stepprflow.core.StepprFlowProperties;
 import io.stepprflow.core.broker.MessageBroker;
+import io.stepprflow.core.exception.WorkflowTimeoutException;
 import io.stepprflow.core.model.ErrorInfo;
+import io.stepprflow.core.model.ExecutionPlan;
+import io.stepprflow.core.model.ExecutionPlan.StepPlan;
 import io.stepprflow.core.model.RetryInfo;
 import io.stepprflow.core.model.StepDefinition;
 import io.stepprflow.core.model.WorkflowDefinition;
 import io.stepprflow.core.model.WorkflowMessage;
-import lombok.RequiredArgsConstructor;
+import io.stepprflow.core.retry.RetryScheduler;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.lang.reflect.InvocationTargetException;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 
 /**
  * Handles workflow step failures including retry scheduling and DLQ routing.
+ *
+ * <p>A {@link WorkflowTimeoutException} bypasses continue-on-failure and
+ * retries: the workflow deadline has passed, so the execution goes to the
+ * DLQ directly.
+ *
+ * <p>Retries go to the retry topic of the workflow, unless a
+ * {@link RetryScheduler} bean accepts them.
  */
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class WorkflowFailureHandler {
 
@@ -38,19 +51,112 @@ public class WorkflowFailureHandler {
     /** The message factory. */
     private final CoreMessageFactory messageFactory;
 
+    /** The retry schedulers, in order. */
+    private final List<RetryScheduler> retrySchedulers;
+
+    /**
+     * Constructor.
+     *
+     * @param messageBroker     the message broker
+     * @param properties        the steppr-flow properties
+     * @param callbackInvoker   the callback method invoker
+     * @param backoffCalculator the backoff calculator
+     * @param messageFactory    the message factory
+     */
+    public WorkflowFailureHandler(
+            final MessageBroker messageBroker,
+            final StepprFlowProperties properties,
+            final CallbackMethodInvoker callbackInvoker,
+            final BackoffCalculator backoffCalculator,
+            final CoreMessageFactory messageFactory) {
+        this(messageBroker, properties, callbackInvoker, backoffCalculator, messageFactory, List.of());
+    }
+
+    /**
+     * Constructor used by Spring.
+     *
+     * @param messageBroker     the message broker
+     * @param properties        the steppr-flow properties
+     * @param callbackInvoker   the callback method invoker
+     * @param backoffCalculator the backoff calculator
+     * @param messageFactory    the message factory
+     * @param retrySchedulers   the retry scheduler beans
+     */
+    @Autowired
+    public WorkflowFailureHandler(
+            final MessageBroker messageBroker,
+            final StepprFlowProperties properties,
+            final CallbackMethodInvoker callbackInvoker,
+            final BackoffCalculator backoffCalculator,
+            final CoreMessageFactory messageFactory,
+            final ObjectProvider<RetryScheduler> retrySchedulers) {
+        this(messageBroker, properties, callbackInvoker, backoffCalculator, messageFactory,
+                retrySchedulers.orderedStream().toList());
+    }
+
+    /**
+     * Constructor with explicit retry schedulers.
+     *
+     * @param messageBroker     the message broker
+     * @param properties        the steppr-flow properties
+     * @param callbackInvoker   the callback method invoker
+     * @param backoffCalculator the backoff calculator
+     * @param messageFactory    the message factory
+     * @param retrySchedulers   the retry schedulers, in order
+     */
+    public WorkflowFailureHandler(
+            final MessageBroker messageBroker,
+            final StepprFlowProperties properties,
+            final CallbackMethodInvoker callbackInvoker,
+            final BackoffCalculator backoffCalculator,
+            final CoreMessageFactory messageFactory,
+            final Collection<? extends RetryScheduler> retrySchedulers) {
+        this.messageBroker = messageBroker;
+        this.properties = properties;
+        this.callbackInvoker = callbackInvoker;
+        this.backoffCalculator = backoffCalculator;
+        this.messageFactory = messageFactory;
+        this.retrySchedulers = List.copyOf(retrySchedulers);
+    }
+
     /**
      * Handle a step execution failure.
      *
+     * <p>Compiles an execution plan for the definition on each call.
+     *
      * @param message    the workflow message
      * @param step       the step that failed
      * @param definition the workflow definition
      * @param e          the exception that caused the failure
+     * @deprecated Use {@link #handleFailure(WorkflowMessage, StepPlan, ExecutionPlan, Exception)}
+     *             with the plan of the workflow registry instead.
      */
+    @Deprecated
     public void handleFailure(
             final WorkflowMessage message,
             final StepDefinition step,
             final WorkflowDefinition definition,
             final Exception e) {
+        ExecutionPlan plan = ExecutionPlan.compile(definition, properties);
+        handleFailure(message, plan.getStep(step.getId()), plan, e);
+    }
+
+    /**
+     * Handle a step execution failure.
+     *
+     * <p>Retries follow the retry policy of the plan, compiled from the
+     * retry properties when the workflow was registered.
+     *
+     * @param message the workflow message
+     * @param step    the step that failed
+     * @param plan    the execution plan of the workflow
+     * @param e       the exception that caused the failure
+     */
+    public void handleFailure(
+            final WorkflowMessage message,
+            final StepPlan step,
+            final ExecutionPlan plan,
+            final Exception e) {
         Throwable cause = e instanceof InvocationTargetException
                 ? e.getCause() : e;
         String errorMessage = cause.getMessage();
@@ -59,11 +165,13 @@ public class WorkflowFailureHandler {
                 step.getId(), message.getTotalSteps(), step.getLabel(),
                 message.getTopic(), message.getExecutionId(), errorMessage, cause);
 
+        boolean workflowTimedOut = cause instanceof WorkflowTimeoutException;
+
         // Check if should continue on failure
-        if (step.isContinueOnFailure() && !definition.isLastStep(step.getId())) {
+        if (step.isContinueOnFailure() && !step.isLast() && !workflowTimedOut) {
             log.info("Continuing to next step despite failure (continueOnFailure=true)");
-            WorkflowMessage nextMessage = message.nextStep();
-            messageBroker.send(message.getTopic(), nextMessage);
+            WorkflowMessage nextMessage = message.nextStep(step.getNext().getId());
+            messageBroker.send(plan.getTopic(), nextMessage);
             return;
         }
 
@@ -72,22 +180,22 @@ public class WorkflowFailureHandler {
         if (retryInfo == null) {
             retryInfo = RetryInfo.builder()
                     .attempt(1)
-                    .maxAttempts(properties.getRetry().getMaxAttempts())
+                    .maxAttempts(plan.getRetryPolicy().getMaxAttempts())
                     .build();
         }
 
-        if (!retryInfo.isExhausted() && isRetryable(cause)) {
-            scheduleRetry(message, retryInfo, errorMessage);
+        if (!retryInfo.isExhausted() && !workflowTimedOut && plan.getRetryPolicy().isRetryable(cause)) {
+            scheduleRetry(message, plan, retryInfo, errorMessage);
         } else {
             // Send to DLQ
-            sendToDlq(message, step, cause);
+            sendToDlq(message, step, plan, cause);
 
             // Call failure callback
-            if (definition.getOnFailureMethod() != null) {
+            if (plan.getOnFailureInvoker() != null) {
                 try {
                     callbackInvoker.invokeRaw(
-                            definition.getOnFailureMethod(),
-                            definition.getHandler(),
+                            plan.getOnFailureInvoker(),
+                            plan.getHandler(),
                             message,
                             cause);
                 } catch (Exception ex) {
@@ -98,31 +206,42 @@ public class WorkflowFailureHandler {
     }
 
     /**
-     * Check if an exception is retryable.
+     * Check if an exception is retryable under the current retry properties.
      *
      * @param cause the exception to check
      * @return true if the exception is retryable
+     * @deprecated Use {@link ExecutionPlan.RetryPolicy#isRetryable(Throwable)}
+     *             of the execution plan instead.
      */
+    @Deprecated
     public boolean isRetryable(final Throwable cause) {
+        if (cause instanceof WorkflowTimeoutException) {
+            return false;
+        }
         String exceptionType = cause.getClass().getName();
         return !properties.getRetry().getNonRetryableExceptions().contains(exceptionType);
     }
 
     /**
-     * Calculate the backoff duration for a retry attempt.
+     * Calculate the backoff duration for a retry attempt under the current
+     * retry properties.
      *
      * @param attempt the current attempt number
      * @return the backoff duration
+     * @deprecated Use {@link ExecutionPlan.RetryPolicy#backoff(int)}
+     *             of the execution plan instead.
      */
+    @Deprecated
     public Duration calculateBackoff(final int attempt) {
         return backoffCalculator.calculate(attempt);
     }
 
     private void scheduleRetry(
             final WorkflowMessage message,
+            final ExecutionPlan plan,
             final RetryInfo retryInfo,
             final String errorMessage) {
-        Duration delay = backoffCalculator.calculate(retryInfo.getAttempt());
+        Duration delay = plan.getRetryPolicy().backoff(retryInfo.getAttempt());
         Instant nextRetry = Instant.now().plus(delay);
 
         RetryInfo newRetryInfo = retryInfo.nextAttempt(nextRetry, errorMessage);
@@ -133,23 +252,29 @@ public class WorkflowFailureHandler {
                 newRetryInfo.getAttempt(), newRetryInfo.getMaxAttempts(),
                 message.getTopic(), message.getExecutionId(), nextRetry);
 
-        // In core module, we just send to retry topic
-        // The monitor module handles the scheduled retry
-        messageBroker.send(message.getTopic() + ".retry", retryMessage);
+        for (RetryScheduler scheduler : retrySchedulers) {
+            if (scheduler.schedule(retryMessage, plan.getTopic(), plan.getRetryDestination(), delay)) {
+                return;
+            }
+        }
+
+        // The monitor module handles retries sent to the retry topic
+        messageBroker.send(plan.getRetryDestination(), retryMessage);
     }
 
     private void sendToDlq(
             final WorkflowMessage message,
-            final StepDefinition step,
+            final StepPlan step,
+            final ExecutionPlan plan,
             final Throwable cause) {
-        if (!properties.getDlq().isEnabled()) {
+        String dlqTopic = plan.getDlqDestination();
+        if (dlqTopic == null) {
             return;
         }
 
-        ErrorInfo errorInfo = messageFactory.createErrorInfo(cause, step);
+        ErrorInfo errorInfo = messageFactory.createErrorInfo(cause, step.getDefinition());
         WorkflowMessage dlqMessage = messageFactory.createDlqMessage(message, errorInfo);
 
-        String dlqTopic = message.getTopic() + properties.getDlq().getSuffix();
         messageBroker.send(dlqTopic, dlqMessage);
 
         log.info("Sent workflow {} [{}] to DLQ: {}",
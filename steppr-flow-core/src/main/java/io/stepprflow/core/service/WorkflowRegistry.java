@@ -1,12 +1,19 @@
 package io.stepprflow.core.service;
 
+import io.stepprflow.core.StepprFlowProperties;
+import io.stepprflow.core.annotation.Batch;
+import io.stepprflow.core.annotation.Chained;
 import io.stepprflow.core.annotation.OnFailure;
 import io.stepprflow.core.annotation.OnSuccess;
+import io.stepprflow.core.annotation.Parallel;
 import io.stepprflow.core.annotation.Step;
 import io.stepprflow.core.annotation.Timeout;
 import io.stepprflow.core.annotation.Topic;
+import io.stepprflow.core.invoker.MethodInvokers;
+import io.stepprflow.core.model.ExecutionPlan;
 import io.stepprflow.core.model.StepDefinition;
 import io.stepprflow.core.model.WorkflowDefinition;
+import io.stepprflow.core.payload.PayloadCodecRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.ApplicationContext;
@@ -34,9 +41,18 @@ public class WorkflowRegistry {
     /** The Spring application context. */
     private final ApplicationContext applicationContext;
 
+    /** The steppr-flow properties. */
+    private final StepprFlowProperties properties;
+
+    /** The payload codec registry. */
+    private final PayloadCodecRegistry payloadCodecs;
+
     /** Map of topic names to workflow definitions. */
     private final Map<String, WorkflowDefinition> definitions = new ConcurrentHashMap<>();
 
+    /** Map of topic names to compiled execution plans. */
+    private final Map<String, ExecutionPlan> plans = new ConcurrentHashMap<>();
+
     @jakarta.annotation.PostConstruct
     public void init() {
         log.info("Scanning for workflow definitions...");
@@ -65,6 +81,9 @@ public class WorkflowRegistry {
 
             WorkflowDefinition definition = buildDefinition(topic, workflow, beanClass);
             definitions.put(topic.value(), definition);
+            ExecutionPlan plan = ExecutionPlan.compile(definition, properties);
+            plans.put(topic.value(), plan);
+            registerPayloadTypes(plan);
 
             log.info("Registered workflow: topic={}, steps={}",
                      topic.value(), definition.getTotalSteps());
@@ -81,6 +100,7 @@ public class WorkflowRegistry {
         List<StepDefinition> steps = new ArrayList<>();
         Method onSuccessMethod = null;
         Method onFailureMethod = null;
+        Chained workflowChained = beanClass.getAnnotation(Chained.class);
 
         for (Method method : beanClass.getDeclaredMethods()) {
             Step stepAnnotation = method.getAnnotation(Step.class);
@@ -90,15 +110,30 @@ public class WorkflowRegistry {
                         ? Duration.of(timeoutAnnotation.value(),
                                       timeoutAnnotation.unit().toChronoUnit())
                         : null;
+                Chained chained = method.isAnnotationPresent(Chained.class)
+                        ? method.getAnnotation(Chained.class) : workflowChained;
+                Parallel parallel = method.getAnnotation(Parallel.class);
+                Batch batch = method.getAnnotation(Batch.class);
 
                 steps.add(StepDefinition.builder()
                         .id(stepAnnotation.id())
                         .label(stepAnnotation.label())
                         .description(stepAnnotation.description())
                         .method(method)
+                        .invoker(MethodInvokers.forStep(method, handler))
                         .skippable(stepAnnotation.skippable())
                         .continueOnFailure(stepAnnotation.continueOnFailure())
                         .timeout(timeout)
+                        .batchSize(batch != null ? Math.max(1, batch.maxSize()) : 0)
+                        .batchLinger(batch != null
+                                ? Duration.of(batch.linger(), batch.unit().toChronoUnit())
+                                : null)
+                        .parallelGroup(parallel != null ? parallel.value() : null)
+                        .chained(chained != null)
+                        .chainMaxSteps(chained != null ? chained.maxSteps() : 0)
+                        .chainMaxDuration(chained != null && chained.maxDuration() > 0
+                                ? Duration.of(chained.maxDuration(), chained.unit().toChronoUnit())
+                                : null)
                         .build());
             }
 
@@ -129,12 +164,25 @@ public class WorkflowRegistry {
                 .steps(steps)
                 .onSuccessMethod(onSuccessMethod)
                 .onFailureMethod(onFailureMethod)
+                .onSuccessInvoker(onSuccessMethod != null
+                        ? MethodInvokers.forCallback(onSuccessMethod) : null)
+                .onFailureInvoker(onFailureMethod != null
+                        ? MethodInvokers.forCallback(onFailureMethod) : null)
                 .timeout(timeout)
                 .partitions(topic.partitions())
                 .replication(topic.replication())
                 .build();
     }
 
+    private void registerPayloadTypes(final ExecutionPlan plan) {
+        // Declared step parameter types are trusted, whatever their package
+        for (ExecutionPlan.StepPlan step = plan.getFirstStep(); step != null; step = step.getNext()) {
+            if (step.getPayloadClass() != null) {
+                payloadCodecs.register(step.getPayloadClass());
+            }
+        }
+    }
+
     /**
      * Get workflow definition by topic.
      *
@@ -145,6 +193,16 @@ public class WorkflowRegistry {
         return definitions.get(topic);
     }
 
+    /**
+     * Get the compiled execution plan of a topic.
+     *
+     * @param topic the topic name
+     * @return the execution plan or null if not found
+     */
+    public ExecutionPlan getPlan(final String topic) {
+        return plans.get(topic);
+    }
+
     /**
      * Get all registered topics.
      *
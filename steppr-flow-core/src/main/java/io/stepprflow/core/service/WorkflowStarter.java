@@ -2,6 +2,8 @@ package io.stepprflow.core.service;
 
 import io.stepprflow.core.model.WorkflowMessage;
 
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
@@ -29,9 +31,37 @@ public interface WorkflowStarter {
      */
     String start(String topic, Object payload, Map<String, Object> metadata);
 
+    /**
+     * Start a workflow for each payload, sending the messages as batches.
+     *
+     * <p>The workflow definition is resolved once, and messages are sent
+     * through {@link io.stepprflow.core.broker.MessageBroker#sendBatch}.
+     * Payloads that cannot be sent are reported as failures without
+     * stopping the others.
+     *
+     * @param topic    The workflow topic
+     * @param payloads The payload objects
+     * @return The execution IDs and failures
+     */
+    BatchStartResult startAll(String topic, Collection<?> payloads);
+
+    /**
+     * Start a workflow for each payload of an iterator, sending the messages
+     * as batches of bounded size, so that payloads can be streamed.
+     *
+     * @param topic    The workflow topic
+     * @param payloads The payload objects
+     * @return The execution IDs and failures
+     */
+    BatchStartResult startAll(String topic, Iterator<?> payloads);
+
     /**
      * Start a workflow asynchronously.
      *
+     * <p>The returned future completes once the broker acknowledged the
+     * start message. The caller may block while too many starts are
+     * waiting for their acknowledgment.
+     *
      * @param topic   The workflow topic
      * @param payload The payload object
      * @return Future containing the execution ID
@@ -1,25 +1,63 @@
 package io.stepprflow.core.service;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.stepprflow.core.StepprFlowProperties;
+import io.stepprflow.core.admission.AdmissionController;
 import io.stepprflow.core.broker.MessageBroker;
+import io.stepprflow.core.exception.WorkflowAdmissionException;
 import io.stepprflow.core.exception.WorkflowException;
+import io.stepprflow.core.id.IdGenerator;
+import io.stepprflow.core.id.TimeOrderedIdGenerator;
 import io.stepprflow.core.model.WorkflowDefinition;
 import io.stepprflow.core.model.WorkflowMessage;
 import io.stepprflow.core.model.WorkflowStatus;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
-import java.util.UUID;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Implementation of WorkflowStarter.
+ *
+ * <p>{@link #startAsync(String, Object)} sends through
+ * {@link MessageBroker#sendAsync} and completes on broker acknowledgment.
+ * At most {@code stepprflow.starter.max-in-flight} asynchronous starts are
+ * unacknowledged at any time; callers block beyond that limit, for up to
+ * {@code stepprflow.starter.acquire-timeout}.
+ *
+ * <p>When a {@link MeterRegistry} is available, the starter publishes:
+ * <ul>
+ *   <li>stepprflow.starter.inflight - Gauge of asynchronous starts not yet
+ *   acknowledged</li>
+ *   <li>stepprflow.starter.wait - Timer of the time callers waited for
+ *   capacity</li>
+ * </ul>
+ *
+ * <p>When an {@link AdmissionController} is present, every start is admitted
+ * by it first; rejected starts throw {@link WorkflowAdmissionException}, or
+ * complete exceptionally with it.
  */
 @Service
 @Slf4j
 public class WorkflowStarterImpl implements WorkflowStarter {
 
+    /** Number of messages sent per batch by {@code startAll}. */
+    static final int BATCH_SIZE = 500;
+
     /** The workflow registry. */
     private final WorkflowRegistry registry;
 
@@ -29,20 +67,114 @@ public class WorkflowStarterImpl implements WorkflowStarter {
     /** The service name. */
     private final String serviceName;
 
+    /** The execution and correlation ID generator. */
+    private final IdGenerator idGenerator;
+
+    /** Permits for asynchronous starts not yet acknowledged. */
+    private final Semaphore permits;
+
+    /** Maximum number of asynchronous starts not yet acknowledged. */
+    private final int maxInFlight;
+
+    /** Maximum time to wait for a permit. */
+    private final Duration acquireTimeout;
+
+    /** Time waited for permits, or null without meter registry. */
+    private final Timer waitTimer;
+
+    /** The admission controller, or null when admission control is disabled. */
+    private final AdmissionController admissionController;
+
+    /**
+     * Constructs a new WorkflowStarterImpl with time-ordered IDs.
+     *
+     * @param workflowRegistry the workflow registry
+     * @param broker the message broker
+     * @param appName the service name
+     */
+    public WorkflowStarterImpl(
+            final WorkflowRegistry workflowRegistry,
+            final MessageBroker broker,
+            final String appName) {
+        this(workflowRegistry, broker, appName, null);
+    }
+
+    /**
+     * Constructs a new WorkflowStarterImpl with default starter settings.
+     *
+     * @param workflowRegistry the workflow registry
+     * @param broker the message broker
+     * @param appName the service name
+     * @param ids the ID generator (optional, time-ordered by default)
+     */
+    public WorkflowStarterImpl(
+            final WorkflowRegistry workflowRegistry,
+            final MessageBroker broker,
+            final String appName,
+            final IdGenerator ids) {
+        this(workflowRegistry, broker, appName, ids, null, null);
+    }
+
+    /**
+     * Constructs a new WorkflowStarterImpl without admission control.
+     *
+     * @param workflowRegistry the workflow registry
+     * @param broker the message broker
+     * @param appName the service name
+     * @param ids the ID generator (optional, time-ordered by default)
+     * @param properties the steppr-flow properties (optional, defaults when null)
+     * @param meterRegistry the meter registry (optional)
+     */
+    public WorkflowStarterImpl(
+            final WorkflowRegistry workflowRegistry,
+            final MessageBroker broker,
+            final String appName,
+            final IdGenerator ids,
+            final StepprFlowProperties properties,
+            final MeterRegistry meterRegistry) {
+        this(workflowRegistry, broker, appName, ids, properties, meterRegistry, null);
+    }
+
     /**
      * Constructs a new WorkflowStarterImpl.
      *
      * @param workflowRegistry the workflow registry
      * @param broker the message broker
      * @param appName the service name
+     * @param ids the ID generator (optional, time-ordered by default)
+     * @param properties the steppr-flow properties (optional, defaults when null)
+     * @param meterRegistry the meter registry (optional)
+     * @param admission the admission controller (optional)
      */
+    @Autowired
     public WorkflowStarterImpl(
             final WorkflowRegistry workflowRegistry,
             final MessageBroker broker,
-            @Value("${spring.application.name:unknown}") final String appName) {
+            @Value("${spring.application.name:unknown}") final String appName,
+            @Autowired(required = false) final IdGenerator ids,
+            @Autowired(required = false) final StepprFlowProperties properties,
+            @Autowired(required = false) final MeterRegistry meterRegistry,
+            @Autowired(required = false) final AdmissionController admission) {
+        this.admissionController = admission;
         this.registry = workflowRegistry;
         this.messageBroker = broker;
         this.serviceName = appName;
+        this.idGenerator = ids != null ? ids : TimeOrderedIdGenerator.getDefault();
+        StepprFlowProperties.Starter starter = properties != null
+                ? properties.getStarter() : new StepprFlowProperties.Starter();
+        this.maxInFlight = starter.getMaxInFlight();
+        this.acquireTimeout = starter.getAcquireTimeout();
+        this.permits = new Semaphore(maxInFlight);
+        if (meterRegistry != null) {
+            Gauge.builder("stepprflow.starter.inflight", permits, p -> maxInFlight - p.availablePermits())
+                    .description("Asynchronous workflow starts not yet acknowledged by the broker")
+                    .register(meterRegistry);
+            this.waitTimer = Timer.builder("stepprflow.starter.wait")
+                    .description("Time callers waited for asynchronous start capacity")
+                    .register(meterRegistry);
+        } else {
+            this.waitTimer = null;
+        }
     }
 
     @Override
@@ -55,69 +187,116 @@ public class WorkflowStarterImpl implements WorkflowStarter {
             final String topic,
             final Object payload,
             final Map<String, Object> metadata) {
-        WorkflowDefinition definition = registry.getDefinition(topic);
-        if (definition == null) {
-            throw new WorkflowException("Unknown workflow topic: " + topic);
-        }
-
-        String executionId = UUID.randomUUID().toString();
-
-        WorkflowMessage message = WorkflowMessage.builder()
-                .executionId(executionId)
-                .correlationId(UUID.randomUUID().toString())
-                .topic(topic)
-                .serviceName(serviceName)
-                .currentStep(1)
-                .totalSteps(definition.getTotalSteps())
-                .status(WorkflowStatus.PENDING)
-                .payload(payload)
-                .payloadType(payload.getClass().getName())
-                .metadata(metadata)
-                .build();
+        WorkflowMessage message = newMessage(topic, getDefinition(topic), payload, metadata);
+        admit(topic);
 
         log.info("Starting workflow: topic={}, serviceName={}, executionId={}",
-                 topic, serviceName, executionId);
+                 topic, serviceName, message.getExecutionId());
         messageBroker.send(topic, message);
 
-        return executionId;
+        return message.getExecutionId();
     }
 
     @Override
     public CompletableFuture<String> startAsync(
             final String topic,
             final Object payload) {
-        return CompletableFuture.supplyAsync(() -> start(topic, payload));
+        WorkflowMessage message;
+        try {
+            message = newMessage(topic, getDefinition(topic), payload, null);
+            admit(topic);
+        } catch (WorkflowException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        long waitStart = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(acquireTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                return CompletableFuture.failedFuture(new WorkflowException(
+                        "Too many workflow starts in flight (" + maxInFlight + "), waited " + acquireTimeout));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.failedFuture(e);
+        } finally {
+            if (waitTimer != null) {
+                waitTimer.record(System.nanoTime() - waitStart, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        log.info("Starting workflow asynchronously: topic={}, serviceName={}, executionId={}",
+                 topic, serviceName, message.getExecutionId());
+        CompletableFuture<Void> sent;
+        try {
+            sent = messageBroker.sendAsync(topic, message);
+        } catch (RuntimeException e) {
+            permits.release();
+            return CompletableFuture.failedFuture(e);
+        }
+        return sent
+                .whenComplete((result, error) -> permits.release())
+                .thenApply(result -> message.getExecutionId());
     }
 
     @Override
     public WorkflowMessage startAndGetMessage(
             final String topic,
             final Object payload) {
-        WorkflowDefinition definition = registry.getDefinition(topic);
-        if (definition == null) {
-            throw new WorkflowException("Unknown workflow topic: " + topic);
-        }
-
-        String executionId = UUID.randomUUID().toString();
-
-        WorkflowMessage message = WorkflowMessage.builder()
-                .executionId(executionId)
-                .correlationId(UUID.randomUUID().toString())
-                .topic(topic)
-                .serviceName(serviceName)
-                .currentStep(1)
-                .totalSteps(definition.getTotalSteps())
-                .status(WorkflowStatus.PENDING)
-                .payload(payload)
-                .payloadType(payload.getClass().getName())
-                .build();
+        WorkflowMessage message = newMessage(topic, getDefinition(topic), payload, null);
+        admit(topic);
 
-        log.info("Starting workflow: topic={}, executionId={}", topic, executionId);
+        log.info("Starting workflow: topic={}, executionId={}", topic, message.getExecutionId());
         messageBroker.send(topic, message);
 
         return message;
     }
 
+    @Override
+    public BatchStartResult startAll(
+            final String topic,
+            final Collection<?> payloads) {
+        return startAll(topic, payloads.iterator());
+    }
+
+    @Override
+    public BatchStartResult startAll(
+            final String topic,
+            final Iterator<?> payloads) {
+        WorkflowDefinition definition = getDefinition(topic);
+        List<String> executionIds = new ArrayList<>();
+        List<BatchStartResult.Failure> failures = new ArrayList<>();
+        List<WorkflowMessage> batch = new ArrayList<>(BATCH_SIZE);
+        List<Integer> indexes = new ArrayList<>(BATCH_SIZE);
+
+        int index = 0;
+        while (payloads.hasNext()) {
+            Object payload = payloads.next();
+            if (payload == null) {
+                executionIds.add(null);
+                failures.add(new BatchStartResult.Failure(index,
+                        new IllegalArgumentException("Payload must not be null")));
+            } else if (!admitted(topic, index, failures)) {
+                executionIds.add(null);
+            } else {
+                WorkflowMessage message = newMessage(topic, definition, payload, null);
+                executionIds.add(message.getExecutionId());
+                batch.add(message);
+                indexes.add(index);
+                if (batch.size() == BATCH_SIZE) {
+                    sendBatch(topic, batch, indexes, executionIds, failures);
+                }
+            }
+            index++;
+        }
+        if (!batch.isEmpty()) {
+            sendBatch(topic, batch, indexes, executionIds, failures);
+        }
+
+        log.info("Started {} workflow(s): topic={}, serviceName={}, failed={}",
+                 index - failures.size(), topic, serviceName, failures.size());
+        return new BatchStartResult(executionIds, failures);
+    }
+
     @Override
     public void resume(final String executionId, final Integer stepId) {
         log.info("Resume workflow is not yet implemented");
@@ -131,4 +310,92 @@ public class WorkflowStarterImpl implements WorkflowStarter {
         throw new UnsupportedOperationException(
                 "Cancel is implemented in async-workflow-monitor");
     }
+
+    private WorkflowDefinition getDefinition(final String topic) {
+        WorkflowDefinition definition = registry.getDefinition(topic);
+        if (definition == null) {
+            throw new WorkflowException("Unknown workflow topic: " + topic);
+        }
+        return definition;
+    }
+
+    private void admit(final String topic) {
+        if (admissionController != null) {
+            admissionController.admit(topic);
+        }
+    }
+
+    /**
+     * Admit one start of a batch, recording its failure when rejected.
+     */
+    private boolean admitted(
+            final String topic,
+            final int index,
+            final List<BatchStartResult.Failure> failures) {
+        try {
+            admit(topic);
+            return true;
+        } catch (WorkflowAdmissionException e) {
+            failures.add(new BatchStartResult.Failure(index, e));
+            return false;
+        }
+    }
+
+    private WorkflowMessage newMessage(
+            final String topic,
+            final WorkflowDefinition definition,
+            final Object payload,
+            final Map<String, Object> metadata) {
+        return WorkflowMessage.builder()
+                .executionId(idGenerator.nextId())
+                .correlationId(idGenerator.nextId())
+                .topic(topic)
+                .serviceName(serviceName)
+                .currentStep(1)
+                .totalSteps(definition.getTotalSteps())
+                .status(WorkflowStatus.PENDING)
+                .payload(payload)
+                .payloadType(payload.getClass().getName())
+                .metadata(metadata)
+                .build();
+    }
+
+    /**
+     * Send a batch, wait for its acknowledgments, and record the messages
+     * that failed. The broker gets a copy of the batch, which is then
+     * cleared with its indexes for reuse.
+     */
+    private void sendBatch(
+            final String topic,
+            final List<WorkflowMessage> batch,
+            final List<Integer> indexes,
+            final List<String> executionIds,
+            final List<BatchStartResult.Failure> failures) {
+        List<CompletableFuture<Void>> results;
+        try {
+            results = messageBroker.sendBatch(topic, List.copyOf(batch));
+            if (results == null || results.size() != batch.size()) {
+                throw new IllegalStateException("Broker returned "
+                        + (results == null ? "no" : results.size()) + " result(s) for a batch of "
+                        + batch.size() + " message(s)");
+            }
+        } catch (RuntimeException e) {
+            results = batch.stream()
+                    .map(message -> CompletableFuture.<Void>failedFuture(e))
+                    .toList();
+        }
+        for (int i = 0; i < results.size(); i++) {
+            try {
+                results.get(i).join();
+            } catch (CompletionException | CancellationException e) {
+                int index = indexes.get(i);
+                executionIds.set(index, null);
+                failures.add(new BatchStartResult.Failure(index,
+                        e instanceof CompletionException && e.getCause() != null ? e.getCause() : e));
+            }
+        }
+        log.debug("Sent batch of {} workflow(s) to {}", batch.size(), topic);
+        batch.clear();
+        indexes.clear();
+    }
 }
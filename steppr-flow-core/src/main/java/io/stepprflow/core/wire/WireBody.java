@@ -0,0 +1,118 @@
+package io.stepprflow.core.wire;
+
+import io.stepprflow.core.model.WorkflowMessage;
+
+import java.util.Objects;
+
+/**
+ * Encoded body of a received workflow message, kept to be forwarded as-is.
+ *
+ * <p>A step transition ({@link WorkflowMessage#nextStep()},
+ * {@link WorkflowMessage#complete()}) only changes envelope fields, which
+ * are sent as headers by {@link WireEnvelope}. The new message keeps the
+ * received body, and the broker writes those bytes again instead of
+ * encoding the message.
+ *
+ * <p>The body records which values it was decoded into. It is only
+ * forwarded for a message still holding the same values: equal for
+ * identifiers and scalars, the same instances for the payload, metadata
+ * and retry and error information. A message whose payload was replaced,
+ * or which gained retry or error information, is encoded normally.
+ */
+public final class WireBody {
+
+    /** The encoded bytes. */
+    private final byte[] bytes;
+
+    /** The content type of the bytes. */
+    private final String contentType;
+
+    // Non-envelope values decoded from the bytes
+    private final String executionId;
+    private final String correlationId;
+    private final String topic;
+    private final String serviceName;
+    private final int totalSteps;
+    private final String payloadType;
+    private final String securityContext;
+    private final Object createdAt;
+    private final Object payload;
+    private final Object payloadRef;
+    private final Object metadata;
+    private final Object retryInfo;
+    private final Object errorInfo;
+
+    private WireBody(final byte[] bytes, final String contentType, final WorkflowMessage decoded) {
+        this.bytes = bytes;
+        this.contentType = contentType;
+        this.executionId = decoded.getExecutionId();
+        this.correlationId = decoded.getCorrelationId();
+        this.topic = decoded.getTopic();
+        this.serviceName = decoded.getServiceName();
+        this.totalSteps = decoded.getTotalSteps();
+        this.payloadType = decoded.getPayloadType();
+        this.securityContext = decoded.getSecurityContext();
+        this.createdAt = decoded.getCreatedAt();
+        this.payload = decoded.getWirePayload();
+        this.payloadRef = decoded.getPayloadRef();
+        this.metadata = decoded.getMetadata();
+        this.retryInfo = decoded.getRetryInfo();
+        this.errorInfo = decoded.getErrorInfo();
+    }
+
+    /**
+     * Capture the body of a received message.
+     *
+     * @param bytes       the encoded bytes
+     * @param contentType the content type of the bytes
+     * @param decoded     the message decoded from the bytes
+     * @return the body
+     */
+    public static WireBody capture(
+            final byte[] bytes,
+            final String contentType,
+            final WorkflowMessage decoded) {
+        return new WireBody(bytes, contentType, decoded);
+    }
+
+    /**
+     * Get the encoded bytes. The array is shared and must not be modified.
+     *
+     * @return the bytes
+     */
+    public byte[] getBytes() {
+        return bytes;
+    }
+
+    /**
+     * Get the content type of the bytes.
+     *
+     * @return the content type
+     */
+    public String getContentType() {
+        return contentType;
+    }
+
+    /**
+     * Check whether this body, with the envelope headers of a message,
+     * describes that message exactly.
+     *
+     * @param message the message to send
+     * @return true if the body can be sent for the message
+     */
+    public boolean matches(final WorkflowMessage message) {
+        return message.getWirePayload() == payload
+                && message.getPayloadRef() == payloadRef
+                && message.getMetadata() == metadata
+                && message.getRetryInfo() == retryInfo
+                && message.getErrorInfo() == errorInfo
+                && message.getTotalSteps() == totalSteps
+                && Objects.equals(message.getExecutionId(), executionId)
+                && Objects.equals(message.getCorrelationId(), correlationId)
+                && Objects.equals(message.getTopic(), topic)
+                && Objects.equals(message.getServiceName(), serviceName)
+                && Objects.equals(message.getPayloadType(), payloadType)
+                && Objects.equals(message.getSecurityContext(), securityContext)
+                && Objects.equals(message.getCreatedAt(), createdAt);
+    }
+}
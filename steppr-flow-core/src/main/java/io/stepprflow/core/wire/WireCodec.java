@@ -0,0 +1,43 @@
+package io.stepprflow.core.wire;
+
+import io.stepprflow.core.model.WorkflowMessage;
+
+import java.io.IOException;
+
+/**
+ * Encodes workflow messages to and from the bytes sent to the broker.
+ *
+ * <p>Each codec is identified by a content type, which brokers carry in a
+ * message header so that a consumer decodes every message with the codec
+ * that encoded it. Codec beans are registered in the
+ * {@link WireCodecRegistry} next to the built-in JSON and Smile codecs.
+ *
+ * <p>Implementations must be thread-safe.
+ */
+public interface WireCodec {
+
+    /**
+     * Get the content type identifying this codec.
+     *
+     * @return the content type, e.g. {@code application/json}
+     */
+    String getContentType();
+
+    /**
+     * Encode a message.
+     *
+     * @param message the message
+     * @return the encoded bytes
+     * @throws IOException if the message cannot be encoded
+     */
+    byte[] encode(WorkflowMessage message) throws IOException;
+
+    /**
+     * Decode a message.
+     *
+     * @param data the encoded bytes
+     * @return the message
+     * @throws IOException if the bytes cannot be decoded
+     */
+    WorkflowMessage decode(byte[] data) throws IOException;
+}
@@ -0,0 +1,187 @@
+package io.stepprflow.core.wire;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.stepprflow.core.StepprFlowProperties;
+import io.stepprflow.core.model.WorkflowMessage;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Registry of wire codecs, keyed by content type.
+ *
+ * <p>Messages are sent with the codec selected by
+ * {@code stepprflow.wire.content-type}, and received with the codec matching
+ * their content type header. A message without a content type is JSON, as
+ * sent by versions without wire codecs. Switching the sent format is safe
+ * once every consumer runs a version with this registry.
+ *
+ * <p>The JSON and Smile codecs are always registered; {@link WireCodec}
+ * beans are added to them, and replace a built-in codec with the same
+ * content type.
+ *
+ * <p>{@link #encode(WorkflowMessage)} and
+ * {@link #decode(String, byte[], Function)} also handle the envelope
+ * headers: with {@code stepprflow.wire.forward-body=true}, a message
+ * derived from a received one by a step transition is sent with the
+ * received bytes instead of being encoded again (see {@link WireBody}).
+ */
+@Component
+public class WireCodecRegistry {
+
+    /** Codecs by lower-case content type, without parameters. */
+    private final Map<String, WireCodec> codecs = new ConcurrentHashMap<>();
+
+    /** The codec of sent messages. */
+    private final WireCodec writeCodec;
+
+    /** The codec of messages without a content type. */
+    private final WireCodec defaultCodec;
+
+    /** Whether received bodies are forwarded on step transitions. */
+    private final boolean forwardBody;
+
+    /**
+     * Constructor used by Spring.
+     *
+     * @param objectMapper the object mapper
+     * @param properties   the steppr-flow properties
+     * @param customCodecs the codec beans
+     */
+    @Autowired
+    public WireCodecRegistry(
+            final ObjectMapper objectMapper,
+            final StepprFlowProperties properties,
+            final ObjectProvider<WireCodec> customCodecs) {
+        this(objectMapper, properties.getWire().getContentType(), customCodecs.orderedStream().toList(),
+                properties.getWire().isForwardBody());
+    }
+
+    /**
+     * Constructor with an explicit write content type.
+     *
+     * @param objectMapper     the object mapper
+     * @param writeContentType the content type of sent messages
+     * @param customCodecs     additional codecs
+     * @throws IllegalArgumentException if no codec handles the write content type
+     */
+    public WireCodecRegistry(
+            final ObjectMapper objectMapper,
+            final String writeContentType,
+            final Collection<? extends WireCodec> customCodecs) {
+        this(objectMapper, writeContentType, customCodecs, false);
+    }
+
+    /**
+     * Constructor with an explicit write content type and body forwarding.
+     *
+     * @param objectMapper     the object mapper
+     * @param writeContentType the content type of sent messages
+     * @param customCodecs     additional codecs
+     * @param forwardBody      whether received bodies are forwarded on step
+     *                         transitions
+     * @throws IllegalArgumentException if no codec handles the write content type
+     */
+    public WireCodecRegistry(
+            final ObjectMapper objectMapper,
+            final String writeContentType,
+            final Collection<? extends WireCodec> customCodecs,
+            final boolean forwardBody) {
+        List<WireCodec> all = new ArrayList<>();
+        all.add(JacksonWireCodec.json(objectMapper));
+        all.add(JacksonWireCodec.smile(objectMapper));
+        all.addAll(customCodecs);
+        for (WireCodec codec : all) {
+            codecs.put(normalize(codec.getContentType()), codec);
+        }
+        this.defaultCodec = codecs.get(JacksonWireCodec.JSON);
+        this.writeCodec = forContentType(writeContentType);
+        this.forwardBody = forwardBody;
+    }
+
+    /**
+     * Get the codec of sent messages.
+     *
+     * @return the write codec
+     */
+    public WireCodec getWriteCodec() {
+        return writeCodec;
+    }
+
+    /**
+     * Get the codec for a received content type.
+     *
+     * @param contentType the content type header, may be null or carry
+     *                    parameters such as a charset
+     * @return the codec; the JSON codec when the content type is null
+     * @throws IllegalArgumentException if no codec handles the content type
+     */
+    public WireCodec forContentType(final String contentType) {
+        if (contentType == null || contentType.isBlank()) {
+            return defaultCodec;
+        }
+        WireCodec codec = codecs.get(normalize(contentType));
+        if (codec == null) {
+            throw new IllegalArgumentException("No wire codec for content type: " + contentType);
+        }
+        return codec;
+    }
+
+    /**
+     * Encode a message with the write codec, or forward its received body
+     * when enabled and the body still describes the message. The envelope
+     * headers must be written next to the result.
+     *
+     * @param message the message to send
+     * @return the body bytes
+     * @throws IOException if the message cannot be encoded
+     */
+    public byte[] encode(final WorkflowMessage message) throws IOException {
+        WireBody body = message.getWireBody();
+        if (forwardBody && body != null
+                && normalize(body.getContentType()).equals(normalize(writeCodec.getContentType()))
+                && body.matches(message)) {
+            return body.getBytes();
+        }
+        return writeCodec.encode(message);
+    }
+
+    /**
+     * Decode a received message and apply its envelope headers.
+     *
+     * @param contentType the content type header, may be null
+     * @param data        the body bytes
+     * @param headers     the header reader, returning null for absent headers
+     * @return the message, holding its body for forwarding
+     * @throws IOException if the body cannot be decoded
+     * @throws IllegalArgumentException if no codec handles the content type,
+     *                                  or an envelope header is malformed
+     */
+    public WorkflowMessage decode(
+            final String contentType,
+            final byte[] data,
+            final Function<String, String> headers) throws IOException {
+        WireCodec codec = forContentType(contentType);
+        WorkflowMessage message = codec.decode(data);
+        WireEnvelope.apply(headers, message);
+        if (forwardBody) {
+            message.setWireBody(WireBody.capture(data, codec.getContentType(), message));
+        }
+        return message;
+    }
+
+    private static String normalize(final String contentType) {
+        int semicolon = contentType.indexOf(';');
+        String mimeType = semicolon >= 0 ? contentType.substring(0, semicolon) : contentType;
+        return mimeType.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,149 @@
+package io.stepprflow.core.wire;
+
+import io.stepprflow.core.model.StepTiming;
+import io.stepprflow.core.model.WorkflowMessage;
+import io.stepprflow.core.model.WorkflowStatus;
+
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Envelope fields of a workflow message, carried in broker headers.
+ *
+ * <p>The step, status and send time change on every transition while the
+ * rest of the message does not. Written as headers next to the body, they
+ * let a transition forward the received body unchanged (see
+ * {@link WireBody}); on receipt, header values take precedence over the
+ * values found in the body.
+ *
+ * <p>The execution ID, topic and retry attempt are written as well, so
+ * that the envelope can be read from the headers alone.
+ *
+ * <p>The {@link StepTiming} of the step run before the send, when set, is
+ * written as a single header of semicolon separated values: step ID,
+ * consumption time, then the queue, decode, execution and callback
+ * durations in microseconds. Being informational, a malformed timing
+ * header is ignored rather than rejected.
+ */
+public final class WireEnvelope {
+
+    /** Execution ID header. */
+    public static final String EXECUTION_ID = "x-workflow-execution-id";
+
+    /** Topic header. */
+    public static final String TOPIC = "x-workflow-topic";
+
+    /** Current step header. */
+    public static final String STEP = "x-workflow-step";
+
+    /** Status header. */
+    public static final String STATUS = "x-workflow-status";
+
+    /** Retry attempt header, absent on first attempts. */
+    public static final String ATTEMPT = "x-workflow-attempt";
+
+    /** Send time header (ISO-8601 instant). */
+    public static final String UPDATED_AT = "x-workflow-updated-at";
+
+    /** Step timing header, absent when the message carries no timing. */
+    public static final String STEP_TIMING = "x-workflow-step-timing";
+
+    /** Separator of the step timing values. */
+    private static final String TIMING_SEPARATOR = ";";
+
+    /** Number of step timing values. */
+    private static final int TIMING_VALUES = 6;
+
+    private WireEnvelope() {
+    }
+
+    /**
+     * Write the envelope of a message as headers.
+     *
+     * @param message the message
+     * @param headers the header writer (name, value)
+     */
+    public static void write(
+            final WorkflowMessage message,
+            final BiConsumer<String, String> headers) {
+        if (message.getExecutionId() != null) {
+            headers.accept(EXECUTION_ID, message.getExecutionId());
+        }
+        if (message.getTopic() != null) {
+            headers.accept(TOPIC, message.getTopic());
+        }
+        headers.accept(STEP, Integer.toString(message.getCurrentStep()));
+        if (message.getStatus() != null) {
+            headers.accept(STATUS, message.getStatus().name());
+        }
+        if (message.getRetryInfo() != null) {
+            headers.accept(ATTEMPT, Integer.toString(message.getRetryInfo().getAttempt()));
+        }
+        if (message.getUpdatedAt() != null) {
+            headers.accept(UPDATED_AT, message.getUpdatedAt().toString());
+        }
+        if (message.getStepTiming() != null) {
+            headers.accept(STEP_TIMING, formatTiming(message.getStepTiming()));
+        }
+    }
+
+    /**
+     * Apply the envelope headers of a received message over its decoded
+     * body. Messages sent without envelope headers are left unchanged.
+     *
+     * @param headers the header reader, returning null for absent headers
+     * @param message the decoded message
+     * @throws IllegalArgumentException if a header value is malformed
+     */
+    public static void apply(
+            final Function<String, String> headers,
+            final WorkflowMessage message) {
+        String step = headers.apply(STEP);
+        if (step != null) {
+            message.setCurrentStep(Integer.parseInt(step));
+        }
+        String status = headers.apply(STATUS);
+        if (status != null) {
+            message.setStatus(WorkflowStatus.valueOf(status));
+        }
+        String updatedAt = headers.apply(UPDATED_AT);
+        if (updatedAt != null) {
+            message.setUpdatedAt(Instant.parse(updatedAt));
+        }
+        String stepTiming = headers.apply(STEP_TIMING);
+        if (stepTiming != null) {
+            message.setStepTiming(parseTiming(stepTiming));
+        }
+    }
+
+    private static String formatTiming(final StepTiming timing) {
+        return String.join(TIMING_SEPARATOR,
+                Integer.toString(timing.getStepId()),
+                timing.getConsumedAt().toString(),
+                Long.toString(timing.getQueueMicros()),
+                Long.toString(timing.getDecodeMicros()),
+                Long.toString(timing.getExecutionMicros()),
+                Long.toString(timing.getCallbackMicros()));
+    }
+
+    private static StepTiming parseTiming(final String value) {
+        String[] values = value.split(TIMING_SEPARATOR);
+        if (values.length != TIMING_VALUES) {
+            return null;
+        }
+        try {
+            return StepTiming.builder()
+                    .stepId(Integer.parseInt(values[0]))
+                    .consumedAt(Instant.parse(values[1]))
+                    .queueMicros(Long.parseLong(values[2]))
+                    .decodeMicros(Long.parseLong(values[3]))
+                    .executionMicros(Long.parseLong(values[4]))
+                    .callbackMicros(Long.parseLong(values[5]))
+                    .build();
+        } catch (NumberFormatException | DateTimeParseException e) {
+            return null;
+        }
+    }
+}
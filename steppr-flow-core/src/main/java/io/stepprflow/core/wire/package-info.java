@@ -0,0 +1,14 @@
+/**
+ * Wire encoding of workflow messages.
+ *
+ * <p>This package provides:
+ * <ul>
+ *   <li>{@link io.stepprflow.core.wire.WireCodec} - Encoding of messages for
+ *   one content type</li>
+ *   <li>{@link io.stepprflow.core.wire.JacksonWireCodec} - JSON and Smile
+ *   codecs</li>
+ *   <li>{@link io.stepprflow.core.wire.WireCodecRegistry} - Codec selection
+ *   by content type</li>
+ * </ul>
+ */
+package io.stepprflow.core.wire;
@@ -0,0 +1,33 @@
+package io.stepprflow.core.admission;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.stepprflow.core.metrics.WorkflowMetrics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ActiveWorkflowsProbe Tests")
+class ActiveWorkflowsProbeTest {
+
+    private final WorkflowMetrics metrics = new WorkflowMetrics(new SimpleMeterRegistry());
+
+    private final ActiveWorkflowsProbe probe = new ActiveWorkflowsProbe(metrics);
+
+    @Test
+    @DisplayName("Should be named after its backlog limit key")
+    void shouldHaveName() {
+        assertThat(probe.getName()).isEqualTo("active-workflows");
+    }
+
+    @Test
+    @DisplayName("Should read the active workflows of the topic")
+    void shouldReadActiveWorkflows() {
+        metrics.recordWorkflowStarted("orders", "order-service");
+        metrics.recordWorkflowStarted("orders", "billing-service");
+        metrics.recordWorkflowStarted("payments", "order-service");
+
+        assertThat(probe.backlog("orders")).isEqualTo(2);
+        assertThat(probe.backlog("unknown")).isZero();
+    }
+}
@@ -0,0 +1,316 @@
+package io.stepprflow.core.admission;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.stepprflow.core.StepprFlowProperties;
+import io.stepprflow.core.exception.WorkflowAdmissionException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("AdmissionController Tests")
+class AdmissionControllerTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private StepprFlowProperties.Admission config;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        config = new StepprFlowProperties.Admission();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    private AdmissionController controller(BacklogProbe... probes) {
+        return new AdmissionController(config, List.of(probes), meterRegistry, clock::get);
+    }
+
+    private void advance(Duration duration) {
+        clock.addAndGet(duration.toNanos());
+    }
+
+    @Nested
+    @DisplayName("Rate limit")
+    class RateLimitTests {
+
+        @Test
+        @DisplayName("Should admit everything without rate")
+        void shouldAdmitWithoutRate() {
+            AdmissionController controller = controller();
+
+            for (int i = 0; i < 1000; i++) {
+                controller.admit("orders");
+            }
+        }
+
+        @Test
+        @DisplayName("Should admit the burst then reject until tokens are refilled")
+        void shouldRejectBeyondBurst() {
+            config.setRate(10);
+            config.setBurst(2);
+            AdmissionController controller = controller();
+
+            controller.admit("orders");
+            controller.admit("orders");
+            assertThatThrownBy(() -> controller.admit("orders"))
+                    .isInstanceOfSatisfying(WorkflowAdmissionException.class, e -> {
+                        assertThat(e.getTopic()).isEqualTo("orders");
+                        assertThat(e.getReason()).isEqualTo(AdmissionController.RATE_REASON);
+                        assertThat(e.getRetryAfter()).isEqualTo(Duration.ofMillis(100));
+                    });
+
+            advance(Duration.ofMillis(100));
+            assertThatCode(() -> controller.admit("orders")).doesNotThrowAnyException();
+        }
+
+        @Test
+        @DisplayName("Should default the burst to one second of rate")
+        void shouldDefaultBurstToRate() {
+            config.setRate(3);
+            AdmissionController controller = controller();
+
+            for (int i = 0; i < 3; i++) {
+                controller.admit("orders");
+            }
+            assertThatThrownBy(() -> controller.admit("orders"))
+                    .isInstanceOf(WorkflowAdmissionException.class);
+        }
+
+        @Test
+        @DisplayName("Should apply topic limits over the default rate")
+        void shouldApplyTopicLimits() {
+            config.setRate(1);
+            config.setBurst(1);
+            StepprFlowProperties.Admission.Limit limit = new StepprFlowProperties.Admission.Limit();
+            limit.setRate(100);
+            limit.setBurst(5);
+            config.getTopics().put("bulk", limit);
+            AdmissionController controller = controller();
+
+            for (int i = 0; i < 5; i++) {
+                controller.admit("bulk");
+            }
+            controller.admit("orders");
+            assertThatThrownBy(() -> controller.admit("orders"))
+                    .isInstanceOf(WorkflowAdmissionException.class);
+            assertThatThrownBy(() -> controller.admit("bulk"))
+                    .isInstanceOf(WorkflowAdmissionException.class);
+        }
+
+        @Test
+        @DisplayName("Should wait for a token within the maximum wait")
+        void shouldWaitWithinMaxWait() {
+            config.setRate(100);
+            config.setBurst(1);
+            config.setMaxWait(Duration.ofMillis(50));
+            AdmissionController controller = controller();
+
+            controller.admit("orders");
+            assertThatCode(() -> controller.admit("orders")).doesNotThrowAnyException();
+        }
+
+        @Test
+        @DisplayName("Should count rejections by topic and reason")
+        void shouldCountRejections() {
+            config.setRate(1);
+            config.setBurst(1);
+            AdmissionController controller = controller();
+
+            controller.admit("orders");
+            assertThatThrownBy(() -> controller.admit("orders"))
+                    .isInstanceOf(WorkflowAdmissionException.class);
+
+            assertThat(meterRegistry.get("stepprflow.admission.rejected")
+                    .tag("topic", "orders")
+                    .tag("reason", "rate")
+                    .counter()
+                    .count()).isEqualTo(1.0);
+        }
+    }
+
+    @Nested
+    @DisplayName("Backlog shedding")
+    class BacklogTests {
+
+        private final AtomicLong backlog = new AtomicLong();
+
+        private final AtomicInteger reads = new AtomicInteger();
+
+        private final BacklogProbe probe = new BacklogProbe() {
+            @Override
+            public String getName() {
+                return "lag";
+            }
+
+            @Override
+            public long backlog(String topic) {
+                reads.incrementAndGet();
+                return backlog.get();
+            }
+        };
+
+        @Test
+        @DisplayName("Should not read probes without a limit")
+        void shouldIgnoreProbesWithoutLimit() {
+            backlog.set(1_000_000);
+            AdmissionController controller = controller(probe);
+
+            controller.admit("orders");
+
+            assertThat(reads).hasValue(0);
+        }
+
+        @Test
+        @DisplayName("Should admit starts until the backlog is read")
+        void shouldAdmitBeforeFirstReading() {
+            config.getBacklogLimits().put("lag", 100L);
+            backlog.set(101);
+            AdmissionController controller = controller(probe);
+
+            assertThatCode(() -> controller.admit("orders")).doesNotThrowAnyException();
+            assertThat(reads).hasValue(0);
+        }
+
+        @Test
+        @DisplayName("Should shed starts while the backlog is above its limit")
+        void shouldShedAboveLimit() {
+            config.getBacklogLimits().put("lag", 100L);
+            config.setProbeInterval(Duration.ofSeconds(2));
+            backlog.set(101);
+            AdmissionController controller = controller(probe);
+            controller.admit("orders");
+
+            controller.refresh();
+
+            assertThatThrownBy(() -> controller.admit("orders"))
+                    .isInstanceOfSatisfying(WorkflowAdmissionException.class, e -> {
+                        assertThat(e.getReason()).isEqualTo("lag");
+                        assertThat(e.getRetryAfter()).isEqualTo(Duration.ofSeconds(2));
+                    });
+        }
+
+        @Test
+        @DisplayName("Should only read backlogs when refreshed")
+        void shouldReadOnRefresh() {
+            config.getBacklogLimits().put("lag", 100L);
+            backlog.set(101);
+            AdmissionController controller = controller(probe);
+            controller.admit("orders");
+            controller.refresh();
+
+            assertThatThrownBy(() -> controller.admit("orders"))
+                    .isInstanceOf(WorkflowAdmissionException.class);
+            backlog.set(0);
+            assertThatThrownBy(() -> controller.admit("orders"))
+                    .isInstanceOf(WorkflowAdmissionException.class);
+            assertThat(reads).hasValue(1);
+
+            controller.refresh();
+            assertThatCode(() -> controller.admit("orders")).doesNotThrowAnyException();
+            assertThat(reads).hasValue(2);
+        }
+
+        @Test
+        @DisplayName("Should read the backlog of the topics seen started only")
+        void shouldReadStartedTopics() {
+            config.getBacklogLimits().put("lag", 100L);
+            backlog.set(101);
+            AdmissionController controller = controller(probe);
+            controller.admit("orders");
+
+            controller.refresh();
+
+            assertThat(reads).hasValue(1);
+            assertThatCode(() -> controller.admit("invoices")).doesNotThrowAnyException();
+        }
+
+        @Test
+        @DisplayName("Should admit while the backlog is unknown")
+        void shouldAdmitUnknownBacklog() {
+            config.getBacklogLimits().put("lag", 0L);
+            BacklogProbe failing = new BacklogProbe() {
+                @Override
+                public String getName() {
+                    return "lag";
+                }
+
+                @Override
+                public long backlog(String topic) {
+                    throw new IllegalStateException("unreachable");
+                }
+            };
+            AdmissionController controller = controller(failing);
+            controller.admit("orders");
+
+            controller.refresh();
+
+            assertThatCode(() -> controller.admit("orders")).doesNotThrowAnyException();
+        }
+    }
+
+    @Nested
+    @DisplayName("Lifecycle")
+    class LifecycleTests {
+
+        @Test
+        @DisplayName("Should read backlogs in the background between start and stop")
+        void shouldReadInBackground() throws Exception {
+            config.getBacklogLimits().put("lag", 100L);
+            config.setProbeInterval(Duration.ofMillis(10));
+            AtomicLong backlog = new AtomicLong();
+            CountDownLatch readAbove = new CountDownLatch(2);
+            AdmissionController controller = controller(new BacklogProbe() {
+                @Override
+                public String getName() {
+                    return "lag";
+                }
+
+                @Override
+                public long backlog(String topic) {
+                    long value = backlog.get();
+                    if (value > 100) {
+                        readAbove.countDown();
+                    }
+                    return value;
+                }
+            });
+
+            controller.start();
+            try {
+                assertThat(controller.isRunning()).isTrue();
+                controller.admit("orders");
+                backlog.set(101);
+                // The second reading starts once the first one is stored
+                assertThat(readAbove.await(5, TimeUnit.SECONDS)).isTrue();
+                assertThatThrownBy(() -> controller.admit("orders"))
+                        .isInstanceOf(WorkflowAdmissionException.class);
+            } finally {
+                controller.stop();
+            }
+            assertThat(controller.isRunning()).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should not start without probes to read")
+        void shouldNotStartWithoutProbes() {
+            AdmissionController controller = controller();
+
+            controller.start();
+
+            assertThat(controller.isRunning()).isFalse();
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package io.stepprflow.core.backlog;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.stepprflow.core.exception.MessageBrokerException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("BacklogCollector Tests")
+class BacklogCollectorTest {
+
+    private final AtomicReference<List<QueueBacklog>> readings = new AtomicReference<>(List.of());
+
+    private final AtomicReference<Collection<String>> requested = new AtomicReference<>();
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private BacklogCollector collector;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        BacklogReader reader = topics -> {
+            requested.set(topics);
+            List<QueueBacklog> queues = readings.get();
+            if (queues == null) {
+                throw new MessageBrokerException("test", "Broker down");
+            }
+            return queues;
+        };
+        collector = new BacklogCollector(reader, () -> List.of("orders", "payments"),
+                meterRegistry, Duration.ofSeconds(1));
+    }
+
+    private double gauge(String name, String topic, String queue) {
+        return meterRegistry.get(name).tag("topic", topic).tag("queue", queue).gauge().value();
+    }
+
+    private double topicGauge(String topic) {
+        return meterRegistry.get("stepprflow.broker.topic.backlog").tag("topic", topic).gauge().value();
+    }
+
+    @Nested
+    @DisplayName("Reading")
+    class ReadingTests {
+
+        @Test
+        @DisplayName("Should read the backlog of the workflow topics")
+        void shouldReadWorkflowTopics() {
+            collector.collect();
+
+            assertThat(requested.get()).containsExactly("orders", "payments");
+        }
+
+        @Test
+        @DisplayName("Should sum the queues of a topic")
+        void shouldSumQueuesOfTopic() {
+            readings.set(List.of(
+                    new QueueBacklog("orders", "orders-0", 4, 1),
+                    new QueueBacklog("orders", "orders-1", 6, 1),
+                    new QueueBacklog("payments", "payments-0", 2, 1)));
+
+            collector.collect();
+
+            assertThat(collector.getBacklog("orders")).isEqualTo(10);
+            assertThat(collector.getBacklog("payments")).isEqualTo(2);
+            assertThat(collector.getTopicBacklogs()).hasSize(2);
+            assertThat(collector.getQueues()).hasSize(3);
+            assertThat(collector.getCollectedAt()).isNotNull();
+        }
+
+        @Test
+        @DisplayName("Should report unknown backlog before the first reading")
+        void shouldReportUnknownBeforeReading() {
+            assertThat(collector.getBacklog("orders")).isEqualTo(-1);
+            assertThat(collector.getCollectedAt()).isNull();
+        }
+
+        @Test
+        @DisplayName("Should report unknown backlog after a failed reading")
+        void shouldReportUnknownAfterFailure() {
+            readings.set(List.of(new QueueBacklog("orders", "orders-0", 4, 1)));
+            collector.collect();
+
+            readings.set(null);
+            collector.collect();
+
+            assertThat(collector.getBacklog("orders")).isEqualTo(-1);
+            assertThat(collector.getQueues()).isEmpty();
+            assertThat(collector.getCollectedAt()).isNull();
+        }
+
+        @Test
+        @DisplayName("Should act as the broker-backlog probe")
+        void shouldActAsProbe() {
+            readings.set(List.of(new QueueBacklog("orders", "orders", 42, 2)));
+            collector.collect();
+
+            assertThat(collector.getName()).isEqualTo(BacklogCollector.NAME);
+            assertThat(collector.backlog("orders")).isEqualTo(42);
+        }
+    }
+
+    @Nested
+    @DisplayName("Gauges")
+    class GaugeTests {
+
+        @Test
+        @DisplayName("Should publish queue and topic gauges")
+        void shouldPublishGauges() {
+            readings.set(List.of(
+                    new QueueBacklog("orders", "orders-0", 4, 1),
+                    new QueueBacklog("orders", "orders-1", 6, 2)));
+
+            collector.collect();
+
+            assertThat(gauge("stepprflow.broker.backlog", "orders", "orders-1")).isEqualTo(6);
+            assertThat(gauge("stepprflow.broker.consumers", "orders", "orders-1")).isEqualTo(2);
+            assertThat(topicGauge("orders")).isEqualTo(10);
+        }
+
+        @Test
+        @DisplayName("Should update gauges on each reading")
+        void shouldUpdateGauges() {
+            readings.set(List.of(new QueueBacklog("orders", "orders", 4, 1)));
+            collector.collect();
+            readings.set(List.of(new QueueBacklog("orders", "orders", 1, 3)));
+            collector.collect();
+
+            assertThat(gauge("stepprflow.broker.backlog", "orders", "orders")).isEqualTo(1);
+            assertThat(gauge("stepprflow.broker.consumers", "orders", "orders")).isEqualTo(3);
+            assertThat(topicGauge("orders")).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should read NaN after a failed reading")
+        void shouldReadNaNAfterFailure() {
+            readings.set(List.of(new QueueBacklog("orders", "orders", 4, 1)));
+            collector.collect();
+
+            readings.set(null);
+            collector.collect();
+
+            assertThat(gauge("stepprflow.broker.backlog", "orders", "orders")).isNaN();
+            assertThat(gauge("stepprflow.broker.consumers", "orders", "orders")).isNaN();
+            assertThat(topicGauge("orders")).isNaN();
+        }
+
+        @Test
+        @DisplayName("Should read NaN for queues no longer reported")
+        void shouldReadNaNForMissingQueues() {
+            readings.set(List.of(
+                    new QueueBacklog("orders", "orders-0", 4, 1),
+                    new QueueBacklog("payments", "payments-0", 2, 1)));
+            collector.collect();
+
+            readings.set(List.of(new QueueBacklog("orders", "orders-0", 5, 1)));
+            collector.collect();
+
+            assertThat(gauge("stepprflow.broker.backlog", "orders", "orders-0")).isEqualTo(5);
+            assertThat(gauge("stepprflow.broker.backlog", "payments", "payments-0")).isNaN();
+            assertThat(topicGauge("payments")).isNaN();
+        }
+
+        @Test
+        @DisplayName("Should collect without meter registry")
+        void shouldCollectWithoutRegistry() {
+            BacklogCollector withoutMetrics = new BacklogCollector(
+                    topics -> List.of(new QueueBacklog("orders", "orders", 3, 1)),
+                    () -> List.of("orders"), null, Duration.ofSeconds(1));
+
+            withoutMetrics.collect();
+
+            assertThat(withoutMetrics.getBacklog("orders")).isEqualTo(3);
+        }
+    }
+
+    @Nested
+    @DisplayName("Lifecycle")
+    class LifecycleTests {
+
+        @Test
+        @DisplayName("Should run between start and stop")
+        void shouldRunBetweenStartAndStop() {
+            assertThat(collector.isRunning()).isFalse();
+
+            collector.start();
+            assertThat(collector.isRunning()).isTrue();
+
+            collector.stop();
+            assertThat(collector.isRunning()).isFalse();
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package io.stepprflow.core.broker;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.stepprflow.core.exception.MessageSendException;
+import io.stepprflow.core.model.WorkflowMessage;
+import io.stepprflow.core.model.WorkflowStatus;
+import io.stepprflow.core.payload.ClaimCheck;
+import io.stepprflow.core.payload.PayloadStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ClaimCheckMessageBroker Tests")
+class ClaimCheckMessageBrokerTest {
+
+    @Mock
+    private MessageBroker delegate;
+
+    @Captor
+    private ArgumentCaptor<WorkflowMessage> messageCaptor;
+
+    @Captor
+    private ArgumentCaptor<List<WorkflowMessage>> batchCaptor;
+
+    private ClaimCheckMessageBroker broker;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(delegate.getBrokerType()).thenReturn("kafka");
+        broker = new ClaimCheckMessageBroker(delegate,
+                new ClaimCheck(new ObjectMapper(), new FailingPayloadStore(), 64, null));
+    }
+
+    private static WorkflowMessage message(String executionId, Object payload) {
+        return WorkflowMessage.builder()
+                .executionId(executionId)
+                .topic("orders")
+                .currentStep(1)
+                .status(WorkflowStatus.PENDING)
+                .payload(payload)
+                .build();
+    }
+
+    private static WorkflowMessage large(String executionId) {
+        return message(executionId, Map.of("data", "x".repeat(100)));
+    }
+
+    private static WorkflowMessage unstorable(String executionId) {
+        return message(executionId, Map.of("data", FailingPayloadStore.BROKEN + "x".repeat(100)));
+    }
+
+    @Nested
+    @DisplayName("Single sends")
+    class SingleSendTests {
+
+        @Test
+        @DisplayName("Should send large payloads as a reference")
+        void shouldSendReference() {
+            broker.send("orders", large("exec-1"));
+
+            verify(delegate).send(eq("orders"), messageCaptor.capture());
+            assertThat(messageCaptor.getValue().getWirePayload()).isNull();
+            assertThat(messageCaptor.getValue().getPayloadRef()).isNotNull();
+        }
+
+        @Test
+        @DisplayName("Should send small payloads unchanged")
+        void shouldSendSmallPayloadInline() {
+            WorkflowMessage message = message("exec-1", Map.of("id", 1));
+
+            broker.sendSync("orders", message);
+
+            verify(delegate).sendSync("orders", message);
+        }
+
+        @Test
+        @DisplayName("Should wrap check-in failures in a MessageSendException")
+        void shouldWrapCheckInFailure() {
+            assertThatThrownBy(() -> broker.send("orders", unstorable("exec-1")))
+                    .isInstanceOf(MessageSendException.class)
+                    .hasMessageContaining("Cannot store payload of execution exec-1")
+                    .satisfies(e -> {
+                        MessageSendException error = (MessageSendException) e;
+                        assertThat(error.getTopic()).isEqualTo("orders");
+                        assertThat(error.getExecutionId()).isEqualTo("exec-1");
+                    });
+            verify(delegate, never()).send(any(), any());
+        }
+
+        @Test
+        @DisplayName("Should fail sync sends whose payload cannot be stored")
+        void shouldFailSyncSend() {
+            assertThatThrownBy(() -> broker.sendSync("orders", unstorable("exec-1")))
+                    .isInstanceOf(MessageSendException.class);
+            verify(delegate, never()).sendSync(any(), any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Async sends")
+    class AsyncSendTests {
+
+        @Test
+        @DisplayName("Should return the delegate's future for a checked-in message")
+        void shouldDelegateAsyncSend() {
+            CompletableFuture<Void> sent = CompletableFuture.completedFuture(null);
+            when(delegate.sendAsync(eq("orders"), any())).thenReturn(sent);
+
+            assertThat(broker.sendAsync("orders", large("exec-1"))).isSameAs(sent);
+            verify(delegate).sendAsync(eq("orders"), messageCaptor.capture());
+            assertThat(messageCaptor.getValue().getPayloadRef()).isNotNull();
+        }
+
+        @Test
+        @DisplayName("Should return a failed future when the check-in fails")
+        void shouldFailAsyncSend() {
+            CompletableFuture<Void> result = broker.sendAsync("orders", unstorable("exec-1"));
+
+            assertThat(result).failsWithin(Duration.ZERO)
+                    .withThrowableOfType(ExecutionException.class)
+                    .withCauseInstanceOf(MessageSendException.class);
+            verify(delegate, never()).sendAsync(any(), any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Batch sends")
+    class BatchSendTests {
+
+        @Test
+        @DisplayName("Should keep result positions when a check-in fails")
+        void shouldKeepPositions() {
+            CompletableFuture<Void> first = CompletableFuture.completedFuture(null);
+            CompletableFuture<Void> third = new CompletableFuture<>();
+            when(delegate.sendBatch(eq("orders"), anyList())).thenReturn(List.of(first, third));
+
+            List<CompletableFuture<Void>> results = broker.sendBatch("orders",
+                    List.of(large("exec-1"), unstorable("exec-2"), message("exec-3", Map.of("id", 3))));
+
+            verify(delegate).sendBatch(eq("orders"), batchCaptor.capture());
+            assertThat(batchCaptor.getValue()).extracting(WorkflowMessage::getExecutionId)
+                    .containsExactly("exec-1", "exec-3");
+            assertThat(results).hasSize(3);
+            assertThat(results.get(0)).isSameAs(first);
+            assertThat(results.get(1)).failsWithin(Duration.ZERO)
+                    .withThrowableOfType(ExecutionException.class)
+                    .withCauseInstanceOf(MessageSendException.class)
+                    .withMessageContaining("exec-2");
+            assertThat(results.get(2)).isSameAs(third);
+        }
+
+        @Test
+        @DisplayName("Should not call the delegate when every check-in fails")
+        void shouldSkipDelegateWhenAllFail() {
+            List<CompletableFuture<Void>> results = broker.sendBatch("orders",
+                    List.of(unstorable("exec-1"), unstorable("exec-2")));
+
+            assertThat(results).hasSize(2).allSatisfy(result ->
+                    assertThat(result).isCompletedExceptionally());
+            verify(delegate, never()).sendBatch(any(), anyList());
+        }
+    }
+
+    @Nested
+    @DisplayName("Delegation")
+    class DelegationTests {
+
+        @Test
+        @DisplayName("Should expose the delegate broker type and availability")
+        void shouldDelegate() {
+            when(delegate.isAvailable()).thenReturn(false);
+
+            assertThat(broker.getBrokerType()).isEqualTo("kafka");
+            assertThat(broker.isAvailable()).isFalse();
+            assertThat(broker.getDelegate()).isSameAs(delegate);
+        }
+    }
+
+    /**
+     * In-memory store failing payloads containing a marker.
+     */
+    private static final class FailingPayloadStore implements PayloadStore {
+
+        static final String BROKEN = "broken";
+
+        private final Map<String, byte[]> payloads = new ConcurrentHashMap<>();
+
+        @Override
+        public String put(String hash, byte[] content) throws IOException {
+            if (new String(content, StandardCharsets.UTF_8).contains(BROKEN)) {
+                throw new IOException("disk full");
+            }
+            payloads.put(hash, content);
+            return hash;
+        }
+
+        @Override
+        public ByteBuffer get(String location) {
+            return ByteBuffer.wrap(payloads.get(location));
+        }
+    }
+}
@@ -15,6 +15,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.Duration;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 
@@ -348,6 +349,25 @@ class ResilientMessageBrokerTest {
                     .isInstanceOf(ExecutionException.class)
                     .hasCauseInstanceOf(CircuitBreakerOpenException.class);
         }
+
+        @Test
+        @DisplayName("should reject every message of a batch when circuit is open")
+        void shouldRejectBatchWhenOpen() {
+            WorkflowMessage message = createTestMessage();
+            doThrow(new RuntimeException("Broker down")).when(delegateBroker).send(any(), any());
+
+            for (int i = 0; i < 3; i++) {
+                try {
+                    resilientBroker.send("topic", message);
+                } catch (Exception ignored) {}
+            }
+
+            List<CompletableFuture<Void>> results = resilientBroker.sendBatch("topic", List.of(message, message));
+
+            assertThat(results).hasSize(2).allSatisfy(result -> assertThatThrownBy(result::get)
+                    .hasCauseInstanceOf(CircuitBreakerOpenException.class));
+            verify(delegateBroker, never()).sendBatch(any(), any());
+        }
     }
 
     @Nested
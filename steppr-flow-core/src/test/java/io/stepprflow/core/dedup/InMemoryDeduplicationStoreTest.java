@@ -0,0 +1,88 @@
+package io.stepprflow.core.dedup;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("InMemoryDeduplicationStore Tests")
+class InMemoryDeduplicationStoreTest {
+
+    @Nested
+    @DisplayName("contains() / add()")
+    class ContainsTests {
+
+        @Test
+        @DisplayName("Should report added keys only")
+        void shouldReportAddedKeys() {
+            InMemoryDeduplicationStore store = new InMemoryDeduplicationStore(100, 4);
+
+            store.add("exec-1:1:0:1.0");
+
+            assertThat(store.contains("exec-1:1:0:1.0")).isTrue();
+            assertThat(store.contains("exec-1:2:0:1.0")).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should reject non-positive capacity or stripe count")
+        void shouldRejectInvalidSizes() {
+            assertThatThrownBy(() -> new InMemoryDeduplicationStore(0, 4))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> new InMemoryDeduplicationStore(100, 0))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Eviction")
+    class EvictionTests {
+
+        @Test
+        @DisplayName("Should evict least recently used key beyond capacity")
+        void shouldEvictLeastRecentlyUsed() {
+            InMemoryDeduplicationStore store = new InMemoryDeduplicationStore(2, 1);
+            store.add("a");
+            store.add("b");
+            store.contains("a");
+
+            store.add("c");
+
+            assertThat(store.contains("a")).isTrue();
+            assertThat(store.contains("b")).isFalse();
+            assertThat(store.contains("c")).isTrue();
+            assertThat(store.size()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Should stay bounded under concurrent writers")
+        void shouldStayBoundedUnderConcurrency() throws Exception {
+            InMemoryDeduplicationStore store = new InMemoryDeduplicationStore(1_000, 8);
+            List<Future<?>> futures = new ArrayList<>();
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int t = 0; t < 8; t++) {
+                    int thread = t;
+                    futures.add(executor.submit(() -> {
+                        for (int i = 0; i < 5_000; i++) {
+                            store.add("exec-" + thread + "-" + i);
+                        }
+                    }));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            }
+
+            assertThat(store.size()).isLessThanOrEqualTo(1_000);
+            store.add("exec-last");
+            assertThat(store.contains("exec-last")).isTrue();
+        }
+    }
+}
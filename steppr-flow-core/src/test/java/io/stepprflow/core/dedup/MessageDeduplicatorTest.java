@@ -0,0 +1,181 @@
+package io.stepprflow.core.dedup;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.stepprflow.core.StepprFlowProperties;
+import io.stepprflow.core.model.RetryInfo;
+import io.stepprflow.core.model.WorkflowMessage;
+import io.stepprflow.core.model.WorkflowStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MessageDeduplicator Tests")
+class MessageDeduplicatorTest {
+
+    private static final Instant SENT_AT = Instant.parse("2025-01-01T10:00:00.123456789Z");
+
+    @Mock
+    private DeduplicationStore backingStore;
+
+    private StepprFlowProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        properties = new StepprFlowProperties();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Nested
+    @DisplayName("isDuplicate()")
+    class IsDuplicateTests {
+
+        private MessageDeduplicator deduplicator;
+
+        @BeforeEach
+        void setUp() {
+            deduplicator = new MessageDeduplicator(properties, null, meterRegistry);
+        }
+
+        @Test
+        @DisplayName("Should let first delivery through and drop redeliveries once processed")
+        void shouldDropRedeliveryOfProcessedMessage() {
+            WorkflowMessage message = message(1, null, SENT_AT);
+
+            assertThat(deduplicator.isDuplicate(message)).isFalse();
+            deduplicator.markProcessed(message);
+
+            assertThat(deduplicator.isDuplicate(message.toBuilder().build())).isTrue();
+            assertThat(deduplicator.getHitCount()).isEqualTo(1);
+            assertThat(deduplicator.getMissCount()).isEqualTo(1);
+            assertThat(meterRegistry.get("stepprflow.dedup.hits").counter().count()).isEqualTo(1.0);
+            assertThat(meterRegistry.get("stepprflow.dedup.misses").counter().count()).isEqualTo(1.0);
+        }
+
+        @Test
+        @DisplayName("Should not drop a message that was received but not marked processed")
+        void shouldLetUnprocessedMessageThrough() {
+            WorkflowMessage message = message(1, null, SENT_AT);
+
+            deduplicator.isDuplicate(message);
+
+            assertThat(deduplicator.isDuplicate(message)).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should treat other step, attempt or send time as a new delivery")
+        void shouldDistinguishDeliveries() {
+            deduplicator.markProcessed(message(1, null, SENT_AT));
+
+            assertThat(deduplicator.isDuplicate(message(2, null, SENT_AT))).isFalse();
+            assertThat(deduplicator.isDuplicate(message(1, RetryInfo.builder().attempt(2).build(), SENT_AT)))
+                    .isFalse();
+            // A resume re-sends the same step and attempt with a new send time
+            assertThat(deduplicator.isDuplicate(message(1, null, SENT_AT.plusNanos(1)))).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should fall back to creation time when message has no update time")
+        void shouldKeyOnCreatedAtWithoutUpdatedAt() {
+            WorkflowMessage message = message(1, null, null);
+
+            deduplicator.markProcessed(message);
+
+            assertThat(deduplicator.isDuplicate(message)).isTrue();
+        }
+
+        @Test
+        @DisplayName("Should never drop messages without execution ID")
+        void shouldIgnoreMessagesWithoutExecutionId() {
+            WorkflowMessage message = message(1, null, SENT_AT).toBuilder().executionId(null).build();
+
+            deduplicator.markProcessed(message);
+
+            assertThat(deduplicator.isDuplicate(message)).isFalse();
+        }
+    }
+
+    @Nested
+    @DisplayName("Backing store")
+    class BackingStoreTests {
+
+        private MessageDeduplicator deduplicator;
+
+        @BeforeEach
+        void setUp() {
+            deduplicator = new MessageDeduplicator(properties, backingStore, null);
+        }
+
+        @Test
+        @DisplayName("Should drop deliveries found in backing store and cache them in memory")
+        void shouldConsultBackingStoreOnMemoryMiss() {
+            WorkflowMessage message = message(1, null, SENT_AT);
+            String key = MessageDeduplicator.keyOf(message);
+            when(backingStore.contains(key)).thenReturn(true);
+
+            assertThat(deduplicator.isDuplicate(message)).isTrue();
+            assertThat(deduplicator.isDuplicate(message)).isTrue();
+
+            verify(backingStore).contains(key);
+        }
+
+        @Test
+        @DisplayName("Should write processed deliveries to backing store")
+        void shouldWriteToBackingStore() {
+            WorkflowMessage message = message(1, null, SENT_AT);
+
+            deduplicator.markProcessed(message);
+
+            verify(backingStore).add(MessageDeduplicator.keyOf(message));
+            assertThat(deduplicator.isDuplicate(message)).isTrue();
+            verify(backingStore, never()).contains(anyString());
+        }
+
+        @Test
+        @DisplayName("Should let delivery through when backing store lookup fails")
+        void shouldFailOpenOnBackingStoreError() {
+            WorkflowMessage message = message(1, null, SENT_AT);
+            when(backingStore.contains(anyString())).thenThrow(new IllegalStateException("down"));
+
+            assertThat(deduplicator.isDuplicate(message)).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should keep in-memory key when backing store write fails")
+        void shouldKeepMemoryKeyOnBackingStoreError() {
+            WorkflowMessage message = message(1, null, SENT_AT);
+            doThrow(new IllegalStateException("down")).when(backingStore).add(anyString());
+
+            deduplicator.markProcessed(message);
+
+            assertThat(deduplicator.isDuplicate(message)).isTrue();
+        }
+    }
+
+    private WorkflowMessage message(int step, RetryInfo retryInfo, Instant updatedAt) {
+        return WorkflowMessage.builder()
+                .executionId("exec-1")
+                .topic("orders")
+                .currentStep(step)
+                .totalSteps(3)
+                .status(WorkflowStatus.IN_PROGRESS)
+                .retryInfo(retryInfo)
+                .createdAt(SENT_AT.minusSeconds(60))
+                .updatedAt(updatedAt)
+                .build();
+    }
+}
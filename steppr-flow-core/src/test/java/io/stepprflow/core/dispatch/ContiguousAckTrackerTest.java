@@ -0,0 +1,95 @@
+package io.stepprflow.core.dispatch;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ContiguousAckTracker Tests")
+class ContiguousAckTrackerTest {
+
+    private final List<String> settled = new ArrayList<>();
+    private ContiguousAckTracker<String> tracker;
+
+    @BeforeEach
+    void setUp() {
+        tracker = new ContiguousAckTracker<>(new ContiguousAckTracker.Settler<>() {
+            @Override
+            public void ack(String handle) {
+                settled.add("ack:" + handle);
+            }
+
+            @Override
+            public void reject(String handle) {
+                settled.add("reject:" + handle);
+            }
+        });
+        for (long seq = 1; seq <= 4; seq++) {
+            tracker.register(seq, "m" + seq);
+        }
+    }
+
+    @Test
+    @DisplayName("Should not settle until the oldest message completes")
+    void shouldWaitForOldestMessage() {
+        tracker.complete(2, true);
+        tracker.complete(3, true);
+
+        assertThat(settled).isEmpty();
+        assertThat(tracker.getPendingCount()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Should acknowledge contiguous prefix with a single cumulative ack")
+    void shouldAckContiguousPrefix() {
+        tracker.complete(3, true);
+        tracker.complete(2, true);
+        tracker.complete(1, true);
+
+        assertThat(settled).containsExactly("ack:m3");
+        assertThat(tracker.getPendingCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should reject failed messages individually, in order")
+    void shouldRejectFailedMessagesInOrder() {
+        tracker.complete(2, false);
+        tracker.complete(4, true);
+        tracker.complete(3, true);
+        tracker.complete(1, true);
+
+        assertThat(settled).containsExactly("ack:m1", "reject:m2", "ack:m4");
+        assertThat(tracker.getPendingCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should discard pending messages when sequence goes back")
+    void shouldResetOnRewind() {
+        tracker.register(2, "again");
+
+        tracker.complete(1, true);
+        tracker.complete(2, true);
+
+        assertThat(settled).containsExactly("ack:again");
+    }
+
+    @Test
+    @DisplayName("Should keep pending messages when a withdrawn message is delivered again")
+    void shouldRegisterWithdrawnMessageAgain() {
+        tracker.register(5, "m5");
+        tracker.unregister(5);
+        tracker.unregister(3);
+        tracker.register(5, "m5-again");
+
+        for (long seq = 1; seq <= 5; seq++) {
+            tracker.complete(seq, true);
+        }
+
+        assertThat(settled).containsExactly("ack:m1", "ack:m2", "ack:m3", "ack:m4", "ack:m5-again");
+        assertThat(tracker.getPendingCount()).isZero();
+    }
+}
@@ -0,0 +1,193 @@
+package io.stepprflow.core.dispatch;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.stepprflow.core.StepprFlowProperties;
+import io.stepprflow.core.model.WorkflowMessage;
+import io.stepprflow.core.service.StepExecutor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("StepDispatcher Tests")
+class StepDispatcherTest {
+
+    @Mock
+    private StepExecutor stepExecutor;
+
+    private SimpleMeterRegistry meterRegistry;
+    private StepDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        StepprFlowProperties properties = new StepprFlowProperties();
+        properties.getDispatcher().setMaxInFlight(100);
+        meterRegistry = new SimpleMeterRegistry();
+        dispatcher = new StepDispatcher(stepExecutor, properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        dispatcher.destroy();
+    }
+
+    @Nested
+    @DisplayName("dispatch()")
+    class DispatchTests {
+
+        @Test
+        @DisplayName("Should run messages of different executions concurrently")
+        void shouldRunExecutionsConcurrently() throws Exception {
+            CountDownLatch bothRunning = new CountDownLatch(2);
+            CountDownLatch release = new CountDownLatch(1);
+            doAnswer(invocation -> {
+                bothRunning.countDown();
+                release.await();
+                return null;
+            }).when(stepExecutor).execute(any());
+            CountDownLatch done = new CountDownLatch(2);
+
+            dispatcher.dispatch(message("exec-1", 1), error -> done.countDown());
+            dispatcher.dispatch(message("exec-2", 1), error -> done.countDown());
+
+            assertThat(bothRunning.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(dispatcher.getInFlight()).isEqualTo(2);
+            assertThat(meterRegistry.get("stepprflow.dispatcher.inflight").gauge().value()).isEqualTo(2.0);
+            release.countDown();
+            assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        }
+
+        @Test
+        @DisplayName("Should run messages of the same execution in dispatch order")
+        void shouldPreserveOrderPerExecution() throws Exception {
+            CountDownLatch firstRunning = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            List<Integer> executed = new CopyOnWriteArrayList<>();
+            doAnswer(invocation -> {
+                WorkflowMessage message = invocation.getArgument(0);
+                if (message.getCurrentStep() == 1) {
+                    firstRunning.countDown();
+                    release.await();
+                }
+                executed.add(message.getCurrentStep());
+                return null;
+            }).when(stepExecutor).execute(any());
+            CountDownLatch done = new CountDownLatch(3);
+
+            dispatcher.dispatch(message("exec-1", 1), error -> done.countDown());
+            assertThat(firstRunning.await(5, TimeUnit.SECONDS)).isTrue();
+            dispatcher.dispatch(message("exec-1", 2), error -> done.countDown());
+            dispatcher.dispatch(message("exec-1", 3), error -> done.countDown());
+
+            assertThat(dispatcher.getQueueDepth()).isEqualTo(2);
+            assertThat(meterRegistry.get("stepprflow.dispatcher.queue.depth").gauge().value()).isEqualTo(2.0);
+            release.countDown();
+            assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(executed).containsExactly(1, 2, 3);
+            assertThat(dispatcher.getQueueDepth()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should pass execution errors to the completion callback")
+        void shouldReportErrors() throws Exception {
+            doThrow(new IllegalStateException("broken")).when(stepExecutor).execute(any());
+            AtomicReference<Exception> error = new AtomicReference<>();
+            CountDownLatch done = new CountDownLatch(1);
+
+            dispatcher.dispatch(message("exec-1", 1), e -> {
+                error.set(e);
+                done.countDown();
+            });
+
+            assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(error.get()).isInstanceOf(IllegalStateException.class);
+            assertThat(dispatcher.getInFlight()).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("tryDispatch()")
+    class TryDispatchTests {
+
+        @Test
+        @DisplayName("Should refuse messages beyond max in flight without waiting")
+        void shouldRefuseAtCapacity() throws Exception {
+            StepprFlowProperties properties = new StepprFlowProperties();
+            properties.getDispatcher().setMaxInFlight(1);
+            StepDispatcher bounded = new StepDispatcher(stepExecutor, properties, null);
+            CountDownLatch running = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            doAnswer(invocation -> {
+                running.countDown();
+                release.await(5, TimeUnit.SECONDS);
+                return null;
+            }).when(stepExecutor).execute(any());
+            List<String> events = new CopyOnWriteArrayList<>();
+            CountDownLatch done = new CountDownLatch(2);
+
+            try {
+                assertThat(bounded.tryDispatch(message("exec-1", 1),
+                        () -> events.add("accepted-1"), e -> done.countDown())).isTrue();
+                assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+                assertThat(bounded.tryDispatch(message("exec-2", 1),
+                        () -> events.add("accepted-2"), e -> done.countDown())).isFalse();
+
+                release.countDown();
+                bounded.dispatch(message("exec-2", 1), e -> done.countDown());
+                assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+                assertThat(events).containsExactly("accepted-1");
+            } finally {
+                release.countDown();
+                bounded.destroy();
+            }
+        }
+
+        @Test
+        @DisplayName("Should give the permit back when the accepted callback fails")
+        void shouldReleaseOnCallbackFailure() throws Exception {
+            StepprFlowProperties properties = new StepprFlowProperties();
+            properties.getDispatcher().setMaxInFlight(1);
+            StepDispatcher bounded = new StepDispatcher(stepExecutor, properties, null);
+            CountDownLatch done = new CountDownLatch(1);
+
+            try {
+                assertThatThrownBy(() -> bounded.tryDispatch(message("exec-1", 1),
+                        () -> {
+                            throw new IllegalStateException("broken");
+                        },
+                        e -> done.countDown()))
+                        .isInstanceOf(IllegalStateException.class);
+
+                assertThat(bounded.tryDispatch(message("exec-1", 1), () -> { }, e -> done.countDown())).isTrue();
+                assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+            } finally {
+                bounded.destroy();
+            }
+        }
+    }
+
+    private WorkflowMessage message(String executionId, int step) {
+        return WorkflowMessage.builder()
+                .executionId(executionId)
+                .topic("orders")
+                .currentStep(step)
+                .build();
+    }
+}
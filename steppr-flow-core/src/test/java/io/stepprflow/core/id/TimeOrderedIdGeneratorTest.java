@@ -0,0 +1,113 @@
+package io.stepprflow.core.id;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("TimeOrderedIdGenerator Tests")
+class TimeOrderedIdGeneratorTest {
+
+    private static final long NOW = Instant.parse("2026-03-01T12:00:00Z").toEpochMilli();
+
+    @Nested
+    @DisplayName("nextId()")
+    class NextIdTests {
+
+        @Test
+        @DisplayName("Should generate version 7 UUIDs holding the time")
+        void shouldGenerateUuidV7() {
+            String id = new TimeOrderedIdGenerator(() -> NOW).nextId();
+
+            UUID uuid = UUID.fromString(id);
+            assertThat(uuid.version()).isEqualTo(7);
+            assertThat(uuid.variant()).isEqualTo(2);
+            assertThat(TimeOrderedIdGenerator.timestampOf(id)).isEqualTo(Instant.ofEpochMilli(NOW));
+        }
+
+        @Test
+        @DisplayName("Should increase within the same millisecond")
+        void shouldIncreaseWithinMillisecond() {
+            TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(() -> NOW);
+
+            List<String> ids = new ArrayList<>();
+            for (int i = 0; i < 10_000; i++) {
+                ids.add(generator.nextId());
+            }
+
+            assertThat(ids).isSorted().doesNotHaveDuplicates();
+        }
+
+        @Test
+        @DisplayName("Should keep increasing when the clock goes backwards")
+        void shouldIncreaseWhenClockGoesBack() {
+            AtomicLong clock = new AtomicLong(NOW);
+            TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(clock::get);
+
+            String before = generator.nextId();
+            clock.set(NOW - 1_000);
+            String after = generator.nextId();
+
+            assertThat(after).isGreaterThan(before);
+        }
+
+        @Test
+        @DisplayName("Should generate unique IDs concurrently")
+        void shouldBeUniqueConcurrently() throws Exception {
+            TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator();
+            Set<String> ids = ConcurrentHashMap.newKeySet();
+            ExecutorService executor = Executors.newFixedThreadPool(8);
+            try {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int t = 0; t < 8; t++) {
+                    futures.add(executor.submit(() -> {
+                        for (int i = 0; i < 10_000; i++) {
+                            ids.add(generator.nextId());
+                        }
+                    }));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            } finally {
+                executor.shutdown();
+            }
+
+            assertThat(ids).hasSize(80_000);
+        }
+    }
+
+    @Nested
+    @DisplayName("Time bounds")
+    class BoundTests {
+
+        @Test
+        @DisplayName("Should order IDs after the lower bound of their time")
+        void shouldBoundIds() {
+            String id = new TimeOrderedIdGenerator(() -> NOW).nextId();
+
+            assertThat(TimeOrderedIdGenerator.lowerBound(Instant.ofEpochMilli(NOW))).isLessThanOrEqualTo(id);
+            assertThat(TimeOrderedIdGenerator.lowerBound(Instant.ofEpochMilli(NOW + 1))).isGreaterThan(id);
+        }
+
+        @Test
+        @DisplayName("Should reject random UUIDs")
+        void shouldRejectRandomUuid() {
+            assertThatThrownBy(() -> TimeOrderedIdGenerator.timestampOf(UUID.randomUUID().toString()))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+}
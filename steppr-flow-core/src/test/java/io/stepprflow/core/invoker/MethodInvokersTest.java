@@ -0,0 +1,236 @@
+package io.stepprflow.core.invoker;
+
+import io.stepprflow.core.model.WorkflowMessage;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("MethodInvokers Tests")
+class MethodInvokersTest {
+
+    @Nested
+    @DisplayName("forStep()")
+    class ForStepTests {
+
+        @Test
+        @DisplayName("Should invoke public step method with typed payload")
+        void shouldInvokePublicStep() throws Throwable {
+            TestHandler handler = new TestHandler();
+            Method method = TestHandler.class.getDeclaredMethod("typedStep", String.class);
+
+            MethodInvokers.forStep(method, handler).invoke("hello");
+
+            assertThat(handler.received).isEqualTo("hello");
+        }
+
+        @Test
+        @DisplayName("Should invoke private step method")
+        void shouldInvokePrivateStep() throws Throwable {
+            TestHandler handler = new TestHandler();
+            Method method = TestHandler.class.getDeclaredMethod("privateStep", Object.class);
+
+            MethodInvokers.forStep(method, handler).invoke("private");
+
+            assertThat(handler.received).isEqualTo("private");
+        }
+
+        @Test
+        @DisplayName("Should invoke step method without parameters")
+        void shouldInvokeNoArgStep() throws Throwable {
+            TestHandler handler = new TestHandler();
+            Method method = TestHandler.class.getDeclaredMethod("noArgStep");
+
+            MethodInvokers.forStep(method, handler).invoke("ignored");
+
+            assertThat(handler.received).isEqualTo("no-arg");
+        }
+
+        @Test
+        @DisplayName("Should unbox primitive parameter")
+        void shouldUnboxPrimitiveParameter() throws Throwable {
+            TestHandler handler = new TestHandler();
+            Method method = TestHandler.class.getDeclaredMethod("primitiveStep", int.class);
+
+            MethodInvokers.forStep(method, handler).invoke(42);
+
+            assertThat(handler.received).isEqualTo(42);
+        }
+
+        @Test
+        @DisplayName("Should propagate step exception without wrapping")
+        void shouldPropagateExceptionUnwrapped() throws Exception {
+            Method method = TestHandler.class.getDeclaredMethod("failingStep", Object.class);
+            StepInvoker invoker = MethodInvokers.forStep(method, new TestHandler());
+
+            assertThatThrownBy(() -> invoker.invoke("x"))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessage("boom");
+        }
+
+        @Test
+        @DisplayName("Should fail with ClassCastException on wrong payload type")
+        void shouldFailOnWrongPayloadType() throws Exception {
+            Method method = TestHandler.class.getDeclaredMethod("typedStep", String.class);
+            StepInvoker invoker = MethodInvokers.forStep(method, new TestHandler());
+
+            assertThatThrownBy(() -> invoker.invoke(1L))
+                    .isInstanceOf(ClassCastException.class);
+        }
+
+        @Test
+        @DisplayName("Should reject step methods with more than one parameter on invocation")
+        void shouldRejectTooManyParameters() throws Exception {
+            Method method = TestHandler.class.getDeclaredMethod("twoArgStep", Object.class, Object.class);
+            StepInvoker invoker = MethodInvokers.forStep(method, new TestHandler());
+
+            assertThatThrownBy(() -> invoker.invoke("x"))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("forBatchStep()")
+    class ForBatchStepTests {
+
+        @Test
+        @DisplayName("Should invoke batch method with payloads only")
+        void shouldInvokeWithPayloads() throws Throwable {
+            TestHandler handler = new TestHandler();
+            Method method = TestHandler.class.getDeclaredMethod("batchStep", List.class);
+
+            MethodInvokers.forBatchStep(method, handler).invoke(List.of("a", "b"), List.of("e1", "e2"));
+
+            assertThat(handler.received).isEqualTo(List.of("a", "b"));
+        }
+
+        @Test
+        @DisplayName("Should pass execution IDs to two-parameter batch method")
+        void shouldInvokeWithExecutionIds() throws Throwable {
+            TestHandler handler = new TestHandler();
+            Method method = TestHandler.class.getDeclaredMethod("batchStepWithIds", List.class, List.class);
+
+            MethodInvokers.forBatchStep(method, handler).invoke(List.of("a"), List.of("e1"));
+
+            assertThat(handler.received).isEqualTo(List.of("e1"));
+        }
+
+        @Test
+        @DisplayName("Should reject batch methods not taking a list on invocation")
+        void shouldRejectNonListParameter() throws Exception {
+            Method method = TestHandler.class.getDeclaredMethod("typedStep", String.class);
+            BatchStepInvoker invoker = MethodInvokers.forBatchStep(method, new TestHandler());
+
+            assertThatThrownBy(() -> invoker.invoke(List.of(), List.of()))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("forCallback()")
+    class ForCallbackTests {
+
+        private final WorkflowMessage message = WorkflowMessage.builder()
+                .executionId("exec-1")
+                .payload("raw")
+                .build();
+
+        @Test
+        @DisplayName("Should resolve payload lazily for payload callbacks")
+        void shouldResolvePayload() throws Throwable {
+            TestHandler handler = new TestHandler();
+            CallbackInvoker invoker = MethodInvokers.forCallback(
+                    TestHandler.class.getDeclaredMethod("onPayload", Object.class));
+
+            invoker.invoke(handler, message, null, msg -> "resolved");
+
+            assertThat(invoker.isSupported()).isTrue();
+            assertThat(handler.received).isEqualTo("resolved");
+        }
+
+        @Test
+        @DisplayName("Should not resolve payload for message and error callbacks")
+        void shouldNotResolvePayloadWhenUnused() throws Throwable {
+            TestHandler handler = new TestHandler();
+            RuntimeException error = new RuntimeException("fail");
+            CallbackInvoker invoker = MethodInvokers.forCallback(TestHandler.class
+                    .getDeclaredMethod("onMessageAndError", WorkflowMessage.class, Throwable.class));
+
+            invoker.invoke(handler, message, error, msg -> {
+                throw new AssertionError("payload should not be resolved");
+            });
+
+            assertThat(handler.received).isSameAs(message);
+            assertThat(handler.error).isSameAs(error);
+        }
+
+        @Test
+        @DisplayName("Should report callbacks with three parameters as unsupported")
+        void shouldReportUnsupported() throws Throwable {
+            TestHandler handler = new TestHandler();
+            CallbackInvoker invoker = MethodInvokers.forCallback(TestHandler.class
+                    .getDeclaredMethod("unsupported", Object.class, Object.class, Object.class));
+
+            invoker.invoke(handler, message, null, WorkflowMessage::getPayload);
+
+            assertThat(invoker.isSupported()).isFalse();
+            assertThat(invoker.getParameterCount()).isEqualTo(3);
+            assertThat(handler.received).isNull();
+        }
+    }
+
+    static class TestHandler {
+        Object received;
+        Throwable error;
+
+        public void typedStep(final String payload) {
+            received = payload;
+        }
+
+        private void privateStep(final Object payload) {
+            received = payload;
+        }
+
+        public void noArgStep() {
+            received = "no-arg";
+        }
+
+        public void primitiveStep(final int value) {
+            received = value;
+        }
+
+        public void failingStep(final Object payload) {
+            throw new IllegalStateException("boom");
+        }
+
+        public void batchStep(final List<String> payloads) {
+            received = payloads;
+        }
+
+        public void batchStepWithIds(final List<String> payloads, final List<String> executionIds) {
+            received = executionIds;
+        }
+
+        public void twoArgStep(final Object first, final Object second) {
+            received = first;
+        }
+
+        public void onPayload(final Object payload) {
+            received = payload;
+        }
+
+        public void onMessageAndError(final WorkflowMessage msg, final Throwable t) {
+            received = msg;
+            error = t;
+        }
+
+        public void unsupported(final Object a, final Object b, final Object c) {
+            received = a;
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package io.stepprflow.core.metrics;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@DisplayName("RollingWindow Tests")
+class RollingWindowTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+
+    private RollingWindow window;
+
+    @BeforeEach
+    void setUp() {
+        window = new RollingWindow(clock::get, clock.get());
+    }
+
+    private void advance(Duration duration) {
+        clock.addAndGet(duration.toNanos());
+    }
+
+    private RollingStats stats(RollingWindow.Window w) {
+        return window.snapshot(w).toStats(w);
+    }
+
+    private static long millis(long value) {
+        return Duration.ofMillis(value).toNanos();
+    }
+
+    @Nested
+    @DisplayName("LatencyHistogram")
+    class HistogramTests {
+
+        @Test
+        @DisplayName("Should give small values a bucket each")
+        void shouldGiveSmallValuesABucketEach() {
+            for (int value = 0; value < 8; value++) {
+                assertThat(LatencyHistogram.index(value)).isEqualTo(value);
+                assertThat(LatencyHistogram.highestValue(value)).isEqualTo(value);
+            }
+        }
+
+        @Test
+        @DisplayName("Should keep values within 12.5% of their bucket")
+        void shouldBoundBucketError() {
+            for (long value = 1; value < 10_000_000_000L; value = value * 3 + 1) {
+                long highest = LatencyHistogram.highestValue(LatencyHistogram.index(value));
+                assertThat(highest).isGreaterThanOrEqualTo(value);
+                assertThat((double) (highest - value) / value).isLessThanOrEqualTo(0.125);
+            }
+        }
+
+        @Test
+        @DisplayName("Should order buckets by value")
+        void shouldOrderBuckets() {
+            for (int index = 1; index < LatencyHistogram.BUCKETS; index++) {
+                assertThat(LatencyHistogram.highestValue(index))
+                        .isGreaterThan(LatencyHistogram.highestValue(index - 1));
+                assertThat(LatencyHistogram.index(LatencyHistogram.highestValue(index))).isEqualTo(index);
+            }
+        }
+
+        @Test
+        @DisplayName("Should clamp out of range values")
+        void shouldClampOutOfRange() {
+            assertThat(LatencyHistogram.index(-5)).isZero();
+            assertThat(LatencyHistogram.index(Long.MAX_VALUE)).isEqualTo(LatencyHistogram.BUCKETS - 1);
+        }
+    }
+
+    @Nested
+    @DisplayName("Counting")
+    class CountingTests {
+
+        @Test
+        @DisplayName("Should count starts, completions and failures")
+        void shouldCount() {
+            window.started();
+            window.started();
+            window.completed(millis(10));
+            window.failed(millis(20));
+            window.failed(-1);
+
+            RollingStats stats = stats(RollingWindow.Window.ONE_MINUTE);
+
+            assertThat(stats.getWindow()).isEqualTo("1m");
+            assertThat(stats.getStarted()).isEqualTo(2);
+            assertThat(stats.getCompleted()).isEqualTo(1);
+            assertThat(stats.getFailed()).isEqualTo(2);
+            assertThat(stats.getMaxMs()).isEqualTo(20.0);
+        }
+
+        @Test
+        @DisplayName("Should compute rates over the time elapsed since creation")
+        void shouldComputeRatesSinceCreation() {
+            for (int i = 0; i < 20; i++) {
+                window.started();
+            }
+            advance(Duration.ofSeconds(10));
+
+            RollingStats stats = stats(RollingWindow.Window.FIVE_MINUTES);
+
+            assertThat(stats.getSeconds()).isEqualTo(10.0);
+            assertThat(stats.getStartedPerSecond()).isEqualTo(2.0);
+        }
+
+        @Test
+        @DisplayName("Should report no rate before time elapses")
+        void shouldReportNoRateWithoutTime() {
+            window.started();
+
+            assertThat(stats(RollingWindow.Window.ONE_MINUTE).getStartedPerSecond()).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("Rolling")
+    class RollingTests {
+
+        @Test
+        @DisplayName("Should drop records older than the window")
+        void shouldDropOldRecords() {
+            window.started();
+            advance(Duration.ofMinutes(2));
+            window.started();
+
+            assertThat(stats(RollingWindow.Window.ONE_MINUTE).getStarted()).isEqualTo(1);
+            assertThat(stats(RollingWindow.Window.FIVE_MINUTES).getStarted()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Should cover the complete slots of the window and the current one")
+        void shouldCoverWindowAndCurrentSlot() {
+            advance(Duration.ofMinutes(20).plusSeconds(5));
+
+            RollingStats stats = stats(RollingWindow.Window.ONE_MINUTE);
+
+            assertThat(stats.getSeconds()).isEqualTo(65.0);
+        }
+
+        @Test
+        @DisplayName("Should replace slots when the ring wraps around")
+        void shouldReplaceSlotsOnWrap() {
+            window.completed(millis(500));
+            advance(RollingWindow.SLOT.multipliedBy(61));
+            window.completed(millis(5));
+
+            RollingStats stats = stats(RollingWindow.Window.FIFTEEN_MINUTES);
+
+            assertThat(stats.getCompleted()).isEqualTo(1);
+            assertThat(stats.getMaxMs()).isEqualTo(5.0);
+        }
+    }
+
+    @Nested
+    @DisplayName("Percentiles")
+    class PercentileTests {
+
+        @Test
+        @DisplayName("Should compute percentiles within the bucket error")
+        void shouldComputePercentiles() {
+            for (int value = 1; value <= 1000; value++) {
+                window.completed(millis(value));
+            }
+
+            RollingStats stats = stats(RollingWindow.Window.ONE_MINUTE);
+
+            assertThat(stats.getP50Ms()).isCloseTo(500, within(500 * 0.125));
+            assertThat(stats.getP95Ms()).isCloseTo(950, within(950 * 0.125));
+            assertThat(stats.getP99Ms()).isCloseTo(990, within(990 * 0.125));
+            assertThat(stats.getP999Ms()).isLessThanOrEqualTo(1000);
+            assertThat(stats.getMaxMs()).isEqualTo(1000);
+        }
+
+        @Test
+        @DisplayName("Should report zero percentiles without durations")
+        void shouldReportZeroWithoutDurations() {
+            window.started();
+
+            RollingStats stats = stats(RollingWindow.Window.ONE_MINUTE);
+
+            assertThat(stats.getP50Ms()).isZero();
+            assertThat(stats.getP999Ms()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should merge the histograms of several windows")
+        void shouldMergeWindows() {
+            RollingWindow other = new RollingWindow(clock::get, clock.get());
+            for (int i = 0; i < 90; i++) {
+                window.completed(millis(1));
+            }
+            for (int i = 0; i < 10; i++) {
+                other.completed(millis(100));
+            }
+
+            RollingWindow.Window w = RollingWindow.Window.ONE_MINUTE;
+            RollingStats stats = window.snapshot(w).merge(other.snapshot(w)).toStats(w);
+
+            assertThat(stats.getCompleted()).isEqualTo(100);
+            assertThat(stats.getP50Ms()).isCloseTo(1, within(0.125));
+            assertThat(stats.getP95Ms()).isCloseTo(100, within(12.5));
+        }
+    }
+}
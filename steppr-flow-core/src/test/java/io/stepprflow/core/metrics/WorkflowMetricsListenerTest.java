@@ -12,7 +12,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Clock;
 import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
@@ -20,6 +23,7 @@ import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 
 /**
  * Tests for WorkflowMetricsListener.
@@ -62,8 +66,8 @@ class WorkflowMetricsListenerTest {
         }
 
         @Test
-        @DisplayName("should track step start time on IN_PROGRESS status")
-        void shouldTrackStepStartTimeOnInProgressStatus() {
+        @DisplayName("should record nothing on IN_PROGRESS status")
+        void shouldRecordNothingOnInProgressStatus() {
             // Given
             WorkflowMessage message = WorkflowMessage.builder()
                     .executionId("exec-123")
@@ -76,8 +80,8 @@ class WorkflowMetricsListenerTest {
             // When
             listener.onWorkflowMessage(event);
 
-            // Then - no metrics recorded directly, just tracking
-            verify(metrics, never()).recordWorkflowStarted(anyString(), anyString());
+            // Then - steps are timed from their message, not tracked
+            verifyNoInteractions(metrics);
         }
 
         @Test
@@ -109,14 +113,37 @@ class WorkflowMetricsListenerTest {
         }
 
         @Test
-        @DisplayName("should record workflow completed with zero duration when start time not tracked")
-        void shouldRecordWorkflowCompletedWithZeroDurationWhenStartTimeNotTracked() {
-            // Given - directly send COMPLETED without PENDING
+        @DisplayName("should compute workflow duration from message timestamps without seeing the start")
+        void shouldComputeDurationFromMessageTimestamps() {
+            // Given - COMPLETED seen without PENDING, as on another instance
+            Instant createdAt = Instant.parse("2026-01-01T10:00:00Z");
             WorkflowMessage message = WorkflowMessage.builder()
                     .executionId("exec-456")
                     .topic("payment-workflow")
                     .serviceName("payment-service")
                     .status(WorkflowStatus.COMPLETED)
+                    .createdAt(createdAt)
+                    .updatedAt(createdAt.plusSeconds(5))
+                    .build();
+            WorkflowMessageEvent event = new WorkflowMessageEvent(this, message);
+
+            // When
+            listener.onWorkflowMessage(event);
+
+            // Then
+            verify(metrics).recordWorkflowCompleted("payment-workflow", "payment-service", Duration.ofSeconds(5));
+        }
+
+        @Test
+        @DisplayName("should record zero duration when the message has no creation time")
+        void shouldRecordZeroDurationWithoutCreationTime() {
+            // Given
+            WorkflowMessage message = WorkflowMessage.builder()
+                    .executionId("exec-457")
+                    .topic("payment-workflow")
+                    .serviceName("payment-service")
+                    .status(WorkflowStatus.FAILED)
+                    .createdAt(null)
                     .build();
             WorkflowMessageEvent event = new WorkflowMessageEvent(this, message);
 
@@ -124,7 +151,7 @@ class WorkflowMetricsListenerTest {
             listener.onWorkflowMessage(event);
 
             // Then
-            verify(metrics).recordWorkflowCompleted(eq("payment-workflow"), eq("payment-service"), eq(Duration.ZERO));
+            verify(metrics).recordWorkflowFailed("payment-workflow", "payment-service", Duration.ZERO);
         }
 
         @Test
@@ -253,32 +280,41 @@ class WorkflowMetricsListenerTest {
     class RecordStepCompletedTests {
 
         @Test
-        @DisplayName("should record step executed with duration when step was tracked")
-        void shouldRecordStepExecutedWithDurationWhenStepWasTracked() {
-            // Given - first start tracking the step
-            WorkflowMessage inProgressMessage = WorkflowMessage.builder()
-                    .executionId("exec-step-1")
-                    .topic("order-workflow")
-                    .currentStep(2)
-                    .status(WorkflowStatus.IN_PROGRESS)
-                    .build();
-            listener.onWorkflowMessage(new WorkflowMessageEvent(this, inProgressMessage));
-
+        @DisplayName("should record step executed with zero duration")
+        @SuppressWarnings("deprecation")
+        void shouldRecordStepExecutedWithZeroDuration() {
             // When
-            listener.recordStepCompleted("order-workflow", "Validate Order", "exec-step-1", 2);
+            listener.recordStepCompleted("payment-workflow", "Process Payment", "exec-step-2", 3);
 
             // Then
-            verify(metrics).recordStepExecuted(eq("order-workflow"), eq("Validate Order"), any(Duration.class));
+            verify(metrics).recordStepExecuted("payment-workflow", "Process Payment", Duration.ZERO);
         }
+    }
+
+    @Nested
+    @DisplayName("recordStepCompleted() from the step message")
+    class RecordStepCompletedFromMessageTests {
 
         @Test
-        @DisplayName("should record step executed with zero duration when step was not tracked")
-        void shouldRecordStepExecutedWithZeroDurationWhenStepWasNotTracked() {
-            // When - directly record completion without IN_PROGRESS
-            listener.recordStepCompleted("payment-workflow", "Process Payment", "exec-step-2", 3);
+        @DisplayName("should time the step from the time its message was sent")
+        void shouldTimeStepFromMessage() {
+            // Given
+            Instant now = Instant.parse("2026-01-01T10:00:00Z");
+            listener = new WorkflowMetricsListener(metrics, Clock.fixed(now, ZoneOffset.UTC));
+            WorkflowMessage message = WorkflowMessage.builder()
+                    .executionId("exec-step-3")
+                    .topic("order-workflow")
+                    .currentStep(2)
+                    .status(WorkflowStatus.IN_PROGRESS)
+                    .createdAt(now.minusSeconds(10))
+                    .updatedAt(now.minusMillis(250))
+                    .build();
+
+            // When
+            listener.recordStepCompleted("Validate Order", message);
 
             // Then
-            verify(metrics).recordStepExecuted("payment-workflow", "Process Payment", Duration.ZERO);
+            verify(metrics).recordStepExecuted("order-workflow", "Validate Order", Duration.ofMillis(250));
         }
     }
 
@@ -308,4 +344,4 @@ class WorkflowMetricsListenerTest {
             verify(metrics).recordStepFailed("payment-workflow", "Process Payment");
         }
     }
-}
\ No newline at end of file
+}
@@ -2,14 +2,23 @@ package io.stepprflow.core.metrics;
 
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.stepprflow.core.StepprFlowProperties;
+import io.stepprflow.core.model.ExecutionPlan;
+import io.stepprflow.core.model.StepDefinition;
+import io.stepprflow.core.model.WorkflowDefinition;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
 import java.time.Duration;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -230,6 +239,27 @@ class WorkflowMetricsTest {
             assertThat(counter.count()).isEqualTo(1.0);
         }
 
+        @Test
+        @DisplayName("Should record step phases on a histogram timer per phase")
+        void shouldRecordStepPhases() {
+            workflowMetrics.recordStepPhase("order-workflow", "validateOrder",
+                    WorkflowMetrics.StepPhase.QUEUE, TimeUnit.MILLISECONDS.toNanos(30));
+            workflowMetrics.recordStepPhase("order-workflow", "validateOrder",
+                    WorkflowMetrics.StepPhase.EXECUTION, TimeUnit.MILLISECONDS.toNanos(5));
+
+            Timer queue = meterRegistry.get("stepprflow.step.phase")
+                    .tag("topic", "order-workflow")
+                    .tag("step", "validateOrder")
+                    .tag("phase", "queue")
+                    .timer();
+
+            assertThat(queue.count()).isEqualTo(1);
+            assertThat(queue.totalTime(TimeUnit.MILLISECONDS)).isEqualTo(30.0);
+            assertThat(meterRegistry.find("stepprflow.step.phase")
+                    .tag("step", "validateOrder")
+                    .timers()).hasSize(WorkflowMetrics.StepPhase.values().length);
+        }
+
         @Test
         @DisplayName("Should record step failed")
         void shouldRecordStepFailed() {
@@ -393,4 +423,176 @@ class WorkflowMetricsTest {
             assertThat(counter.count()).isEqualTo(1.0);
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    @DisplayName("register")
+    class RegisterTests {
+
+        private ExecutionPlan plan() {
+            WorkflowDefinition definition = WorkflowDefinition.builder()
+                    .topic("order-workflow")
+                    .steps(List.of(
+                            StepDefinition.builder().id(1).label("Validate").build(),
+                            StepDefinition.builder().id(2).label("Charge").build()))
+                    .build();
+            return ExecutionPlan.compile(definition, new StepprFlowProperties());
+        }
+
+        @Test
+        @DisplayName("Should register workflow and step meters before any record")
+        void shouldRegisterMetersFromPlan() {
+            workflowMetrics.register(plan(), "kafka-sample");
+
+            assertThat(meterRegistry.find("stepprflow.workflow.started")
+                    .tag("topic", "order-workflow")
+                    .tag("service", "kafka-sample")
+                    .counter()).isNotNull();
+            assertThat(meterRegistry.find("stepprflow.step.duration")
+                    .tag("topic", "order-workflow")
+                    .timers()).hasSize(2);
+            assertThat(meterRegistry.find("stepprflow.retry.count")
+                    .tag("topic", "order-workflow")
+                    .counter()).isNotNull();
+        }
+
+        @Test
+        @DisplayName("Should record on the registered meters")
+        void shouldRecordOnRegisteredMeters() {
+            workflowMetrics.register(plan(), "kafka-sample");
+
+            workflowMetrics.recordStepExecuted("order-workflow", "Charge", Duration.ofMillis(20));
+            workflowMetrics.recordStepExecuted("order-workflow", "Charge", Duration.ofMillis(40));
+
+            assertThat(meterRegistry.get("stepprflow.step.executed")
+                    .tag("topic", "order-workflow")
+                    .tag("step", "Charge")
+                    .counter().count()).isEqualTo(2.0);
+            assertThat(meterRegistry.get("stepprflow.step.duration")
+                    .tag("topic", "order-workflow")
+                    .tag("step", "Charge")
+                    .timer().count()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Should not report registered workflows as active until started")
+        void shouldNotReportRegisteredWorkflowsAsActive() {
+            workflowMetrics.register(plan(), "kafka-sample");
+
+            assertThat(workflowMetrics.getActiveWorkflowKeys()).isEmpty();
+            assertThat(workflowMetrics.getActiveTopics()).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("Durations and active workflows")
+    class DurationTests {
+
+        @Test
+        @DisplayName("Should average the duration of completed and failed workflows")
+        void shouldAverageFinishedDurations() {
+            workflowMetrics.recordWorkflowStarted("order-workflow", "kafka-sample");
+            workflowMetrics.recordWorkflowStarted("order-workflow", "kafka-sample");
+            workflowMetrics.recordWorkflowCompleted("order-workflow", "kafka-sample", Duration.ofMillis(100));
+            workflowMetrics.recordWorkflowFailed("order-workflow", "kafka-sample", Duration.ofMillis(300));
+
+            MetricsSummary summary = workflowMetrics.getSummary("order-workflow", "kafka-sample");
+
+            assertThat(summary.getAvgWorkflowDurationMs()).isEqualTo(200.0);
+        }
+
+        @Test
+        @DisplayName("Should sum active workflows of a topic across services")
+        void shouldSumActiveWorkflowsAcrossServices() {
+            workflowMetrics.recordWorkflowStarted("order-workflow", "kafka-sample");
+            workflowMetrics.recordWorkflowStarted("order-workflow", "rabbitmq-sample");
+            workflowMetrics.recordWorkflowStarted("payment-workflow", "kafka-sample");
+
+            assertThat(workflowMetrics.getActiveWorkflows("order-workflow")).isEqualTo(2);
+            assertThat(workflowMetrics.getActiveWorkflows("unknown-workflow")).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("Rolling windows")
+    class RollingStatsTests {
+
+        private final AtomicLong clock = new AtomicLong();
+
+        private WorkflowMetrics metrics;
+
+        @BeforeEach
+        void setUp() {
+            metrics = new WorkflowMetrics(meterRegistry, clock::get);
+        }
+
+        @Test
+        @DisplayName("Should report workflow throughput and durations by window")
+        void shouldReportWorkflowWindows() {
+            metrics.recordWorkflowStarted("orders", "svc");
+            metrics.recordWorkflowStarted("orders", "svc");
+            metrics.recordWorkflowCompleted("orders", "svc", Duration.ofMillis(40));
+            metrics.recordWorkflowFailed("orders", "svc", Duration.ofMillis(80));
+            clock.addAndGet(Duration.ofSeconds(2).toNanos());
+
+            Map<String, RollingStats> stats = metrics.getRollingStats("orders", "svc");
+
+            assertThat(stats).containsOnlyKeys("1m", "5m", "15m");
+            RollingStats oneMinute = stats.get("1m");
+            assertThat(oneMinute.getStarted()).isEqualTo(2);
+            assertThat(oneMinute.getCompleted()).isEqualTo(1);
+            assertThat(oneMinute.getFailed()).isEqualTo(1);
+            assertThat(oneMinute.getStartedPerSecond()).isEqualTo(1.0);
+            assertThat(oneMinute.getMaxMs()).isEqualTo(80.0);
+        }
+
+        @Test
+        @DisplayName("Should forget workflows older than the window")
+        void shouldForgetOldWorkflows() {
+            metrics.recordWorkflowCompleted("orders", "svc", Duration.ofMillis(40));
+            clock.addAndGet(Duration.ofMinutes(10).toNanos());
+
+            Map<String, RollingStats> stats = metrics.getRollingStats("orders", "svc");
+
+            assertThat(stats.get("1m").getCompleted()).isZero();
+            assertThat(stats.get("5m").getCompleted()).isZero();
+            assertThat(stats.get("15m").getCompleted()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should report step executions and failures")
+        void shouldReportStepWindows() {
+            metrics.recordStepExecuted("orders", "charge", Duration.ofMillis(12));
+            metrics.recordStepFailed("orders", "charge");
+
+            RollingStats stats = metrics.getStepRollingStats("orders", "charge").get("1m");
+
+            assertThat(stats.getCompleted()).isEqualTo(1);
+            assertThat(stats.getFailed()).isEqualTo(1);
+            assertThat(stats.getMaxMs()).isEqualTo(12.0);
+            assertThat(metrics.getStepLabels("orders")).containsExactly("charge");
+        }
+
+        @Test
+        @DisplayName("Should merge all workflows in the global windows")
+        void shouldMergeGlobalWindows() {
+            metrics.recordWorkflowCompleted("orders", "svc-a", Duration.ofMillis(10));
+            metrics.recordWorkflowCompleted("orders", "svc-b", Duration.ofMillis(20));
+            metrics.recordWorkflowCompleted("payments", "svc-a", Duration.ofMillis(30));
+
+            RollingStats stats = metrics.getGlobalRollingStats().get("5m");
+
+            assertThat(stats.getCompleted()).isEqualTo(3);
+            assertThat(stats.getMaxMs()).isEqualTo(30.0);
+        }
+
+        @Test
+        @DisplayName("Should report empty windows for unknown workflows")
+        void shouldReportEmptyWindowsForUnknown() {
+            RollingStats stats = metrics.getRollingStats("unknown", "svc").get("1m");
+
+            assertThat(stats.getStarted()).isZero();
+            assertThat(stats.getStartedPerSecond()).isZero();
+            assertThat(metrics.getStepLabels("unknown")).isEmpty();
+        }
+    }
+}
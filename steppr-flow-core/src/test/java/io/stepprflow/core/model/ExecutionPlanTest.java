@@ -0,0 +1,267 @@
+package io.stepprflow.core.model;
+
+import io.stepprflow.core.StepprFlowProperties;
+import io.stepprflow.core.exception.WorkflowDefinitionException;
+import io.stepprflow.core.service.StepprFlow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("ExecutionPlan Tests")
+class ExecutionPlanTest {
+
+    private StepprFlowProperties properties;
+    private WorkflowDefinition definition;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        properties = new StepprFlowProperties();
+        definition = WorkflowDefinition.builder()
+                .topic("orders")
+                .handler(new TestWorkflow())
+                .steps(List.of(
+                        step(1, "typedStep", OrderPayload.class, null),
+                        step(2, "untypedStep", Object.class, Duration.ofSeconds(5)),
+                        step(5, "untypedStep", Object.class, null)))
+                .timeout(Duration.ofMinutes(1))
+                .build();
+    }
+
+    @Nested
+    @DisplayName("Step lookup")
+    class StepLookupTests {
+
+        @Test
+        @DisplayName("Should index steps by ID and link next pointers")
+        void shouldIndexStepsAndLinkNext() {
+            ExecutionPlan plan = ExecutionPlan.compile(definition, properties);
+
+            assertThat(plan.getTotalSteps()).isEqualTo(3);
+            assertThat(plan.getFirstStep().getId()).isEqualTo(1);
+            assertThat(plan.getStep(1).getNext().getId()).isEqualTo(2);
+            assertThat(plan.getStep(2).getNext().getId()).isEqualTo(5);
+            assertThat(plan.getStep(5).isLast()).isTrue();
+            assertThat(plan.getStep(5).getNext()).isNull();
+        }
+
+        @Test
+        @DisplayName("Should return null for unknown or out-of-range step IDs")
+        void shouldReturnNullForUnknownSteps() {
+            ExecutionPlan plan = ExecutionPlan.compile(definition, properties);
+
+            assertThat(plan.getStep(3)).isNull();
+            assertThat(plan.getStep(-1)).isNull();
+            assertThat(plan.getStep(99)).isNull();
+        }
+
+        @Test
+        @DisplayName("Should compile missing step invokers")
+        void shouldCompileStepInvokers() {
+            ExecutionPlan plan = ExecutionPlan.compile(definition, properties);
+
+            assertThat(plan.getStep(1).getInvoker()).isNotNull();
+            assertThat(definition.getStep(1).getInvoker()).isSameAs(plan.getStep(1).getInvoker());
+        }
+    }
+
+    @Nested
+    @DisplayName("Destinations")
+    class DestinationTests {
+
+        @Test
+        @DisplayName("Should precompute completion, retry and DLQ destinations")
+        void shouldPrecomputeDestinations() {
+            properties.getDlq().setSuffix(".dead");
+
+            ExecutionPlan plan = ExecutionPlan.compile(definition, properties);
+
+            assertThat(plan.getCompletedDestination()).isEqualTo("orders.completed");
+            assertThat(plan.getRetryDestination()).isEqualTo("orders.retry");
+            assertThat(plan.getDlqDestination()).isEqualTo("orders.dead");
+        }
+
+        @Test
+        @DisplayName("Should have no DLQ destination when DLQ is disabled")
+        void shouldHaveNoDlqWhenDisabled() {
+            properties.getDlq().setEnabled(false);
+
+            ExecutionPlan plan = ExecutionPlan.compile(definition, properties);
+
+            assertThat(plan.getDlqDestination()).isNull();
+        }
+    }
+
+    @Nested
+    @DisplayName("Payload class and timeouts")
+    class PayloadAndTimeoutTests {
+
+        @Test
+        @DisplayName("Should expose declared payload class for typed steps only")
+        void shouldResolveDeclaredPayloadClass() {
+            ExecutionPlan plan = ExecutionPlan.compile(definition, properties);
+
+            assertThat(plan.getStep(1).getPayloadClass()).isEqualTo(OrderPayload.class);
+            assertThat(plan.getStep(2).getPayloadClass()).isNull();
+        }
+
+        @Test
+        @DisplayName("Should fall back from step timeout to workflow timeout")
+        void shouldResolveEffectiveTimeouts() {
+            ExecutionPlan plan = ExecutionPlan.compile(definition, properties);
+
+            assertThat(plan.getStep(2).getTimeout()).isEqualTo(Duration.ofSeconds(5));
+            assertThat(plan.getStep(1).getTimeout()).isEqualTo(Duration.ofMinutes(1));
+        }
+
+        @Test
+        @DisplayName("Should use default step timeout when enabled and nothing is declared")
+        void shouldUseDefaultStepTimeout() {
+            definition.setTimeout(null);
+            properties.getTimeout().setEnabled(true);
+            properties.getTimeout().setDefaultStepTimeout(Duration.ofSeconds(30));
+
+            ExecutionPlan plan = ExecutionPlan.compile(definition, properties);
+
+            assertThat(plan.getStep(1).getTimeout()).isEqualTo(Duration.ofSeconds(30));
+        }
+    }
+
+    @Nested
+    @DisplayName("Parallel groups")
+    class ParallelGroupTests {
+
+        @Test
+        @DisplayName("Should expose the group on its first step and link every branch past the group")
+        void shouldCompileParallelGroup() throws Exception {
+            definition.setSteps(List.of(
+                    step(1, "untypedStep", Object.class, null),
+                    grouped(step(2, "untypedStep", Object.class, null), "checks"),
+                    grouped(step(3, "untypedStep", Object.class, null), "checks"),
+                    step(4, "untypedStep", Object.class, null)));
+
+            ExecutionPlan plan = ExecutionPlan.compile(definition, properties);
+
+            assertThat(plan.getStep(1).getNext().getId()).isEqualTo(2);
+            assertThat(plan.getStep(2).isParallel()).isTrue();
+            assertThat(plan.getStep(2).getBranches()).extracting(ExecutionPlan.StepPlan::getId)
+                    .containsExactly(2, 3);
+            assertThat(plan.getStep(3).isParallel()).isFalse();
+            assertThat(plan.getStep(2).getNext().getId()).isEqualTo(4);
+            assertThat(plan.getStep(3).getNext().getId()).isEqualTo(4);
+        }
+
+        @Test
+        @DisplayName("Should reject a group split by another step")
+        void shouldRejectNonContiguousGroup() throws Exception {
+            definition.setSteps(List.of(
+                    grouped(step(1, "untypedStep", Object.class, null), "checks"),
+                    step(2, "untypedStep", Object.class, null),
+                    grouped(step(3, "untypedStep", Object.class, null), "checks")));
+
+            assertThatThrownBy(() -> ExecutionPlan.compile(definition, properties))
+                    .isInstanceOf(WorkflowDefinitionException.class)
+                    .hasMessageContaining("checks");
+        }
+
+        private StepDefinition grouped(StepDefinition step, String group) {
+            step.setParallelGroup(group);
+            return step;
+        }
+    }
+
+    @Nested
+    @DisplayName("Retry policy")
+    class RetryPolicyTests {
+
+        @Test
+        @DisplayName("Should precompute capped exponential backoff")
+        void shouldPrecomputeBackoff() {
+            properties.getRetry().setMaxAttempts(4);
+            properties.getRetry().setInitialDelay(Duration.ofSeconds(1));
+            properties.getRetry().setMultiplier(2.0);
+            properties.getRetry().setMaxDelay(Duration.ofSeconds(3));
+
+            ExecutionPlan.RetryPolicy policy = ExecutionPlan.compile(definition, properties).getRetryPolicy();
+
+            assertThat(policy.backoff(1)).isEqualTo(Duration.ofSeconds(1));
+            assertThat(policy.backoff(2)).isEqualTo(Duration.ofSeconds(2));
+            assertThat(policy.backoff(3)).isEqualTo(Duration.ofSeconds(3));
+            assertThat(policy.backoff(10)).isEqualTo(Duration.ofSeconds(3));
+        }
+
+        @Test
+        @DisplayName("Should jitter the precomputed backoff")
+        void shouldJitterBackoff() {
+            properties.getRetry().setInitialDelay(Duration.ofSeconds(1));
+            properties.getRetry().setJitter(StepprFlowProperties.Retry.Jitter.EQUAL);
+
+            ExecutionPlan.RetryPolicy policy = ExecutionPlan.compile(definition, properties).getRetryPolicy();
+
+            for (int i = 0; i < 20; i++) {
+                assertThat(policy.backoff(1)).isBetween(Duration.ofMillis(500), Duration.ofSeconds(1));
+            }
+        }
+
+        @Test
+        @DisplayName("Should keep its backoff when the properties change")
+        void shouldSnapshotBackoff() {
+            properties.getRetry().setMaxAttempts(1);
+            properties.getRetry().setInitialDelay(Duration.ofSeconds(1));
+            properties.getRetry().setMultiplier(2.0);
+            properties.getRetry().setMaxDelay(Duration.ofSeconds(10));
+            properties.getRetry().setJitter(StepprFlowProperties.Retry.Jitter.NONE);
+
+            ExecutionPlan.RetryPolicy policy = ExecutionPlan.compile(definition, properties).getRetryPolicy();
+            properties.getRetry().setInitialDelay(Duration.ofSeconds(5));
+
+            assertThat(policy.backoff(3)).isEqualTo(Duration.ofSeconds(4));
+            assertThat(ExecutionPlan.RetryPolicy.backoff(properties.getRetry(), 3)).isEqualTo(Duration.ofSeconds(10));
+        }
+
+        @Test
+        @DisplayName("Should leave zero and unjittered delays unchanged")
+        void shouldNotJitterWithoutDelayOrJitter() {
+            assertThat(ExecutionPlan.RetryPolicy.jitter(0, StepprFlowProperties.Retry.Jitter.FULL)).isZero();
+            assertThat(ExecutionPlan.RetryPolicy.jitter(1000, null)).isEqualTo(1000);
+            assertThat(ExecutionPlan.RetryPolicy.jitter(1000, StepprFlowProperties.Retry.Jitter.NONE)).isEqualTo(1000);
+            assertThat(ExecutionPlan.RetryPolicy.jitter(1000, StepprFlowProperties.Retry.Jitter.FULL))
+                    .isBetween(0L, 1000L);
+        }
+
+        @Test
+        @DisplayName("Should classify non-retryable exceptions")
+        void shouldClassifyNonRetryableExceptions() {
+            ExecutionPlan.RetryPolicy policy = ExecutionPlan.compile(definition, properties).getRetryPolicy();
+
+            assertThat(policy.isRetryable(new IllegalArgumentException())).isFalse();
+            assertThat(policy.isRetryable(new IllegalStateException())).isTrue();
+        }
+    }
+
+    private static StepDefinition step(int id, String method, Class<?> type, Duration timeout) throws Exception {
+        return StepDefinition.builder()
+                .id(id)
+                .label("Step " + id)
+                .method(TestWorkflow.class.getDeclaredMethod(method, type))
+                .timeout(timeout)
+                .build();
+    }
+
+    record OrderPayload(String id) {
+    }
+
+    static class TestWorkflow implements StepprFlow {
+        public void typedStep(OrderPayload payload) {
+        }
+
+        public void untypedStep(Object payload) {
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package io.stepprflow.core.model;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("RawPayload Tests")
+class RawPayloadTest {
+
+    private static final String JSON = "{\"orderId\":\"ORD-1\",\"lines\":[1,2]}";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Nested
+    @DisplayName("Accessors")
+    class AccessorTests {
+
+        @Test
+        @DisplayName("Should expose the raw JSON text and its length")
+        void shouldExposeJson() {
+            RawPayload payload = new RawPayload(JSON, objectMapper);
+
+            assertThat(payload.getJson()).isEqualTo(JSON);
+            assertThat(payload.length()).isEqualTo(JSON.length());
+            assertThat(payload).hasToString(JSON);
+        }
+
+        @Test
+        @DisplayName("Should compare payloads by JSON text")
+        void shouldCompareByJson() {
+            RawPayload payload = new RawPayload(JSON, objectMapper);
+
+            assertThat(payload)
+                    .isEqualTo(payload)
+                    .isEqualTo(new RawPayload(JSON, null))
+                    .hasSameHashCodeAs(new RawPayload(JSON, null))
+                    .isNotEqualTo(new RawPayload("{}", objectMapper))
+                    .isNotEqualTo(JSON);
+        }
+    }
+
+    @Nested
+    @DisplayName("value()")
+    class ValueTests {
+
+        @Test
+        @DisplayName("Should parse the JSON once, on first access")
+        void shouldMaterializeOnce() {
+            RawPayload payload = new RawPayload(JSON, objectMapper);
+
+            assertThat(payload.isMaterialized()).isFalse();
+            Object value = payload.value();
+
+            assertThat(value).isEqualTo(Map.of("orderId", "ORD-1", "lines", List.of(1, 2)));
+            assertThat(payload.isMaterialized()).isTrue();
+            assertThat(payload.value()).isSameAs(value);
+        }
+
+        @Test
+        @DisplayName("Should parse with the default codec when none is given")
+        void shouldUseDefaultCodec() {
+            assertThat(new RawPayload("[1,2]", null).value()).isEqualTo(List.of(1, 2));
+        }
+
+        @Test
+        @DisplayName("Should fail on malformed JSON")
+        void shouldFailOnMalformedJson() {
+            RawPayload payload = new RawPayload("{\"orderId\":", objectMapper);
+
+            assertThatThrownBy(payload::value)
+                    .isInstanceOf(UncheckedIOException.class)
+                    .hasMessageContaining("Cannot parse raw payload");
+            assertThat(payload.isMaterialized()).isFalse();
+        }
+    }
+
+    @Nested
+    @DisplayName("Serialization")
+    class SerializationTests {
+
+        @Test
+        @DisplayName("Should write the original JSON text untouched")
+        void shouldForwardJson() throws Exception {
+            RawPayload payload = new RawPayload("{ \"b\" : 1, \"a\" : 2 }", objectMapper);
+
+            assertThat(objectMapper.writeValueAsString(Map.of("payload", payload)))
+                    .isEqualTo("{\"payload\":{ \"b\" : 1, \"a\" : 2 }}");
+            assertThat(payload.isMaterialized()).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should write real tokens to token buffers")
+        void shouldWriteTokensToTree() {
+            JsonNode tree = objectMapper.valueToTree(new RawPayload(JSON, objectMapper));
+
+            assertThat(tree.get("orderId").asText()).isEqualTo("ORD-1");
+            assertThat(tree.get("lines").size()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Should write the JSON untyped under default typing")
+        void shouldIgnoreTypeInformation() throws Exception {
+            ObjectMapper typed = new ObjectMapper().activateDefaultTyping(
+                    LaissezFaireSubTypeValidator.instance, ObjectMapper.DefaultTyping.EVERYTHING);
+
+            assertThat(typed.writeValueAsString(new RawPayload(JSON, typed))).isEqualTo(JSON);
+        }
+    }
+
+    @Nested
+    @DisplayName("Deserializer")
+    class DeserializerTests {
+
+        @Test
+        @DisplayName("Should capture the payload subtree as raw JSON")
+        void shouldCaptureJson() throws Exception {
+            Holder holder = objectMapper.readValue("{\"payload\":" + JSON + "}", Holder.class);
+
+            assertThat(holder.payload).isInstanceOf(RawPayload.class);
+            assertThat(((RawPayload) holder.payload).getJson()).isEqualTo(JSON);
+        }
+
+        @Test
+        @DisplayName("Should read binary formats as generic values")
+        void shouldReadBinaryFormats() throws Exception {
+            ObjectMapper smile = new ObjectMapper(new SmileFactory());
+            byte[] data = smile.writeValueAsBytes(Map.of("payload", Map.of("orderId", "ORD-1")));
+
+            Holder holder = smile.readValue(data, Holder.class);
+
+            assertThat(holder.payload).isEqualTo(Map.of("orderId", "ORD-1"));
+        }
+    }
+
+    static class Holder {
+
+        @JsonDeserialize(using = RawPayload.Deserializer.class)
+        public Object payload;
+    }
+}
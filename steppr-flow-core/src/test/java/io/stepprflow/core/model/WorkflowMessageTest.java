@@ -1,5 +1,7 @@
 package io.stepprflow.core.model;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.stepprflow.core.id.IdGenerator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -7,6 +9,7 @@ import org.junit.jupiter.api.Test;
 
 import java.time.Instant;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -70,6 +73,18 @@ class WorkflowMessageTest {
             assertThat(message1.getExecutionId()).isNotEqualTo(message2.getExecutionId());
             assertThat(message1.getCorrelationId()).isNotEqualTo(message2.getCorrelationId());
         }
+
+        @Test
+        @DisplayName("Should take IDs from the given generator")
+        void shouldUseGivenIdGenerator() {
+            AtomicInteger sequence = new AtomicInteger();
+            IdGenerator ids = () -> "id-" + sequence.incrementAndGet();
+
+            WorkflowMessage message = WorkflowMessage.createNew("topic", "payload", ids);
+
+            assertThat(message.getExecutionId()).isEqualTo("id-1");
+            assertThat(message.getCorrelationId()).isEqualTo("id-2");
+        }
     }
 
     @Nested
@@ -239,6 +254,96 @@ class WorkflowMessageTest {
         }
     }
 
+    @Nested
+    @DisplayName("Raw JSON payload")
+    class RawPayloadTests {
+
+        private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+        private static final String PAYLOAD_JSON = "{\"b\":1,  \"a\":[true,null,\"x\"]}";
+
+        private WorkflowMessage read() throws Exception {
+            return objectMapper.readValue(
+                    "{\"executionId\":\"exec-1\",\"topic\":\"t\",\"createdAt\":\"2024-01-01T10:00:00Z\","
+                            + "\"payload\":" + PAYLOAD_JSON + "}",
+                    WorkflowMessage.class);
+        }
+
+        @Test
+        @DisplayName("Should keep payload as raw JSON without materializing it")
+        void shouldKeepPayloadRaw() throws Exception {
+            WorkflowMessage message = read();
+
+            assertThat(message.getRawPayload()).isNotNull();
+            assertThat(message.getRawPayload().isMaterialized()).isFalse();
+            assertThat(message.getRawPayload().getJson()).isEqualTo("{\"b\":1,\"a\":[true,null,\"x\"]}");
+        }
+
+        @Test
+        @DisplayName("Should materialize generic payload on first access")
+        void shouldMaterializeOnAccess() throws Exception {
+            WorkflowMessage message = read();
+
+            assertThat(message.getPayload()).isEqualTo(Map.of("b", 1, "a", java.util.Arrays.asList(true, null, "x")));
+            assertThat(message.getRawPayload().isMaterialized()).isTrue();
+        }
+
+        @Test
+        @DisplayName("Should forward unchanged payload to the next step as-is")
+        void shouldForwardRawPayload() throws Exception {
+            WorkflowMessage next = read().nextStep();
+
+            String json = objectMapper.writeValueAsString(next);
+
+            assertThat(next.getRawPayload()).isNotNull();
+            assertThat(next.getRawPayload().isMaterialized()).isFalse();
+            assertThat(json).contains("\"payload\":{\"b\":1,\"a\":[true,null,\"x\"]}");
+        }
+
+        @Test
+        @DisplayName("Should serialize replaced payload normally")
+        void shouldSerializeReplacedPayload() throws Exception {
+            WorkflowMessage message = read();
+            message.setPayload(Map.of("c", 2));
+
+            String json = objectMapper.writeValueAsString(message);
+
+            assertThat(message.getRawPayload()).isNull();
+            assertThat(json).contains("\"payload\":{\"c\":2}");
+        }
+
+        @Test
+        @DisplayName("Should round-trip null payload")
+        void shouldRoundTripNullPayload() throws Exception {
+            WorkflowMessage message = objectMapper.readValue(
+                    "{\"executionId\":\"exec-1\",\"payload\":null}", WorkflowMessage.class);
+
+            assertThat(message.getPayload()).isNull();
+            assertThat(objectMapper.writeValueAsString(message)).doesNotContain("payload\"");
+        }
+
+        @Test
+        @DisplayName("Should materialize raw payload when converting to a tree")
+        void shouldMaterializeWhenConverting() throws Exception {
+            WorkflowMessage message = read();
+
+            @SuppressWarnings("unchecked")
+            Map<String, Object> map = objectMapper.convertValue(message, Map.class);
+
+            assertThat(map.get("payload")).isEqualTo(message.getPayload());
+        }
+
+        @Test
+        @DisplayName("Should compare equal to a message with the materialized payload")
+        void shouldCompareEqualToMaterialized() throws Exception {
+            WorkflowMessage raw = read();
+            WorkflowMessage materialized = read();
+            materialized.setPayload(materialized.getPayload());
+
+            assertThat(raw).isEqualTo(materialized);
+        }
+    }
+
     // Test payload record
     record TestPayload(String data) {
     }
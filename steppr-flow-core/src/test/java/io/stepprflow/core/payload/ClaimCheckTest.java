@@ -0,0 +1,241 @@
+package io.stepprflow.core.payload;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.stepprflow.core.StepprFlowProperties;
+import io.stepprflow.core.exception.WorkflowException;
+import io.stepprflow.core.model.PayloadReference;
+import io.stepprflow.core.model.RawPayload;
+import io.stepprflow.core.model.WorkflowMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("ClaimCheck Tests")
+class ClaimCheckTest {
+
+    @TempDir
+    Path directory;
+
+    private ObjectMapper objectMapper;
+    private SimpleMeterRegistry meterRegistry;
+    private ClaimCheck claimCheck;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper();
+        meterRegistry = new SimpleMeterRegistry();
+        claimCheck = new ClaimCheck(objectMapper, new FileSystemPayloadStore(directory), 64, meterRegistry);
+    }
+
+    private WorkflowMessage message(Object payload) {
+        return WorkflowMessage.builder()
+                .executionId("exec-1")
+                .topic("orders")
+                .currentStep(1)
+                .payload(payload)
+                .build();
+    }
+
+    @Nested
+    @DisplayName("checkIn()")
+    class CheckInTests {
+
+        @Test
+        @DisplayName("Should keep small payloads inline")
+        void shouldKeepSmallPayloadInline() {
+            WorkflowMessage message = message(Map.of("id", 1));
+
+            assertThat(claimCheck.checkIn(message)).isSameAs(message);
+        }
+
+        @Test
+        @DisplayName("Should replace large payloads with a reference")
+        void shouldStoreLargePayload() {
+            WorkflowMessage message = message(Map.of("data", "x".repeat(100)));
+
+            WorkflowMessage sent = claimCheck.checkIn(message);
+
+            assertThat(sent.getWirePayload()).isNull();
+            assertThat(sent.getPayloadRef().getHash()).hasSize(64);
+            assertThat(sent.getPayloadRef().getSize()).isGreaterThan(100);
+            assertThat(message.getWirePayload()).isNotNull();
+            assertThat(meterRegistry.get("stepprflow.payload.claim-checks")
+                    .tag("topic", "orders").counter().count()).isEqualTo(1.0);
+        }
+
+        @Test
+        @DisplayName("Should record payload sizes per topic")
+        void shouldRecordSizes() {
+            claimCheck.checkIn(message(Map.of("id", 1)));
+            claimCheck.checkIn(message(Map.of("data", "x".repeat(100))));
+
+            assertThat(meterRegistry.get("stepprflow.payload.size")
+                    .tag("topic", "orders").summary().count()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Should send a resolved unchanged payload as its reference")
+        void shouldReuseReference() {
+            WorkflowMessage sent = claimCheck.checkIn(message(Map.of("data", "x".repeat(100))));
+            WorkflowMessage next = claimCheck.resolve(sent).nextStep();
+
+            WorkflowMessage resent = claimCheck.checkIn(next);
+
+            assertThat(resent.getWirePayload()).isNull();
+            assertThat(resent.getPayloadRef()).isEqualTo(sent.getPayloadRef());
+        }
+
+        @Test
+        @DisplayName("Should store a replaced payload again")
+        void shouldStoreReplacedPayload() {
+            WorkflowMessage sent = claimCheck.checkIn(message(Map.of("data", "x".repeat(100))));
+            WorkflowMessage resolved = claimCheck.resolve(sent);
+
+            resolved.setPayload(Map.of("data", "y".repeat(100)));
+            WorkflowMessage resent = claimCheck.checkIn(resolved);
+
+            assertThat(resent.getPayloadRef().getHash()).isNotEqualTo(sent.getPayloadRef().getHash());
+        }
+
+        @Test
+        @DisplayName("Should fail when the payload cannot be stored")
+        void shouldFailOnStoreError() {
+            PayloadStore failing = new PayloadStore() {
+                @Override
+                public String put(String hash, byte[] content) throws IOException {
+                    throw new IOException("disk full");
+                }
+
+                @Override
+                public ByteBuffer get(String location) {
+                    throw new UnsupportedOperationException();
+                }
+            };
+            ClaimCheck check = new ClaimCheck(objectMapper, failing, 64, null);
+
+            assertThatThrownBy(() -> check.checkIn(message(Map.of("data", "x".repeat(100)))))
+                    .isInstanceOf(WorkflowException.class)
+                    .hasMessageContaining("Cannot store payload of execution exec-1")
+                    .hasCauseInstanceOf(IOException.class);
+        }
+
+        @Test
+        @DisplayName("Should default to a file system store in the configured directory")
+        void shouldDefaultToFileSystemStore() throws IOException {
+            StepprFlowProperties properties = new StepprFlowProperties();
+            properties.getClaimCheck().setDirectory(directory.toString());
+            properties.getClaimCheck().setThreshold(64);
+            ClaimCheck check = new ClaimCheck(objectMapper, properties,
+                    new StaticListableBeanFactory().getBeanProvider(PayloadStore.class), null);
+
+            WorkflowMessage sent = check.checkIn(message(Map.of("data", "x".repeat(100))));
+
+            String hash = sent.getPayloadRef().getHash();
+            assertThat(Files.exists(directory.resolve(hash.substring(0, 2)).resolve(hash))).isTrue();
+        }
+
+        @Test
+        @DisplayName("Should fail when the payload cannot be serialized")
+        void shouldFailOnSerializationError() {
+            assertThatThrownBy(() -> claimCheck.checkIn(message(new Object())))
+                    .isInstanceOf(WorkflowException.class)
+                    .hasMessageContaining("Cannot serialize payload");
+        }
+
+        @Test
+        @DisplayName("Should store raw JSON payloads without serializing them again")
+        void shouldStoreRawPayload() {
+            String json = "{\"data\":\"" + "x".repeat(100) + "\"}";
+
+            WorkflowMessage sent = claimCheck.checkIn(message(new RawPayload(json, objectMapper)));
+
+            assertThat(sent.getPayloadRef().getSize()).isEqualTo(json.length());
+        }
+    }
+
+    @Nested
+    @DisplayName("resolve()")
+    class ResolveTests {
+
+        @Test
+        @DisplayName("Should load the stored payload as raw JSON")
+        void shouldResolvePayload() {
+            WorkflowMessage sent = claimCheck.checkIn(message(Map.of("data", "x".repeat(100))));
+
+            WorkflowMessage received = claimCheck.resolve(sent);
+
+            assertThat(received.getRawPayload()).isInstanceOf(RawPayload.class);
+            assertThat(received.getPayload()).isEqualTo(Map.of("data", "x".repeat(100)));
+            assertThat(received.getPayloadRef()).isEqualTo(sent.getPayloadRef());
+        }
+
+        @Test
+        @DisplayName("Should leave messages carrying their payload unchanged")
+        void shouldIgnoreInlinePayload() {
+            WorkflowMessage message = message(Map.of("id", 1));
+
+            assertThat(claimCheck.resolve(message)).isSameAs(message);
+        }
+
+        @Test
+        @DisplayName("Should reject a payload that does not match its hash")
+        void shouldRejectTamperedPayload() throws IOException {
+            WorkflowMessage sent = claimCheck.checkIn(message(Map.of("data", "x".repeat(100))));
+            String hash = sent.getPayloadRef().getHash();
+            Files.writeString(directory.resolve(hash.substring(0, 2)).resolve(hash), "{}",
+                    StandardCharsets.UTF_8);
+
+            assertThatThrownBy(() -> claimCheck.resolve(sent))
+                    .isInstanceOf(WorkflowException.class)
+                    .hasMessageContaining("does not match its hash");
+        }
+
+        @Test
+        @DisplayName("Should fail when the stored payload cannot be read")
+        void shouldFailOnStoreError() {
+            PayloadStore failing = new PayloadStore() {
+                @Override
+                public String put(String hash, byte[] content) {
+                    return hash;
+                }
+
+                @Override
+                public ByteBuffer get(String location) throws IOException {
+                    throw new IOException("connection reset");
+                }
+            };
+            ClaimCheck check = new ClaimCheck(objectMapper, failing, 64, null);
+            WorkflowMessage sent = check.checkIn(message(Map.of("data", "x".repeat(100))));
+
+            assertThatThrownBy(() -> check.resolve(sent))
+                    .isInstanceOf(WorkflowException.class)
+                    .hasMessageContaining("Cannot read payload of execution exec-1")
+                    .hasCauseInstanceOf(IOException.class);
+        }
+
+        @Test
+        @DisplayName("Should reject locations that are not a hash")
+        void shouldRejectInvalidLocation() {
+            WorkflowMessage message = message(null).toBuilder()
+                    .payloadRef(PayloadReference.builder().location("../../etc/passwd").hash("0").build())
+                    .build();
+
+            assertThatThrownBy(() -> claimCheck.resolve(message))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+}
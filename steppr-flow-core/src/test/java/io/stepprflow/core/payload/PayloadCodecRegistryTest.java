@@ -0,0 +1,198 @@
+package io.stepprflow.core.payload;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.stepprflow.core.StepprFlowProperties;
+import io.stepprflow.core.model.RawPayload;
+import io.stepprflow.core.model.WorkflowMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("PayloadCodecRegistry Tests")
+class PayloadCodecRegistryTest {
+
+    private ObjectMapper objectMapper;
+    private SimpleMeterRegistry meterRegistry;
+    private PayloadCodecRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper();
+        meterRegistry = new SimpleMeterRegistry();
+        registry = new PayloadCodecRegistry(objectMapper, List.of("io.stepprflow.core.payload"), meterRegistry);
+    }
+
+    @Nested
+    @DisplayName("Type resolution")
+    class TypeResolutionTests {
+
+        @Test
+        @DisplayName("Should resolve trusted type once and serve later lookups from cache")
+        void shouldCacheResolvedType() {
+            PayloadCodec first = registry.forType(OrderPayload.class.getName()).orElseThrow();
+            PayloadCodec second = registry.forType(OrderPayload.class.getName()).orElseThrow();
+
+            assertThat(second).isSameAs(first);
+            assertThat(first.getType()).isEqualTo(OrderPayload.class);
+            assertThat(registry.getMissCount()).isEqualTo(1);
+            assertThat(registry.getHitCount()).isEqualTo(1);
+            assertThat(meterRegistry.get("stepprflow.payload.codec.lookups")
+                    .tag("result", "hit").counter().count()).isEqualTo(1.0);
+        }
+
+        @Test
+        @DisplayName("Should not resolve types outside trusted packages")
+        void shouldRejectUntrustedType() {
+            assertThat(registry.forType("com.example.Exploit")).isEmpty();
+            assertThat(registry.isTrusted("com.example.Exploit")).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should resolve explicitly registered types in any package")
+        void shouldResolveRegisteredType() {
+            PayloadCodec codec = registry.register(StringBuilder.class);
+
+            assertThat(registry.forType(StringBuilder.class.getName())).containsSame(codec);
+        }
+
+        @Test
+        @DisplayName("Should trust JDK value types")
+        void shouldTrustJdkValueTypes() {
+            assertThat(registry.forType("java.lang.String")).isPresent();
+            assertThat(registry.forType("java.util.LinkedHashMap")).isPresent();
+        }
+
+        @Test
+        @DisplayName("Should return empty for unknown class in trusted package")
+        void shouldReturnEmptyForUnknownClass() {
+            assertThat(registry.forType("io.stepprflow.core.payload.DoesNotExist")).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should reject wildcard trusted packages")
+        void shouldRejectWildcardTrustedPackages() {
+            assertThatThrownBy(() -> new PayloadCodecRegistry(objectMapper, List.of("*"), null))
+                    .isInstanceOf(SecurityException.class);
+        }
+
+        @Test
+        @DisplayName("Should trust Kafka and RabbitMQ packages from properties")
+        void shouldTrustPackagesFromProperties() {
+            StepprFlowProperties properties = new StepprFlowProperties();
+            properties.getKafka().setTrustedPackages(List.of("com.acme.kafka"));
+            properties.getRabbitmq().setTrustedPackages(List.of("com.acme.rabbit"));
+
+            PayloadCodecRegistry fromProperties = new PayloadCodecRegistry(objectMapper, properties, null);
+
+            assertThat(fromProperties.isTrusted("com.acme.kafka.Order")).isTrue();
+            assertThat(fromProperties.isTrusted("com.acme.rabbit.Order")).isTrue();
+            assertThat(fromProperties.isTrusted("com.acme.other.Order")).isFalse();
+        }
+    }
+
+    @Nested
+    @DisplayName("decode()")
+    class DecodeTests {
+
+        @Test
+        @DisplayName("Should bind map payload to declared type and record decode time")
+        void shouldBindMapPayload() {
+            Map<String, Object> payload = new LinkedHashMap<>();
+            payload.put("orderId", "ORD-1");
+            payload.put("quantity", 3);
+            WorkflowMessage message = message(payload, OrderPayload.class.getName());
+
+            Object result = registry.decode(message);
+
+            assertThat(result).isEqualTo(new OrderPayload("ORD-1", 3));
+            assertThat(meterRegistry.get("stepprflow.payload.decode")
+                    .tag("topic", "orders").timer().count()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should bind raw JSON bytes directly")
+        void shouldBindRawBytes() {
+            byte[] json = "{\"orderId\":\"ORD-2\",\"quantity\":7}".getBytes(StandardCharsets.UTF_8);
+
+            Object result = registry.decode(message(json, OrderPayload.class.getName()));
+
+            assertThat(result).isEqualTo(new OrderPayload("ORD-2", 7));
+        }
+
+        @Test
+        @DisplayName("Should bind raw JSON payload without materializing it")
+        void shouldBindRawPayload() {
+            RawPayload raw = new RawPayload("{\"orderId\":\"ORD-5\",\"quantity\":4}", objectMapper);
+
+            Object result = registry.decode(message(raw, OrderPayload.class.getName()));
+
+            assertThat(result).isEqualTo(new OrderPayload("ORD-5", 4));
+            assertThat(raw.isMaterialized()).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should materialize raw JSON payload when no type is known")
+        void shouldMaterializeRawPayloadWithoutType() {
+            RawPayload raw = new RawPayload("{\"key\":\"value\"}", objectMapper);
+
+            assertThat(registry.decode(message(raw, null))).isEqualTo(Map.of("key", "value"));
+        }
+
+        @Test
+        @DisplayName("Should return typed payload as-is")
+        void shouldReturnTypedPayloadAsIs() {
+            OrderPayload payload = new OrderPayload("ORD-3", 1);
+
+            assertThat(registry.decode(message(payload, OrderPayload.class.getName()))).isSameAs(payload);
+        }
+
+        @Test
+        @DisplayName("Should return raw payload for untrusted type")
+        void shouldReturnRawPayloadForUntrustedType() {
+            Map<String, Object> payload = Map.of("key", "value");
+
+            assertThat(registry.decode(message(payload, "com.example.Exploit"))).isSameAs(payload);
+        }
+
+        @Test
+        @DisplayName("Should report binding failures as IllegalArgumentException")
+        void shouldReportBindingFailure() {
+            byte[] json = "not json".getBytes(StandardCharsets.UTF_8);
+            WorkflowMessage message = message(json, OrderPayload.class.getName());
+
+            assertThatThrownBy(() -> registry.decode(message))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+
+        @Test
+        @DisplayName("Should encode payload to JSON bytes")
+        void shouldEncodePayload() throws Exception {
+            PayloadCodec codec = registry.register(OrderPayload.class);
+
+            byte[] bytes = codec.encode(new OrderPayload("ORD-4", 2));
+
+            assertThat(codec.decode(bytes)).isEqualTo(new OrderPayload("ORD-4", 2));
+        }
+
+        private WorkflowMessage message(Object payload, String payloadType) {
+            return WorkflowMessage.builder()
+                    .topic("orders")
+                    .payload(payload)
+                    .payloadType(payloadType)
+                    .build();
+        }
+    }
+
+    record OrderPayload(String orderId, int quantity) {
+    }
+}
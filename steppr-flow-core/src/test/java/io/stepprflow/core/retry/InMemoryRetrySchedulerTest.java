@@ -0,0 +1,95 @@
+package io.stepprflow.core.retry;
+
+import io.stepprflow.core.StepprFlowProperties;
+import io.stepprflow.core.broker.MessageBroker;
+import io.stepprflow.core.model.RetryInfo;
+import io.stepprflow.core.model.WorkflowMessage;
+import io.stepprflow.core.model.WorkflowStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("InMemoryRetryScheduler Tests")
+class InMemoryRetrySchedulerTest {
+
+    @Mock
+    private MessageBroker messageBroker;
+
+    private InMemoryRetryScheduler scheduler;
+
+    private final WorkflowMessage retryMessage = WorkflowMessage.builder()
+            .executionId("exec-1")
+            .topic("orders")
+            .currentStep(2)
+            .status(WorkflowStatus.RETRY_PENDING)
+            .retryInfo(RetryInfo.builder().attempt(2).maxAttempts(3).build())
+            .build();
+
+    @BeforeEach
+    void setUp() {
+        StepprFlowProperties properties = new StepprFlowProperties();
+        properties.getRetry().getTimer().setMaxDelay(Duration.ofSeconds(5));
+        properties.getRetry().getTimer().setTick(Duration.ofMillis(5));
+        scheduler = new InMemoryRetryScheduler(messageBroker, properties, null);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        scheduler.destroy();
+    }
+
+    @Test
+    @DisplayName("Should send due retries back to the workflow topic")
+    void shouldSendDueRetry() {
+        assertThat(scheduler.schedule(retryMessage, "orders", "orders.retry", Duration.ofMillis(20))).isTrue();
+
+        ArgumentCaptor<WorkflowMessage> captor = ArgumentCaptor.forClass(WorkflowMessage.class);
+        verify(messageBroker, timeout(2000)).send(eq("orders"), captor.capture());
+        assertThat(captor.getValue().getStatus()).isEqualTo(WorkflowStatus.IN_PROGRESS);
+        assertThat(captor.getValue().getRetryInfo().getAttempt()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should decline delays longer than the maximum")
+    void shouldDeclineLongDelay() {
+        assertThat(scheduler.schedule(retryMessage, "orders", "orders.retry", Duration.ofMinutes(1))).isFalse();
+        assertThat(scheduler.getPendingCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should fall back to the retry topic when the workflow topic fails")
+    void shouldFallBackOnSendFailure() {
+        doThrow(new IllegalStateException("broker down")).when(messageBroker).send(eq("orders"), any());
+
+        scheduler.schedule(retryMessage, "orders", "orders.retry", Duration.ZERO);
+
+        verify(messageBroker, timeout(2000)).send("orders.retry", retryMessage);
+    }
+
+    @Test
+    @DisplayName("Should send pending retries to the retry topic on shutdown")
+    void shouldFlushOnShutdown() throws InterruptedException {
+        scheduler.schedule(retryMessage, "orders", "orders.retry", Duration.ofSeconds(5));
+
+        scheduler.destroy();
+
+        verify(messageBroker).send("orders.retry", retryMessage);
+        verify(messageBroker, never()).send(eq("orders"), any());
+    }
+}
@@ -0,0 +1,88 @@
+package io.stepprflow.core.retry;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("TimingWheel Tests")
+class TimingWheelTest {
+
+    private TimingWheel<String> wheel;
+
+    @AfterEach
+    void tearDown() {
+        if (wheel != null) {
+            wheel.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("Should expire items after their delay, in deadline order")
+    void shouldExpireInOrder() throws InterruptedException {
+        List<String> expired = new CopyOnWriteArrayList<>();
+        CountDownLatch latch = new CountDownLatch(3);
+        wheel = new TimingWheel<>("test-wheel", Duration.ofMillis(5), 8, 100, item -> {
+            expired.add(item);
+            latch.countDown();
+        });
+
+        // Longer than a turn of the wheel (8 x 5 ms)
+        wheel.schedule("late", Duration.ofMillis(150));
+        wheel.schedule("early", Duration.ofMillis(20));
+        wheel.schedule("middle", Duration.ofMillis(60));
+
+        assertThat(latch.await(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(expired).containsExactly("early", "middle", "late");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should never expire items before their delay")
+    void shouldNotExpireEarly() throws InterruptedException {
+        Map<String, Long> expiredAt = new ConcurrentHashMap<>();
+        CountDownLatch latch = new CountDownLatch(1);
+        wheel = new TimingWheel<>("test-wheel", Duration.ofMillis(10), 4, 100, item -> {
+            expiredAt.put(item, System.nanoTime());
+            latch.countDown();
+        });
+        long scheduledAt = System.nanoTime();
+
+        wheel.schedule("item", Duration.ofMillis(100));
+
+        assertThat(latch.await(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(expiredAt.get("item") - scheduledAt).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+    }
+
+    @Test
+    @DisplayName("Should reject items beyond its capacity")
+    void shouldRejectWhenFull() {
+        wheel = new TimingWheel<>("test-wheel", Duration.ofMillis(10), 8, 2, item -> { });
+
+        assertThat(wheel.schedule("a", Duration.ofMinutes(1))).isTrue();
+        assertThat(wheel.schedule("b", Duration.ofMinutes(1))).isTrue();
+        assertThat(wheel.schedule("c", Duration.ofMinutes(1))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should return pending items on stop and reject new ones")
+    void shouldReturnPendingOnStop() {
+        wheel = new TimingWheel<>("test-wheel", Duration.ofMillis(10), 8, 100, item -> { });
+        wheel.schedule("a", Duration.ofMinutes(1));
+        wheel.schedule("b", Duration.ofMinutes(2));
+
+        List<String> pending = wheel.stop();
+
+        assertThat(pending).containsExactlyInAnyOrder("a", "b");
+        assertThat(wheel.schedule("c", Duration.ZERO)).isFalse();
+    }
+}
@@ -10,6 +10,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.Duration;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.when;
@@ -143,4 +144,53 @@ class BackoffCalculatorTest {
             assertThat(backoff).isEqualTo(Duration.ofSeconds(3));
         }
     }
+
+    @Nested
+    @DisplayName("Jitter")
+    class JitterTests {
+
+        @Test
+        @DisplayName("Should keep full jitter between zero and the delay")
+        void shouldApplyFullJitter() {
+            retryConfig.setJitter(StepprFlowProperties.Retry.Jitter.FULL);
+
+            for (int i = 0; i < 100; i++) {
+                assertThat(calculator.calculate(3)).isBetween(Duration.ZERO, Duration.ofSeconds(4));
+            }
+        }
+
+        @Test
+        @DisplayName("Should keep equal jitter between half the delay and the delay")
+        void shouldApplyEqualJitter() {
+            retryConfig.setJitter(StepprFlowProperties.Retry.Jitter.EQUAL);
+
+            for (int i = 0; i < 100; i++) {
+                assertThat(calculator.calculate(3)).isBetween(Duration.ofSeconds(2), Duration.ofSeconds(4));
+            }
+        }
+
+        @Test
+        @DisplayName("Should delegate static jitter to the retry policy")
+        @SuppressWarnings("deprecation")
+        void shouldDelegateStaticJitter() {
+            long delayMs = calculator.calculate(2).toMillis();
+
+            assertThat(BackoffCalculator.jitter(delayMs, StepprFlowProperties.Retry.Jitter.NONE)).isEqualTo(2000);
+            assertThat(BackoffCalculator.jitter(delayMs, StepprFlowProperties.Retry.Jitter.EQUAL))
+                    .isBetween(1000L, 2000L);
+        }
+
+        @Test
+        @DisplayName("Should spread jittered delays")
+        void shouldSpreadDelays() {
+            retryConfig.setJitter(StepprFlowProperties.Retry.Jitter.FULL);
+
+            long distinct = IntStream.range(0, 50)
+                    .mapToObj(i -> calculator.calculate(5))
+                    .distinct()
+                    .count();
+
+            assertThat(distinct).isGreaterThan(1);
+        }
+    }
 }
@@ -1,5 +1,6 @@
 package io.stepprflow.core.service;
 
+import io.stepprflow.core.invoker.MethodInvokers;
 import io.stepprflow.core.model.WorkflowMessage;
 import io.stepprflow.core.model.WorkflowStatus;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,13 +11,18 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.time.Instant;
 import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("CallbackMethodInvoker Tests")
@@ -170,6 +176,53 @@ class CallbackMethodInvokerTest {
             // Method should not be invoked
             assertThat(handler.unsupportedCalled).isFalse();
         }
+
+        @Test
+        @DisplayName("Should skip unsupported methods in invokeRaw()")
+        void shouldSkipUnsupportedRaw() throws Exception {
+            Method method = TestCallbackHandler.class.getDeclaredMethod("unsupportedThreeParams", Object.class, Throwable.class, String.class);
+
+            invoker.invokeRaw(method, handler, testMessage, new RuntimeException("error"));
+
+            assertThat(handler.unsupportedCalled).isFalse();
+        }
+    }
+
+    @Nested
+    @DisplayName("Pre-compiled callbacks and failures")
+    class CompiledCallbackTests {
+
+        @Test
+        @DisplayName("Should invoke a pre-compiled callback with the deserialized payload")
+        void shouldInvokeCompiledCallback() throws Exception {
+            Method method = TestCallbackHandler.class.getDeclaredMethod("onSuccessWithPayload", Object.class);
+
+            invoker.invoke(MethodInvokers.forCallback(method), handler, testMessage, null);
+
+            assertThat(handler.payloadReceived).isEqualTo(testMessage.getPayload());
+            verify(payloadDeserializer).deserialize(testMessage);
+        }
+
+        @Test
+        @DisplayName("Should rethrow exceptions of the callback unchanged")
+        void shouldRethrowExceptions() throws Exception {
+            Method method = TestCallbackHandler.class.getDeclaredMethod("onSuccessFailing");
+
+            assertThatThrownBy(() -> invoker.invoke(method, handler, testMessage, null))
+                    .isInstanceOf(IOException.class)
+                    .hasMessage("callback failed");
+        }
+
+        @Test
+        @DisplayName("Should wrap errors of the callback in an InvocationTargetException")
+        void shouldWrapErrors() throws Exception {
+            Method method = TestCallbackHandler.class.getDeclaredMethod("onSuccessFatal");
+
+            assertThatThrownBy(() -> invoker.invokeRaw(method, handler, testMessage, null))
+                    .isInstanceOf(InvocationTargetException.class)
+                    .cause()
+                    .isInstanceOf(LinkageError.class);
+        }
     }
 
     @Nested
@@ -197,6 +250,19 @@ class CallbackMethodInvokerTest {
             assertThat(handler.payloadReceived).isEqualTo(testMessage.getPayload());
             assertThat(handler.errorReceived).isEqualTo(error);
         }
+
+        @Test
+        @DisplayName("Should use raw payload with a pre-compiled callback")
+        void shouldUseRawPayloadWithCompiledCallback() throws Exception {
+            Method method = TestCallbackHandler.class.getDeclaredMethod("onFailureWithPayloadAndError", Object.class, Throwable.class);
+            RuntimeException error = new RuntimeException("Test error");
+
+            invoker.invokeRaw(MethodInvokers.forCallback(method), handler, testMessage, error);
+
+            assertThat(handler.payloadReceived).isEqualTo(testMessage.getPayload());
+            assertThat(handler.errorReceived).isEqualTo(error);
+            verifyNoInteractions(payloadDeserializer);
+        }
     }
 
     // Test callback handler class
@@ -239,6 +305,14 @@ class CallbackMethodInvokerTest {
             stringReceived = str;
         }
 
+        public void onSuccessFailing() throws IOException {
+            throw new IOException("callback failed");
+        }
+
+        public void onSuccessFatal() {
+            throw new LinkageError("callback class broken");
+        }
+
         public void unsupportedThreeParams(Object payload, Throwable error, String extra) {
             unsupportedCalled = true;
         }
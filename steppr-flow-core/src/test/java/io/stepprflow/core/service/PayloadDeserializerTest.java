@@ -2,12 +2,14 @@ package io.stepprflow.core.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.stepprflow.core.model.WorkflowMessage;
+import io.stepprflow.core.payload.PayloadCodecRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -21,7 +23,8 @@ class PayloadDeserializerTest {
     @BeforeEach
     void setUp() {
         objectMapper = new ObjectMapper();
-        deserializer = new PayloadDeserializer(objectMapper);
+        deserializer = new PayloadDeserializer(new PayloadCodecRegistry(
+                objectMapper, List.of("io.stepprflow.core.service"), null));
     }
 
     @Nested
@@ -109,6 +112,20 @@ class PayloadDeserializerTest {
             assertThat(result).isEqualTo(payload);
         }
 
+        @Test
+        @DisplayName("Should return raw payload when type is outside trusted packages")
+        void shouldReturnRawPayloadWhenTypeNotTrusted() throws Exception {
+            Map<String, Object> payload = Map.of("key", "value");
+            WorkflowMessage message = WorkflowMessage.builder()
+                    .payload(payload)
+                    .payloadType("org.example.gadget.Exploit")
+                    .build();
+
+            Object result = deserializer.deserialize(message);
+
+            assertThat(result).isSameAs(payload);
+        }
+
         @Test
         @DisplayName("Should handle String payload")
         void shouldHandleStringPayload() throws Exception {
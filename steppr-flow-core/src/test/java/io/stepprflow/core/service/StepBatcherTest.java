@@ -0,0 +1,136 @@
+package io.stepprflow.core.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.stepprflow.core.StepprFlowProperties;
+import io.stepprflow.core.model.ExecutionPlan;
+import io.stepprflow.core.model.StepDefinition;
+import io.stepprflow.core.model.WorkflowDefinition;
+import io.stepprflow.core.model.WorkflowMessage;
+import io.stepprflow.core.payload.PayloadCodecRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("StepBatcher Tests")
+class StepBatcherTest {
+
+    private StepDeadlineExecutor deadlineExecutor;
+    private StepBatcher batcher;
+    private TestWorkflow workflow;
+    private ExecutorService callers;
+
+    @BeforeEach
+    void setUp() {
+        StepprFlowProperties properties = new StepprFlowProperties();
+        deadlineExecutor = new StepDeadlineExecutor(properties, null);
+        batcher = new StepBatcher(deadlineExecutor,
+                new PayloadCodecRegistry(new ObjectMapper(), List.of("io.stepprflow.core.model"), null));
+        workflow = new TestWorkflow();
+        callers = Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+        batcher.destroy();
+        deadlineExecutor.destroy();
+    }
+
+    @Test
+    @DisplayName("Should invoke the step once for a full batch")
+    void shouldRunFullBatchOnce() throws Exception {
+        ExecutionPlan plan = plan("collect", 3, Duration.ofMinutes(1));
+
+        List<Future<?>> results = List.of(
+                submit(plan, "exec-1"), submit(plan, "exec-2"), submit(plan, "exec-3"));
+        for (Future<?> result : results) {
+            result.get(5, TimeUnit.SECONDS);
+        }
+
+        assertThat(workflow.batches).hasSize(1);
+        assertThat(workflow.batches.get(0)).containsExactlyInAnyOrder("exec-1", "exec-2", "exec-3");
+        assertThat(batcher.getPendingCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should run a partial batch once its linger time has passed")
+    void shouldRunLingeringBatch() throws Exception {
+        ExecutionPlan plan = plan("collect", 10, Duration.ofMillis(20));
+
+        submit(plan, "exec-1").get(5, TimeUnit.SECONDS);
+
+        assertThat(workflow.batches).containsExactly(List.of("exec-1"));
+    }
+
+    @Test
+    @DisplayName("Should report the batch failure to every caller")
+    void shouldPropagateFailureToEveryCaller() {
+        ExecutionPlan plan = plan("fail", 2, Duration.ofMinutes(1));
+
+        Future<?> first = submit(plan, "exec-1");
+        Future<?> second = submit(plan, "exec-2");
+
+        for (Future<?> result : List.of(first, second)) {
+            assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(IllegalStateException.class);
+        }
+    }
+
+    private Future<?> submit(ExecutionPlan plan, String executionId) {
+        WorkflowMessage message = WorkflowMessage.builder()
+                .executionId(executionId)
+                .topic("orders")
+                .currentStep(1)
+                .totalSteps(1)
+                .payload(executionId)
+                .build();
+        return callers.submit(() -> {
+            batcher.execute(plan, plan.getStep(1), message);
+            return null;
+        });
+    }
+
+    private ExecutionPlan plan(String method, int batchSize, Duration linger) {
+        try {
+            StepDefinition step = StepDefinition.builder()
+                    .id(1)
+                    .label("Batch step")
+                    .method(TestWorkflow.class.getDeclaredMethod(method, List.class, List.class))
+                    .batchSize(batchSize)
+                    .batchLinger(linger)
+                    .build();
+            WorkflowDefinition definition = WorkflowDefinition.builder()
+                    .topic("orders")
+                    .handler(workflow)
+                    .steps(List.of(step))
+                    .build();
+            return ExecutionPlan.compile(definition, new StepprFlowProperties());
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static class TestWorkflow implements StepprFlow {
+        final List<List<String>> batches = new CopyOnWriteArrayList<>();
+
+        public void collect(List<Object> payloads, List<String> executionIds) {
+            batches.add(List.copyOf(executionIds));
+        }
+
+        public void fail(List<Object> payloads, List<String> executionIds) {
+            throw new IllegalStateException("bulk call failed");
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package io.stepprflow.core.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.stepprflow.core.StepprFlowProperties;
+import io.stepprflow.core.exception.StepTimeoutException;
+import io.stepprflow.core.exception.WorkflowTimeoutException;
+import io.stepprflow.core.metrics.WorkflowMetrics;
+import io.stepprflow.core.model.ExecutionPlan;
+import io.stepprflow.core.model.StepDefinition;
+import io.stepprflow.core.model.WorkflowDefinition;
+import io.stepprflow.core.model.WorkflowMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.InvocationTargetException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("StepDeadlineExecutor Tests")
+class StepDeadlineExecutorTest {
+
+    private StepprFlowProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private StepDeadlineExecutor executor;
+    private TestWorkflow workflow;
+
+    @BeforeEach
+    void setUp() {
+        properties = new StepprFlowProperties();
+        properties.getTimeout().setSweepInterval(Duration.ofMillis(10));
+        meterRegistry = new SimpleMeterRegistry();
+        executor = new StepDeadlineExecutor(properties, new WorkflowMetrics(meterRegistry));
+        workflow = new TestWorkflow();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.destroy();
+    }
+
+    @Nested
+    @DisplayName("Step timeout")
+    class StepTimeoutTests {
+
+        @Test
+        @DisplayName("Should run step inline when no timeout applies")
+        void shouldRunInlineWithoutTimeout() throws Exception {
+            ExecutionPlan plan = plan("recordThread", null, null);
+
+            executor.invoke(plan, plan.getStep(1), message(Instant.now()), "payload");
+
+            assertThat(workflow.thread).isSameAs(Thread.currentThread());
+        }
+
+        @Test
+        @DisplayName("Should run step on a virtual thread when a timeout applies")
+        void shouldRunOnVirtualThreadWithTimeout() throws Exception {
+            ExecutionPlan plan = plan("recordThread", Duration.ofSeconds(5), null);
+
+            executor.invoke(plan, plan.getStep(1), message(Instant.now()), "payload");
+
+            assertThat(workflow.thread).isNotSameAs(Thread.currentThread());
+            assertThat(workflow.thread.isVirtual()).isTrue();
+        }
+
+        @Test
+        @DisplayName("Should interrupt step and throw StepTimeoutException on expiry")
+        void shouldInterruptOnStepTimeout() throws Exception {
+            ExecutionPlan plan = plan("hang", Duration.ofMillis(50), null);
+
+            assertThatThrownBy(() -> executor.invoke(plan, plan.getStep(1), message(Instant.now()), "payload"))
+                    .isInstanceOf(StepTimeoutException.class)
+                    .satisfies(e -> assertThat(((StepTimeoutException) e).getElapsed())
+                            .isGreaterThanOrEqualTo(Duration.ofMillis(50)));
+
+            assertThat(workflow.interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(meterRegistry.get("stepprflow.step.timeout")
+                    .tag("step", "Step 1").counter().count()).isEqualTo(1.0);
+        }
+
+        @Test
+        @DisplayName("Should propagate step exceptions and wrap errors")
+        void shouldPropagateStepFailures() {
+            ExecutionPlan failing = plan("fail", Duration.ofSeconds(5), null);
+            ExecutionPlan erroring = plan("error", Duration.ofSeconds(5), null);
+
+            assertThatThrownBy(() -> executor.invoke(failing, failing.getStep(1), message(Instant.now()), "p"))
+                    .isInstanceOf(IllegalStateException.class);
+            assertThatThrownBy(() -> executor.invoke(erroring, erroring.getStep(1), message(Instant.now()), "p"))
+                    .isInstanceOf(InvocationTargetException.class)
+                    .hasCauseInstanceOf(AssertionError.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Workflow deadline")
+    class WorkflowDeadlineTests {
+
+        @Test
+        @DisplayName("Should fail fast without invoking step when deadline has passed")
+        void shouldFailFastWhenDeadlinePassed() {
+            ExecutionPlan plan = plan("recordThread", null, Duration.ofMinutes(1));
+            WorkflowMessage message = message(Instant.now().minus(Duration.ofMinutes(2)));
+
+            assertThatThrownBy(() -> executor.invoke(plan, plan.getStep(1), message, "payload"))
+                    .isInstanceOf(WorkflowTimeoutException.class)
+                    .hasMessageContaining("exec-1");
+
+            assertThat(workflow.thread).isNull();
+        }
+
+        @Test
+        @DisplayName("Should interrupt running step when sweeper finds deadline passed")
+        void shouldInterruptRunningStepOnDeadline() throws Exception {
+            ExecutionPlan plan = plan("hang", null, Duration.ofSeconds(1));
+            WorkflowMessage message = message(Instant.now().minus(Duration.ofMillis(900)));
+
+            assertThatThrownBy(() -> executor.invoke(plan, plan.getStep(1), message, "payload"))
+                    .isInstanceOf(WorkflowTimeoutException.class);
+
+            assertThat(workflow.interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(executor.getTrackedStepCount()).isZero();
+            assertThat(meterRegistry.get("stepprflow.step.timeout").counter().count()).isEqualTo(1.0);
+        }
+    }
+
+    private ExecutionPlan plan(String method, Duration stepTimeout, Duration workflowTimeout) {
+        try {
+            StepDefinition step = StepDefinition.builder()
+                    .id(1)
+                    .label("Step 1")
+                    .method(TestWorkflow.class.getDeclaredMethod(method, Object.class))
+                    .timeout(stepTimeout)
+                    .build();
+            WorkflowDefinition definition = WorkflowDefinition.builder()
+                    .topic("orders")
+                    .handler(workflow)
+                    .steps(List.of(step))
+                    .timeout(workflowTimeout)
+                    .build();
+            return ExecutionPlan.compile(definition, properties);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private WorkflowMessage message(Instant createdAt) {
+        return WorkflowMessage.builder()
+                .executionId("exec-1")
+                .topic("orders")
+                .currentStep(1)
+                .totalSteps(1)
+                .createdAt(createdAt)
+                .build();
+    }
+
+    static class TestWorkflow implements StepprFlow {
+        volatile Thread thread;
+        final CountDownLatch interrupted = new CountDownLatch(1);
+
+        public void recordThread(Object payload) {
+            thread = Thread.currentThread();
+        }
+
+        public void hang(Object payload) {
+            try {
+                Thread.sleep(Duration.ofSeconds(30));
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+        }
+
+        public void fail(Object payload) {
+            throw new IllegalStateException("failed");
+        }
+
+        public void error(Object payload) {
+            throw new AssertionError("error");
+        }
+    }
+}
@@ -2,9 +2,14 @@ package io.stepprflow.core.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.stepprflow.core.StepprFlowProperties;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.stepprflow.core.broker.MessageBroker;
+import io.stepprflow.core.metrics.WorkflowMetrics;
 import io.stepprflow.core.model.*;
 import io.stepprflow.core.model.*;
+import io.stepprflow.core.payload.PayloadCodecRegistry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -12,17 +17,26 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.lang.reflect.Method;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
@@ -37,13 +51,20 @@ class StepExecutorTest {
     @Mock
     private MessageBroker messageBroker;
 
-    @Mock
-    private StepprFlowProperties properties;
+    private final StepprFlowProperties properties = new StepprFlowProperties();
 
-    @Mock
-    private ObjectMapper objectMapper;
+    @Spy
+    private PayloadCodecRegistry payloadCodecs =
+            new PayloadCodecRegistry(new ObjectMapper(), List.of("io.stepprflow.core.model"), null);
+
+    private StepDeadlineExecutor deadlineExecutor;
+
+    private ParallelStepExecutor parallelExecutor;
+
+    private StepBatcher batcher;
+
+    private WorkflowFailureHandler failureHandler;
 
-    @InjectMocks
     private StepExecutor stepExecutor;
 
     @Captor
@@ -59,6 +80,17 @@ class StepExecutorTest {
     @BeforeEach
     void setUp() {
         testWorkflow = new TestWorkflow();
+        deadlineExecutor = new StepDeadlineExecutor(properties, null);
+        parallelExecutor = new ParallelStepExecutor(deadlineExecutor, payloadCodecs);
+        batcher = new StepBatcher(deadlineExecutor, payloadCodecs);
+        failureHandler = new WorkflowFailureHandler(
+                messageBroker,
+                properties,
+                new CallbackMethodInvoker(new PayloadDeserializer(payloadCodecs)),
+                new BackoffCalculator(properties),
+                new CoreMessageFactory());
+        stepExecutor = new StepExecutor(
+                registry, messageBroker, payloadCodecs, deadlineExecutor, parallelExecutor, batcher, failureHandler);
 
         // Ne pas mettre payloadType pour éviter l'appel à objectMapper.convertValue()
         // Le payload brut sera utilisé directement par deserializePayload()
@@ -74,6 +106,13 @@ class StepExecutorTest {
                 .build();
     }
 
+    @AfterEach
+    void tearDown() {
+        batcher.destroy();
+        parallelExecutor.destroy();
+        deadlineExecutor.destroy();
+    }
+
     @Nested
     @DisplayName("execute() method")
     class ExecuteTests {
@@ -81,7 +120,7 @@ class StepExecutorTest {
         @Test
         @DisplayName("Should skip execution when workflow definition is not found")
         void shouldSkipExecutionWhenDefinitionNotFound() {
-            when(registry.getDefinition("test-topic")).thenReturn(null);
+            when(registry.getPlan("test-topic")).thenReturn(null);
 
             stepExecutor.execute(testMessage);
 
@@ -96,7 +135,7 @@ class StepExecutorTest {
             StepDefinition step = createStepDefinition(99, "step1");
             testDefinition = createWorkflowDefinition(List.of(step));
 
-            when(registry.getDefinition("test-topic")).thenReturn(testDefinition);
+            givenPlan(testDefinition);
 
             stepExecutor.execute(testMessage);
 
@@ -111,7 +150,7 @@ class StepExecutorTest {
             StepDefinition step3 = createStepDefinition(3, "step3");
             testDefinition = createWorkflowDefinition(List.of(step1, step2, step3));
 
-            when(registry.getDefinition("test-topic")).thenReturn(testDefinition);
+            givenPlan(testDefinition);
 
             stepExecutor.execute(testMessage);
 
@@ -123,6 +162,21 @@ class StepExecutorTest {
             assertThat(testWorkflow.step1Called).isTrue();
         }
 
+        @Test
+        @DisplayName("Should advance to the next declared step when step IDs are sparse")
+        void shouldAdvanceToNextDeclaredStep() throws Exception {
+            StepDefinition step1 = createStepDefinition(1, "step1");
+            StepDefinition step3 = createStepDefinition(3, "step3");
+            testDefinition = createWorkflowDefinition(List.of(step1, step3));
+
+            givenPlan(testDefinition);
+
+            stepExecutor.execute(testMessage);
+
+            verify(messageBroker).send(eq("test-topic"), messageCaptor.capture());
+            assertThat(messageCaptor.getValue().getCurrentStep()).isEqualTo(3);
+        }
+
         @Test
         @DisplayName("Should complete workflow on last step")
         void shouldCompleteWorkflowOnLastStep() throws Exception {
@@ -135,7 +189,7 @@ class StepExecutorTest {
             StepDefinition step3 = createStepDefinition(3, "step3");
             testDefinition = createWorkflowDefinition(List.of(step1, step2, step3));
 
-            when(registry.getDefinition("test-topic")).thenReturn(testDefinition);
+            givenPlan(testDefinition);
 
             stepExecutor.execute(testMessage);
 
@@ -158,12 +212,39 @@ class StepExecutorTest {
             Method onSuccessMethod = TestWorkflow.class.getDeclaredMethod("onSuccess", Object.class);
             testDefinition = createWorkflowDefinition(List.of(step1, step2, step3), onSuccessMethod, null);
 
-            when(registry.getDefinition("test-topic")).thenReturn(testDefinition);
+            givenPlan(testDefinition);
 
             stepExecutor.execute(testMessage);
 
             assertThat(testWorkflow.successCalled).isTrue();
         }
+
+        @Test
+        @DisplayName("Should complete the workflow when the success callback throws")
+        void shouldCompleteWhenSuccessCallbackThrows() throws Exception {
+            Method onSuccessMethod = TestWorkflow.class.getDeclaredMethod("failingOnSuccess", Object.class);
+            testDefinition = createWorkflowDefinition(List.of(createStepDefinition(1, "step1")), onSuccessMethod, null);
+            testMessage = testMessage.toBuilder().totalSteps(1).build();
+
+            givenPlan(testDefinition);
+
+            stepExecutor.execute(testMessage);
+
+            verify(messageBroker).send(eq("test-topic.completed"), any(WorkflowMessage.class));
+        }
+
+        @Test
+        @DisplayName("Should propagate errors thrown by the success callback")
+        void shouldPropagateSuccessCallbackErrors() throws Exception {
+            Method onSuccessMethod = TestWorkflow.class.getDeclaredMethod("fatalOnSuccess", Object.class);
+            testDefinition = createWorkflowDefinition(List.of(createStepDefinition(1, "step1")), onSuccessMethod, null);
+            testMessage = testMessage.toBuilder().totalSteps(1).build();
+
+            givenPlan(testDefinition);
+
+            assertThatThrownBy(() -> stepExecutor.execute(testMessage))
+                    .isInstanceOf(LinkageError.class);
+        }
     }
 
     @Nested
@@ -190,12 +271,12 @@ class StepExecutorTest {
         @Test
         @DisplayName("Should schedule retry on retryable exception")
         void shouldScheduleRetryOnRetryableException() throws Exception {
-            when(properties.getRetry()).thenReturn(retryConfig);
+            properties.setRetry(retryConfig);
 
             StepDefinition step = createFailingStepDefinition(1, "failingStep");
             testDefinition = createWorkflowDefinition(List.of(step));
 
-            when(registry.getDefinition("test-topic")).thenReturn(testDefinition);
+            givenPlan(testDefinition);
 
             stepExecutor.execute(testMessage);
 
@@ -212,7 +293,7 @@ class StepExecutorTest {
         @DisplayName("Should send to DLQ when retries exhausted")
         void shouldSendToDlqWhenRetriesExhausted() throws Exception {
             // Seulement getDlq() est utilisé car isExhausted() court-circuite l'appel à getRetry()
-            when(properties.getDlq()).thenReturn(dlqConfig);
+            properties.setDlq(dlqConfig);
 
             RetryInfo exhaustedRetry = RetryInfo.builder()
                     .attempt(3)
@@ -225,7 +306,7 @@ class StepExecutorTest {
             StepDefinition step = createFailingStepDefinition(1, "failingStep");
             testDefinition = createWorkflowDefinition(List.of(step));
 
-            when(registry.getDefinition("test-topic")).thenReturn(testDefinition);
+            givenPlan(testDefinition);
 
             stepExecutor.execute(testMessage);
 
@@ -240,13 +321,13 @@ class StepExecutorTest {
         @Test
         @DisplayName("Should send to DLQ on non-retryable exception")
         void shouldSendToDlqOnNonRetryableException() throws Exception {
-            when(properties.getRetry()).thenReturn(retryConfig);
-            when(properties.getDlq()).thenReturn(dlqConfig);
+            properties.setRetry(retryConfig);
+            properties.setDlq(dlqConfig);
 
             StepDefinition step = createIllegalArgumentStepDefinition(1, "illegalStep");
             testDefinition = createWorkflowDefinition(List.of(step));
 
-            when(registry.getDefinition("test-topic")).thenReturn(testDefinition);
+            givenPlan(testDefinition);
 
             stepExecutor.execute(testMessage);
 
@@ -261,7 +342,7 @@ class StepExecutorTest {
             StepDefinition step2 = createStepDefinition(2, "step2");
             testDefinition = createWorkflowDefinition(List.of(step1, step2));
 
-            when(registry.getDefinition("test-topic")).thenReturn(testDefinition);
+            givenPlan(testDefinition);
 
             stepExecutor.execute(testMessage);
 
@@ -274,7 +355,7 @@ class StepExecutorTest {
         @Test
         @DisplayName("Should call failure callback on DLQ")
         void shouldCallFailureCallbackOnDlq() throws Exception {
-            when(properties.getDlq()).thenReturn(dlqConfig);
+            properties.setDlq(dlqConfig);
 
             RetryInfo exhaustedRetry = RetryInfo.builder()
                     .attempt(3)
@@ -288,7 +369,7 @@ class StepExecutorTest {
             Method onFailureMethod = TestWorkflow.class.getDeclaredMethod("onFailure", Object.class, Throwable.class);
             testDefinition = createWorkflowDefinition(List.of(step), null, onFailureMethod);
 
-            when(registry.getDefinition("test-topic")).thenReturn(testDefinition);
+            givenPlan(testDefinition);
 
             stepExecutor.execute(testMessage);
 
@@ -296,6 +377,270 @@ class StepExecutorTest {
         }
     }
 
+    @Nested
+    @DisplayName("Timeout enforcement")
+    class TimeoutTests {
+
+        @Test
+        @DisplayName("Should schedule retry when step exceeds its timeout")
+        void shouldRetryOnStepTimeout() throws Exception {
+            StepDefinition step = createStepDefinition(1, "slowStep");
+            step.setTimeout(Duration.ofMillis(50));
+            testDefinition = createWorkflowDefinition(List.of(step));
+
+            givenPlan(testDefinition);
+
+            stepExecutor.execute(testMessage);
+
+            verify(messageBroker).send(eq("test-topic.retry"), messageCaptor.capture());
+            assertThat(messageCaptor.getValue().getRetryInfo().getLastError()).contains("timed out");
+        }
+
+        @Test
+        @DisplayName("Should send to DLQ without invoking step when workflow deadline has passed")
+        void shouldSendToDlqWhenWorkflowDeadlinePassed() throws Exception {
+            StepDefinition step1 = createStepDefinition(1, "step1");
+            StepDefinition step2 = createStepDefinition(2, "step2");
+            testDefinition = createWorkflowDefinition(List.of(step1, step2));
+            testDefinition.setTimeout(Duration.ofMinutes(1));
+            testMessage = testMessage.toBuilder()
+                    .createdAt(Instant.now().minus(Duration.ofMinutes(2)))
+                    .build();
+
+            givenPlan(testDefinition);
+
+            stepExecutor.execute(testMessage);
+
+            verify(messageBroker).send(eq("test-topic.dlq"), messageCaptor.capture());
+            assertThat(messageCaptor.getValue().getErrorInfo().getCode()).isEqualTo("WORKFLOW_TIMEOUT");
+            assertThat(testWorkflow.step1Called).isFalse();
+        }
+    }
+
+    @Nested
+    @DisplayName("In-process chaining")
+    class ChainingTests {
+
+        @Test
+        @DisplayName("Should run chained steps in-process and complete without step transitions")
+        void shouldRunChainedStepsInProcess() throws Exception {
+            StepDefinition step1 = chained(createStepDefinition(1, "step1"));
+            StepDefinition step2 = chained(createStepDefinition(2, "step2"));
+            StepDefinition step3 = createStepDefinition(3, "step3");
+            testDefinition = createWorkflowDefinition(List.of(step1, step2, step3));
+
+            givenPlan(testDefinition);
+
+            stepExecutor.execute(testMessage);
+
+            assertThat(testWorkflow.step1Called).isTrue();
+            assertThat(testWorkflow.step2Called).isTrue();
+            assertThat(testWorkflow.step3Called).isTrue();
+            verify(messageBroker, never()).send(eq("test-topic"), any());
+            verify(messageBroker).send(eq("test-topic.completed"), messageCaptor.capture());
+            assertThat(messageCaptor.getValue().getCurrentStep()).isEqualTo(3);
+        }
+
+        @Test
+        @DisplayName("Should send checkpoint message once the step budget is reached")
+        void shouldCheckpointAfterMaxSteps() throws Exception {
+            StepDefinition step1 = chained(createStepDefinition(1, "step1"));
+            step1.setChainMaxSteps(2);
+            StepDefinition step2 = chained(createStepDefinition(2, "step2"));
+            StepDefinition step3 = createStepDefinition(3, "step3");
+            testDefinition = createWorkflowDefinition(List.of(step1, step2, step3));
+
+            givenPlan(testDefinition);
+
+            stepExecutor.execute(testMessage);
+
+            assertThat(testWorkflow.step2Called).isTrue();
+            assertThat(testWorkflow.step3Called).isFalse();
+            verify(messageBroker).send(eq("test-topic"), messageCaptor.capture());
+            assertThat(messageCaptor.getValue().getCurrentStep()).isEqualTo(3);
+        }
+
+        @Test
+        @DisplayName("Should send checkpoint message once the time budget is spent")
+        void shouldCheckpointAfterMaxDuration() throws Exception {
+            StepDefinition step1 = chained(createStepDefinition(1, "step1"));
+            step1.setChainMaxDuration(Duration.ZERO);
+            StepDefinition step2 = createStepDefinition(2, "step2");
+            testDefinition = createWorkflowDefinition(List.of(step1, step2));
+
+            givenPlan(testDefinition);
+
+            stepExecutor.execute(testMessage);
+
+            assertThat(testWorkflow.step2Called).isFalse();
+            verify(messageBroker).send(eq("test-topic"), messageCaptor.capture());
+            assertThat(messageCaptor.getValue().getCurrentStep()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Should retry the failing step of a chain")
+        void shouldRetryFailingChainedStep() throws Exception {
+            StepDefinition step1 = chained(createStepDefinition(1, "step1"));
+            StepDefinition step2 = createFailingStepDefinition(2, "failingStep");
+            testDefinition = createWorkflowDefinition(List.of(step1, step2));
+
+            givenPlan(testDefinition);
+
+            stepExecutor.execute(testMessage);
+
+            verify(messageBroker).send(eq("test-topic.retry"), messageCaptor.capture());
+            assertThat(messageCaptor.getValue().getCurrentStep()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Should go through the broker when chaining is disabled")
+        void shouldIgnoreChainingWhenDisabled() throws Exception {
+            properties.getChaining().setEnabled(false);
+            StepDefinition step1 = chained(createStepDefinition(1, "step1"));
+            StepDefinition step2 = createStepDefinition(2, "step2");
+            testDefinition = createWorkflowDefinition(List.of(step1, step2));
+
+            givenPlan(testDefinition);
+
+            stepExecutor.execute(testMessage);
+
+            assertThat(testWorkflow.step2Called).isFalse();
+            verify(messageBroker).send(eq("test-topic"), any());
+        }
+
+        private StepDefinition chained(StepDefinition step) {
+            step.setChained(true);
+            return step;
+        }
+    }
+
+    @Nested
+    @DisplayName("Parallel groups")
+    class ParallelGroupTests {
+
+        @Test
+        @DisplayName("Should run group steps concurrently and advance past the group")
+        void shouldRunGroupConcurrently() throws Exception {
+            StepDefinition step1 = grouped(createStepDefinition(1, "branchA"), "checks");
+            StepDefinition step2 = grouped(createStepDefinition(2, "branchB"), "checks");
+            StepDefinition step3 = createStepDefinition(3, "step3");
+            testDefinition = createWorkflowDefinition(List.of(step1, step2, step3));
+
+            givenPlan(testDefinition);
+
+            stepExecutor.execute(testMessage);
+
+            // Each branch waits for the other one: both ran at the same time
+            assertThat(testWorkflow.branchesMet).isTrue();
+            verify(messageBroker).send(eq("test-topic"), messageCaptor.capture());
+            assertThat(messageCaptor.getValue().getCurrentStep()).isEqualTo(3);
+        }
+
+        @Test
+        @DisplayName("Should retry the group with the error of the failing step")
+        void shouldRetryGroupOnBranchFailure() throws Exception {
+            StepDefinition step1 = grouped(createStepDefinition(1, "step1"), "checks");
+            StepDefinition step2 = grouped(createFailingStepDefinition(2, "failingStep"), "checks");
+            StepDefinition step3 = createStepDefinition(3, "step3");
+            testDefinition = createWorkflowDefinition(List.of(step1, step2, step3));
+
+            givenPlan(testDefinition);
+
+            stepExecutor.execute(testMessage);
+
+            assertThat(testWorkflow.step1Called).isTrue();
+            verify(messageBroker).send(eq("test-topic.retry"), messageCaptor.capture());
+            WorkflowMessage retryMessage = messageCaptor.getValue();
+            assertThat(retryMessage.getCurrentStep()).isEqualTo(1);
+            assertThat(retryMessage.getRetryInfo().getLastError()).isEqualTo("Step failed intentionally");
+        }
+
+        @Test
+        @DisplayName("Should join past a failing step with continueOnFailure")
+        void shouldContinuePastTolerantBranchFailure() throws Exception {
+            StepDefinition step1 = grouped(createStepDefinition(1, "step1"), "checks");
+            StepDefinition step2 = grouped(createFailingStepDefinition(2, "failingStep", true), "checks");
+            StepDefinition step3 = createStepDefinition(3, "step3");
+            testDefinition = createWorkflowDefinition(List.of(step1, step2, step3));
+
+            givenPlan(testDefinition);
+
+            stepExecutor.execute(testMessage);
+
+            verify(messageBroker).send(eq("test-topic"), messageCaptor.capture());
+            assertThat(messageCaptor.getValue().getCurrentStep()).isEqualTo(3);
+            verify(messageBroker, never()).send(eq("test-topic.retry"), any());
+        }
+
+        private StepDefinition grouped(StepDefinition step, String group) {
+            step.setParallelGroup(group);
+            return step;
+        }
+    }
+
+    @Nested
+    @DisplayName("Batch steps")
+    class BatchStepTests {
+
+        @Test
+        @DisplayName("Should run concurrent executions in one batch and advance each of them")
+        void shouldBatchConcurrentExecutions() throws Exception {
+            StepDefinition step1 = createBatchStepDefinition(1, "batchStep");
+            StepDefinition step2 = createStepDefinition(2, "step2");
+            testDefinition = createWorkflowDefinition(List.of(step1, step2));
+            givenPlan(testDefinition);
+
+            runConcurrently(testMessage, testMessage.toBuilder().executionId("exec-456").build());
+
+            assertThat(testWorkflow.batchSizes).containsExactly(2);
+            verify(messageBroker, times(2)).send(eq("test-topic"), messageCaptor.capture());
+            assertThat(messageCaptor.getAllValues())
+                    .extracting(WorkflowMessage::getExecutionId, WorkflowMessage::getCurrentStep)
+                    .containsExactlyInAnyOrder(tuple("exec-123", 2), tuple("exec-456", 2));
+        }
+
+        @Test
+        @DisplayName("Should retry every execution of a failed batch")
+        void shouldRetryEachExecutionOfFailedBatch() throws Exception {
+            StepDefinition step1 = createBatchStepDefinition(1, "failingBatchStep");
+            StepDefinition step2 = createStepDefinition(2, "step2");
+            testDefinition = createWorkflowDefinition(List.of(step1, step2));
+            givenPlan(testDefinition);
+
+            runConcurrently(testMessage, testMessage.toBuilder().executionId("exec-456").build());
+
+            verify(messageBroker, times(2)).send(eq("test-topic.retry"), messageCaptor.capture());
+            assertThat(messageCaptor.getAllValues())
+                    .extracting(WorkflowMessage::getExecutionId)
+                    .containsExactlyInAnyOrder("exec-123", "exec-456");
+        }
+
+        private void runConcurrently(WorkflowMessage... messages) throws Exception {
+            ExecutorService consumers = Executors.newVirtualThreadPerTaskExecutor();
+            try {
+                List<Future<?>> results = new ArrayList<>();
+                for (WorkflowMessage message : messages) {
+                    results.add(consumers.submit(() -> stepExecutor.execute(message)));
+                }
+                for (Future<?> result : results) {
+                    result.get(5, TimeUnit.SECONDS);
+                }
+            } finally {
+                consumers.shutdownNow();
+            }
+        }
+
+        private StepDefinition createBatchStepDefinition(int id, String methodName) throws Exception {
+            return StepDefinition.builder()
+                    .id(id)
+                    .label(methodName)
+                    .method(TestWorkflow.class.getDeclaredMethod(methodName, List.class))
+                    .batchSize(2)
+                    .batchLinger(Duration.ofSeconds(5))
+                    .build();
+        }
+    }
+
     @Nested
     @DisplayName("Backoff calculation")
     class BackoffCalculationTests {
@@ -309,7 +654,7 @@ class StepExecutorTest {
             retryConfig.setMultiplier(2.0);
             retryConfig.setNonRetryableExceptions(List.of());
 
-            when(properties.getRetry()).thenReturn(retryConfig);
+            properties.setRetry(retryConfig);
         }
 
         @Test
@@ -323,7 +668,7 @@ class StepExecutorTest {
             StepDefinition step = createFailingStepDefinition(1, "failingStep");
             testDefinition = createWorkflowDefinition(List.of(step));
 
-            when(registry.getDefinition("test-topic")).thenReturn(testDefinition);
+            givenPlan(testDefinition);
 
             stepExecutor.execute(testMessage);
 
@@ -335,7 +680,108 @@ class StepExecutorTest {
         }
     }
 
+    @Nested
+    @DisplayName("Step phase timing")
+    class StepTimingTests {
+
+        private SimpleMeterRegistry meterRegistry;
+
+        @BeforeEach
+        void setUpMetrics() {
+            meterRegistry = new SimpleMeterRegistry();
+            stepExecutor = new StepExecutor(registry, messageBroker, payloadCodecs, deadlineExecutor,
+                    parallelExecutor, batcher, failureHandler, null, new WorkflowMetrics(meterRegistry));
+        }
+
+        @Test
+        @DisplayName("Should stamp the step timeline on the next step message")
+        void shouldStampTimelineOnNextMessage() throws Exception {
+            Instant sentAt = Instant.now().minusMillis(250);
+            testMessage.setUpdatedAt(sentAt);
+            testDefinition = createWorkflowDefinition(List.of(
+                    createStepDefinition(1, "step1"), createStepDefinition(2, "step2")));
+            givenPlan(testDefinition);
+
+            stepExecutor.execute(testMessage);
+
+            verify(messageBroker).send(eq("test-topic"), messageCaptor.capture());
+            StepTiming timing = messageCaptor.getValue().getStepTiming();
+            assertThat(timing).isNotNull();
+            assertThat(timing.getStepId()).isEqualTo(1);
+            assertThat(timing.getConsumedAt()).isAfterOrEqualTo(sentAt);
+            assertThat(timing.getQueueMicros()).isGreaterThanOrEqualTo(250_000);
+            assertThat(timing.getExecutionMicros()).isGreaterThanOrEqualTo(0);
+            assertThat(timing.getCallbackMicros()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should record every phase of the step as a timer")
+        void shouldRecordPhases() throws Exception {
+            testMessage.setUpdatedAt(Instant.now().minusMillis(250));
+            testDefinition = createWorkflowDefinition(List.of(
+                    createStepDefinition(1, "step1"), createStepDefinition(2, "step2")));
+            givenPlan(testDefinition);
+
+            stepExecutor.execute(testMessage);
+
+            for (String phase : List.of("queue", "decode", "execution", "handoff")) {
+                assertThat(phaseTimer("step1", phase).count()).as(phase).isEqualTo(1);
+            }
+            assertThat(phaseTimer("step1", "queue").totalTime(TimeUnit.MILLISECONDS))
+                    .isGreaterThanOrEqualTo(250);
+            assertThat(phaseTimer("step1", "callback").count()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should time the success callback and stamp the completion message")
+        void shouldTimeCallbackOnCompletion() throws Exception {
+            testMessage = testMessage.toBuilder().currentStep(2).build();
+            Method onSuccessMethod = TestWorkflow.class.getDeclaredMethod("onSuccess", Object.class);
+            testDefinition = createWorkflowDefinition(List.of(
+                    createStepDefinition(1, "step1"), createStepDefinition(2, "step2")), onSuccessMethod, null);
+            givenPlan(testDefinition);
+
+            stepExecutor.execute(testMessage);
+
+            verify(messageBroker).send(eq("test-topic.completed"), messageCaptor.capture());
+            assertThat(messageCaptor.getValue().getStepTiming().getStepId()).isEqualTo(2);
+            assertThat(phaseTimer("step2", "callback").count()).isEqualTo(1);
+            assertThat(phaseTimer("step2", "handoff").count()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should not record a queue wait for chained steps")
+        void shouldNotRecordQueueForChainedSteps() throws Exception {
+            StepDefinition step1 = createStepDefinition(1, "step1");
+            step1.setChained(true);
+            testDefinition = createWorkflowDefinition(List.of(step1, createStepDefinition(2, "step2")));
+            givenPlan(testDefinition);
+
+            stepExecutor.execute(testMessage);
+
+            assertThat(phaseTimer("step1", "queue").count()).isEqualTo(1);
+            assertThat(phaseTimer("step2", "queue").count()).isZero();
+            assertThat(phaseTimer("step2", "execution").count()).isEqualTo(1);
+            verify(messageBroker).send(eq("test-topic.completed"), messageCaptor.capture());
+            StepTiming timing = messageCaptor.getValue().getStepTiming();
+            assertThat(timing.getStepId()).isEqualTo(2);
+            assertThat(timing.getQueueMicros()).isZero();
+        }
+
+        private Timer phaseTimer(String step, String phase) {
+            return meterRegistry.get("stepprflow.step.phase")
+                    .tag("topic", "test-topic")
+                    .tag("step", step)
+                    .tag("phase", phase)
+                    .timer();
+        }
+    }
+
     // Helper methods
+    private void givenPlan(WorkflowDefinition definition) {
+        when(registry.getPlan("test-topic")).thenReturn(ExecutionPlan.compile(definition, properties));
+    }
+
     private StepDefinition createStepDefinition(int id, String methodName) throws Exception {
         Method method = TestWorkflow.class.getDeclaredMethod(methodName, Object.class);
         return StepDefinition.builder()
@@ -403,6 +849,9 @@ class StepExecutorTest {
         boolean step3Called = false;
         boolean successCalled = false;
         boolean failureCalled = false;
+        volatile boolean branchesMet = false;
+        final CyclicBarrier branchBarrier = new CyclicBarrier(2);
+        final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
 
         public void step1(Object payload) {
             step1Called = true;
@@ -416,6 +865,27 @@ class StepExecutorTest {
             step3Called = true;
         }
 
+        public void branchA(Object payload) throws Exception {
+            branchBarrier.await(5, TimeUnit.SECONDS);
+            branchesMet = true;
+        }
+
+        public void branchB(Object payload) throws Exception {
+            branchBarrier.await(5, TimeUnit.SECONDS);
+        }
+
+        public void batchStep(List<Object> payloads) {
+            batchSizes.add(payloads.size());
+        }
+
+        public void failingBatchStep(List<Object> payloads) {
+            throw new RuntimeException("Bulk call failed");
+        }
+
+        public void slowStep(Object payload) throws InterruptedException {
+            Thread.sleep(Duration.ofSeconds(10));
+        }
+
         public void failingStep(Object payload) {
             throw new RuntimeException("Step failed intentionally");
         }
@@ -428,6 +898,14 @@ class StepExecutorTest {
             successCalled = true;
         }
 
+        public void failingOnSuccess(Object payload) {
+            throw new IllegalStateException("Callback failed");
+        }
+
+        public void fatalOnSuccess(Object payload) {
+            throw new LinkageError("Callback class broken");
+        }
+
         public void onFailure(Object payload, Throwable error) {
             failureCalled = true;
         }
@@ -2,8 +2,10 @@ package io.stepprflow.core.service;
 
 import io.stepprflow.core.StepprFlowProperties;
 import io.stepprflow.core.broker.MessageBroker;
+import io.stepprflow.core.invoker.CallbackInvoker;
 import io.stepprflow.core.model.*;
 import io.stepprflow.core.model.*;
+import io.stepprflow.core.retry.RetryScheduler;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -134,6 +136,11 @@ class WorkflowFailureHandlerTest {
                 });
     }
 
+    private void handleFailure(Exception error) {
+        ExecutionPlan plan = ExecutionPlan.compile(testDefinition, properties);
+        failureHandler.handleFailure(testMessage, plan.getStep(testStep.getId()), plan, error);
+    }
+
     @Nested
     @DisplayName("handleFailure() method")
     class HandleFailureTests {
@@ -143,7 +150,7 @@ class WorkflowFailureHandlerTest {
         void shouldScheduleRetryWhenNotExhausted() {
             Exception error = new RuntimeException("Test error");
 
-            failureHandler.handleFailure(testMessage, testStep, testDefinition, error);
+            handleFailure(error);
 
             verify(messageBroker).send(eq("test-topic.retry"), messageCaptor.capture());
             WorkflowMessage sentMessage = messageCaptor.getValue();
@@ -154,6 +161,60 @@ class WorkflowFailureHandlerTest {
             assertThat(sentMessage.getRetryInfo().getAttempt()).isEqualTo(2);
         }
 
+        @Test
+        @DisplayName("Should compile a plan for the definition overload")
+        @SuppressWarnings("deprecation")
+        void shouldHandleFailureWithDefinition() {
+            failureHandler.handleFailure(testMessage, testStep, testDefinition, new RuntimeException("Test error"));
+
+            verify(messageBroker).send(eq("test-topic.retry"), messageCaptor.capture());
+            assertThat(messageCaptor.getValue().getRetryInfo().getAttempt()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Should not send the retry to the retry topic when a retry scheduler accepts it")
+        void shouldLetRetrySchedulerHandleRetry() {
+            RetryScheduler retryScheduler = mock(RetryScheduler.class);
+            when(retryScheduler.schedule(any(), eq("test-topic"), eq("test-topic.retry"), eq(Duration.ofSeconds(1))))
+                    .thenReturn(true);
+            failureHandler = new WorkflowFailureHandler(messageBroker, properties, callbackInvoker,
+                    backoffCalculator, messageFactory, List.of(retryScheduler));
+
+            handleFailure(new RuntimeException("Test error"));
+
+            verify(messageBroker, never()).send(eq("test-topic.retry"), any());
+        }
+
+        @Test
+        @DisplayName("Should send the retry to the retry topic when the retry schedulers decline it")
+        void shouldFallBackToRetryTopic() {
+            RetryScheduler retryScheduler = mock(RetryScheduler.class);
+            when(retryScheduler.schedule(any(), any(), any(), any())).thenReturn(false);
+            failureHandler = new WorkflowFailureHandler(messageBroker, properties, callbackInvoker,
+                    backoffCalculator, messageFactory, List.of(retryScheduler));
+
+            handleFailure(new RuntimeException("Test error"));
+
+            verify(messageBroker).send(eq("test-topic.retry"), any());
+        }
+
+        @Test
+        @DisplayName("Should back off with the retry policy of the execution plan")
+        void shouldUsePlanRetryPolicy() {
+            RetryScheduler retryScheduler = mock(RetryScheduler.class);
+            when(retryScheduler.schedule(any(), any(), any(), any())).thenReturn(true);
+            failureHandler = new WorkflowFailureHandler(messageBroker, properties, callbackInvoker,
+                    backoffCalculator, messageFactory, List.of(retryScheduler));
+            retryConfig.setInitialDelay(Duration.ofSeconds(2));
+            ExecutionPlan plan = ExecutionPlan.compile(testDefinition, properties);
+            retryConfig.setInitialDelay(Duration.ofSeconds(30));
+
+            failureHandler.handleFailure(testMessage, plan.getStep(1), plan, new RuntimeException("Test error"));
+
+            verify(retryScheduler).schedule(any(), eq("test-topic"), eq("test-topic.retry"), eq(Duration.ofSeconds(2)));
+            verify(backoffCalculator, never()).calculate(anyInt());
+        }
+
         @Test
         @DisplayName("Should send to DLQ when retries are exhausted")
         void shouldSendToDlqWhenRetriesExhausted() {
@@ -167,7 +228,7 @@ class WorkflowFailureHandlerTest {
 
             Exception error = new RuntimeException("Test error");
 
-            failureHandler.handleFailure(testMessage, testStep, testDefinition, error);
+            handleFailure(error);
 
             verify(messageBroker).send(eq("test-topic.dlq"), any(WorkflowMessage.class));
         }
@@ -177,7 +238,7 @@ class WorkflowFailureHandlerTest {
         void shouldSendToDlqForNonRetryableExceptions() {
             Exception error = new IllegalArgumentException("Invalid argument");
 
-            failureHandler.handleFailure(testMessage, testStep, testDefinition, error);
+            handleFailure(error);
 
             verify(messageBroker).send(eq("test-topic.dlq"), any(WorkflowMessage.class));
             verify(messageBroker, never()).send(eq("test-topic.retry"), any());
@@ -200,7 +261,7 @@ class WorkflowFailureHandlerTest {
 
             Exception error = new RuntimeException("Test error");
 
-            failureHandler.handleFailure(testMessage, testStep, testDefinition, error);
+            handleFailure(error);
 
             verify(messageBroker).send(eq("test-topic"), messageCaptor.capture());
             WorkflowMessage sentMessage = messageCaptor.getValue();
@@ -229,7 +290,7 @@ class WorkflowFailureHandlerTest {
 
             Exception error = new RuntimeException("Test error");
 
-            failureHandler.handleFailure(testMessage, testStep, testDefinition, error);
+            handleFailure(error);
 
             // Should go to retry, not continue
             verify(messageBroker).send(eq("test-topic.retry"), any());
@@ -258,11 +319,11 @@ class WorkflowFailureHandlerTest {
 
             Exception error = new RuntimeException("Test error");
 
-            failureHandler.handleFailure(testMessage, testStep, testDefinition, error);
+            handleFailure(error);
 
             // Verify callback invoker was called with failure callback
             verify(callbackInvoker).invokeRaw(
-                    eq(onFailure),
+                    any(CallbackInvoker.class),
                     eq(handler),
                     eq(testMessage),
                     eq(error)
@@ -354,7 +415,7 @@ class WorkflowFailureHandlerTest {
         void shouldIncludeErrorInfoInDlqMessage() {
             Exception error = new RuntimeException("Test error message");
 
-            failureHandler.handleFailure(testMessage, testStep, testDefinition, error);
+            handleFailure(error);
 
             verify(messageBroker).send(eq("test-topic.dlq"), messageCaptor.capture());
             WorkflowMessage dlqMessage = messageCaptor.getValue();
@@ -372,7 +433,7 @@ class WorkflowFailureHandlerTest {
         void shouldSetStatusToFailedInDlqMessage() {
             Exception error = new RuntimeException("Test error");
 
-            failureHandler.handleFailure(testMessage, testStep, testDefinition, error);
+            handleFailure(error);
 
             verify(messageBroker).send(eq("test-topic.dlq"), messageCaptor.capture());
             WorkflowMessage dlqMessage = messageCaptor.getValue();
@@ -387,7 +448,7 @@ class WorkflowFailureHandlerTest {
 
             Exception error = new RuntimeException("Test error");
 
-            failureHandler.handleFailure(testMessage, testStep, testDefinition, error);
+            handleFailure(error);
 
             verify(messageBroker, never()).send(contains(".dlq"), any());
         }
@@ -1,12 +1,17 @@
 package io.stepprflow.core.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.stepprflow.core.StepprFlowProperties;
+import io.stepprflow.core.annotation.Chained;
 import io.stepprflow.core.annotation.OnFailure;
 import io.stepprflow.core.annotation.OnSuccess;
 import io.stepprflow.core.annotation.Step;
 import io.stepprflow.core.annotation.Timeout;
 import io.stepprflow.core.annotation.Topic;
+import io.stepprflow.core.model.ExecutionPlan;
 import io.stepprflow.core.model.StepDefinition;
 import io.stepprflow.core.model.WorkflowDefinition;
+import io.stepprflow.core.payload.PayloadCodecRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -36,7 +41,8 @@ class WorkflowRegistryTest {
 
     @BeforeEach
     void setUp() {
-        workflowRegistry = new WorkflowRegistry(applicationContext);
+        workflowRegistry = new WorkflowRegistry(applicationContext, new StepprFlowProperties(),
+                new PayloadCodecRegistry(new ObjectMapper(), List.of("io.stepprflow.core.model"), null));
     }
 
     @Nested
@@ -188,6 +194,30 @@ class WorkflowRegistryTest {
         }
     }
 
+    @Nested
+    @DisplayName("Chaining configuration")
+    class ChainingConfigurationTests {
+
+        @Test
+        @DisplayName("Should inherit workflow-level chaining and let steps override limits")
+        void shouldResolveChaining() {
+            ChainedWorkflow workflow = new ChainedWorkflow();
+            Map<String, Object> beans = Map.of("chainedWorkflow", workflow);
+            when(applicationContext.getBeansWithAnnotation(Topic.class)).thenReturn(beans);
+
+            workflowRegistry.init();
+
+            ExecutionPlan plan = workflowRegistry.getPlan("chained-workflow");
+
+            assertThat(plan.getStep(1).isChained()).isTrue();
+            assertThat(plan.getStep(1).getChainMaxSteps()).isEqualTo(3);
+            assertThat(plan.getStep(1).getChainMaxDuration()).isEqualTo(Duration.ofSeconds(1));
+            assertThat(plan.getStep(2).isChained()).isTrue();
+            assertThat(plan.getStep(2).getChainMaxDuration()).isEqualTo(Duration.ofMillis(200));
+            assertThat(plan.getStep(3).isChained()).isFalse();
+        }
+    }
+
     @Nested
     @DisplayName("Callback discovery")
     class CallbackDiscoveryTests {
@@ -265,6 +295,18 @@ class WorkflowRegistryTest {
             assertThat(definition).isNull();
         }
 
+        @Test
+        @DisplayName("Should compile an execution plan per topic")
+        void shouldCompileExecutionPlanPerTopic() {
+            ExecutionPlan plan = workflowRegistry.getPlan("test-workflow");
+
+            assertThat(plan).isNotNull();
+            assertThat(plan.getFirstStep().getId()).isEqualTo(1);
+            assertThat(plan.getStep(3).isLast()).isTrue();
+            assertThat(plan.getCompletedDestination()).isEqualTo("test-workflow.completed");
+            assertThat(workflowRegistry.getPlan("unknown-topic")).isNull();
+        }
+
         @Test
         @DisplayName("Should return all topics")
         void shouldReturnAllTopics() {
@@ -325,4 +367,22 @@ class WorkflowRegistryTest {
         public void timedStep(Object payload) {
         }
     }
-}
\ No newline at end of file
+
+    @Topic("chained-workflow")
+    @Chained(maxSteps = 3)
+    static class ChainedWorkflow implements StepprFlow {
+
+        @Step(id = 1, label = "First")
+        public void first(Object payload) {
+        }
+
+        @Step(id = 2, label = "Second")
+        @Chained(maxDuration = 200)
+        public void second(Object payload) {
+        }
+
+        @Step(id = 3, label = "Last")
+        public void last(Object payload) {
+        }
+    }
+}
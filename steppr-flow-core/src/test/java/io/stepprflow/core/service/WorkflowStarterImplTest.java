@@ -1,5 +1,9 @@
 package io.stepprflow.core.service;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.stepprflow.core.StepprFlowProperties;
+import io.stepprflow.core.admission.AdmissionController;
+import io.stepprflow.core.exception.WorkflowAdmissionException;
 import io.stepprflow.core.exception.WorkflowException;
 import io.stepprflow.core.broker.MessageBroker;
 import io.stepprflow.core.model.StepDefinition;
@@ -17,12 +21,15 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -180,12 +187,30 @@ class WorkflowStarterImplTest {
         @DisplayName("Should return CompletableFuture with execution ID")
         void shouldReturnCompletableFutureWithExecutionId() throws ExecutionException, InterruptedException, TimeoutException {
             when(registry.getDefinition("test-topic")).thenReturn(testDefinition);
+            when(messageBroker.sendAsync(eq("test-topic"), any(WorkflowMessage.class)))
+                    .thenReturn(CompletableFuture.completedFuture(null));
 
             CompletableFuture<String> future = workflowStarter.startAsync("test-topic", new TestPayload("test"));
             String executionId = future.get(5, TimeUnit.SECONDS);
 
             assertThat(executionId).isNotNull();
-            verify(messageBroker).send(eq("test-topic"), any(WorkflowMessage.class));
+            verify(messageBroker).sendAsync(eq("test-topic"), messageCaptor.capture());
+            assertThat(messageCaptor.getValue().getExecutionId()).isEqualTo(executionId);
+            verify(messageBroker, never()).send(any(), any());
+        }
+
+        @Test
+        @DisplayName("Should complete only when the broker acknowledges the message")
+        void shouldCompleteOnAcknowledgment() {
+            when(registry.getDefinition("test-topic")).thenReturn(testDefinition);
+            CompletableFuture<Void> ack = new CompletableFuture<>();
+            when(messageBroker.sendAsync(eq("test-topic"), any(WorkflowMessage.class))).thenReturn(ack);
+
+            CompletableFuture<String> future = workflowStarter.startAsync("test-topic", new TestPayload("test"));
+
+            assertThat(future).isNotDone();
+            ack.completeExceptionally(new IllegalStateException("not acknowledged"));
+            assertThat(future).isCompletedExceptionally();
         }
 
         @Test
@@ -230,6 +255,165 @@ class WorkflowStarterImplTest {
         }
     }
 
+    @Nested
+    @DisplayName("startAsync() backpressure")
+    class StartAsyncBackpressureTests {
+
+        private SimpleMeterRegistry meterRegistry;
+
+        @BeforeEach
+        void setUp() {
+            StepprFlowProperties properties = new StepprFlowProperties();
+            properties.getStarter().setMaxInFlight(2);
+            properties.getStarter().setAcquireTimeout(Duration.ofMillis(50));
+            meterRegistry = new SimpleMeterRegistry();
+            workflowStarter = new WorkflowStarterImpl(registry, messageBroker, "test-service", null,
+                    properties, meterRegistry);
+            when(registry.getDefinition("test-topic")).thenReturn(testDefinition);
+        }
+
+        @Test
+        @DisplayName("Should fail starts beyond the in-flight limit until acknowledgments arrive")
+        void shouldLimitInFlightStarts() {
+            CompletableFuture<Void> firstAck = new CompletableFuture<>();
+            when(messageBroker.sendAsync(eq("test-topic"), any(WorkflowMessage.class)))
+                    .thenReturn(firstAck, new CompletableFuture<>(), CompletableFuture.completedFuture(null));
+
+            workflowStarter.startAsync("test-topic", new TestPayload("1"));
+            workflowStarter.startAsync("test-topic", new TestPayload("2"));
+            CompletableFuture<String> rejected = workflowStarter.startAsync("test-topic", new TestPayload("3"));
+
+            assertThat(meterRegistry.get("stepprflow.starter.inflight").gauge().value()).isEqualTo(2.0);
+            assertThatThrownBy(rejected::join).hasCauseInstanceOf(WorkflowException.class)
+                    .hasMessageContaining("in flight");
+            verify(messageBroker, times(2)).sendAsync(any(), any());
+
+            firstAck.complete(null);
+            CompletableFuture<String> accepted = workflowStarter.startAsync("test-topic", new TestPayload("4"));
+
+            assertThat(accepted).isCompleted();
+            assertThat(meterRegistry.get("stepprflow.starter.inflight").gauge().value()).isEqualTo(1.0);
+            assertThat(meterRegistry.get("stepprflow.starter.wait").timer().count()).isEqualTo(4);
+        }
+
+        @Test
+        @DisplayName("Should release the permit when the broker rejects the message")
+        void shouldReleasePermitOnSendFailure() {
+            when(messageBroker.sendAsync(eq("test-topic"), any(WorkflowMessage.class)))
+                    .thenThrow(new IllegalStateException("broker down"));
+
+            CompletableFuture<String> future = workflowStarter.startAsync("test-topic", new TestPayload("1"));
+
+            assertThat(future).isCompletedExceptionally();
+            assertThat(meterRegistry.get("stepprflow.starter.inflight").gauge().value()).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("startAll() method")
+    class StartAllTests {
+
+        @Test
+        @DisplayName("Should send all payloads as one batch and return their execution IDs")
+        @SuppressWarnings("unchecked")
+        void shouldSendBatch() {
+            when(registry.getDefinition("test-topic")).thenReturn(testDefinition);
+            when(messageBroker.sendBatch(eq("test-topic"), any())).thenAnswer(invocation ->
+                    ((List<WorkflowMessage>) invocation.getArgument(1)).stream()
+                            .map(message -> CompletableFuture.<Void>completedFuture(null))
+                            .toList());
+
+            BatchStartResult result = workflowStarter.startAll("test-topic",
+                    List.of(new TestPayload("a"), new TestPayload("b"), new TestPayload("c")));
+
+            ArgumentCaptor<List<WorkflowMessage>> batch = ArgumentCaptor.forClass(List.class);
+            verify(messageBroker).sendBatch(eq("test-topic"), batch.capture());
+            verify(registry, times(1)).getDefinition("test-topic");
+            assertThat(result.isComplete()).isTrue();
+            assertThat(result.getStartedCount()).isEqualTo(3);
+            assertThat(result.getExecutionIds())
+                    .containsExactlyElementsOf(batch.getValue().stream().map(WorkflowMessage::getExecutionId).toList())
+                    .doesNotHaveDuplicates();
+            assertThat(batch.getValue()).allSatisfy(message -> {
+                assertThat(message.getStatus()).isEqualTo(WorkflowStatus.PENDING);
+                assertThat(message.getCurrentStep()).isEqualTo(1);
+            });
+        }
+
+        @Test
+        @DisplayName("Should report payloads that failed without stopping the others")
+        void shouldReportFailures() {
+            when(registry.getDefinition("test-topic")).thenReturn(testDefinition);
+            IllegalStateException sendError = new IllegalStateException("not acknowledged");
+            when(messageBroker.sendBatch(eq("test-topic"), any())).thenReturn(List.of(
+                    CompletableFuture.completedFuture(null),
+                    CompletableFuture.failedFuture(sendError)));
+
+            List<TestPayload> payloads = new ArrayList<>();
+            payloads.add(new TestPayload("a"));
+            payloads.add(null);
+            payloads.add(new TestPayload("c"));
+            BatchStartResult result = workflowStarter.startAll("test-topic", payloads.iterator());
+
+            assertThat(result.getExecutionIds()).hasSize(3);
+            assertThat(result.getExecutionIds().get(0)).isNotNull();
+            assertThat(result.getExecutionIds().get(1)).isNull();
+            assertThat(result.getExecutionIds().get(2)).isNull();
+            assertThat(result.getFailures()).extracting(BatchStartResult.Failure::index).containsExactly(1, 2);
+            assertThat(result.getFailures().get(0).error()).isInstanceOf(IllegalArgumentException.class);
+            assertThat(result.getFailures().get(1).error()).isSameAs(sendError);
+            assertThat(result.getStartedCount()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should split streamed payloads into bounded batches")
+        @SuppressWarnings("unchecked")
+        void shouldSplitIntoBatches() {
+            when(registry.getDefinition("test-topic")).thenReturn(testDefinition);
+            when(messageBroker.sendBatch(eq("test-topic"), any())).thenAnswer(invocation ->
+                    ((List<WorkflowMessage>) invocation.getArgument(1)).stream()
+                            .map(message -> CompletableFuture.<Void>completedFuture(null))
+                            .toList());
+            int count = WorkflowStarterImpl.BATCH_SIZE * 2 + 1;
+
+            BatchStartResult result = workflowStarter.startAll("test-topic",
+                    IntStream.range(0, count).mapToObj(i -> new TestPayload("p" + i)).iterator());
+
+            verify(messageBroker, times(3)).sendBatch(eq("test-topic"), any());
+            assertThat(result.getExecutionIds()).hasSize(count);
+            assertThat(result.isComplete()).isTrue();
+        }
+
+        @Test
+        @DisplayName("Should fail the batch when the broker does not return one result per message")
+        void shouldFailBatchOnResultCountMismatch() {
+            when(registry.getDefinition("test-topic")).thenReturn(testDefinition);
+            when(messageBroker.sendBatch(eq("test-topic"), any())).thenReturn(List.of(
+                    CompletableFuture.completedFuture(null)));
+
+            BatchStartResult result = workflowStarter.startAll("test-topic",
+                    List.of(new TestPayload("a"), new TestPayload("b")));
+
+            assertThat(result.getStartedCount()).isZero();
+            assertThat(result.getExecutionIds()).containsOnlyNulls();
+            assertThat(result.getFailures()).extracting(BatchStartResult.Failure::index).containsExactly(0, 1);
+            assertThat(result.getFailures().get(0).error())
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("1 result(s) for a batch of 2");
+        }
+
+        @Test
+        @DisplayName("Should throw exception when topic is unknown")
+        void shouldThrowExceptionWhenTopicUnknown() {
+            when(registry.getDefinition("unknown-topic")).thenReturn(null);
+
+            assertThatThrownBy(() -> workflowStarter.startAll("unknown-topic", List.of(new TestPayload(""))))
+                    .isInstanceOf(WorkflowException.class)
+                    .hasMessageContaining("Unknown workflow topic: unknown-topic");
+            verify(messageBroker, never()).sendBatch(any(), any());
+        }
+    }
+
     @Nested
     @DisplayName("Unsupported operations")
     class UnsupportedOperationsTests {
@@ -252,6 +436,64 @@ class WorkflowStarterImplTest {
     }
 
     // Test payload class
+    @Nested
+    @DisplayName("Admission control")
+    class AdmissionTests {
+
+        @Mock
+        private AdmissionController admissionController;
+
+        private final WorkflowAdmissionException rejection =
+                new WorkflowAdmissionException("test-topic", "rate", Duration.ofMillis(100));
+
+        @BeforeEach
+        void setUp() {
+            workflowStarter = new WorkflowStarterImpl(registry, messageBroker, "test-service", null,
+                    null, null, admissionController);
+            when(registry.getDefinition("test-topic")).thenReturn(testDefinition);
+        }
+
+        @Test
+        @DisplayName("Should not send a rejected start")
+        void shouldNotSendRejectedStart() {
+            doThrow(rejection).when(admissionController).admit("test-topic");
+
+            assertThatThrownBy(() -> workflowStarter.start("test-topic", new TestPayload("1")))
+                    .isSameAs(rejection);
+            verify(messageBroker, never()).send(any(), any());
+        }
+
+        @Test
+        @DisplayName("Should fail the future of a rejected asynchronous start")
+        void shouldFailRejectedAsyncStart() {
+            doThrow(rejection).when(admissionController).admit("test-topic");
+
+            CompletableFuture<String> result = workflowStarter.startAsync("test-topic", new TestPayload("1"));
+
+            assertThatThrownBy(result::join).hasCause(rejection);
+            verify(messageBroker, never()).sendAsync(any(), any());
+        }
+
+        @Test
+        @DisplayName("Should report rejected starts of a batch as failures")
+        void shouldReportRejectedBatchItems() {
+            doNothing().doThrow(rejection).when(admissionController).admit("test-topic");
+            when(messageBroker.sendBatch(eq("test-topic"), anyList()))
+                    .thenAnswer(invocation -> List.of(CompletableFuture.<Void>completedFuture(null)));
+
+            BatchStartResult result = workflowStarter.startAll("test-topic",
+                    List.of(new TestPayload("1"), new TestPayload("2")));
+
+            assertThat(result.getStartedCount()).isEqualTo(1);
+            assertThat(result.getExecutionIds().get(1)).isNull();
+            assertThat(result.getFailures()).singleElement()
+                    .satisfies(failure -> {
+                        assertThat(failure.index()).isEqualTo(1);
+                        assertThat(failure.error()).isSameAs(rejection);
+                    });
+        }
+    }
+
     record TestPayload(String data) {
     }
 }
\ No newline at end of file
@@ -0,0 +1,246 @@
+package io.stepprflow.core.wire;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.stepprflow.core.model.RetryInfo;
+import io.stepprflow.core.model.StepTiming;
+import io.stepprflow.core.model.WorkflowMessage;
+import io.stepprflow.core.model.WorkflowStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("WireCodecRegistry Tests")
+class WireCodecRegistryTest {
+
+    private ObjectMapper objectMapper;
+    private WorkflowMessage message;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        message = WorkflowMessage.builder()
+                .executionId("0b6f2c1e-5d4a-4c3b-9a8e-7f6d5c4b3a29")
+                .correlationId("9a8e7f6d-5c4b-3a29-0b6f-2c1e5d4a4c3b")
+                .topic("orders")
+                .serviceName("order-service")
+                .currentStep(2)
+                .totalSteps(5)
+                .status(WorkflowStatus.IN_PROGRESS)
+                .payload(Map.of("orderId", "ORD-1", "lines", List.of(Map.of("sku", "A", "qty", 2))))
+                .payloadType("java.util.Map")
+                .retryInfo(RetryInfo.builder().attempt(2).maxAttempts(3).build())
+                .createdAt(Instant.parse("2026-01-01T10:00:00.123456789Z"))
+                .updatedAt(Instant.parse("2026-01-01T10:00:01Z"))
+                .build();
+    }
+
+    @Nested
+    @DisplayName("Codec selection")
+    class SelectionTests {
+
+        @Test
+        @DisplayName("Should write with the configured content type")
+        void shouldSelectWriteCodec() {
+            WireCodecRegistry registry = new WireCodecRegistry(objectMapper, JacksonWireCodec.SMILE, List.of());
+
+            assertThat(registry.getWriteCodec().getContentType()).isEqualTo(JacksonWireCodec.SMILE);
+        }
+
+        @Test
+        @DisplayName("Should read messages without content type as JSON")
+        void shouldDefaultToJson() {
+            WireCodecRegistry registry = new WireCodecRegistry(objectMapper, JacksonWireCodec.SMILE, List.of());
+
+            assertThat(registry.forContentType(null).getContentType()).isEqualTo(JacksonWireCodec.JSON);
+        }
+
+        @Test
+        @DisplayName("Should ignore content type parameters and case")
+        void shouldNormalizeContentType() {
+            WireCodecRegistry registry = new WireCodecRegistry(objectMapper, JacksonWireCodec.JSON, List.of());
+
+            assertThat(registry.forContentType("Application/JSON; charset=UTF-8").getContentType())
+                    .isEqualTo(JacksonWireCodec.JSON);
+        }
+
+        @Test
+        @DisplayName("Should reject unknown content types")
+        void shouldRejectUnknownContentType() {
+            WireCodecRegistry registry = new WireCodecRegistry(objectMapper, JacksonWireCodec.JSON, List.of());
+
+            assertThatThrownBy(() -> registry.forContentType("application/x-protobuf"))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> new WireCodecRegistry(objectMapper, "application/x-protobuf", List.of()))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Encoding")
+    class EncodingTests {
+
+        @Test
+        @DisplayName("Should round-trip messages in Smile")
+        void shouldRoundTripSmile() throws Exception {
+            WireCodec smile = JacksonWireCodec.smile(objectMapper);
+
+            WorkflowMessage decoded = smile.decode(smile.encode(message));
+
+            assertThat(decoded.getExecutionId()).isEqualTo(message.getExecutionId());
+            assertThat(decoded.getStatus()).isEqualTo(WorkflowStatus.IN_PROGRESS);
+            assertThat(decoded.getRetryInfo().getAttempt()).isEqualTo(2);
+            assertThat(decoded.getCreatedAt()).isEqualTo(message.getCreatedAt());
+            assertThat(decoded.getPayload()).isEqualTo(message.getPayload());
+        }
+
+        @Test
+        @DisplayName("Should encode Smile smaller than JSON")
+        void shouldEncodeSmaller() throws Exception {
+            byte[] json = JacksonWireCodec.json(objectMapper).encode(message);
+            byte[] smile = JacksonWireCodec.smile(objectMapper).encode(message);
+
+            assertThat(smile.length).isLessThan(json.length);
+        }
+
+        @Test
+        @DisplayName("Should encode JSON as the object mapper does")
+        void shouldKeepJsonFormat() throws Exception {
+            byte[] json = JacksonWireCodec.json(objectMapper).encode(message);
+
+            assertThat(json).isEqualTo(objectMapper.writeValueAsBytes(message));
+        }
+
+        @Test
+        @DisplayName("Should ignore unknown properties when decoding")
+        void shouldIgnoreUnknownProperties() throws Exception {
+            WireCodec json = JacksonWireCodec.json(objectMapper);
+            Map<String, Object> tree = objectMapper.convertValue(message, Map.class);
+            tree.put("addedByNewerProducer", true);
+
+            WorkflowMessage decoded = json.decode(objectMapper.writeValueAsBytes(tree));
+
+            assertThat(decoded.getExecutionId()).isEqualTo(message.getExecutionId());
+            assertThat(decoded.getRetryInfo().isExhausted()).isFalse();
+        }
+    }
+
+    @Nested
+    @DisplayName("Body forwarding")
+    class ForwardingTests {
+
+        private final Map<String, String> headers = new HashMap<>();
+        private WireCodecRegistry registry;
+        private WorkflowMessage received;
+        private byte[] body;
+
+        @BeforeEach
+        void receive() throws Exception {
+            registry = new WireCodecRegistry(objectMapper, JacksonWireCodec.SMILE, List.of(), true);
+            WorkflowMessage sent = message.toBuilder().retryInfo(null).build();
+            body = registry.encode(sent);
+            WireEnvelope.write(sent, headers::put);
+            received = registry.decode(JacksonWireCodec.SMILE, body, headers::get);
+        }
+
+        @Test
+        @DisplayName("Should forward the received bytes on a step transition")
+        void shouldForwardOnNextStep() throws Exception {
+            WorkflowMessage next = received.nextStep();
+
+            assertThat(registry.encode(next)).isSameAs(body);
+        }
+
+        @Test
+        @DisplayName("Should read the step and status from the envelope headers")
+        void shouldApplyEnvelope() throws Exception {
+            WorkflowMessage next = received.complete();
+            Map<String, String> nextHeaders = new HashMap<>();
+            WireEnvelope.write(next, nextHeaders::put);
+
+            WorkflowMessage decoded = registry.decode(JacksonWireCodec.SMILE, registry.encode(next),
+                    nextHeaders::get);
+
+            assertThat(decoded.getStatus()).isEqualTo(WorkflowStatus.COMPLETED);
+            assertThat(decoded.getCurrentStep()).isEqualTo(2);
+            assertThat(decoded.getUpdatedAt()).isEqualTo(next.getUpdatedAt());
+            assertThat(decoded.getPayload()).isEqualTo(message.getPayload());
+        }
+
+        @Test
+        @DisplayName("Should carry the step timing in the envelope headers")
+        void shouldCarryStepTiming() throws Exception {
+            WorkflowMessage next = received.nextStep();
+            StepTiming timing = StepTiming.builder()
+                    .stepId(2)
+                    .consumedAt(Instant.parse("2026-01-01T10:00:02.000123Z"))
+                    .queueMicros(1_000_123)
+                    .decodeMicros(42)
+                    .executionMicros(15_000)
+                    .build();
+            next.setStepTiming(timing);
+            Map<String, String> nextHeaders = new HashMap<>();
+            WireEnvelope.write(next, nextHeaders::put);
+
+            WorkflowMessage decoded = registry.decode(JacksonWireCodec.SMILE, registry.encode(next),
+                    nextHeaders::get);
+
+            assertThat(registry.encode(next)).isSameAs(body);
+            assertThat(decoded.getStepTiming()).isEqualTo(timing);
+        }
+
+        @Test
+        @DisplayName("Should ignore a malformed step timing header")
+        void shouldIgnoreMalformedStepTiming() throws Exception {
+            headers.put(WireEnvelope.STEP_TIMING, "2;not-a-time;1;2;3;4");
+
+            WorkflowMessage decoded = registry.decode(JacksonWireCodec.SMILE, body, headers::get);
+
+            assertThat(decoded.getStepTiming()).isNull();
+            assertThat(decoded.getCurrentStep()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Should encode again a message whose payload was replaced")
+        void shouldEncodeReplacedPayload() throws Exception {
+            WorkflowMessage next = received.nextStep();
+            next.setPayload(Map.of("orderId", "ORD-2"));
+
+            assertThat(registry.encode(next)).isNotSameAs(body);
+            assertThat(registry.decode(JacksonWireCodec.SMILE, registry.encode(next), name -> null)
+                    .getPayload()).isEqualTo(Map.of("orderId", "ORD-2"));
+        }
+
+        @Test
+        @DisplayName("Should encode again a message with new retry information")
+        void shouldEncodeRetry() throws Exception {
+            WorkflowMessage retry = received.toBuilder()
+                    .retryInfo(RetryInfo.builder().attempt(1).maxAttempts(3).build())
+                    .build();
+
+            assertThat(registry.encode(retry)).isNotSameAs(body);
+        }
+
+        @Test
+        @DisplayName("Should not forward bodies when disabled")
+        void shouldNotForwardWhenDisabled() throws Exception {
+            WireCodecRegistry disabled = new WireCodecRegistry(objectMapper, JacksonWireCodec.SMILE, List.of());
+            WorkflowMessage decoded = disabled.decode(JacksonWireCodec.SMILE, body, headers::get);
+
+            assertThat(decoded.getWireBody()).isNull();
+            assertThat(disabled.encode(received.nextStep())).isNotSameAs(body);
+        }
+    }
+}
@@ -1,8 +1,9 @@
 package io.stepprflow.dashboard.config;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import io.stepprflow.broker.kafka.WorkflowMessageDeserializer;
 import io.stepprflow.core.StepprFlowProperties;
 import io.stepprflow.core.model.WorkflowMessage;
+import io.stepprflow.core.wire.WireCodecRegistry;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
@@ -13,7 +14,6 @@ import org.springframework.context.annotation.Primary;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
-import org.springframework.kafka.support.serializer.JsonDeserializer;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -36,12 +36,11 @@ public class ServerKafkaConfiguration {
     @Bean
     @Primary
     public ConsumerFactory<String, WorkflowMessage> monitoringConsumerFactory(
-            StepprFlowProperties properties, ObjectMapper objectMapper) {
+            StepprFlowProperties properties, WireCodecRegistry wireCodecs) {
 
         Map<String, Object> config = new HashMap<>();
         config.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, properties.getKafka().getBootstrapServers());
         config.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
-        config.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, JsonDeserializer.class);
         config.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
         config.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
         // Use a dedicated group ID for monitoring
@@ -50,9 +49,8 @@ public class ServerKafkaConfiguration {
         config.put(ConsumerConfig.FETCH_MIN_BYTES_CONFIG, 1);        // Don't wait for batch
         config.put(ConsumerConfig.FETCH_MAX_WAIT_MS_CONFIG, 100);    // Poll every 100ms max
 
-        JsonDeserializer<WorkflowMessage> deserializer = new JsonDeserializer<>(WorkflowMessage.class, objectMapper);
-        deserializer.addTrustedPackages("io.stepprflow.core.model", "io.stepprflow.monitor.model");
-        deserializer.setUseTypeHeaders(false);
+        // Decode with the wire codec named by each record's content type
+        WorkflowMessageDeserializer deserializer = new WorkflowMessageDeserializer(wireCodecs);
 
         return new DefaultKafkaConsumerFactory<>(config, new StringDeserializer(), deserializer);
     }
@@ -1,6 +1,8 @@
 package io.stepprflow.dashboard.controller;
 
+import io.stepprflow.core.backlog.BacklogCollector;
 import io.stepprflow.core.service.WorkflowRegistry;
+import io.stepprflow.monitor.dto.BrokerBacklogDto;
 import io.stepprflow.monitor.model.RegisteredWorkflow;
 import io.stepprflow.monitor.service.WorkflowQueryService;
 import io.stepprflow.monitor.service.WorkflowRegistryService;
@@ -26,7 +28,7 @@ import java.util.Map;
  * <p>
  * This controller provides endpoints specific to the dashboard module:
  * - UI configuration (title, refresh interval, dark mode)
- * - Overview combining local workflows and registered services
+ * - Overview combining local workflows and registered services, with the broker backlog
  * - Workflow definitions from both local registry and MongoDB
  * <p>
  * For workflow execution operations (list, get, resume, cancel, payload updates),
@@ -41,17 +43,28 @@ public class DashboardController {
     private final WorkflowQueryService queryService;
     private final WorkflowRegistry workflowRegistry;
     private final WorkflowRegistryService registryService;
+    private final BacklogCollector backlogCollector;
+
+    public DashboardController(
+            UiProperties properties,
+            WorkflowQueryService queryService,
+            WorkflowRegistry workflowRegistry,
+            WorkflowRegistryService registryService) {
+        this(properties, queryService, workflowRegistry, registryService, null);
+    }
 
     @Autowired
     public DashboardController(
             UiProperties properties,
             WorkflowQueryService queryService,
             @Autowired(required = false) WorkflowRegistry workflowRegistry,
-            @Autowired(required = false) WorkflowRegistryService registryService) {
+            @Autowired(required = false) WorkflowRegistryService registryService,
+            @Autowired(required = false) BacklogCollector backlogCollector) {
         this.properties = properties;
         this.queryService = queryService;
         this.workflowRegistry = workflowRegistry;
         this.registryService = registryService;
+        this.backlogCollector = backlogCollector;
     }
 
     @Operation(summary = "Get dashboard configuration",
@@ -89,6 +102,9 @@ public class DashboardController {
         // Recent executions
         overview.put("recentExecutions", queryService.getRecentExecutions());
 
+        // Broker backlog (consumer lag or queue depth), when collected
+        overview.put("backlog", BrokerBacklogDto.from(backlogCollector));
+
         return ResponseEntity.ok(overview);
     }
 
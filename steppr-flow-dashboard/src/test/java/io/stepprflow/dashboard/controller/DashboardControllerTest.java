@@ -1,9 +1,12 @@
 package io.stepprflow.dashboard.controller;
 
+import io.stepprflow.core.backlog.BacklogCollector;
+import io.stepprflow.core.backlog.QueueBacklog;
 import io.stepprflow.core.model.StepDefinition;
 import io.stepprflow.core.model.WorkflowDefinition;
 import io.stepprflow.core.model.WorkflowStatus;
 import io.stepprflow.core.service.WorkflowRegistry;
+import io.stepprflow.monitor.dto.BrokerBacklogDto;
 import io.stepprflow.monitor.model.RegisteredWorkflow;
 import io.stepprflow.monitor.model.WorkflowExecution;
 import io.stepprflow.monitor.service.WorkflowQueryService;
@@ -29,6 +32,7 @@ import java.util.List;
 import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -209,6 +213,39 @@ class DashboardControllerTest {
             assertThat(executions).hasSize(1);
             assertThat(executions.get(0).getExecutionId()).isEqualTo("exec-123");
         }
+
+        @Test
+        @DisplayName("Should report backlog as disabled without collector")
+        void shouldReportBacklogDisabledWithoutCollector() {
+            when(workflowRegistry.getAllDefinitions()).thenReturn(List.of());
+            when(queryService.getRecentExecutions()).thenReturn(List.of());
+
+            ResponseEntity<Map<String, Object>> response = controller.getOverview();
+
+            assertThat(response.getBody()).containsKey("backlog");
+            BrokerBacklogDto backlog = (BrokerBacklogDto) response.getBody().get("backlog");
+            assertThat(backlog.isEnabled()).isFalse();
+            assertThat(backlog.getQueues()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should include backlog from collector")
+        void shouldIncludeBacklogFromCollector() {
+            when(workflowRegistry.getAllDefinitions()).thenReturn(List.of());
+            when(queryService.getRecentExecutions()).thenReturn(List.of());
+            BacklogCollector collector = mock(BacklogCollector.class);
+            when(collector.getTopicBacklogs()).thenReturn(Map.of("orders", 12L, "payments", 3L));
+            when(collector.getQueues()).thenReturn(List.of(new QueueBacklog("orders", "orders-0", 12, 1)));
+            DashboardController withBacklog = new DashboardController(
+                    properties, queryService, workflowRegistry, null, collector);
+
+            ResponseEntity<Map<String, Object>> response = withBacklog.getOverview();
+
+            BrokerBacklogDto backlog = (BrokerBacklogDto) response.getBody().get("backlog");
+            assertThat(backlog.isEnabled()).isTrue();
+            assertThat(backlog.getTotal()).isEqualTo(15L);
+            assertThat(backlog.getQueues()).hasSize(1);
+        }
     }
 
     @Nested
@@ -0,0 +1,77 @@
+package io.stepprflow.loadtest.jmh;
+
+import io.stepprflow.core.invoker.MethodInvokers;
+import io.stepprflow.core.invoker.StepInvoker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the per-call cost of dispatching a step method through
+ * {@link Method#invoke} (the former StepExecutor path) with the compiled
+ * {@link StepInvoker} built at registration time.
+ *
+ * Run with: mvn test -P jmh -pl steppr-flow-load-tests
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StepInvokerBenchmark {
+
+    private OrderWorkflow handler;
+    private Method method;
+    private StepInvoker invoker;
+    private Order payload;
+
+    @Setup
+    public void setUp() throws Exception {
+        handler = new OrderWorkflow();
+        method = OrderWorkflow.class.getDeclaredMethod("validate", Order.class);
+        invoker = MethodInvokers.forStep(method, handler);
+        payload = new Order("order-1", 42);
+    }
+
+    @Benchmark
+    public void reflective(final Blackhole bh) throws Exception {
+        method.setAccessible(true);
+        method.invoke(handler, payload);
+        bh.consume(handler.lastTotal);
+    }
+
+    @Benchmark
+    public void compiled(final Blackhole bh) throws Throwable {
+        invoker.invoke(payload);
+        bh.consume(handler.lastTotal);
+    }
+
+    @Benchmark
+    public void direct(final Blackhole bh) {
+        handler.validate(payload);
+        bh.consume(handler.lastTotal);
+    }
+
+    public record Order(String id, int quantity) {
+    }
+
+    public static class OrderWorkflow {
+        long lastTotal;
+
+        public void validate(final Order order) {
+            lastTotal += order.quantity();
+        }
+    }
+}
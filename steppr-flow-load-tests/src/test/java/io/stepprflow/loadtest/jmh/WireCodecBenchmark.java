@@ -0,0 +1,96 @@
+package io.stepprflow.loadtest.jmh;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.stepprflow.core.model.RetryInfo;
+import io.stepprflow.core.model.WorkflowMessage;
+import io.stepprflow.core.model.WorkflowStatus;
+import io.stepprflow.core.wire.JacksonWireCodec;
+import io.stepprflow.core.wire.WireCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the JSON wire codec (the former broker serializers) with the
+ * Smile codec: encode and decode time per message, and encoded size,
+ * printed once per trial.
+ *
+ * Run with: mvn test -P jmh -pl steppr-flow-load-tests -Djmh.include=WireCodecBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WireCodecBenchmark {
+
+    @Param({"application/json", "application/x-jackson-smile"})
+    private String contentType;
+
+    @Param({"1", "50"})
+    private int orderLines;
+
+    private WireCodec codec;
+    private WorkflowMessage message;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        codec = JacksonWireCodec.SMILE.equals(contentType)
+                ? JacksonWireCodec.smile(objectMapper)
+                : JacksonWireCodec.json(objectMapper);
+
+        List<Map<String, Object>> lines = new ArrayList<>();
+        for (int i = 0; i < orderLines; i++) {
+            lines.add(Map.of("sku", "SKU-" + i, "quantity", i + 1, "unitPrice", 9.99, "currency", "EUR"));
+        }
+        message = WorkflowMessage.builder()
+                .executionId(UUID.randomUUID().toString())
+                .correlationId(UUID.randomUUID().toString())
+                .topic("order-workflow")
+                .serviceName("order-service")
+                .currentStep(3)
+                .totalSteps(5)
+                .status(WorkflowStatus.IN_PROGRESS)
+                .payload(Map.of("orderId", "ORD-12345", "customerId", "CUST-42", "lines", lines))
+                .payloadType("com.example.order.OrderPayload")
+                .metadata(Map.of("tenant", "acme", "source", "web"))
+                .retryInfo(RetryInfo.builder().attempt(1).maxAttempts(3).build())
+                .createdAt(Instant.now())
+                .updatedAt(Instant.now())
+                .build();
+        encoded = codec.encode(message);
+        System.out.printf("%n%s, %d order lines: %d bytes%n", contentType, orderLines, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] encode() throws Exception {
+        return codec.encode(message);
+    }
+
+    @Benchmark
+    public WorkflowMessage decode() throws Exception {
+        return codec.decode(encoded);
+    }
+}
@@ -0,0 +1,87 @@
+package io.stepprflow.loadtest.jmh;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.stepprflow.core.metrics.WorkflowMetrics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the metric recording paths of {@link WorkflowMetrics}, and the
+ * former step recording (counter cache keyed by joined tags, timer
+ * registered on every record) for comparison. Run with the gc profiler,
+ * {@code gc.alloc.rate.norm} gives the bytes allocated per record.
+ *
+ * Run with: mvn test -P jmh -pl steppr-flow-load-tests -Djmh.include=WorkflowMetricsBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WorkflowMetricsBenchmark {
+
+    private static final String TOPIC = "order-workflow";
+    private static final String SERVICE = "order-service";
+    private static final String STEP = "Charge payment";
+    private static final Duration DURATION = Duration.ofMillis(12);
+
+    private MeterRegistry registry;
+    private WorkflowMetrics metrics;
+    private final Map<String, Counter> formerCounters = new ConcurrentHashMap<>();
+
+    @Setup
+    public void setup() {
+        registry = new SimpleMeterRegistry();
+        metrics = new WorkflowMetrics(registry);
+        metrics.recordWorkflowStarted(TOPIC, SERVICE);
+        metrics.recordStepExecuted(TOPIC, STEP, DURATION);
+    }
+
+    @Benchmark
+    public void workflowLifecycle() {
+        metrics.recordWorkflowStarted(TOPIC, SERVICE);
+        metrics.recordWorkflowCompleted(TOPIC, SERVICE, DURATION);
+    }
+
+    @Benchmark
+    public void stepExecuted() {
+        metrics.recordStepExecuted(TOPIC, STEP, DURATION);
+    }
+
+    @Benchmark
+    public void retry() {
+        metrics.recordRetry(TOPIC, 2);
+    }
+
+    @Benchmark
+    public void formerStepExecuted() {
+        String[] tags = {"topic", TOPIC, "step", STEP};
+        String key = "stepprflow.step.executed" + ":" + String.join(":", tags);
+        formerCounters.computeIfAbsent(key, k -> Counter.builder("stepprflow.step.executed")
+                .tags(tags)
+                .register(registry)).increment();
+        Timer.builder("stepprflow.step.duration")
+                .tag("topic", TOPIC)
+                .tag("step", STEP)
+                .description("Step execution duration")
+                .register(registry)
+                .record(DURATION.toMillis(), TimeUnit.MILLISECONDS);
+    }
+}
@@ -0,0 +1,123 @@
+package io.stepprflow.broker.kafka;
+
+import io.stepprflow.core.backlog.BacklogReader;
+import io.stepprflow.core.backlog.QueueBacklog;
+import io.stepprflow.core.exception.MessageBrokerException;
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.ConsumerGroupDescription;
+import org.apache.kafka.clients.admin.ListOffsetsResult;
+import org.apache.kafka.clients.admin.MemberDescription;
+import org.apache.kafka.clients.admin.OffsetSpec;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Backlog reader returning the lag of the workflow consumer group on each
+ * partition of the workflow topics.
+ *
+ * <p>The lag of a partition is its end offset minus the offset committed by
+ * the group. Partitions the group has not committed an offset on yet are
+ * not reported. The consumers of a partition are the group members it is
+ * assigned to: 0 while the group is rebalancing or has no member left.
+ */
+public class KafkaBacklogReader implements BacklogReader, AutoCloseable {
+
+    /** Timeout of the admin requests. */
+    private static final long TIMEOUT_SECONDS = 5;
+
+    private final Admin admin;
+    private final String groupId;
+
+    /**
+     * Create a reader.
+     *
+     * @param admin   the admin client, closed with the reader
+     * @param groupId the workflow consumer group
+     */
+    public KafkaBacklogReader(Admin admin, String groupId) {
+        this.admin = admin;
+        this.groupId = groupId;
+    }
+
+    @Override
+    public List<QueueBacklog> read(Collection<String> topics) {
+        try {
+            Map<TopicPartition, Long> lags = lag(topics);
+            if (lags.isEmpty()) {
+                return List.of();
+            }
+            Map<TopicPartition, Integer> consumers = consumers();
+            List<QueueBacklog> backlogs = new ArrayList<>(lags.size());
+            lags.forEach((partition, lag) -> backlogs.add(new QueueBacklog(
+                    partition.topic(), partition.toString(), lag, consumers.getOrDefault(partition, 0))));
+            return backlogs;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MessageBrokerException("kafka", "Interrupted while reading the lag of group " + groupId, e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new MessageBrokerException("kafka", "Cannot read the lag of group " + groupId, e);
+        }
+    }
+
+    /**
+     * Read the lag of the group on the partitions of topics.
+     *
+     * @param topics the topics
+     * @return the lag by partition, for the partitions with a committed offset
+     */
+    Map<TopicPartition, Long> lag(Collection<String> topics)
+            throws InterruptedException, ExecutionException, TimeoutException {
+        Set<String> wanted = Set.copyOf(topics);
+        Map<TopicPartition, OffsetAndMetadata> committed = admin.listConsumerGroupOffsets(groupId)
+                .partitionsToOffsetAndMetadata()
+                .get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        Map<TopicPartition, OffsetSpec> latest = new HashMap<>();
+        committed.forEach((partition, offset) -> {
+            if (offset != null && wanted.contains(partition.topic())) {
+                latest.put(partition, OffsetSpec.latest());
+            }
+        });
+        if (latest.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<TopicPartition, ListOffsetsResult.ListOffsetsResultInfo> ends = admin.listOffsets(latest)
+                .all()
+                .get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        Map<TopicPartition, Long> lags = new HashMap<>();
+        ends.forEach((partition, end) ->
+                lags.put(partition, Math.max(0, end.offset() - committed.get(partition).offset())));
+        return lags;
+    }
+
+    private Map<TopicPartition, Integer> consumers()
+            throws InterruptedException, ExecutionException, TimeoutException {
+        ConsumerGroupDescription group = admin.describeConsumerGroups(List.of(groupId))
+                .describedGroups()
+                .get(groupId)
+                .get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        Map<TopicPartition, Integer> consumers = new HashMap<>();
+        for (MemberDescription member : group.members()) {
+            for (TopicPartition partition : member.assignment().topicPartitions()) {
+                consumers.merge(partition, 1, Integer::sum);
+            }
+        }
+        return consumers;
+    }
+
+    @Override
+    public void close() {
+        admin.close();
+    }
+}
@@ -1,15 +1,25 @@
 package io.stepprflow.broker.kafka;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import io.stepprflow.core.StepprFlowProperties;
+import io.stepprflow.core.backlog.BacklogReader;
+import io.stepprflow.core.broker.ClaimCheckMessageBroker;
 import io.stepprflow.core.broker.MessageBroker;
-import io.stepprflow.core.security.TrustedPackagesValidator;
+import io.stepprflow.core.dedup.MessageDeduplicator;
+import io.stepprflow.core.dispatch.StepDispatcher;
+import io.stepprflow.core.metrics.WorkflowMetrics;
 import io.stepprflow.core.model.WorkflowMessage;
+import io.stepprflow.core.payload.ClaimCheck;
+import io.stepprflow.core.service.StepExecutor;
+import io.stepprflow.core.service.WorkflowRegistry;
+import io.stepprflow.core.wire.WireCodecRegistry;
+import org.apache.kafka.clients.admin.Admin;
 import org.apache.kafka.clients.admin.AdminClientConfig;
+import org.apache.kafka.clients.admin.NewTopic;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
@@ -17,19 +27,15 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.config.TopicBuilder;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaAdmin;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.core.ProducerFactory;
-import org.springframework.kafka.support.serializer.JsonDeserializer;
-import org.springframework.kafka.support.serializer.JsonSerializer;
-import io.stepprflow.core.service.StepExecutor;
-import io.stepprflow.core.service.WorkflowRegistry;
 
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 /**
@@ -45,12 +51,11 @@ public class KafkaBrokerAutoConfiguration {
     @Bean
     @ConditionalOnMissingBean
     public ProducerFactory<String, WorkflowMessage> workflowProducerFactory(
-            StepprFlowProperties properties, ObjectMapper objectMapper) {
+            StepprFlowProperties properties, WireCodecRegistry wireCodecs) {
 
         Map<String, Object> config = new HashMap<>();
         config.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, properties.getKafka().getBootstrapServers());
         config.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
         config.put(ProducerConfig.ACKS_CONFIG, properties.getKafka().getProducer().getAcks());
         config.put(ProducerConfig.RETRIES_CONFIG, properties.getKafka().getProducer().getRetries());
         config.put(ProducerConfig.BATCH_SIZE_CONFIG, properties.getKafka().getProducer().getBatchSize());
@@ -62,8 +67,7 @@ public class KafkaBrokerAutoConfiguration {
         DefaultKafkaProducerFactory<String, WorkflowMessage> factory =
                 new DefaultKafkaProducerFactory<>(config);
 
-        JsonSerializer<WorkflowMessage> serializer = new JsonSerializer<>(objectMapper);
-        factory.setValueSerializer(serializer);
+        factory.setValueSerializer(new WorkflowMessageSerializer(wireCodecs));
 
         return factory;
     }
@@ -78,12 +82,11 @@ public class KafkaBrokerAutoConfiguration {
     @Bean
     @ConditionalOnMissingBean
     public ConsumerFactory<String, WorkflowMessage> workflowConsumerFactory(
-            StepprFlowProperties properties, ObjectMapper objectMapper) {
+            StepprFlowProperties properties, WireCodecRegistry wireCodecs) {
 
         Map<String, Object> config = new HashMap<>();
         config.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, properties.getKafka().getBootstrapServers());
         config.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
-        config.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, JsonDeserializer.class);
         config.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, properties.getKafka().getConsumer().getAutoOffsetReset());
         config.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
         // Performance optimizations - batch fetching
@@ -98,15 +101,9 @@ public class KafkaBrokerAutoConfiguration {
             config.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
         }
 
-        JsonDeserializer<WorkflowMessage> deserializer = new JsonDeserializer<>(WorkflowMessage.class, objectMapper);
-
-        // SECURITY: Validate and apply trusted packages configuration
-        // Never use wildcard (*) - it enables Remote Code Execution attacks
-        List<String> trustedPackages = properties.getKafka().getTrustedPackages();
-        TrustedPackagesValidator.validate(trustedPackages);
-        deserializer.addTrustedPackages(trustedPackages.toArray(new String[0]));
-
-        deserializer.setUseTypeHeaders(false);
+        // Records are always bound to WorkflowMessage, never to a type from a header;
+        // payload types are checked against the trusted packages by PayloadCodecRegistry
+        WorkflowMessageDeserializer deserializer = new WorkflowMessageDeserializer(wireCodecs);
 
         return new DefaultKafkaConsumerFactory<>(config, new StringDeserializer(), deserializer);
     }
@@ -115,7 +112,8 @@ public class KafkaBrokerAutoConfiguration {
     @ConditionalOnMissingBean(name = "workflowKafkaListenerContainerFactory")
     public ConcurrentKafkaListenerContainerFactory<String, WorkflowMessage> workflowKafkaListenerContainerFactory(
             ConsumerFactory<String, WorkflowMessage> consumerFactory,
-            StepprFlowProperties properties) {
+            StepprFlowProperties properties,
+            ObjectProvider<KafkaMessageListener> messageListener) {
 
         ConcurrentKafkaListenerContainerFactory<String, WorkflowMessage> factory =
                 new ConcurrentKafkaListenerContainerFactory<>();
@@ -123,6 +121,8 @@ public class KafkaBrokerAutoConfiguration {
         factory.setConcurrency(properties.getKafka().getConsumer().getConcurrency());
         factory.getContainerProperties().setAckMode(
                 org.springframework.kafka.listener.ContainerProperties.AckMode.MANUAL_IMMEDIATE);
+        // The listener tracks offsets per partition and drops them on revocation
+        messageListener.ifAvailable(factory.getContainerProperties()::setConsumerRebalanceListener);
 
         return factory;
     }
@@ -137,8 +137,58 @@ public class KafkaBrokerAutoConfiguration {
 
     @Bean
     @ConditionalOnMissingBean(MessageBroker.class)
-    public MessageBroker messageBroker(KafkaTemplate<String, WorkflowMessage> kafkaTemplate) {
-        return new KafkaMessageBroker(kafkaTemplate);
+    public MessageBroker messageBroker(KafkaTemplate<String, WorkflowMessage> kafkaTemplate,
+                                       ObjectProvider<ClaimCheck> claimCheck) {
+        MessageBroker broker = new KafkaMessageBroker(kafkaTemplate);
+        ClaimCheck check = claimCheck.getIfAvailable();
+        return check != null ? new ClaimCheckMessageBroker(broker, check) : broker;
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "stepprflow.kafka.delay-topics", name = "enabled", havingValue = "true")
+    public KafkaDelayTopicScheduler kafkaDelayTopicScheduler(
+            ConsumerFactory<String, WorkflowMessage> consumerFactory,
+            KafkaTemplate<String, WorkflowMessage> kafkaTemplate,
+            MessageBroker messageBroker,
+            StepprFlowProperties properties,
+            ObjectProvider<ClaimCheck> claimCheck,
+            ObjectProvider<WorkflowMetrics> metrics) {
+        return new KafkaDelayTopicScheduler(consumerFactory, kafkaTemplate, messageBroker,
+                properties.getKafka().getDelayTopics(), claimCheck.getIfAvailable(), metrics.getIfAvailable());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "stepprflow.kafka.delay-topics", name = "enabled", havingValue = "true")
+    public KafkaAdmin.NewTopics stepprflowDelayTopics(
+            KafkaDelayTopicScheduler delayTopicScheduler,
+            StepprFlowProperties properties) {
+        if (!properties.getKafka().isAutoCreateTopics()) {
+            return new KafkaAdmin.NewTopics();
+        }
+        StepprFlowProperties.Kafka.DelayTopics config = properties.getKafka().getDelayTopics();
+        return new KafkaAdmin.NewTopics(delayTopicScheduler.getTopics().stream()
+                .map(topic -> TopicBuilder.name(topic)
+                        .partitions(config.getPartitions())
+                        .replicas(config.getReplicationFactor())
+                        .build())
+                .toArray(NewTopic[]::new));
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "stepprflow.admission", name = "enabled", havingValue = "true")
+    public KafkaConsumerLagProbe kafkaConsumerLagProbe(KafkaAdmin kafkaAdmin, StepprFlowProperties properties) {
+        return new KafkaConsumerLagProbe(Admin.create(kafkaAdmin.getConfigurationProperties()),
+                workflowGroupId(properties));
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(BacklogReader.class)
+    @ConditionalOnProperty(prefix = "stepprflow.backlog", name = "enabled", havingValue = "true")
+    public KafkaBacklogReader kafkaBacklogReader(KafkaAdmin kafkaAdmin, StepprFlowProperties properties) {
+        return new KafkaBacklogReader(Admin.create(kafkaAdmin.getConfigurationProperties()),
+                workflowGroupId(properties));
     }
 
     @Bean
@@ -147,7 +197,15 @@ public class KafkaBrokerAutoConfiguration {
     public KafkaMessageListener kafkaMessageListener(
             StepExecutor stepExecutor,
             WorkflowRegistry workflowRegistry,
-            org.springframework.context.ApplicationEventPublisher eventPublisher) {
-        return new KafkaMessageListener(stepExecutor, workflowRegistry, eventPublisher);
+            org.springframework.context.ApplicationEventPublisher eventPublisher,
+            ObjectProvider<StepDispatcher> stepDispatcher,
+            ObjectProvider<MessageDeduplicator> messageDeduplicator) {
+        return new KafkaMessageListener(stepExecutor, workflowRegistry, eventPublisher,
+                stepDispatcher.getIfAvailable(), messageDeduplicator.getIfAvailable());
+    }
+
+    private static String workflowGroupId(StepprFlowProperties properties) {
+        String groupId = properties.getKafka().getConsumer().getGroupId();
+        return groupId == null || groupId.isEmpty() ? "stepprflow-workflow-processor" : groupId;
     }
 }
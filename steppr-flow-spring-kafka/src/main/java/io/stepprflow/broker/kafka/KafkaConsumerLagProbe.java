@@ -0,0 +1,72 @@
+package io.stepprflow.broker.kafka;
+
+import io.stepprflow.core.admission.BacklogProbe;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.common.TopicPartition;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Backlog probe reading the lag of the workflow consumer group on a topic.
+ *
+ * <p>The lag is the sum, over the partitions of the topic the group has
+ * committed offsets for, of the end offset minus the committed offset (see
+ * {@link KafkaBacklogReader}). It is unknown while the group has no
+ * committed offset on the topic, or when the cluster does not answer in
+ * time.
+ */
+@Slf4j
+public class KafkaConsumerLagProbe implements BacklogProbe, AutoCloseable {
+
+    /** The probe name. */
+    public static final String NAME = "consumer-lag";
+
+    private final KafkaBacklogReader reader;
+    private final String groupId;
+
+    /**
+     * Create a probe.
+     *
+     * @param admin   the admin client, closed with the probe
+     * @param groupId the workflow consumer group
+     */
+    public KafkaConsumerLagProbe(Admin admin, String groupId) {
+        this.reader = new KafkaBacklogReader(admin, groupId);
+        this.groupId = groupId;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public long backlog(String topic) {
+        try {
+            Map<TopicPartition, Long> lags = reader.lag(List.of(topic));
+            if (lags.isEmpty()) {
+                return -1;
+            }
+            long lag = 0;
+            for (long partitionLag : lags.values()) {
+                lag += partitionLag;
+            }
+            return lag;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return -1;
+        } catch (ExecutionException | TimeoutException e) {
+            log.warn("Cannot read lag of group {} on topic {}: {}", groupId, topic, e.getMessage());
+            return -1;
+        }
+    }
+
+    @Override
+    public void close() {
+        reader.close();
+    }
+}
@@ -0,0 +1,502 @@
+package io.stepprflow.broker.kafka;
+
+import io.stepprflow.core.StepprFlowProperties;
+import io.stepprflow.core.broker.MessageBroker;
+import io.stepprflow.core.metrics.WorkflowMetrics;
+import io.stepprflow.core.model.WorkflowMessage;
+import io.stepprflow.core.model.WorkflowStatus;
+import io.stepprflow.core.payload.ClaimCheck;
+import io.stepprflow.core.retry.RetryScheduler;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRebalanceListener;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.RecordDeserializationException;
+import org.apache.kafka.common.errors.WakeupException;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Schedules retries through a ladder of Kafka delay topics.
+ *
+ * <p>Each topic of the ladder has a fixed delay (1s, 10s, 1m and 10m by
+ * default). A retry is sent to the topic with the longest delay not above
+ * its backoff, with its workflow topic and due time in headers. Since all
+ * records of a topic wait the same delay, they become due in offset order:
+ * the consumer pauses a partition until its head record is due, without
+ * reading further, then either sends the retry back to the workflow topic,
+ * or, if part of the backoff remains, down the ladder. Offsets are
+ * committed once the records are forwarded, so retries survive restarts,
+ * and the ladder scales with the partitions of the delay topics.
+ *
+ * <p>When the consumer fails, it is closed and created again after a backoff
+ * doubling from {@code 1s} up to {@code 30s}. After
+ * {@value #MAX_RESTARTS} failures in a row, the scheduler stops and
+ * declines new retries, which the failure handler then sends to the retry
+ * topic.
+ *
+ * <p>Retries scheduled here are not seen by the monitor as
+ * {@code RETRY_PENDING}, and are not polled by its retry scheduler.
+ *
+ * <p>Enabled with {@code stepprflow.kafka.delay-topics.enabled=true}.
+ */
+@Slf4j
+public class KafkaDelayTopicScheduler implements RetryScheduler, SmartLifecycle {
+
+    /** Header carrying the workflow topic of a delayed retry. */
+    public static final String TARGET_HEADER = "x-delay-target";
+
+    /** Header carrying the due time of a delayed retry, in epoch milliseconds. */
+    public static final String DUE_HEADER = "x-delay-due";
+
+    /** Longest wait between two polls. */
+    private static final Duration MAX_POLL_WAIT = Duration.ofMillis(500);
+
+    /** Timeout of the sends a retry or a forwarded batch waits for. */
+    private static final long SEND_TIMEOUT_SECONDS = 30;
+
+    /** Consumer failures in a row after which the scheduler stops. */
+    static final int MAX_RESTARTS = 5;
+
+    /** Longest wait before the consumer is created again. */
+    private static final Duration MAX_RESTART_BACKOFF = Duration.ofSeconds(30);
+
+    private final ConsumerFactory<String, WorkflowMessage> consumerFactory;
+    private final KafkaTemplate<String, WorkflowMessage> kafkaTemplate;
+    private final MessageBroker messageBroker;
+    private final ClaimCheck claimCheck;
+    private final WorkflowMetrics metrics;
+    private final String groupId;
+
+    /** Wait before the consumer is created again after a first failure. */
+    private final Duration restartBackoff;
+
+    /** Notified on stop, to end a restart backoff early. */
+    private final Object restartLock = new Object();
+
+    /** The ladder, by increasing delay. */
+    private final List<Tier> tiers;
+
+    /** Delays by topic name. */
+    private final Map<String, Long> delayByTopic = new HashMap<>();
+
+    /** Consumer failures in a row, only accessed by the poll thread. */
+    private int failures;
+
+    /** Resume times of paused partitions, only accessed by the poll thread. */
+    private final Map<TopicPartition, Long> pausedUntil = new HashMap<>();
+
+    private volatile boolean running;
+
+    /** Whether the consumer failed for good, declining new retries. */
+    private volatile boolean failed;
+    private volatile Consumer<String, WorkflowMessage> consumer;
+    private Thread pollThread;
+
+    /**
+     * Create a scheduler.
+     *
+     * @param consumerFactory the workflow consumer factory
+     * @param kafkaTemplate   the workflow Kafka template
+     * @param messageBroker   the message broker sending due retries
+     * @param config          the delay topic configuration
+     * @param claimCheck      the claim check, or null when disabled
+     * @param metrics         the workflow metrics, or null
+     */
+    public KafkaDelayTopicScheduler(ConsumerFactory<String, WorkflowMessage> consumerFactory,
+                                    KafkaTemplate<String, WorkflowMessage> kafkaTemplate,
+                                    MessageBroker messageBroker,
+                                    StepprFlowProperties.Kafka.DelayTopics config,
+                                    ClaimCheck claimCheck,
+                                    WorkflowMetrics metrics) {
+        this(consumerFactory, kafkaTemplate, messageBroker, config, claimCheck, metrics, Duration.ofSeconds(1));
+    }
+
+    /**
+     * Create a scheduler with a restart backoff, for tests.
+     *
+     * @param consumerFactory the workflow consumer factory
+     * @param kafkaTemplate   the workflow Kafka template
+     * @param messageBroker   the message broker sending due retries
+     * @param config          the delay topic configuration
+     * @param claimCheck      the claim check, or null when disabled
+     * @param metrics         the workflow metrics, or null
+     * @param restartBackoff  wait before the consumer is created again after a first failure
+     */
+    KafkaDelayTopicScheduler(ConsumerFactory<String, WorkflowMessage> consumerFactory,
+                             KafkaTemplate<String, WorkflowMessage> kafkaTemplate,
+                             MessageBroker messageBroker,
+                             StepprFlowProperties.Kafka.DelayTopics config,
+                             ClaimCheck claimCheck,
+                             WorkflowMetrics metrics,
+                             Duration restartBackoff) {
+        if (config.getDelays().isEmpty()) {
+            throw new IllegalArgumentException("At least one delay topic is required");
+        }
+        this.consumerFactory = consumerFactory;
+        this.kafkaTemplate = kafkaTemplate;
+        this.messageBroker = messageBroker;
+        this.claimCheck = claimCheck;
+        this.metrics = metrics;
+        this.groupId = config.getGroupId();
+        this.restartBackoff = restartBackoff;
+        this.tiers = config.getDelays().stream()
+                .distinct()
+                .sorted()
+                .map(delay -> new Tier(delay.toMillis(), topicName(config.getTopicPrefix(), delay)))
+                .toList();
+        for (Tier tier : tiers) {
+            delayByTopic.put(tier.topic(), tier.delayMs());
+        }
+    }
+
+    /**
+     * Get the name of a delay topic.
+     *
+     * @param prefix the topic prefix
+     * @param delay  the delay of the topic
+     * @return the prefix followed by the delay, such as {@code 10s} or {@code 1m}
+     */
+    public static String topicName(String prefix, Duration delay) {
+        long ms = delay.toMillis();
+        if (ms % 3_600_000 == 0) {
+            return prefix + ms / 3_600_000 + "h";
+        }
+        if (ms % 60_000 == 0) {
+            return prefix + ms / 60_000 + "m";
+        }
+        if (ms % 1_000 == 0) {
+            return prefix + ms / 1_000 + "s";
+        }
+        return prefix + ms + "ms";
+    }
+
+    /**
+     * Get the delay topic names.
+     *
+     * @return the topics of the ladder, by increasing delay
+     */
+    public List<String> getTopics() {
+        return tiers.stream().map(Tier::topic).toList();
+    }
+
+    @Override
+    public boolean schedule(WorkflowMessage retryMessage, String topic, String retryDestination, Duration delay) {
+        if (failed) {
+            // Nothing would read the delay topics
+            return false;
+        }
+        long due = System.currentTimeMillis() + delay.toMillis();
+        WorkflowMessage message = claimCheck != null ? claimCheck.checkIn(retryMessage) : retryMessage;
+        try {
+            send(tierFor(delay.toMillis()).topic(), message, topic, due)
+                    .get(SEND_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (ExecutionException | TimeoutException | RuntimeException e) {
+            log.warn("Cannot send retry of execution {} to a delay topic: {}",
+                    retryMessage.getExecutionId(), e.getMessage());
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        if (metrics != null) {
+            // Not seen on the retry topic, so not counted by the metrics listener
+            metrics.recordRetry(retryMessage.getTopic(), retryMessage.getRetryInfo().getAttempt());
+        }
+        return true;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        failed = false;
+        pollThread = Thread.ofPlatform().name("stepprflow-delay-scheduler").unstarted(this::run);
+        pollThread.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        synchronized (restartLock) {
+            restartLock.notifyAll();
+        }
+        Consumer<String, WorkflowMessage> current = consumer;
+        if (current != null) {
+            current.wakeup();
+        }
+        if (pollThread != null) {
+            try {
+                pollThread.join(TimeUnit.SECONDS.toMillis(SEND_TIMEOUT_SECONDS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            pollThread = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        failures = 0;
+        while (running) {
+            try {
+                poll();
+            } catch (RuntimeException e) {
+                failures++;
+                if (failures >= MAX_RESTARTS) {
+                    log.error("Delay topic scheduler stopped after {} failures, retries go to the retry topics: {}",
+                            failures, e.getMessage(), e);
+                    failed = true;
+                    running = false;
+                    return;
+                }
+                Duration backoff = restartBackoff(failures);
+                log.warn("Delay topic consumer failed, creating it again in {}: {}", backoff, e.getMessage(), e);
+                if (!awaitRestart(backoff)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Poll the delay topics with a new consumer until stopped.
+     *
+     * @throws RuntimeException if the consumer fails
+     */
+    private void poll() {
+        try (Consumer<String, WorkflowMessage> delayConsumer =
+                     consumerFactory.createConsumer(groupId, "stepprflow-delay", null)) {
+            consumer = delayConsumer;
+            long createdAt = System.nanoTime();
+            delayConsumer.subscribe(getTopics(), new ConsumerRebalanceListener() {
+                @Override
+                public void onPartitionsRevoked(Collection<TopicPartition> partitions) {
+                    partitions.forEach(pausedUntil::remove);
+                }
+
+                @Override
+                public void onPartitionsAssigned(Collection<TopicPartition> partitions) {
+                    // Partitions are paused again when their head record is read
+                }
+            });
+            while (running) {
+                resumeDuePartitions(delayConsumer);
+                ConsumerRecords<String, WorkflowMessage> records;
+                try {
+                    records = delayConsumer.poll(pollWait());
+                } catch (RecordDeserializationException e) {
+                    log.error("Skipping undecodable record from {} at offset {}",
+                            e.topicPartition(), e.offset(), e);
+                    delayConsumer.seek(e.topicPartition(), e.offset() + 1);
+                    continue;
+                }
+                boolean committed = !records.isEmpty() && forward(delayConsumer, records);
+                if (committed || System.nanoTime() - createdAt > MAX_RESTART_BACKOFF.toNanos()) {
+                    failures = 0;
+                }
+            }
+        } catch (WakeupException e) {
+            // Stopping
+        } finally {
+            consumer = null;
+            pausedUntil.clear();
+        }
+    }
+
+    private Duration restartBackoff(int failuresInRow) {
+        Duration backoff = restartBackoff.multipliedBy(1L << Math.min(failuresInRow - 1, 20));
+        return backoff.compareTo(MAX_RESTART_BACKOFF) > 0 ? MAX_RESTART_BACKOFF : backoff;
+    }
+
+    /**
+     * Wait before the consumer is created again.
+     *
+     * @return false if stopped meanwhile
+     */
+    private boolean awaitRestart(Duration backoff) {
+        long deadline = System.nanoTime() + backoff.toNanos();
+        synchronized (restartLock) {
+            long remaining = backoff.toNanos();
+            while (running && remaining > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.timedWait(restartLock, remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    running = false;
+                    return false;
+                }
+                remaining = deadline - System.nanoTime();
+            }
+        }
+        return running;
+    }
+
+    private void resumeDuePartitions(Consumer<String, WorkflowMessage> delayConsumer) {
+        long now = System.currentTimeMillis();
+        List<TopicPartition> due = new ArrayList<>();
+        Iterator<Map.Entry<TopicPartition, Long>> it = pausedUntil.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<TopicPartition, Long> entry = it.next();
+            if (entry.getValue() <= now) {
+                due.add(entry.getKey());
+                it.remove();
+            }
+        }
+        if (!due.isEmpty()) {
+            delayConsumer.resume(due);
+        }
+    }
+
+    private Duration pollWait() {
+        long now = System.currentTimeMillis();
+        long wait = pausedUntil.values().stream()
+                .mapToLong(until -> until - now)
+                .min()
+                .orElse(MAX_POLL_WAIT.toMillis());
+        return Duration.ofMillis(Math.max(1, Math.min(wait, MAX_POLL_WAIT.toMillis())));
+    }
+
+    /**
+     * Forward the due records of a batch.
+     *
+     * @return whether forwarded records were committed
+     */
+    private boolean forward(Consumer<String, WorkflowMessage> delayConsumer,
+                            ConsumerRecords<String, WorkflowMessage> records) {
+        Map<TopicPartition, OffsetAndMetadata> commits = new HashMap<>();
+        Map<TopicPartition, Long> firstOffsets = new HashMap<>();
+        List<CompletableFuture<?>> sends = new ArrayList<>();
+
+        for (TopicPartition partition : records.partitions()) {
+            for (ConsumerRecord<String, WorkflowMessage> record : records.records(partition)) {
+                long waitUntil = waitUntil(record);
+                if (waitUntil > System.currentTimeMillis()) {
+                    // Head of the partition is not due: read it again once it is
+                    delayConsumer.seek(partition, record.offset());
+                    delayConsumer.pause(List.of(partition));
+                    pausedUntil.put(partition, waitUntil);
+                    break;
+                }
+                firstOffsets.putIfAbsent(partition, record.offset());
+                if (record.value() != null) {
+                    sends.add(forward(record));
+                }
+                commits.put(partition, new OffsetAndMetadata(record.offset() + 1));
+            }
+        }
+
+        try {
+            CompletableFuture.allOf(sends.toArray(new CompletableFuture[0]))
+                    .get(SEND_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (ExecutionException | TimeoutException e) {
+            // Read the batch again; retries already sent are sent twice
+            log.warn("Cannot forward delayed retries, reading them again: {}", e.getMessage());
+            firstOffsets.forEach(delayConsumer::seek);
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+            return false;
+        }
+        if (commits.isEmpty()) {
+            return false;
+        }
+        delayConsumer.commitSync(commits);
+        return true;
+    }
+
+    private CompletableFuture<?> forward(ConsumerRecord<String, WorkflowMessage> record) {
+        WorkflowMessage message = record.value();
+        String target = header(record.headers(), TARGET_HEADER);
+        String dueHeader = header(record.headers(), DUE_HEADER);
+        if (target == null || dueHeader == null) {
+            log.warn("Dropping record without delay headers from {} at offset {}",
+                    record.topic(), record.offset());
+            return CompletableFuture.completedFuture(null);
+        }
+        long due = Long.parseLong(dueHeader);
+        long remaining = due - System.currentTimeMillis();
+        if (remaining > 0) {
+            return send(tierFor(remaining).topic(), message, target, due);
+        }
+        log.debug("Sending delayed retry of execution {} to {}", message.getExecutionId(), target);
+        return messageBroker.sendAsync(target, message.toBuilder()
+                .status(WorkflowStatus.IN_PROGRESS)
+                .updatedAt(Instant.now())
+                .build());
+    }
+
+    private CompletableFuture<?> send(String delayTopic, WorkflowMessage message, String target, long due) {
+        ProducerRecord<String, WorkflowMessage> record =
+                new ProducerRecord<>(delayTopic, message.getExecutionId(), message);
+        record.headers().add(TARGET_HEADER, target.getBytes(StandardCharsets.UTF_8));
+        record.headers().add(DUE_HEADER, Long.toString(due).getBytes(StandardCharsets.UTF_8));
+        return kafkaTemplate.send(record);
+    }
+
+    /**
+     * Time at which a record must be handled: its due time, or the delay of
+     * its topic after it was sent, whichever comes first. Records of a
+     * topic therefore never wait for longer than the topic delay behind its
+     * head.
+     */
+    private long waitUntil(ConsumerRecord<String, WorkflowMessage> record) {
+        long topicDue = record.timestamp() + delayByTopic.getOrDefault(record.topic(), 0L);
+        String dueHeader = header(record.headers(), DUE_HEADER);
+        return dueHeader != null ? Math.min(topicDue, Long.parseLong(dueHeader)) : topicDue;
+    }
+
+    /**
+     * The tier with the longest delay not above a delay, or the shortest
+     * tier for shorter delays.
+     */
+    Tier tierFor(long delayMs) {
+        return tiers.stream()
+                .filter(tier -> tier.delayMs() <= delayMs)
+                .max(Comparator.comparingLong(Tier::delayMs))
+                .orElse(tiers.get(0));
+    }
+
+    private static String header(Headers headers, String name) {
+        Header header = headers.lastHeader(name);
+        return header != null ? new String(header.value(), StandardCharsets.UTF_8) : null;
+    }
+
+    /**
+     * A topic of the ladder.
+     *
+     * @param delayMs the delay of the topic, in milliseconds
+     * @param topic   the topic name
+     */
+    record Tier(long delayMs, String topic) {
+    }
+}
@@ -8,6 +8,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.SendResult;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
 /**
@@ -70,6 +72,28 @@ public class KafkaMessageBroker implements MessageBroker {
         }
     }
 
+    /**
+     * Send messages through the producer, then flush it once so that the
+     * batch goes out without waiting for {@code linger.ms}.
+     */
+    @Override
+    public List<CompletableFuture<Void>> sendBatch(String destination, List<WorkflowMessage> messages) {
+        log.debug("Sending batch of {} messages to Kafka topic {}", messages.size(), destination);
+
+        List<CompletableFuture<Void>> results = new ArrayList<>(messages.size());
+        for (WorkflowMessage message : messages) {
+            try {
+                results.add(kafkaTemplate.send(destination, message.getExecutionId(), message)
+                        .thenApply(result -> (Void) null));
+            } catch (RuntimeException e) {
+                results.add(CompletableFuture.failedFuture(new MessageSendException("kafka", destination,
+                        message.getExecutionId(), e.getMessage(), e)));
+            }
+        }
+        kafkaTemplate.flush();
+        return results;
+    }
+
     @Override
     public String getBrokerType() {
         return "kafka";
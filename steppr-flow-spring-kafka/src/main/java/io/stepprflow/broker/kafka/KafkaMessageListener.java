@@ -1,29 +1,126 @@
 package io.stepprflow.broker.kafka;
 
+import io.stepprflow.core.dedup.MessageDeduplicator;
+import io.stepprflow.core.dispatch.ContiguousAckTracker;
+import io.stepprflow.core.dispatch.StepDispatcher;
 import io.stepprflow.core.event.WorkflowMessageEvent;
 import io.stepprflow.core.model.WorkflowMessage;
 import io.stepprflow.core.model.WorkflowStatus;
 import io.stepprflow.core.service.StepExecutor;
 import io.stepprflow.core.service.WorkflowRegistry;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRebalanceListener;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.kafka.support.Acknowledgment;
 
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * Kafka listener for workflow messages.
  * Listens to registered workflow topics and delegates to StepExecutor.
  * This bean is created by KafkaBrokerAutoConfiguration.
+ *
+ * <p>When a {@link StepDispatcher} is configured, steps run on the
+ * dispatcher instead of the consumer thread, and offsets are committed per
+ * partition only up to the last contiguous completed record. When the
+ * dispatcher is at capacity, the consumer does not block: the record is
+ * negatively acknowledged, which pauses the partitions while the consumer
+ * keeps polling, and delivered again shortly after. Offset tracking of a
+ * partition is dropped when it is revoked, so this listener must be
+ * registered as the container's rebalance listener.
+ *
+ * <p>When a {@link MessageDeduplicator} is configured, records already
+ * processed before a rebalance or restart are committed without running
+ * their step again.
  */
-@RequiredArgsConstructor
 @Slf4j
-public class KafkaMessageListener {
+public class KafkaMessageListener implements ConsumerRebalanceListener {
+
+    /**
+     * Time the partitions stay paused when the dispatcher has no capacity for
+     * a record, before it is delivered again.
+     */
+    static final Duration CAPACITY_WAIT = Duration.ofMillis(100);
+
+    /**
+     * Offset settlement. Kafka cannot leave a gap in committed offsets, so a
+     * record whose execution failed is committed like a successful one, as
+     * in inline mode; step failures are already routed to retry or DLQ.
+     */
+    private static final ContiguousAckTracker.Settler<Acknowledgment> SETTLER =
+            new ContiguousAckTracker.Settler<>() {
+                @Override
+                public void ack(Acknowledgment handle) {
+                    handle.acknowledge();
+                }
+
+                @Override
+                public void reject(Acknowledgment handle) {
+                    handle.acknowledge();
+                }
+            };
 
     private final StepExecutor stepExecutor;
     private final WorkflowRegistry registry;
     private final ApplicationEventPublisher eventPublisher;
+    private final StepDispatcher dispatcher;
+    private final MessageDeduplicator deduplicator;
+    private final Map<TopicPartition, ContiguousAckTracker<Acknowledgment>> ackTrackers = new ConcurrentHashMap<>();
+
+    /**
+     * Create a listener executing steps on the consumer thread.
+     *
+     * @param stepExecutor   the step executor
+     * @param registry       the workflow registry
+     * @param eventPublisher the event publisher
+     */
+    public KafkaMessageListener(StepExecutor stepExecutor,
+                                WorkflowRegistry registry,
+                                ApplicationEventPublisher eventPublisher) {
+        this(stepExecutor, registry, eventPublisher, null, null);
+    }
+
+    /**
+     * Create a listener executing steps on a dispatcher.
+     *
+     * @param stepExecutor   the step executor
+     * @param registry       the workflow registry
+     * @param eventPublisher the event publisher
+     * @param dispatcher     the step dispatcher, or null to execute on the consumer thread
+     */
+    public KafkaMessageListener(StepExecutor stepExecutor,
+                                WorkflowRegistry registry,
+                                ApplicationEventPublisher eventPublisher,
+                                StepDispatcher dispatcher) {
+        this(stepExecutor, registry, eventPublisher, dispatcher, null);
+    }
+
+    /**
+     * Create a listener dropping already processed records.
+     *
+     * @param stepExecutor   the step executor
+     * @param registry       the workflow registry
+     * @param eventPublisher the event publisher
+     * @param dispatcher     the step dispatcher, or null to execute on the consumer thread
+     * @param deduplicator   the redelivery deduplicator, or null to process every record
+     */
+    public KafkaMessageListener(StepExecutor stepExecutor,
+                                WorkflowRegistry registry,
+                                ApplicationEventPublisher eventPublisher,
+                                StepDispatcher dispatcher,
+                                MessageDeduplicator deduplicator) {
+        this.stepExecutor = stepExecutor;
+        this.registry = registry;
+        this.eventPublisher = eventPublisher;
+        this.dispatcher = dispatcher;
+        this.deduplicator = deduplicator;
+    }
 
     /**
      * Listen to all registered workflow topics.
@@ -34,6 +131,15 @@ public class KafkaMessageListener {
             groupId = "${stepprflow.kafka.consumer.group-id:stepprflow-workflow-processor}"
     )
     public void onMessage(ConsumerRecord<String, WorkflowMessage> record, Acknowledgment ack) {
+        if (record.headers().lastHeader(KafkaDelayTopicScheduler.DUE_HEADER) != null) {
+            // Delayed retry matched by the topic pattern, handled by the delay topic scheduler
+            ack.acknowledge();
+            return;
+        }
+        if (dispatcher != null) {
+            onMessageDispatched(record, ack);
+            return;
+        }
         WorkflowMessage message = record.value();
 
         if (message == null) {
@@ -51,8 +157,13 @@ public class KafkaMessageListener {
         // Only process PENDING or IN_PROGRESS messages
         if (message.getStatus() == WorkflowStatus.PENDING ||
             message.getStatus() == WorkflowStatus.IN_PROGRESS) {
+            if (deduplicator != null && deduplicator.isDuplicate(message)) {
+                ack.acknowledge();
+                return;
+            }
             try {
                 stepExecutor.execute(message);
+                markProcessed(message);
                 ack.acknowledge();
             } catch (Exception e) {
                 log.error("Error processing message: {}", e.getMessage(), e);
@@ -63,4 +174,78 @@ public class KafkaMessageListener {
             ack.acknowledge();
         }
     }
+
+    private void onMessageDispatched(ConsumerRecord<String, WorkflowMessage> record, Acknowledgment ack) {
+        WorkflowMessage message = record.value();
+        long offset = record.offset();
+        ContiguousAckTracker<Acknowledgment> tracker = ackTrackers.computeIfAbsent(
+                new TopicPartition(record.topic(), record.partition()),
+                tp -> new ContiguousAckTracker<>(SETTLER));
+        tracker.register(offset, ack);
+
+        if (message == null) {
+            log.warn("Received null message on topic {}", record.topic());
+            tracker.complete(offset, true);
+            return;
+        }
+
+        log.info("Received workflow message: topic={}, executionId={}, step={}, status={}",
+                record.topic(), message.getExecutionId(), message.getCurrentStep(), message.getStatus());
+
+        if (message.getStatus() != WorkflowStatus.PENDING &&
+            message.getStatus() != WorkflowStatus.IN_PROGRESS) {
+            publish(message);
+            log.debug("Skipping message with status {}", message.getStatus());
+            tracker.complete(offset, true);
+            return;
+        }
+
+        if (deduplicator != null && deduplicator.isDuplicate(message)) {
+            publish(message);
+            tracker.complete(offset, true);
+            return;
+        }
+
+        // Publish event for monitoring/persistence once accepted, before the step runs
+        boolean accepted = dispatcher.tryDispatch(message, () -> publish(message), error -> {
+            if (error == null) {
+                markProcessed(message);
+            }
+            tracker.complete(offset, error == null);
+        });
+        if (!accepted) {
+            // Dispatcher at capacity: rather than blocking the poll loop, withdraw the
+            // record and let the container pause the partitions and deliver it again
+            log.debug("Dispatcher at capacity, redelivering offset {} of {}-{} in {}",
+                    offset, record.topic(), record.partition(), CAPACITY_WAIT);
+            tracker.unregister(offset);
+            ack.nack(CAPACITY_WAIT);
+        }
+    }
+
+    /**
+     * Discard the offset trackers of revoked partitions: their pending
+     * records are delivered again to the next owner.
+     *
+     * @param partitions the revoked partitions
+     */
+    @Override
+    public void onPartitionsRevoked(Collection<TopicPartition> partitions) {
+        partitions.forEach(ackTrackers::remove);
+    }
+
+    @Override
+    public void onPartitionsAssigned(Collection<TopicPartition> partitions) {
+        // New trackers are created on the first record of each partition
+    }
+
+    private void publish(WorkflowMessage message) {
+        eventPublisher.publishEvent(new WorkflowMessageEvent(this, message));
+    }
+
+    private void markProcessed(WorkflowMessage message) {
+        if (deduplicator != null) {
+            deduplicator.markProcessed(message);
+        }
+    }
 }
@@ -0,0 +1,61 @@
+package io.stepprflow.broker.kafka;
+
+import io.stepprflow.core.model.WorkflowMessage;
+import io.stepprflow.core.wire.WireCodecRegistry;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Function;
+
+/**
+ * Kafka deserializer reading workflow messages with the wire codec named by
+ * their {@value WorkflowMessageSerializer#CONTENT_TYPE_HEADER} header.
+ *
+ * <p>Records without the header are JSON. {@link io.stepprflow.core.wire.WireEnvelope}
+ * headers take precedence over the envelope fields of the body. Records are always bound to
+ * {@link WorkflowMessage}; type headers are never used.
+ */
+public class WorkflowMessageDeserializer implements Deserializer<WorkflowMessage> {
+
+    private final WireCodecRegistry codecs;
+
+    /**
+     * Create a deserializer.
+     *
+     * @param codecs the wire codec registry
+     */
+    public WorkflowMessageDeserializer(WireCodecRegistry codecs) {
+        this.codecs = codecs;
+    }
+
+    @Override
+    public WorkflowMessage deserialize(String topic, byte[] data) {
+        return decode(topic, null, data, name -> null);
+    }
+
+    @Override
+    public WorkflowMessage deserialize(String topic, Headers headers, byte[] data) {
+        Header header = headers.lastHeader(WorkflowMessageSerializer.CONTENT_TYPE_HEADER);
+        String contentType = header != null ? new String(header.value(), StandardCharsets.UTF_8) : null;
+        return decode(topic, contentType, data, name -> {
+            Header value = headers.lastHeader(name);
+            return value != null ? new String(value.value(), StandardCharsets.UTF_8) : null;
+        });
+    }
+
+    private WorkflowMessage decode(String topic, String contentType, byte[] data,
+                                   Function<String, String> envelope) {
+        if (data == null) {
+            return null;
+        }
+        try {
+            return codecs.decode(contentType, data, envelope);
+        } catch (IOException | IllegalArgumentException e) {
+            throw new SerializationException("Cannot decode workflow message from topic " + topic, e);
+        }
+    }
+}
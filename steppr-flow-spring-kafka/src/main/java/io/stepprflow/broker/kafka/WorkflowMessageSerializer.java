@@ -0,0 +1,72 @@
+package io.stepprflow.broker.kafka;
+
+import io.stepprflow.core.model.WorkflowMessage;
+import io.stepprflow.core.wire.WireCodec;
+import io.stepprflow.core.wire.WireCodecRegistry;
+import io.stepprflow.core.wire.WireEnvelope;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Serializer;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Kafka serializer writing workflow messages with the configured wire codec,
+ * and its content type in the {@value #CONTENT_TYPE_HEADER} header.
+ *
+ * <p>The envelope fields are written as {@link WireEnvelope} headers, and
+ * a received body may be forwarded as-is (see
+ * {@link WireCodecRegistry#encode(WorkflowMessage)}). Without headers, the
+ * message is always encoded in full.
+ */
+public class WorkflowMessageSerializer implements Serializer<WorkflowMessage> {
+
+    /** Record header carrying the wire content type. */
+    public static final String CONTENT_TYPE_HEADER = "contentType";
+
+    private final WireCodecRegistry codecs;
+    private final WireCodec codec;
+    private final byte[] contentType;
+
+    /**
+     * Create a serializer.
+     *
+     * @param codecs the wire codec registry
+     */
+    public WorkflowMessageSerializer(WireCodecRegistry codecs) {
+        this.codecs = codecs;
+        this.codec = codecs.getWriteCodec();
+        this.contentType = codec.getContentType().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public byte[] serialize(String topic, WorkflowMessage data) {
+        if (data == null) {
+            return null;
+        }
+        try {
+            return codec.encode(data);
+        } catch (IOException e) {
+            throw new SerializationException("Cannot encode workflow message for topic " + topic, e);
+        }
+    }
+
+    @Override
+    public byte[] serialize(String topic, Headers headers, WorkflowMessage data) {
+        headers.remove(CONTENT_TYPE_HEADER);
+        headers.add(CONTENT_TYPE_HEADER, contentType);
+        if (data == null) {
+            return null;
+        }
+        WireEnvelope.write(data, (name, value) -> {
+            headers.remove(name);
+            headers.add(name, value.getBytes(StandardCharsets.UTF_8));
+        });
+        try {
+            return codecs.encode(data);
+        } catch (IOException e) {
+            throw new SerializationException("Cannot encode workflow message for topic " + topic, e);
+        }
+    }
+}
@@ -17,6 +17,9 @@
  *   <li>{@link io.stepprflow.broker.kafka.KafkaMessageBroker} - Sends workflow messages</li>
  *   <li>{@link io.stepprflow.broker.kafka.KafkaMessageListener} - Receives and processes messages</li>
  *   <li>{@link io.stepprflow.broker.kafka.KafkaMessageContext} - Kafka acknowledgment context</li>
+ *   <li>{@link io.stepprflow.broker.kafka.KafkaDelayTopicScheduler} - Durable retry scheduling on delay topics</li>
+ *   <li>{@link io.stepprflow.broker.kafka.KafkaConsumerLagProbe} - Consumer lag for admission control</li>
+ *   <li>{@link io.stepprflow.broker.kafka.KafkaBacklogReader} - Consumer lag per partition, for the backlog gauges</li>
  *   <li>{@link io.stepprflow.broker.kafka.KafkaBrokerAutoConfiguration} - Spring Boot auto-config</li>
  * </ul>
  */
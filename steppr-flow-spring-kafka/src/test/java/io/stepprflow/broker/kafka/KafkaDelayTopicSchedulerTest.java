@@ -0,0 +1,276 @@
+package io.stepprflow.broker.kafka;
+
+import io.stepprflow.core.StepprFlowProperties;
+import io.stepprflow.core.broker.MessageBroker;
+import io.stepprflow.core.model.RetryInfo;
+import io.stepprflow.core.model.WorkflowMessage;
+import io.stepprflow.core.model.WorkflowStatus;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.KafkaException;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.RebalanceInProgressException;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("KafkaDelayTopicScheduler Tests")
+class KafkaDelayTopicSchedulerTest {
+
+    @Mock
+    private ConsumerFactory<String, WorkflowMessage> consumerFactory;
+
+    @Mock
+    private KafkaTemplate<String, WorkflowMessage> kafkaTemplate;
+
+    @Mock
+    private MessageBroker messageBroker;
+
+    private KafkaDelayTopicScheduler scheduler;
+
+    private final WorkflowMessage retryMessage = WorkflowMessage.builder()
+            .executionId("exec-1")
+            .topic("orders-workflow")
+            .currentStep(2)
+            .status(WorkflowStatus.RETRY_PENDING)
+            .retryInfo(RetryInfo.builder().attempt(2).maxAttempts(3).build())
+            .build();
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new KafkaDelayTopicScheduler(consumerFactory, kafkaTemplate, messageBroker,
+                new StepprFlowProperties.Kafka.DelayTopics(), null, null);
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.stop();
+    }
+
+    @Nested
+    @DisplayName("Ladder")
+    class LadderTests {
+
+        @Test
+        @DisplayName("Should name delay topics after their delay")
+        void shouldNameTopics() {
+            assertThat(scheduler.getTopics()).containsExactly(
+                    "stepprflow-delay-1s", "stepprflow-delay-10s",
+                    "stepprflow-delay-1m", "stepprflow-delay-10m");
+            assertThat(KafkaDelayTopicScheduler.topicName("d-", Duration.ofMillis(250))).isEqualTo("d-250ms");
+            assertThat(KafkaDelayTopicScheduler.topicName("d-", Duration.ofHours(2))).isEqualTo("d-2h");
+        }
+
+        @Test
+        @DisplayName("Should pick the longest delay not above the backoff")
+        void shouldPickTier() {
+            assertThat(scheduler.tierFor(45_000).topic()).isEqualTo("stepprflow-delay-10s");
+            assertThat(scheduler.tierFor(60_000).topic()).isEqualTo("stepprflow-delay-1m");
+            assertThat(scheduler.tierFor(3_600_000).topic()).isEqualTo("stepprflow-delay-10m");
+            assertThat(scheduler.tierFor(200).topic()).isEqualTo("stepprflow-delay-1s");
+        }
+    }
+
+    @Nested
+    @DisplayName("schedule()")
+    class ScheduleTests {
+
+        @Test
+        @DisplayName("Should send the retry to its delay topic with target and due time")
+        @SuppressWarnings("unchecked")
+        void shouldSendToDelayTopic() {
+            when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(CompletableFuture.completedFuture(null));
+            long before = System.currentTimeMillis();
+
+            boolean accepted = scheduler.schedule(retryMessage, "orders-workflow", "orders-workflow.retry",
+                    Duration.ofSeconds(90));
+
+            ArgumentCaptor<ProducerRecord<String, WorkflowMessage>> captor = ArgumentCaptor.forClass(ProducerRecord.class);
+            verify(kafkaTemplate).send(captor.capture());
+            ProducerRecord<String, WorkflowMessage> record = captor.getValue();
+            assertThat(accepted).isTrue();
+            assertThat(record.topic()).isEqualTo("stepprflow-delay-1m");
+            assertThat(record.key()).isEqualTo("exec-1");
+            assertThat(header(record.headers().lastHeader(KafkaDelayTopicScheduler.TARGET_HEADER).value()))
+                    .isEqualTo("orders-workflow");
+            assertThat(Long.parseLong(header(record.headers().lastHeader(KafkaDelayTopicScheduler.DUE_HEADER).value())))
+                    .isGreaterThanOrEqualTo(before + 90_000);
+        }
+
+        @Test
+        @DisplayName("Should decline the retry when the delay topic cannot be written")
+        @SuppressWarnings("unchecked")
+        void shouldDeclineOnSendFailure() {
+            when(kafkaTemplate.send(any(ProducerRecord.class)))
+                    .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+
+            assertThat(scheduler.schedule(retryMessage, "orders-workflow", "orders-workflow.retry",
+                    Duration.ofSeconds(5))).isFalse();
+        }
+    }
+
+    @Nested
+    @DisplayName("Delay topic consumer")
+    class ConsumerTests {
+
+        private final TopicPartition partition = new TopicPartition("stepprflow-delay-1s", 0);
+        private MockConsumer<String, WorkflowMessage> consumer;
+
+        @BeforeEach
+        void setUp() {
+            consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+            when(consumerFactory.createConsumer(eq("stepprflow-delay-scheduler"), eq("stepprflow-delay"), isNull()))
+                    .thenReturn(consumer);
+            lenient().when(messageBroker.sendAsync(any(), any())).thenReturn(CompletableFuture.completedFuture(null));
+        }
+
+        private void deliver(long timestamp, long due) {
+            RecordHeaders headers = new RecordHeaders();
+            headers.add(KafkaDelayTopicScheduler.TARGET_HEADER, "orders-workflow".getBytes(StandardCharsets.UTF_8));
+            headers.add(KafkaDelayTopicScheduler.DUE_HEADER, Long.toString(due).getBytes(StandardCharsets.UTF_8));
+            ConsumerRecord<String, WorkflowMessage> record = new ConsumerRecord<>(
+                    partition.topic(), 0, 0L, timestamp, TimestampType.CREATE_TIME,
+                    -1, -1, "exec-1", retryMessage, headers, Optional.empty());
+            consumer.schedulePollTask(() -> {
+                consumer.rebalance(List.of(partition));
+                consumer.updateBeginningOffsets(Map.of(partition, 0L));
+                consumer.addRecord(record);
+            });
+            // The mock consumer drops fetched records: offer the record again
+            // on later polls, as a broker would after a seek
+            for (int i = 0; i < 100; i++) {
+                consumer.schedulePollTask(() -> consumer.addRecord(record));
+            }
+        }
+
+        @Test
+        @DisplayName("Should send due retries back to the workflow topic and commit them")
+        void shouldForwardDueRetry() {
+            long now = System.currentTimeMillis();
+            deliver(now - 2_000, now - 1_000);
+
+            scheduler.start();
+
+            verify(messageBroker, timeout(5000)).sendAsync(eq("orders-workflow"),
+                    argThat(message -> message.getStatus() == WorkflowStatus.IN_PROGRESS
+                            && message.getRetryInfo().getAttempt() == 2));
+            await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                    assertThat(consumer.committed(Set.of(partition)).get(partition).offset()).isEqualTo(1));
+        }
+
+        @Test
+        @DisplayName("Should hold retries until they are due")
+        void shouldWaitUntilDue() {
+            long now = System.currentTimeMillis();
+            deliver(now, now + 800);
+
+            scheduler.start();
+
+            verify(messageBroker, after(300).never()).sendAsync(any(), any());
+            verify(messageBroker, timeout(5000)).sendAsync(eq("orders-workflow"), any());
+            assertThat(System.currentTimeMillis()).isGreaterThanOrEqualTo(now + 800);
+        }
+
+        @Test
+        @DisplayName("Should send retries with remaining delay down the ladder")
+        @SuppressWarnings("unchecked")
+        void shouldMoveDownTheLadder() {
+            when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(CompletableFuture.completedFuture(null));
+            long now = System.currentTimeMillis();
+            // Sent one second ago to the 1s topic, but due in 5 seconds
+            deliver(now - 1_000, now + 5_000);
+
+            scheduler.start();
+
+            ArgumentCaptor<ProducerRecord<String, WorkflowMessage>> captor = ArgumentCaptor.forClass(ProducerRecord.class);
+            verify(kafkaTemplate, timeout(5000)).send(captor.capture());
+            assertThat(captor.getValue().topic()).isEqualTo("stepprflow-delay-1s");
+            verify(messageBroker, never()).sendAsync(any(), any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Consumer failures")
+    class FailureTests {
+
+        @BeforeEach
+        void setUp() {
+            scheduler = new KafkaDelayTopicScheduler(consumerFactory, kafkaTemplate, messageBroker,
+                    new StepprFlowProperties.Kafka.DelayTopics(), null, null, Duration.ofMillis(10));
+        }
+
+        @Test
+        @DisplayName("Should create the consumer again after a failure")
+        void shouldRecreateConsumer() {
+            MockConsumer<String, WorkflowMessage> failing = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+            failing.setPollException(new RebalanceInProgressException("rebalancing"));
+            MockConsumer<String, WorkflowMessage> healthy = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+            when(consumerFactory.createConsumer(eq("stepprflow-delay-scheduler"), eq("stepprflow-delay"), isNull()))
+                    .thenReturn(failing, healthy);
+
+            scheduler.start();
+
+            verify(consumerFactory, timeout(5000).times(2))
+                    .createConsumer(eq("stepprflow-delay-scheduler"), eq("stepprflow-delay"), isNull());
+            assertThat(failing.closed()).isTrue();
+            assertThat(healthy.subscription()).contains("stepprflow-delay-1s");
+            assertThat(scheduler.isRunning()).isTrue();
+        }
+
+        @Test
+        @DisplayName("Should stop and decline retries when the consumer keeps failing")
+        @SuppressWarnings("unchecked")
+        void shouldStopAfterRepeatedFailures() {
+            when(consumerFactory.createConsumer(eq("stepprflow-delay-scheduler"), eq("stepprflow-delay"), isNull()))
+                    .thenThrow(new KafkaException("no broker"));
+
+            scheduler.start();
+
+            await().atMost(Duration.ofSeconds(5)).until(() -> !scheduler.isRunning());
+            verify(consumerFactory, times(KafkaDelayTopicScheduler.MAX_RESTARTS))
+                    .createConsumer(eq("stepprflow-delay-scheduler"), eq("stepprflow-delay"), isNull());
+            assertThat(scheduler.schedule(retryMessage, "orders-workflow", "orders-workflow.retry",
+                    Duration.ofSeconds(5))).isFalse();
+            verify(kafkaTemplate, never()).send(any(ProducerRecord.class));
+        }
+    }
+
+    private static String header(byte[] value) {
+        return new String(value, StandardCharsets.UTF_8);
+    }
+}
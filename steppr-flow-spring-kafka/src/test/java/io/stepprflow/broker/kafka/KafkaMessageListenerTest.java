@@ -1,23 +1,33 @@
 package io.stepprflow.broker.kafka;
 
+import io.stepprflow.core.StepprFlowProperties;
+import io.stepprflow.core.dedup.MessageDeduplicator;
+import io.stepprflow.core.dispatch.StepDispatcher;
+import io.stepprflow.core.event.WorkflowMessageEvent;
 import io.stepprflow.core.model.WorkflowMessage;
 import io.stepprflow.core.model.WorkflowStatus;
 import io.stepprflow.core.service.StepExecutor;
 import io.stepprflow.core.service.WorkflowRegistry;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.kafka.support.Acknowledgment;
 
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.function.Consumer;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -155,6 +165,186 @@ class KafkaMessageListenerTest {
         }
     }
 
+    @Nested
+    @DisplayName("onMessage() with dispatcher")
+    class DispatchedTests {
+
+        @Mock
+        private StepDispatcher dispatcher;
+
+        @BeforeEach
+        void setUp() {
+            listener = new KafkaMessageListener(stepExecutor, registry, eventPublisher, dispatcher);
+        }
+
+        private void acceptDispatches() {
+            doAnswer(invocation -> {
+                invocation.<Runnable>getArgument(1).run();
+                return true;
+            }).when(dispatcher).tryDispatch(any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Should hand message to dispatcher and acknowledge contiguous completions only")
+        @SuppressWarnings("unchecked")
+        void shouldAcknowledgeContiguousCompletions() {
+            // Given
+            acceptDispatches();
+            WorkflowMessage first = createMessage(WorkflowStatus.PENDING);
+            WorkflowMessage second = createMessage(WorkflowStatus.PENDING);
+            Acknowledgment firstAck = mock(Acknowledgment.class);
+            Acknowledgment secondAck = mock(Acknowledgment.class);
+            ArgumentCaptor<Consumer<Exception>> completions = ArgumentCaptor.forClass(Consumer.class);
+
+            // When
+            listener.onMessage(createRecord(first, 0L), firstAck);
+            listener.onMessage(createRecord(second, 1L), secondAck);
+            verify(dispatcher).tryDispatch(eq(first), any(), completions.capture());
+            verify(dispatcher).tryDispatch(eq(second), any(), completions.capture());
+            completions.getAllValues().get(1).accept(null);
+
+            // Then
+            verify(stepExecutor, never()).execute(any());
+            verifyNoInteractions(firstAck, secondAck);
+
+            completions.getAllValues().get(0).accept(null);
+            verify(secondAck).acknowledge();
+            verifyNoInteractions(firstAck);
+        }
+
+        @Test
+        @DisplayName("Should acknowledge skipped message without dispatching")
+        void shouldAcknowledgeSkippedMessage() {
+            // Given
+            WorkflowMessage message = createMessage(WorkflowStatus.COMPLETED);
+
+            // When
+            listener.onMessage(createRecord(message, 0L), acknowledgment);
+
+            // Then
+            verify(dispatcher, never()).tryDispatch(any(), any(), any());
+            verify(acknowledgment).acknowledge();
+        }
+
+        @Test
+        @DisplayName("Should commit a failed record like a successful one")
+        @SuppressWarnings("unchecked")
+        void shouldCommitFailedRecord() {
+            // Given
+            acceptDispatches();
+            ArgumentCaptor<Consumer<Exception>> completion = ArgumentCaptor.forClass(Consumer.class);
+            listener.onMessage(createRecord(createMessage(WorkflowStatus.PENDING), 0L), acknowledgment);
+            verify(dispatcher).tryDispatch(any(), any(), completion.capture());
+
+            // When
+            completion.getValue().accept(new RuntimeException("Step failed"));
+
+            // Then
+            verify(acknowledgment).acknowledge();
+        }
+
+        @Test
+        @DisplayName("Should redeliver a record refused at capacity without losing pending offsets")
+        @SuppressWarnings("unchecked")
+        void shouldRedeliverAtCapacity() {
+            // Given
+            WorkflowMessage first = createMessage(WorkflowStatus.PENDING);
+            WorkflowMessage second = createMessage(WorkflowStatus.PENDING);
+            Acknowledgment firstAck = mock(Acknowledgment.class);
+            Acknowledgment refusedAck = mock(Acknowledgment.class);
+            Acknowledgment secondAck = mock(Acknowledgment.class);
+            ArgumentCaptor<Consumer<Exception>> completions = ArgumentCaptor.forClass(Consumer.class);
+            acceptDispatches();
+            listener.onMessage(createRecord(first, 0L), firstAck);
+            doReturn(false).when(dispatcher).tryDispatch(eq(second), any(), any());
+
+            // When
+            listener.onMessage(createRecord(second, 1L), refusedAck);
+
+            // Then
+            verify(refusedAck).nack(KafkaMessageListener.CAPACITY_WAIT);
+            verify(eventPublisher, times(1)).publishEvent(any(WorkflowMessageEvent.class));
+
+            acceptDispatches();
+            listener.onMessage(createRecord(second, 1L), secondAck);
+            verify(dispatcher).tryDispatch(eq(first), any(), completions.capture());
+            verify(dispatcher, times(2)).tryDispatch(eq(second), any(), completions.capture());
+            completions.getAllValues().get(0).accept(null);
+            verify(firstAck).acknowledge();
+            completions.getAllValues().get(2).accept(null);
+            verify(secondAck).acknowledge();
+            verify(refusedAck, never()).acknowledge();
+        }
+
+        @Test
+        @DisplayName("Should drop the offsets of revoked partitions")
+        @SuppressWarnings("unchecked")
+        void shouldDropRevokedPartitions() {
+            // Given
+            acceptDispatches();
+            Acknowledgment revokedAck = mock(Acknowledgment.class);
+            ArgumentCaptor<Consumer<Exception>> completions = ArgumentCaptor.forClass(Consumer.class);
+            listener.onMessage(createRecord(createMessage(WorkflowStatus.PENDING), 0L), revokedAck);
+
+            // When
+            listener.onPartitionsRevoked(List.of(new TopicPartition("test-topic", 0)));
+            listener.onPartitionsAssigned(List.of(new TopicPartition("test-topic", 0)));
+            listener.onMessage(createRecord(createMessage(WorkflowStatus.PENDING), 1L), acknowledgment);
+
+            // Then
+            verify(dispatcher, times(2)).tryDispatch(any(), any(), completions.capture());
+            completions.getAllValues().get(1).accept(null);
+            verify(acknowledgment).acknowledge();
+            verifyNoInteractions(revokedAck);
+        }
+    }
+
+    @Nested
+    @DisplayName("onMessage() with deduplicator")
+    class DeduplicatedTests {
+
+        private MessageDeduplicator deduplicator;
+
+        @BeforeEach
+        void setUp() {
+            deduplicator = new MessageDeduplicator(new StepprFlowProperties(), null, null);
+            listener = new KafkaMessageListener(stepExecutor, registry, eventPublisher, null, deduplicator);
+        }
+
+        @Test
+        @DisplayName("Should acknowledge redelivered record without executing it again")
+        void shouldDropRedeliveredRecord() {
+            // Given
+            WorkflowMessage message = createMessage(WorkflowStatus.PENDING);
+            listener.onMessage(createRecord(message, 0L), acknowledgment);
+
+            // When
+            listener.onMessage(createRecord(message, 0L), acknowledgment);
+
+            // Then
+            verify(stepExecutor, times(1)).execute(message);
+            verify(acknowledgment, times(2)).acknowledge();
+            assertThat(deduplicator.getHitCount()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should execute redelivered record again when first execution threw")
+        void shouldNotMarkFailedExecution() {
+            // Given
+            WorkflowMessage message = createMessage(WorkflowStatus.PENDING);
+            doThrow(new RuntimeException("Broker down")).doNothing().when(stepExecutor).execute(message);
+            listener.onMessage(createRecord(message, 0L), acknowledgment);
+
+            // When
+            listener.onMessage(createRecord(message, 0L), acknowledgment);
+
+            // Then
+            verify(stepExecutor, times(2)).execute(message);
+            verify(acknowledgment, times(1)).acknowledge();
+            assertThat(deduplicator.getHitCount()).isZero();
+        }
+    }
+
     private WorkflowMessage createMessage(WorkflowStatus status) {
         return WorkflowMessage.builder()
                 .executionId(UUID.randomUUID().toString())
@@ -168,10 +358,14 @@ class KafkaMessageListenerTest {
     }
 
     private ConsumerRecord<String, WorkflowMessage> createRecord(WorkflowMessage message) {
+        return createRecord(message, 0L);
+    }
+
+    private ConsumerRecord<String, WorkflowMessage> createRecord(WorkflowMessage message, long offset) {
         return new ConsumerRecord<>(
                 message.getTopic(),
                 0,
-                0L,
+                offset,
                 message.getExecutionId(),
                 message
         );
@@ -0,0 +1,98 @@
+package io.stepprflow.broker.kafka;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.stepprflow.core.model.WorkflowMessage;
+import io.stepprflow.core.model.WorkflowStatus;
+import io.stepprflow.core.wire.JacksonWireCodec;
+import io.stepprflow.core.wire.WireCodecRegistry;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("WorkflowMessageSerializer / WorkflowMessageDeserializer Tests")
+class WorkflowMessageSerializerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private final WorkflowMessage message = WorkflowMessage.builder()
+            .executionId("exec-1")
+            .topic("orders")
+            .currentStep(1)
+            .status(WorkflowStatus.PENDING)
+            .payload(Map.of("orderId", "ORD-1"))
+            .build();
+
+    private WireCodecRegistry registry(String contentType) {
+        return new WireCodecRegistry(objectMapper, contentType, List.of());
+    }
+
+    @Test
+    @DisplayName("Should write the content type header and read it back")
+    void shouldRoundTripWithHeader() {
+        Headers headers = new RecordHeaders();
+        byte[] data = new WorkflowMessageSerializer(registry(JacksonWireCodec.SMILE))
+                .serialize("orders", headers, message);
+
+        assertThat(new String(headers.lastHeader("contentType").value(), StandardCharsets.UTF_8))
+                .isEqualTo(JacksonWireCodec.SMILE);
+
+        // A consumer still sending JSON reads Smile records by their header
+        WorkflowMessage decoded = new WorkflowMessageDeserializer(registry(JacksonWireCodec.JSON))
+                .deserialize("orders", headers, data);
+        assertThat(decoded.getExecutionId()).isEqualTo("exec-1");
+        assertThat(decoded.getPayload()).isEqualTo(Map.of("orderId", "ORD-1"));
+    }
+
+    @Test
+    @DisplayName("Should read records without content type header as JSON")
+    void shouldReadLegacyJson() throws Exception {
+        byte[] data = objectMapper.writeValueAsBytes(message);
+
+        WorkflowMessage decoded = new WorkflowMessageDeserializer(registry(JacksonWireCodec.SMILE))
+                .deserialize("orders", new RecordHeaders(), data);
+
+        assertThat(decoded.getExecutionId()).isEqualTo("exec-1");
+    }
+
+    @Test
+    @DisplayName("Should fail on unknown content type")
+    void shouldRejectUnknownContentType() {
+        Headers headers = new RecordHeaders();
+        headers.add("contentType", "application/x-protobuf".getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> new WorkflowMessageDeserializer(registry(JacksonWireCodec.JSON))
+                .deserialize("orders", headers, new byte[] {1}))
+                .isInstanceOf(SerializationException.class);
+    }
+
+    @Test
+    @DisplayName("Should forward the received body with the next step in headers")
+    void shouldForwardBodyOnNextStep() {
+        WireCodecRegistry registry = new WireCodecRegistry(objectMapper, JacksonWireCodec.JSON, List.of(), true);
+        WorkflowMessageSerializer serializer = new WorkflowMessageSerializer(registry);
+        WorkflowMessageDeserializer deserializer = new WorkflowMessageDeserializer(registry);
+        Headers headers = new RecordHeaders();
+        byte[] data = serializer.serialize("orders", headers, message);
+        WorkflowMessage received = deserializer.deserialize("orders", headers, data);
+
+        Headers nextHeaders = new RecordHeaders();
+        byte[] nextData = serializer.serialize("orders", nextHeaders, received.nextStep());
+
+        assertThat(nextData).isSameAs(data);
+        assertThat(new String(nextHeaders.lastHeader("x-workflow-step").value(), StandardCharsets.UTF_8))
+                .isEqualTo("2");
+        WorkflowMessage next = deserializer.deserialize("orders", nextHeaders, nextData);
+        assertThat(next.getCurrentStep()).isEqualTo(2);
+        assertThat(next.getStatus()).isEqualTo(WorkflowStatus.IN_PROGRESS);
+    }
+}
@@ -2,17 +2,24 @@ package io.stepprflow.monitor;
 
 import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoClients;
+import com.mongodb.client.gridfs.GridFSBuckets;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.stepprflow.core.StepprFlowProperties;
+import io.stepprflow.core.backlog.BacklogCollector;
+import io.stepprflow.core.dedup.DeduplicationStore;
 import io.stepprflow.core.metrics.WorkflowMetrics;
 import io.stepprflow.core.metrics.WorkflowMetricsListener;
+import io.stepprflow.core.payload.PayloadStore;
 import io.stepprflow.monitor.config.OpenApiConfig;
 import io.stepprflow.monitor.config.WebSocketConfig;
 import io.stepprflow.monitor.controller.CircuitBreakerController;
 import io.stepprflow.monitor.controller.GlobalExceptionHandler;
 import io.stepprflow.monitor.controller.MetricsController;
 import io.stepprflow.monitor.controller.WorkflowController;
+import io.stepprflow.monitor.dedup.MongoDeduplicationStore;
+import io.stepprflow.monitor.dedup.ProcessedDeliveryRepository;
 import io.stepprflow.monitor.outbox.OutboxMessageRepository;
+import io.stepprflow.monitor.payload.GridFsPayloadStore;
 import io.stepprflow.monitor.repository.WorkflowExecutionRepository;
 import io.stepprflow.monitor.outbox.OutboxRelayService;
 import io.stepprflow.monitor.outbox.OutboxService;
@@ -23,6 +30,7 @@ import io.stepprflow.monitor.service.WorkflowCommandService;
 import io.stepprflow.monitor.service.WorkflowQueryService;
 import io.stepprflow.monitor.service.WorkflowRegistryService;
 import io.stepprflow.monitor.util.WorkflowMessageFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -45,7 +53,11 @@ import org.springframework.scheduling.annotation.EnableScheduling;
 @AutoConfiguration(before = {MongoAutoConfiguration.class, MongoDataAutoConfiguration.class})
 @EnableConfigurationProperties({MonitorProperties.class, StepprFlowProperties.class})
 @ConditionalOnProperty(prefix = "stepprflow.monitor", name = "enabled", havingValue = "true", matchIfMissing = true)
-@EnableMongoRepositories(basePackageClasses = {WorkflowExecutionRepository.class, OutboxMessageRepository.class})
+@EnableMongoRepositories(basePackageClasses = {
+        WorkflowExecutionRepository.class,
+        OutboxMessageRepository.class,
+        ProcessedDeliveryRepository.class
+})
 @EnableScheduling
 @EnableAsync
 @Import({
@@ -102,11 +114,33 @@ public class MonitorAutoConfiguration {
         return new WorkflowMetricsListener(workflowMetrics);
     }
 
+    /**
+     * Creates the MongoDB backing store for redelivery deduplication.
+     */
+    @Bean
+    @ConditionalOnMissingBean(DeduplicationStore.class)
+    @ConditionalOnProperty(prefix = "stepprflow.dedup", name = {"enabled", "persistent"}, havingValue = "true")
+    public DeduplicationStore mongoDeduplicationStore(ProcessedDeliveryRepository repository) {
+        return new MongoDeduplicationStore(repository);
+    }
+
+    /**
+     * Creates the GridFS store for claim-checked payloads.
+     */
+    @Bean
+    @ConditionalOnMissingBean(PayloadStore.class)
+    @ConditionalOnProperty(prefix = "stepprflow.claim-check", name = {"enabled", "gridfs"}, havingValue = "true")
+    public PayloadStore gridFsPayloadStore(MongoDatabaseFactory mongoDatabaseFactory) {
+        return new GridFsPayloadStore(GridFSBuckets.create(mongoDatabaseFactory.getMongoDatabase(), "payloads"));
+    }
+
     /**
      * Creates MetricsController.
      */
     @Bean
-    public MetricsController metricsController(WorkflowMetrics workflowMetrics) {
-        return new MetricsController(workflowMetrics);
+    public MetricsController metricsController(
+            WorkflowMetrics workflowMetrics,
+            ObjectProvider<BacklogCollector> backlogCollector) {
+        return new MetricsController(workflowMetrics, backlogCollector.getIfAvailable());
     }
 }
@@ -49,6 +49,12 @@ public class MonitorProperties {
         private boolean enabled = true;
         private String endpoint = "/ws/workflow";
         private String topicPrefix = "/topic/workflow";
+
+        /**
+         * Interval between two pushes of the rolling metrics, on
+         * {@code <topicPrefix>/metrics}.
+         */
+        private Duration metricsInterval = Duration.ofSeconds(5);
     }
 
     @Data
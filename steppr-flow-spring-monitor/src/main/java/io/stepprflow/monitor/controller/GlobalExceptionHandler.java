@@ -1,9 +1,11 @@
 package io.stepprflow.monitor.controller;
 
+import io.stepprflow.core.exception.WorkflowAdmissionException;
 import io.stepprflow.monitor.exception.ConcurrentModificationException;
 import io.stepprflow.monitor.exception.ResourceNotFoundException;
 import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -73,6 +75,22 @@ public class GlobalExceptionHandler {
                 .body(response);
     }
 
+    /**
+     * Handle WorkflowAdmissionException - workflow start shed by admission control.
+     */
+    @ExceptionHandler(WorkflowAdmissionException.class)
+    public ResponseEntity<Map<String, Object>> handleAdmissionRejected(WorkflowAdmissionException ex) {
+        log.warn("Workflow start rejected for topic {}: {}", ex.getTopic(), ex.getReason());
+        long retryAfterSeconds = Math.max(1, (ex.getRetryAfter().toMillis() + 999) / 1000);
+        Map<String, Object> response = buildErrorResponse("ADMISSION_REJECTED", ex.getMessage());
+        response.put("topic", ex.getTopic());
+        response.put("reason", ex.getReason());
+        return ResponseEntity
+                .status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(response);
+    }
+
     /**
      * Handle validation errors from @Valid annotations on request body.
      */
@@ -1,8 +1,11 @@
 package io.stepprflow.monitor.controller;
 
+import io.stepprflow.core.backlog.BacklogCollector;
 import io.stepprflow.core.metrics.MetricsSummary;
 import io.stepprflow.core.metrics.WorkflowMetrics;
+import io.stepprflow.monitor.dto.BrokerBacklogDto;
 import io.stepprflow.monitor.dto.MetricsDashboard;
+import io.stepprflow.monitor.dto.RollingMetricsDto;
 import io.stepprflow.monitor.dto.WorkflowMetricsDto;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -20,10 +23,14 @@ import java.util.stream.Collectors;
 
 /**
  * REST API for workflow metrics.
- * Exposes metrics for all workflows that have recorded activity.
+ * Exposes metrics for all workflows that have recorded activity: lifetime
+ * counters, and throughput and latency percentiles over rolling windows.
  *
  * This class uses @Controller (not @RestController) combined with @ResponseBody.
  * It is created as a bean by MonitorAutoConfiguration which requires MeterRegistry.
+ *
+ * The broker backlog is included when the BacklogCollector is enabled
+ * (stepprflow.backlog.enabled=true).
  */
 @Controller
 @ResponseBody
@@ -32,9 +39,15 @@ import java.util.stream.Collectors;
 public class MetricsController {
 
     private final WorkflowMetrics workflowMetrics;
+    private final BacklogCollector backlogCollector;
 
     public MetricsController(WorkflowMetrics workflowMetrics) {
+        this(workflowMetrics, null);
+    }
+
+    public MetricsController(WorkflowMetrics workflowMetrics, BacklogCollector backlogCollector) {
         this.workflowMetrics = workflowMetrics;
+        this.backlogCollector = backlogCollector;
     }
 
     @Operation(summary = "Get metrics dashboard", description = "Get global metrics and per-workflow breakdown")
@@ -58,6 +71,7 @@ public class MetricsController {
                             .dlq(summary.getDlqCount())
                             .avgDurationMs(summary.getAvgWorkflowDurationMs())
                             .successRate(summary.getSuccessRate())
+                            .backlog(backlogOf(key.topic()))
                             .build();
                 })
                 .collect(Collectors.toList());
@@ -73,6 +87,7 @@ public class MetricsController {
                 .globalSuccessRate(global.getSuccessRate())
                 .globalFailureRate(global.getFailureRate())
                 .workflowMetrics(byTopicService)
+                .backlog(BrokerBacklogDto.from(backlogCollector))
                 .build();
 
         return ResponseEntity.ok(dashboard);
@@ -96,6 +111,7 @@ public class MetricsController {
                 .dlq(summary.getDlqCount())
                 .avgDurationMs(summary.getAvgWorkflowDurationMs())
                 .successRate(summary.getSuccessRate())
+                .backlog(backlogOf(topic))
                 .build();
 
         return ResponseEntity.ok(dto);
@@ -107,4 +123,29 @@ public class MetricsController {
     public ResponseEntity<MetricsSummary> getGlobalSummary() {
         return ResponseEntity.ok(workflowMetrics.getGlobalSummary());
     }
+
+    @Operation(summary = "Get rolling metrics",
+            description = "Get throughput and latency percentiles over the last 1, 5 and 15 minutes, "
+                    + "globally, by workflow and by step")
+    @ApiResponse(responseCode = "200", description = "Rolling metrics retrieved successfully")
+    @GetMapping("/rolling")
+    public ResponseEntity<RollingMetricsDto> getRollingMetrics() {
+        return ResponseEntity.ok(RollingMetricsDto.from(workflowMetrics));
+    }
+
+    @Operation(summary = "Get broker backlog",
+            description = "Get consumer lag (Kafka) or queue depth (RabbitMQ) of the workflow topics")
+    @ApiResponse(responseCode = "200", description = "Broker backlog retrieved successfully")
+    @GetMapping("/backlog")
+    public ResponseEntity<BrokerBacklogDto> getBacklog() {
+        return ResponseEntity.ok(BrokerBacklogDto.from(backlogCollector));
+    }
+
+    private Long backlogOf(String topic) {
+        if (backlogCollector == null) {
+            return null;
+        }
+        long backlog = backlogCollector.getBacklog(topic);
+        return backlog >= 0 ? backlog : null;
+    }
 }
@@ -0,0 +1,30 @@
+package io.stepprflow.monitor.dedup;
+
+import io.stepprflow.core.dedup.DeduplicationStore;
+import lombok.RequiredArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Deduplication store backed by the monitor's MongoDB.
+ *
+ * <p>Backs the in-memory store of the
+ * {@link io.stepprflow.core.dedup.MessageDeduplicator}, so that deliveries
+ * processed before a restart, or by another instance, are still dropped.
+ * Enabled with {@code stepprflow.dedup.persistent=true}.
+ */
+@RequiredArgsConstructor
+public class MongoDeduplicationStore implements DeduplicationStore {
+
+    private final ProcessedDeliveryRepository repository;
+
+    @Override
+    public boolean contains(String key) {
+        return repository.existsById(key);
+    }
+
+    @Override
+    public void add(String key) {
+        repository.save(new ProcessedDelivery(key, Instant.now()));
+    }
+}
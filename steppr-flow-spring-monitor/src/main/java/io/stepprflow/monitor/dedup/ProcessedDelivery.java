@@ -0,0 +1,35 @@
+package io.stepprflow.monitor.dedup;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * A delivery whose step was processed, recorded for deduplication.
+ *
+ * <p>Entries expire after seven days; brokers do not redeliver older
+ * messages in practice.
+ */
+@Document(collection = "processed_deliveries")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProcessedDelivery {
+
+    /**
+     * The delivery key.
+     */
+    @Id
+    private String key;
+
+    /**
+     * When the delivery was processed.
+     */
+    @Indexed(expireAfter = "7d")
+    private Instant processedAt;
+}
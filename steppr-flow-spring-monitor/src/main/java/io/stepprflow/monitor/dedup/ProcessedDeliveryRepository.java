@@ -0,0 +1,11 @@
+package io.stepprflow.monitor.dedup;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for processed deliveries.
+ */
+@Repository
+public interface ProcessedDeliveryRepository extends MongoRepository<ProcessedDelivery, String> {
+}
@@ -0,0 +1,13 @@
+/**
+ * Persistent backing for redelivery deduplication.
+ *
+ * <p>This package provides:
+ * <ul>
+ *   <li>{@link io.stepprflow.monitor.dedup.ProcessedDelivery} - Processed delivery entity</li>
+ *   <li>{@link io.stepprflow.monitor.dedup.ProcessedDeliveryRepository} - Repository for processed
+ *   deliveries</li>
+ *   <li>{@link io.stepprflow.monitor.dedup.MongoDeduplicationStore} - MongoDB-backed
+ *   deduplication store</li>
+ * </ul>
+ */
+package io.stepprflow.monitor.dedup;
@@ -0,0 +1,73 @@
+package io.stepprflow.monitor.dto;
+
+import io.stepprflow.core.backlog.BacklogCollector;
+import io.stepprflow.core.backlog.QueueBacklog;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DTO for the broker backlog of the workflow topics.
+ * Used by the UI to display consumer lag and queue depth.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BrokerBacklogDto {
+
+    /**
+     * Whether the backlog is collected (stepprflow.backlog.enabled).
+     */
+    private boolean enabled;
+
+    /**
+     * Time of the last successful reading, null if none.
+     */
+    private Instant collectedAt;
+
+    /**
+     * Messages waiting across all workflow topics.
+     */
+    private long total;
+
+    /**
+     * Messages waiting by workflow topic.
+     */
+    private Map<String, Long> topics;
+
+    /**
+     * Backlog and consumers of each queue (Kafka partition or RabbitMQ queue).
+     */
+    private List<QueueBacklog> queues;
+
+    /**
+     * Build the DTO from the last reading of a collector.
+     *
+     * @param collector the backlog collector, or null if disabled
+     * @return the DTO
+     */
+    public static BrokerBacklogDto from(BacklogCollector collector) {
+        if (collector == null) {
+            return BrokerBacklogDto.builder()
+                    .enabled(false)
+                    .total(0)
+                    .topics(Map.of())
+                    .queues(List.of())
+                    .build();
+        }
+        Map<String, Long> topics = collector.getTopicBacklogs();
+        return BrokerBacklogDto.builder()
+                .enabled(true)
+                .collectedAt(collector.getCollectedAt())
+                .total(topics.values().stream().mapToLong(Long::longValue).sum())
+                .topics(topics)
+                .queues(collector.getQueues())
+                .build();
+    }
+}
@@ -31,4 +31,7 @@ public class MetricsDashboard {
 
     // Per-workflow metrics
     private List<WorkflowMetricsDto> workflowMetrics;
+
+    // Broker backlog of the workflow topics
+    private BrokerBacklogDto backlog;
 }
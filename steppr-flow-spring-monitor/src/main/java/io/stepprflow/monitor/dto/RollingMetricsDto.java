@@ -0,0 +1,100 @@
+package io.stepprflow.monitor.dto;
+
+import io.stepprflow.core.metrics.RollingStats;
+import io.stepprflow.core.metrics.WorkflowMetrics;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rolling-window metrics response DTO.
+ * Throughput and latency percentiles over the last 1, 5 and 15 minutes,
+ * keyed by window ("1m", "5m", "15m").
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RollingMetricsDto {
+
+    /**
+     * Windows across all workflows.
+     */
+    private Map<String, RollingStats> global;
+
+    /**
+     * Windows of each workflow (topic and service).
+     */
+    private List<WorkflowWindows> workflows;
+
+    /**
+     * Windows of each step (topic and step).
+     */
+    private List<StepWindows> steps;
+
+    /**
+     * Rolling windows of a workflow.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class WorkflowWindows {
+        private String topic;
+        private String serviceName;
+        private Map<String, RollingStats> windows;
+    }
+
+    /**
+     * Rolling windows of a step.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class StepWindows {
+        private String topic;
+        private String step;
+        private Map<String, RollingStats> windows;
+    }
+
+    /**
+     * Read the rolling windows of the workflows with recorded activity.
+     *
+     * @param workflowMetrics the workflow metrics
+     * @return the DTO
+     */
+    public static RollingMetricsDto from(WorkflowMetrics workflowMetrics) {
+        List<WorkflowWindows> workflows = workflowMetrics.getActiveWorkflowKeys().stream()
+                .sorted(Comparator.comparing(WorkflowMetrics.WorkflowKey::topic)
+                        .thenComparing(WorkflowMetrics.WorkflowKey::serviceName))
+                .map(key -> WorkflowWindows.builder()
+                        .topic(key.topic())
+                        .serviceName(key.serviceName())
+                        .windows(workflowMetrics.getRollingStats(key.topic(), key.serviceName()))
+                        .build())
+                .toList();
+
+        List<StepWindows> steps = workflowMetrics.getActiveTopics().stream()
+                .sorted()
+                .flatMap(topic -> workflowMetrics.getStepLabels(topic).stream()
+                        .sorted()
+                        .map(step -> StepWindows.builder()
+                                .topic(topic)
+                                .step(step)
+                                .windows(workflowMetrics.getStepRollingStats(topic, step))
+                                .build()))
+                .toList();
+
+        return RollingMetricsDto.builder()
+                .global(workflowMetrics.getGlobalRollingStats())
+                .workflows(workflows)
+                .steps(steps)
+                .build();
+    }
+}
@@ -25,4 +25,6 @@ public class WorkflowMetricsDto {
     private long dlq;
     private double avgDurationMs;
     private double successRate;
+    // Messages waiting in the broker, null if unknown
+    private Long backlog;
 }
@@ -1,7 +1,9 @@
 package io.stepprflow.monitor.model;
 
 import io.stepprflow.core.model.ErrorInfo;
+import io.stepprflow.core.model.PayloadReference;
 import io.stepprflow.core.model.RetryInfo;
+import io.stepprflow.core.model.StepTiming;
 import io.stepprflow.core.model.WorkflowStatus;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -67,6 +69,12 @@ public class WorkflowExecution {
 
     private String payloadType;
 
+    /**
+     * Reference to the payload when it is stored outside of the messages;
+     * the payload itself is then not kept in this document.
+     */
+    private PayloadReference payloadRef;
+
     private String securityContext;
 
     @Getter(lombok.AccessLevel.NONE)
@@ -284,12 +292,18 @@ public class WorkflowExecution {
     public static class StepExecution {
         private int stepId;
         private String stepLabel;
+        private String parallelGroup;
         private WorkflowStatus status;
         private Instant startedAt;
         private Instant completedAt;
         private Long durationMs;
         private String errorMessage;
         private int attempt;
+        /**
+         * Phases of the last successful run of the step, as stamped by the
+         * executor on the message it sent after the step.
+         */
+        private StepTiming timing;
 
         /**
          * Marks this step as PASSED with the given completion time.
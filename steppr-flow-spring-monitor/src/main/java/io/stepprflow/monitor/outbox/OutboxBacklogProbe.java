@@ -0,0 +1,47 @@
+package io.stepprflow.monitor.outbox;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import io.stepprflow.core.admission.BacklogProbe;
+import io.stepprflow.monitor.outbox.OutboxMessage.OutboxStatus;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Backlog probe reading the outbox messages of a topic not yet relayed to
+ * the broker.
+ *
+ * <p>Active when the outbox and admission control are both enabled.
+ */
+@Component
+@ConditionalOnBean(OutboxMessageRepository.class)
+@ConditionalOnProperty(prefix = "stepprflow.admission", name = "enabled", havingValue = "true")
+public class OutboxBacklogProbe implements BacklogProbe {
+
+    /** The probe name. */
+    public static final String NAME = "outbox-pending";
+
+    private final OutboxMessageRepository outboxRepository;
+
+    /**
+     * Creates a new outbox backlog probe.
+     *
+     * @param outboxRepository the outbox repository
+     */
+    @SuppressFBWarnings(
+            value = "EI_EXPOSE_REP2",
+            justification = "Spring-managed beans are safely shared via dependency injection")
+    public OutboxBacklogProbe(OutboxMessageRepository outboxRepository) {
+        this.outboxRepository = outboxRepository;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public long backlog(String topic) {
+        return outboxRepository.countByStatusAndDestination(OutboxStatus.PENDING, topic);
+    }
+}
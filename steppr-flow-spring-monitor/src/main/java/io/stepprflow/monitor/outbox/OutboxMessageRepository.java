@@ -52,6 +52,15 @@ public interface OutboxMessageRepository extends MongoRepository<OutboxMessage,
      */
     long countByStatus(OutboxStatus status);
 
+    /**
+     * Count messages by status and destination.
+     *
+     * @param status the status
+     * @param destination the destination topic
+     * @return count of messages
+     */
+    long countByStatusAndDestination(OutboxStatus status, String destination);
+
     /**
      * Delete sent messages older than the given timestamp.
      * Used for cleanup of processed messages.
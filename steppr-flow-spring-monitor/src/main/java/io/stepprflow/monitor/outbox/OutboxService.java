@@ -3,16 +3,19 @@ package io.stepprflow.monitor.outbox;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import io.stepprflow.core.id.IdGenerator;
+import io.stepprflow.core.id.TimeOrderedIdGenerator;
 import io.stepprflow.core.model.WorkflowMessage;
 import io.stepprflow.monitor.MonitorProperties;
 import io.stepprflow.monitor.outbox.OutboxMessage.MessageType;
 import io.stepprflow.monitor.outbox.OutboxMessage.OutboxStatus;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
-import java.util.UUID;
 
 /**
  * Service for writing messages to the outbox.
@@ -33,17 +36,37 @@ public class OutboxService {
     private final OutboxMessageRepository outboxRepository;
     private final ObjectMapper objectMapper;
     private final MonitorProperties.Outbox config;
+    private final IdGenerator idGenerator;
+
+    public OutboxService(
+            OutboxMessageRepository outboxRepository,
+            ObjectMapper objectMapper,
+            MonitorProperties properties) {
+        this(outboxRepository, objectMapper, properties, TimeOrderedIdGenerator.getDefault());
+    }
+
+    @Autowired
+    public OutboxService(
+            OutboxMessageRepository outboxRepository,
+            ObjectMapper objectMapper,
+            MonitorProperties properties,
+            ObjectProvider<IdGenerator> idGenerator) {
+        this(outboxRepository, objectMapper, properties,
+                idGenerator.getIfAvailable(TimeOrderedIdGenerator::getDefault));
+    }
 
     @SuppressFBWarnings(
             value = "EI_EXPOSE_REP2",
             justification = "Spring-managed beans are safely shared via dependency injection")
-    public OutboxService(
+    private OutboxService(
             OutboxMessageRepository outboxRepository,
             ObjectMapper objectMapper,
-            MonitorProperties properties) {
+            MonitorProperties properties,
+            IdGenerator idGenerator) {
         this.outboxRepository = outboxRepository;
         this.objectMapper = objectMapper;
         this.config = properties.getOutbox();
+        this.idGenerator = idGenerator;
     }
 
     /**
@@ -59,7 +82,7 @@ public class OutboxService {
             String payload = objectMapper.writeValueAsString(message);
 
             OutboxMessage outboxMessage = OutboxMessage.builder()
-                    .id(UUID.randomUUID().toString())
+                    .id(idGenerator.nextId())
                     .destination(destination)
                     .executionId(message.getExecutionId())
                     .messageType(messageType)
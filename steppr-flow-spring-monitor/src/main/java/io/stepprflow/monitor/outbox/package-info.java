@@ -7,6 +7,7 @@
  *   <li>{@link io.stepprflow.monitor.outbox.OutboxMessageRepository} - Repository for outbox messages</li>
  *   <li>{@link io.stepprflow.monitor.outbox.OutboxService} - Service for writing to outbox</li>
  *   <li>{@link io.stepprflow.monitor.outbox.OutboxRelayService} - Background relay service</li>
+ *   <li>{@link io.stepprflow.monitor.outbox.OutboxBacklogProbe} - Outbox depth for admission control</li>
  * </ul>
  *
  * <p>The pattern ensures that database changes and message broker sends are eventually
@@ -0,0 +1,59 @@
+package io.stepprflow.monitor.payload;
+
+import com.mongodb.MongoException;
+import com.mongodb.client.gridfs.GridFSBucket;
+import com.mongodb.client.gridfs.GridFSDownloadStream;
+import com.mongodb.client.gridfs.model.GridFSFile;
+import com.mongodb.client.model.Filters;
+import io.stepprflow.core.payload.PayloadStore;
+import org.bson.types.ObjectId;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Payload store backed by GridFS in the monitor's MongoDB.
+ *
+ * <p>Payloads are stored under their hash as file name, and located by
+ * their GridFS file ID. A payload already stored under the same hash is
+ * not written again. Enabled with {@code stepprflow.claim-check.gridfs=true}.
+ */
+public class GridFsPayloadStore implements PayloadStore {
+
+    private final GridFSBucket bucket;
+
+    /**
+     * Create a store.
+     *
+     * @param bucket the GridFS bucket holding the payloads
+     */
+    public GridFsPayloadStore(GridFSBucket bucket) {
+        this.bucket = bucket;
+    }
+
+    @Override
+    public String put(String hash, byte[] content) throws IOException {
+        try {
+            GridFSFile existing = bucket.find(Filters.eq("filename", hash)).first();
+            if (existing != null) {
+                return existing.getObjectId().toHexString();
+            }
+            return bucket.uploadFromStream(hash, new ByteArrayInputStream(content)).toHexString();
+        } catch (MongoException e) {
+            throw new IOException("Cannot store payload " + hash, e);
+        }
+    }
+
+    @Override
+    public ByteBuffer get(String location) throws IOException {
+        if (!ObjectId.isValid(location)) {
+            throw new IllegalArgumentException("Invalid payload location: " + location);
+        }
+        try (GridFSDownloadStream stream = bucket.openDownloadStream(new ObjectId(location))) {
+            return ByteBuffer.wrap(stream.readAllBytes());
+        } catch (MongoException e) {
+            throw new IOException("Cannot read payload " + location, e);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+/**
+ * Claim-check payload storage in the monitor's MongoDB.
+ *
+ * <p>This package provides:
+ * <ul>
+ *   <li>{@link io.stepprflow.monitor.payload.GridFsPayloadStore} - GridFS-backed
+ *   payload store</li>
+ * </ul>
+ */
+package io.stepprflow.monitor.payload;
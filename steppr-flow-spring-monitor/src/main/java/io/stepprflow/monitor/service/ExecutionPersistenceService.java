@@ -1,7 +1,10 @@
 package io.stepprflow.monitor.service;
 
 import io.stepprflow.core.event.WorkflowMessageEvent;
+import io.stepprflow.core.model.ErrorInfo;
+import io.stepprflow.core.model.ExecutionPlan;
 import io.stepprflow.core.model.StepDefinition;
+import io.stepprflow.core.model.StepTiming;
 import io.stepprflow.core.model.WorkflowDefinition;
 import io.stepprflow.core.model.WorkflowMessage;
 import io.stepprflow.core.model.WorkflowStatus;
@@ -102,6 +105,7 @@ public class ExecutionPersistenceService {
                 .totalSteps(message.getTotalSteps())
                 .payload(message.getPayload())
                 .payloadType(message.getPayloadType())
+                .payloadRef(message.getPayloadRef())
                 .securityContext(message.getSecurityContext())
                 .metadata(message.getMetadata())
                 .createdAt(message.getCreatedAt() != null ? message.getCreatedAt() : now)
@@ -127,6 +131,8 @@ public class ExecutionPersistenceService {
             addStepToHistory(execution, message);
         }
 
+        recordStepTiming(execution, message);
+
         // Set completion time and duration
         if (message.getStatus() == WorkflowStatus.COMPLETED ||
             message.getStatus() == WorkflowStatus.FAILED ||
@@ -170,22 +176,58 @@ public class ExecutionPersistenceService {
         // Mark previous steps as PASSED if they are still IN_PROGRESS or PENDING
         execution.markPreviousStepsAsPassed(currentStepId, now);
 
-        // Find or create step entry for current step
-        WorkflowExecution.StepExecution stepExecution = execution.findStepByStepId(currentStepId)
+        ExecutionPlan.StepPlan groupHead = getParallelGroupHead(message.getTopic(), currentStepId);
+        if (groupHead == null) {
+            // Find or create step entry for current step
+            WorkflowExecution.StepExecution stepExecution =
+                    findOrCreateStep(execution, message.getTopic(), currentStepId, null, now);
+
+            // Update current step status based on workflow status
+            updateStepStatus(stepExecution, message, now);
+            return;
+        }
+
+        // Parallel group: one entry per branch; a failure only belongs to the failing branch
+        ErrorInfo errorInfo = message.getErrorInfo();
+        boolean branchFailure = errorInfo != null && groupHead.getBranches().stream()
+                .anyMatch(branch -> branch.getId() == errorInfo.getStepId());
+        for (ExecutionPlan.StepPlan branch : groupHead.getBranches()) {
+            WorkflowExecution.StepExecution stepExecution = findOrCreateStep(
+                    execution, message.getTopic(), branch.getId(), branch.getParallelGroup(), now);
+            if (branchFailure && branch.getId() != errorInfo.getStepId()) {
+                continue;
+            }
+            updateStepStatus(stepExecution, message, now);
+        }
+    }
+
+    /**
+     * Store the timeline of the step run before the message was sent on
+     * that step.
+     */
+    private void recordStepTiming(WorkflowExecution execution, WorkflowMessage message) {
+        StepTiming timing = message.getStepTiming();
+        if (timing != null) {
+            execution.findStepByStepId(timing.getStepId())
+                    .ifPresent(step -> step.setTiming(timing));
+        }
+    }
+
+    private WorkflowExecution.StepExecution findOrCreateStep(WorkflowExecution execution, String topic,
+                                                             int stepId, String parallelGroup, Instant now) {
+        return execution.findStepByStepId(stepId)
                 .orElseGet(() -> {
-                    String stepLabel = getStepLabel(message.getTopic(), currentStepId);
+                    String stepLabel = getStepLabel(topic, stepId);
                     WorkflowExecution.StepExecution newStep = WorkflowExecution.StepExecution.builder()
-                            .stepId(currentStepId)
+                            .stepId(stepId)
                             .stepLabel(stepLabel)
+                            .parallelGroup(parallelGroup)
                             .startedAt(now)
                             .attempt(1)
                             .build();
                     execution.addStepExecution(newStep);
                     return newStep;
                 });
-
-        // Update current step status based on workflow status
-        updateStepStatus(stepExecution, message, now);
     }
 
     private void updateStepStatus(WorkflowExecution.StepExecution stepExecution,
@@ -210,6 +252,19 @@ public class ExecutionPersistenceService {
         }
     }
 
+    /**
+     * Get the step starting a parallel group, or null if the step does not start one.
+     */
+    private ExecutionPlan.StepPlan getParallelGroupHead(String topic, int stepId) {
+        if (workflowRegistry == null) {
+            return null;
+        }
+
+        ExecutionPlan plan = workflowRegistry.getPlan(topic);
+        ExecutionPlan.StepPlan step = plan != null ? plan.getStep(stepId) : null;
+        return step != null && step.isParallel() ? step : null;
+    }
+
     /**
      * Get step label from workflow definition.
      */
@@ -35,6 +35,7 @@ public class WorkflowMessageFactory {
                 .status(WorkflowStatus.IN_PROGRESS)
                 .payload(execution.getPayload())
                 .payloadType(execution.getPayloadType())
+                .payloadRef(execution.getPayloadRef())
                 .securityContext(execution.getSecurityContext())
                 .metadata(execution.getMetadata())
                 .createdAt(execution.getCreatedAt())
@@ -63,6 +64,7 @@ public class WorkflowMessageFactory {
                 .status(WorkflowStatus.IN_PROGRESS)
                 .payload(execution.getPayload())
                 .payloadType(execution.getPayloadType())
+                .payloadRef(execution.getPayloadRef())
                 .securityContext(execution.getSecurityContext())
                 .metadata(execution.getMetadata())
                 .retryInfo(execution.getRetryInfo())
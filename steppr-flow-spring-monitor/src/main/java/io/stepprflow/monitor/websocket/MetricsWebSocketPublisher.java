@@ -0,0 +1,55 @@
+package io.stepprflow.monitor.websocket;
+
+import io.stepprflow.core.metrics.WorkflowMetrics;
+import io.stepprflow.monitor.MonitorProperties;
+import io.stepprflow.monitor.dto.RollingMetricsDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Pushes the rolling-window metrics to WebSocket clients.
+ * Every stepprflow.monitor.web-socket.metrics-interval, the same content as
+ * GET /api/metrics/rolling is sent on {@code <topicPrefix>/metrics}, so that
+ * dashboards follow throughput and latency without polling.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(prefix = "stepprflow.monitor.web-socket",
+        name = "enabled", havingValue = "true", matchIfMissing = true)
+public class MetricsWebSocketPublisher {
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final MonitorProperties properties;
+    private final WorkflowMetrics workflowMetrics;
+
+    @Autowired
+    public MetricsWebSocketPublisher(
+            SimpMessagingTemplate messagingTemplate,
+            MonitorProperties properties,
+            @Autowired(required = false) WorkflowMetrics workflowMetrics) {
+        this.messagingTemplate = messagingTemplate;
+        this.properties = properties;
+        this.workflowMetrics = workflowMetrics;
+    }
+
+    /**
+     * Push the rolling metrics to the metrics channel.
+     */
+    @Scheduled(fixedRateString = "${stepprflow.monitor.web-socket.metrics-interval:PT5S}")
+    public void publishMetrics() {
+        if (workflowMetrics == null) {
+            return;
+        }
+        try {
+            messagingTemplate.convertAndSend(
+                    properties.getWebSocket().getTopicPrefix() + "/metrics",
+                    RollingMetricsDto.from(workflowMetrics));
+        } catch (Exception e) {
+            log.error("Error publishing rolling metrics: {}", e.getMessage());
+        }
+    }
+}
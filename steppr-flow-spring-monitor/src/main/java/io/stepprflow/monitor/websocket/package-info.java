@@ -6,6 +6,7 @@
  *   <li>WebSocket handler for client connections</li>
  *   <li>Broadcaster for pushing workflow events to connected clients</li>
  *   <li>Real-time execution status updates</li>
+ *   <li>Periodic push of the rolling-window metrics</li>
  * </ul>
  */
 package io.stepprflow.monitor.websocket;
@@ -1,14 +1,17 @@
 package io.stepprflow.monitor.controller;
 
+import io.stepprflow.core.exception.WorkflowAdmissionException;
 import io.stepprflow.monitor.exception.ConcurrentModificationException;
 import io.stepprflow.monitor.exception.ResourceNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import java.time.Duration;
 import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -144,6 +147,39 @@ class GlobalExceptionHandlerTest {
         }
     }
 
+    @Nested
+    @DisplayName("WorkflowAdmissionException handling")
+    class WorkflowAdmissionExceptionTests {
+
+        @Test
+        @DisplayName("Should return 429 TOO_MANY_REQUESTS with Retry-After in seconds")
+        void shouldReturn429WithRetryAfter() {
+            WorkflowAdmissionException ex = new WorkflowAdmissionException(
+                    "order-workflow", "rate", Duration.ofMillis(1500));
+
+            ResponseEntity<?> response = handler.handleAdmissionRejected(ex);
+
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+            assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("2");
+        }
+
+        @Test
+        @DisplayName("Should include topic and reason in response")
+        void shouldIncludeTopicAndReason() {
+            WorkflowAdmissionException ex = new WorkflowAdmissionException(
+                    "order-workflow", "consumer-lag", Duration.ZERO);
+
+            ResponseEntity<?> response = handler.handleAdmissionRejected(ex);
+
+            @SuppressWarnings("unchecked")
+            Map<String, Object> body = (Map<String, Object>) response.getBody();
+            assertThat(body.get("code")).isEqualTo("ADMISSION_REJECTED");
+            assertThat(body.get("topic")).isEqualTo("order-workflow");
+            assertThat(body.get("reason")).isEqualTo("consumer-lag");
+            assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        }
+    }
+
     @Nested
     @DisplayName("ResourceNotFoundException handling")
     class ResourceNotFoundExceptionTests {
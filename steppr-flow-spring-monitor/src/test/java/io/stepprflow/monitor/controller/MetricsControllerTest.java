@@ -1,8 +1,13 @@
 package io.stepprflow.monitor.controller;
 
+import io.stepprflow.core.backlog.BacklogCollector;
+import io.stepprflow.core.backlog.QueueBacklog;
 import io.stepprflow.core.metrics.MetricsSummary;
+import io.stepprflow.core.metrics.RollingStats;
 import io.stepprflow.core.metrics.WorkflowMetrics;
+import io.stepprflow.monitor.dto.BrokerBacklogDto;
 import io.stepprflow.monitor.dto.MetricsDashboard;
+import io.stepprflow.monitor.dto.RollingMetricsDto;
 import io.stepprflow.monitor.dto.WorkflowMetricsDto;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -14,9 +19,14 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 
 /**
@@ -269,4 +279,122 @@ class MetricsControllerTest {
             assertThat(response.getBody().getSuccessRate()).isEqualTo(90.0);
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    @DisplayName("GET /api/metrics/rolling")
+    class GetRollingMetrics {
+
+        @Test
+        @DisplayName("should return rolling windows globally, by workflow and by step")
+        void shouldReturnRollingWindows() {
+            // Given
+            Map<String, RollingStats> windows = Map.of("1m", RollingStats.builder()
+                    .window("1m")
+                    .completed(12)
+                    .completedPerSecond(0.2)
+                    .p99Ms(180.0)
+                    .build());
+            when(workflowMetrics.getGlobalRollingStats()).thenReturn(windows);
+            when(workflowMetrics.getActiveWorkflowKeys()).thenReturn(Set.of(
+                    new WorkflowMetrics.WorkflowKey("payments", "svc"),
+                    new WorkflowMetrics.WorkflowKey("orders", "svc")));
+            when(workflowMetrics.getRollingStats(anyString(), eq("svc"))).thenReturn(windows);
+            when(workflowMetrics.getActiveTopics()).thenReturn(Set.of("orders"));
+            when(workflowMetrics.getStepLabels("orders")).thenReturn(Set.of("validate", "charge"));
+            when(workflowMetrics.getStepRollingStats(eq("orders"), anyString())).thenReturn(windows);
+
+            // When
+            ResponseEntity<RollingMetricsDto> response = controller.getRollingMetrics();
+
+            // Then
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            RollingMetricsDto body = response.getBody();
+            assertThat(body.getGlobal().get("1m").getP99Ms()).isEqualTo(180.0);
+            assertThat(body.getWorkflows())
+                    .extracting(RollingMetricsDto.WorkflowWindows::getTopic)
+                    .containsExactly("orders", "payments");
+            assertThat(body.getSteps())
+                    .extracting(RollingMetricsDto.StepWindows::getStep)
+                    .containsExactly("charge", "validate");
+            assertThat(body.getSteps().get(0).getWindows()).isEqualTo(windows);
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /api/metrics/backlog")
+    class GetBacklog {
+
+        @Mock
+        private BacklogCollector backlogCollector;
+
+        @Test
+        @DisplayName("should report backlog as disabled without collector")
+        void shouldReportDisabledWithoutCollector() {
+            // When
+            ResponseEntity<BrokerBacklogDto> response = controller.getBacklog();
+
+            // Then
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(response.getBody().isEnabled()).isFalse();
+            assertThat(response.getBody().getTotal()).isZero();
+            assertThat(response.getBody().getQueues()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("should return last reading of the collector")
+        void shouldReturnLastReading() {
+            // Given
+            Instant collectedAt = Instant.parse("2026-01-01T00:00:00Z");
+            when(backlogCollector.getTopicBacklogs()).thenReturn(Map.of("orders", 7L, "payments", 2L));
+            when(backlogCollector.getQueues()).thenReturn(List.of(
+                    new QueueBacklog("orders", "orders-0", 4, 1),
+                    new QueueBacklog("orders", "orders-1", 3, 1),
+                    new QueueBacklog("payments", "payments-0", 2, 0)));
+            when(backlogCollector.getCollectedAt()).thenReturn(collectedAt);
+            controller = new MetricsController(workflowMetrics, backlogCollector);
+
+            // When
+            ResponseEntity<BrokerBacklogDto> response = controller.getBacklog();
+
+            // Then
+            BrokerBacklogDto backlog = response.getBody();
+            assertThat(backlog.isEnabled()).isTrue();
+            assertThat(backlog.getCollectedAt()).isEqualTo(collectedAt);
+            assertThat(backlog.getTotal()).isEqualTo(9);
+            assertThat(backlog.getTopics()).containsEntry("orders", 7L);
+            assertThat(backlog.getQueues()).hasSize(3);
+        }
+
+        @Test
+        @DisplayName("should include topic backlog in workflow metrics")
+        void shouldIncludeTopicBacklogInWorkflowMetrics() {
+            // Given
+            MetricsSummary summary = MetricsSummary.builder().topic("orders").build();
+            when(workflowMetrics.getSummary("orders")).thenReturn(summary);
+            when(backlogCollector.getBacklog("orders")).thenReturn(7L);
+            controller = new MetricsController(workflowMetrics, backlogCollector);
+
+            // When
+            ResponseEntity<WorkflowMetricsDto> response = controller.getWorkflowMetrics("orders");
+
+            // Then
+            assertThat(response.getBody().getBacklog()).isEqualTo(7L);
+        }
+
+        @Test
+        @DisplayName("should leave workflow backlog null when unknown")
+        void shouldLeaveWorkflowBacklogNullWhenUnknown() {
+            // Given
+            MetricsSummary summary = MetricsSummary.builder().topic("orders").build();
+            when(workflowMetrics.getSummary("orders")).thenReturn(summary);
+            when(backlogCollector.getBacklog("orders")).thenReturn(-1L);
+            controller = new MetricsController(workflowMetrics, backlogCollector);
+
+            // When
+            ResponseEntity<WorkflowMetricsDto> response = controller.getWorkflowMetrics("orders");
+
+            // Then
+            assertThat(response.getBody().getBacklog()).isNull();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package io.stepprflow.monitor.dedup;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MongoDeduplicationStore Tests")
+class MongoDeduplicationStoreTest {
+
+    @Mock
+    private ProcessedDeliveryRepository repository;
+
+    private MongoDeduplicationStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new MongoDeduplicationStore(repository);
+    }
+
+    @Test
+    @DisplayName("Should look up key by document ID")
+    void shouldLookUpKeyById() {
+        when(repository.existsById("exec-1:1:0:1.0")).thenReturn(true);
+
+        assertThat(store.contains("exec-1:1:0:1.0")).isTrue();
+        assertThat(store.contains("exec-1:2:0:1.0")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should save key with processing time")
+    void shouldSaveKeyWithProcessingTime() {
+        Instant before = Instant.now();
+
+        store.add("exec-1:1:0:1.0");
+
+        ArgumentCaptor<ProcessedDelivery> captor = ArgumentCaptor.forClass(ProcessedDelivery.class);
+        verify(repository).save(captor.capture());
+        assertThat(captor.getValue().getKey()).isEqualTo("exec-1:1:0:1.0");
+        assertThat(captor.getValue().getProcessedAt()).isAfterOrEqualTo(before);
+    }
+}
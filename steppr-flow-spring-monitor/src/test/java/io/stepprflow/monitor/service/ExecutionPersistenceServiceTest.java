@@ -1,9 +1,16 @@
 package io.stepprflow.monitor.service;
 
+import io.stepprflow.core.StepprFlowProperties;
 import io.stepprflow.core.model.ErrorInfo;
+import io.stepprflow.core.model.ExecutionPlan;
 import io.stepprflow.core.model.RetryInfo;
+import io.stepprflow.core.model.StepDefinition;
+import io.stepprflow.core.model.StepTiming;
+import io.stepprflow.core.model.WorkflowDefinition;
 import io.stepprflow.core.model.WorkflowMessage;
 import io.stepprflow.core.model.WorkflowStatus;
+import io.stepprflow.core.service.StepprFlow;
+import io.stepprflow.core.service.WorkflowRegistry;
 import io.stepprflow.monitor.model.WorkflowExecution;
 import io.stepprflow.monitor.repository.WorkflowExecutionRepository;
 import io.stepprflow.monitor.websocket.WorkflowWebSocketHandler;
@@ -20,10 +27,12 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
@@ -390,6 +399,136 @@ class ExecutionPersistenceServiceTest {
 
             assertThat(saved.getStepHistory().get(0).getAttempt()).isEqualTo(3);
         }
+
+        @Test
+        @DisplayName("Should store the step timeline on the step it describes")
+        void shouldStoreStepTiming() {
+            WorkflowExecution.StepExecution firstStep = WorkflowExecution.StepExecution.builder()
+                    .stepId(1)
+                    .startedAt(Instant.now().minusSeconds(1))
+                    .status(WorkflowStatus.IN_PROGRESS)
+                    .build();
+            ArrayList<WorkflowExecution.StepExecution> history = new ArrayList<>();
+            history.add(firstStep);
+            WorkflowExecution existing = WorkflowExecution.builder()
+                    .executionId("exec-123")
+                    .topic("test-topic")
+                    .stepHistory(history)
+                    .build();
+            when(repository.findById("exec-123")).thenReturn(Optional.of(existing));
+
+            StepTiming timing = StepTiming.builder()
+                    .stepId(1)
+                    .consumedAt(Instant.now())
+                    .queueMicros(12_000)
+                    .decodeMicros(80)
+                    .executionMicros(45_000)
+                    .build();
+            testMessage = testMessage.toBuilder()
+                    .currentStep(2)
+                    .stepTiming(timing)
+                    .build();
+
+            persistenceService.onWorkflowMessage(testMessage);
+
+            verify(repository).save(executionCaptor.capture());
+            WorkflowExecution saved = executionCaptor.getValue();
+
+            assertThat(saved.findStepByStepId(1)).get()
+                    .extracting(WorkflowExecution.StepExecution::getTiming)
+                    .isEqualTo(timing);
+            assertThat(saved.findStepByStepId(2)).get()
+                    .extracting(WorkflowExecution.StepExecution::getTiming)
+                    .isNull();
+        }
+    }
+
+    @Nested
+    @DisplayName("Parallel group tracking")
+    class ParallelGroupTrackingTests {
+
+        @Mock
+        private WorkflowRegistry workflowRegistry;
+
+        @BeforeEach
+        void setUpRegistry() throws Exception {
+            persistenceService = new ExecutionPersistenceService(repository, null, workflowRegistry);
+            WorkflowDefinition definition = WorkflowDefinition.builder()
+                    .topic("test-topic")
+                    .handler(new GroupWorkflow())
+                    .steps(List.of(
+                            step(1, "Reserve", "checks"),
+                            step(2, "Fraud check", "checks"),
+                            step(3, "Ship", null)))
+                    .build();
+            when(workflowRegistry.getPlan("test-topic"))
+                    .thenReturn(ExecutionPlan.compile(definition, new StepprFlowProperties()));
+        }
+
+        @Test
+        @DisplayName("Should add one history entry per branch when the group starts")
+        void shouldTrackEveryBranch() {
+            when(repository.findById("exec-123")).thenReturn(Optional.empty());
+
+            persistenceService.onWorkflowMessage(testMessage);
+
+            verify(repository).save(executionCaptor.capture());
+            assertThat(executionCaptor.getValue().getStepHistory())
+                    .extracting(WorkflowExecution.StepExecution::getStepId,
+                            WorkflowExecution.StepExecution::getParallelGroup,
+                            WorkflowExecution.StepExecution::getStatus)
+                    .containsExactly(
+                            tuple(1, "checks", WorkflowStatus.IN_PROGRESS),
+                            tuple(2, "checks", WorkflowStatus.IN_PROGRESS));
+        }
+
+        @Test
+        @DisplayName("Should attribute a failure to the failing branch only")
+        void shouldAttributeFailureToFailingBranch() {
+            when(repository.findById("exec-123")).thenReturn(Optional.empty());
+            testMessage = testMessage.toBuilder()
+                    .status(WorkflowStatus.FAILED)
+                    .errorInfo(ErrorInfo.builder().stepId(2).message("Fraud detected").build())
+                    .build();
+
+            persistenceService.onWorkflowMessage(testMessage);
+
+            verify(repository).save(executionCaptor.capture());
+            List<WorkflowExecution.StepExecution> history = executionCaptor.getValue().getStepHistory();
+            assertThat(history.get(0).getStatus()).isNull();
+            assertThat(history.get(1).getStatus()).isEqualTo(WorkflowStatus.FAILED);
+            assertThat(history.get(1).getErrorMessage()).isEqualTo("Fraud detected");
+        }
+
+        @Test
+        @DisplayName("Should mark every branch as passed once the workflow moves past the group")
+        void shouldPassBranchesAfterJoin() {
+            when(repository.findById("exec-123")).thenReturn(Optional.empty());
+            persistenceService.onWorkflowMessage(testMessage);
+            verify(repository).save(executionCaptor.capture());
+            when(repository.findById("exec-123")).thenReturn(Optional.of(executionCaptor.getValue()));
+
+            persistenceService.onWorkflowMessage(testMessage.toBuilder().currentStep(3).build());
+
+            verify(repository, times(2)).save(executionCaptor.capture());
+            assertThat(executionCaptor.getValue().getStepHistory())
+                    .extracting(WorkflowExecution.StepExecution::getStatus)
+                    .containsExactly(WorkflowStatus.PASSED, WorkflowStatus.PASSED, WorkflowStatus.IN_PROGRESS);
+        }
+
+        private StepDefinition step(int id, String label, String group) throws Exception {
+            return StepDefinition.builder()
+                    .id(id)
+                    .label(label)
+                    .method(GroupWorkflow.class.getDeclaredMethod("run", Object.class))
+                    .parallelGroup(group)
+                    .build();
+        }
+    }
+
+    static class GroupWorkflow implements StepprFlow {
+        public void run(Object payload) {
+        }
     }
 
     @Nested
@@ -0,0 +1,100 @@
+package io.stepprflow.monitor.websocket;
+
+import io.stepprflow.core.metrics.RollingStats;
+import io.stepprflow.core.metrics.WorkflowMetrics;
+import io.stepprflow.monitor.MonitorProperties;
+import io.stepprflow.monitor.dto.RollingMetricsDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for MetricsWebSocketPublisher.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MetricsWebSocketPublisher Tests")
+class MetricsWebSocketPublisherTest {
+
+    @Mock
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Mock
+    private WorkflowMetrics workflowMetrics;
+
+    @Captor
+    private ArgumentCaptor<RollingMetricsDto> dtoCaptor;
+
+    private MonitorProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new MonitorProperties();
+        properties.getWebSocket().setTopicPrefix("/topic/workflow");
+    }
+
+    @Test
+    @DisplayName("should push rolling metrics on the metrics channel")
+    void shouldPushRollingMetrics() {
+        // Given
+        Map<String, RollingStats> windows = Map.of("1m", RollingStats.builder().window("1m").build());
+        when(workflowMetrics.getGlobalRollingStats()).thenReturn(windows);
+        when(workflowMetrics.getActiveWorkflowKeys()).thenReturn(Set.of());
+        when(workflowMetrics.getActiveTopics()).thenReturn(Set.of());
+        MetricsWebSocketPublisher publisher =
+                new MetricsWebSocketPublisher(messagingTemplate, properties, workflowMetrics);
+
+        // When
+        publisher.publishMetrics();
+
+        // Then
+        verify(messagingTemplate).convertAndSend(eq("/topic/workflow/metrics"), dtoCaptor.capture());
+        assertThat(dtoCaptor.getValue().getGlobal()).isEqualTo(windows);
+    }
+
+    @Test
+    @DisplayName("should push nothing without workflow metrics")
+    void shouldPushNothingWithoutMetrics() {
+        MetricsWebSocketPublisher publisher =
+                new MetricsWebSocketPublisher(messagingTemplate, properties, null);
+
+        publisher.publishMetrics();
+
+        verifyNoInteractions(messagingTemplate);
+    }
+
+    @Test
+    @DisplayName("should not propagate broker errors")
+    void shouldNotPropagateBrokerErrors() {
+        // Given
+        when(workflowMetrics.getGlobalRollingStats()).thenReturn(Map.of());
+        when(workflowMetrics.getActiveWorkflowKeys()).thenReturn(Set.of());
+        when(workflowMetrics.getActiveTopics()).thenReturn(Set.of());
+        doThrow(new MessagingException("broker down"))
+                .when(messagingTemplate).convertAndSend(anyString(), any(Object.class));
+        MetricsWebSocketPublisher publisher =
+                new MetricsWebSocketPublisher(messagingTemplate, properties, workflowMetrics);
+
+        // When / Then
+        assertThatCode(publisher::publishMetrics).doesNotThrowAnyException();
+    }
+}
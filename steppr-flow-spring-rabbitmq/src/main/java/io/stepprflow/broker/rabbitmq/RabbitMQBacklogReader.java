@@ -0,0 +1,58 @@
+package io.stepprflow.broker.rabbitmq;
+
+import io.stepprflow.core.backlog.BacklogReader;
+import io.stepprflow.core.backlog.QueueBacklog;
+import io.stepprflow.core.exception.MessageBrokerException;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.QueueInformation;
+import org.springframework.amqp.rabbit.core.RabbitAdmin;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Backlog reader returning the depth and consumer count of the workflow
+ * queues declared by {@link RabbitMQQueueInitializer}.
+ *
+ * <p>The depth is the number of messages ready for delivery; messages
+ * delivered and not acknowledged yet are not counted. Retry, completed and
+ * delay queues are not read: they are consumed by the monitor or the
+ * broker, not by the workers.
+ */
+public class RabbitMQBacklogReader implements BacklogReader {
+
+    private final RabbitAdmin rabbitAdmin;
+    private final RabbitMQQueueInitializer queueInitializer;
+
+    /**
+     * Create a reader.
+     *
+     * @param rabbitAdmin      the admin used to read the queues
+     * @param queueInitializer the initializer declaring the workflow queues
+     */
+    public RabbitMQBacklogReader(RabbitAdmin rabbitAdmin, RabbitMQQueueInitializer queueInitializer) {
+        this.rabbitAdmin = rabbitAdmin;
+        this.queueInitializer = queueInitializer;
+    }
+
+    @Override
+    public List<QueueBacklog> read(Collection<String> topics) {
+        List<QueueBacklog> backlogs = new ArrayList<>();
+        try {
+            // The workflow queue of a topic is named after it
+            for (String queue : queueInitializer.getWorkflowQueueNames()) {
+                if (!topics.contains(queue)) {
+                    continue;
+                }
+                QueueInformation info = rabbitAdmin.getQueueInfo(queue);
+                if (info != null) {
+                    backlogs.add(new QueueBacklog(queue, queue, info.getMessageCount(), info.getConsumerCount()));
+                }
+            }
+        } catch (AmqpException e) {
+            throw new MessageBrokerException("rabbitmq", "Cannot read the workflow queues", e);
+        }
+        return backlogs;
+    }
+}
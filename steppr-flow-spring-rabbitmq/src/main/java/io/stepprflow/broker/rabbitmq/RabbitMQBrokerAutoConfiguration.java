@@ -1,17 +1,23 @@
 package io.stepprflow.broker.rabbitmq;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import io.stepprflow.core.StepprFlowProperties;
+import io.stepprflow.core.backlog.BacklogReader;
+import io.stepprflow.core.broker.ClaimCheckMessageBroker;
 import io.stepprflow.core.broker.MessageBroker;
+import io.stepprflow.core.dedup.MessageDeduplicator;
+import io.stepprflow.core.dispatch.StepDispatcher;
+import io.stepprflow.core.metrics.WorkflowMetrics;
+import io.stepprflow.core.payload.ClaimCheck;
 import io.stepprflow.core.service.WorkflowRegistry;
+import io.stepprflow.core.wire.WireCodecRegistry;
 import org.springframework.amqp.core.AcknowledgeMode;
 import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.CachingConnectionFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitAdmin;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
-import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
@@ -52,8 +58,8 @@ public class RabbitMQBrokerAutoConfiguration {
 
     @Bean
     @ConditionalOnMissingBean
-    public MessageConverter jackson2JsonMessageConverter(ObjectMapper objectMapper) {
-        return new Jackson2JsonMessageConverter(objectMapper);
+    public MessageConverter workflowMessageConverter(WireCodecRegistry wireCodecs) {
+        return new WorkflowMessageConverter(wireCodecs);
     }
 
     @Bean
@@ -99,16 +105,43 @@ public class RabbitMQBrokerAutoConfiguration {
         return new RabbitMQQueueInitializer(workflowRegistry, rabbitAdmin, properties);
     }
 
+    @Bean
+    @ConditionalOnMissingBean(BacklogReader.class)
+    @ConditionalOnProperty(prefix = "stepprflow.backlog", name = "enabled", havingValue = "true")
+    public RabbitMQBacklogReader rabbitMQBacklogReader(
+            RabbitAdmin rabbitAdmin,
+            RabbitMQQueueInitializer queueInitializer) {
+        return new RabbitMQBacklogReader(rabbitAdmin, queueInitializer);
+    }
+
     @Bean
     @ConditionalOnMissingBean(MessageBroker.class)
     public MessageBroker messageBroker(RabbitTemplate rabbitTemplate,
                                         StepprFlowProperties properties,
-                                        MessageConverter messageConverter) {
-        return new RabbitMQMessageBroker(
+                                        MessageConverter messageConverter,
+                                        ObjectProvider<ClaimCheck> claimCheck) {
+        MessageBroker broker = new RabbitMQMessageBroker(
                 rabbitTemplate,
                 properties.getRabbitmq().getExchange(),
                 messageConverter
         );
+        ClaimCheck check = claimCheck.getIfAvailable();
+        return check != null ? new ClaimCheckMessageBroker(broker, check) : broker;
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "stepprflow.rabbitmq.delay-queues", name = "enabled",
+            havingValue = "true", matchIfMissing = true)
+    public RabbitMQDelayQueueScheduler rabbitMQDelayQueueScheduler(
+            RabbitTemplate rabbitTemplate,
+            MessageConverter messageConverter,
+            StepprFlowProperties properties,
+            ObjectProvider<ClaimCheck> claimCheck,
+            ObjectProvider<WorkflowMetrics> metrics) {
+        return new RabbitMQDelayQueueScheduler(rabbitTemplate, properties.getRabbitmq().getExchange(),
+                messageConverter, properties.getRabbitmq().getDelayQueues(),
+                claimCheck.getIfAvailable(), metrics.getIfAvailable());
     }
 
     @Bean
@@ -116,8 +149,34 @@ public class RabbitMQBrokerAutoConfiguration {
     public RabbitMQMessageListener rabbitMQMessageListener(
             StepExecutor stepExecutor,
             WorkflowRegistry workflowRegistry,
+            MessageConverter messageConverter,
+            ApplicationEventPublisher eventPublisher,
+            ObjectProvider<StepDispatcher> stepDispatcher,
+            ObjectProvider<MessageDeduplicator> messageDeduplicator,
+            ObjectProvider<RabbitMQDelayQueueScheduler> delayQueueScheduler) {
+        return new RabbitMQMessageListener(stepExecutor, workflowRegistry, messageConverter, eventPublisher,
+                stepDispatcher.getIfAvailable(), messageDeduplicator.getIfAvailable(),
+                delayQueueScheduler.getIfAvailable());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnClass(name = "io.stepprflow.monitor.MonitorAutoConfiguration")
+    @ConditionalOnProperty(prefix = "stepprflow.monitor", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public RabbitMQEventListener rabbitMQEventListener(
             MessageConverter messageConverter,
             ApplicationEventPublisher eventPublisher) {
-        return new RabbitMQMessageListener(stepExecutor, workflowRegistry, messageConverter, eventPublisher);
+        return new RabbitMQEventListener(messageConverter, eventPublisher);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean({RabbitMQEventListener.class, RabbitMQEventQueueDrainer.class})
+    public RabbitMQEventQueueDrainer rabbitMQEventQueueDrainer(
+            MessageConverter messageConverter,
+            ApplicationEventPublisher eventPublisher,
+            MessageBroker messageBroker,
+            ObjectProvider<RabbitMQDelayQueueScheduler> delayQueueScheduler) {
+        return new RabbitMQEventQueueDrainer(messageConverter, eventPublisher, messageBroker,
+                delayQueueScheduler.getIfAvailable());
     }
 }
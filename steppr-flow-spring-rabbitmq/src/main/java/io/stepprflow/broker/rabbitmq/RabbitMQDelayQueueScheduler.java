@@ -0,0 +1,184 @@
+package io.stepprflow.broker.rabbitmq;
+
+import io.stepprflow.core.StepprFlowProperties;
+import io.stepprflow.core.metrics.WorkflowMetrics;
+import io.stepprflow.core.model.WorkflowMessage;
+import io.stepprflow.core.model.WorkflowStatus;
+import io.stepprflow.core.payload.ClaimCheck;
+import io.stepprflow.core.retry.RetryScheduler;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.MessageConverter;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Schedules retries through a ladder of RabbitMQ delay queues.
+ *
+ * <p>Each workflow topic has one queue per delay of the ladder (1s, 10s, 1m
+ * and 10m by default), named {@code <topic>.retry.<delay>}, with the delay
+ * as message TTL and the workflow queue as dead-letter destination. A retry
+ * is published, with status {@code IN_PROGRESS}, to the queue with the
+ * longest delay not above its backoff, with its due time in a header. Since
+ * all messages of a queue have the same TTL, they expire in order, and the
+ * broker moves them back to the workflow queue without any consumer. If
+ * part of the backoff remains, the listener sends the retry down the ladder
+ * (see {@link #remaining(MessageProperties)}).
+ *
+ * <p>Retries scheduled here are not seen by the monitor as
+ * {@code RETRY_PENDING}, and are not polled by its retry scheduler.
+ *
+ * <p>Enabled by default; disabled with
+ * {@code stepprflow.rabbitmq.delay-queues.enabled=false}.
+ */
+@Slf4j
+public class RabbitMQDelayQueueScheduler implements RetryScheduler {
+
+    /** Header carrying the due time of a delayed retry, in epoch milliseconds. */
+    public static final String DUE_HEADER = "x-delay-due";
+
+    private final RabbitTemplate rabbitTemplate;
+    private final String exchange;
+    private final MessageConverter messageConverter;
+    private final ClaimCheck claimCheck;
+    private final WorkflowMetrics metrics;
+
+    /** The ladder delays, in increasing order. */
+    private final List<Duration> delays;
+
+    /**
+     * Create a scheduler.
+     *
+     * @param rabbitTemplate   the RabbitMQ template
+     * @param exchange         the workflow exchange
+     * @param messageConverter the workflow message converter
+     * @param config           the delay queue configuration
+     * @param claimCheck       the claim check, or null when disabled
+     * @param metrics          the workflow metrics, or null
+     */
+    public RabbitMQDelayQueueScheduler(RabbitTemplate rabbitTemplate,
+                                       String exchange,
+                                       MessageConverter messageConverter,
+                                       StepprFlowProperties.RabbitMQ.DelayQueues config,
+                                       ClaimCheck claimCheck,
+                                       WorkflowMetrics metrics) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.exchange = exchange;
+        this.messageConverter = messageConverter;
+        this.claimCheck = claimCheck;
+        this.metrics = metrics;
+        this.delays = sortedDelays(config);
+    }
+
+    /**
+     * Get the delays of a ladder, without duplicates and in increasing order.
+     *
+     * @param config the delay queue configuration
+     * @return the delays
+     */
+    static List<Duration> sortedDelays(StepprFlowProperties.RabbitMQ.DelayQueues config) {
+        if (config.getDelays().isEmpty()) {
+            throw new IllegalArgumentException("At least one delay queue is required");
+        }
+        return config.getDelays().stream().distinct().sorted().toList();
+    }
+
+    /**
+     * Get the name of a delay queue.
+     *
+     * @param topic the workflow topic
+     * @param delay the delay of the queue
+     * @return the retry queue of the topic followed by the delay, such as
+     *         {@code orders.retry.10s}
+     */
+    public static String queueName(String topic, Duration delay) {
+        long ms = delay.toMillis();
+        String suffix;
+        if (ms % 3_600_000 == 0) {
+            suffix = ms / 3_600_000 + "h";
+        } else if (ms % 60_000 == 0) {
+            suffix = ms / 60_000 + "m";
+        } else if (ms % 1_000 == 0) {
+            suffix = ms / 1_000 + "s";
+        } else {
+            suffix = ms + "ms";
+        }
+        return topic + ".retry." + suffix;
+    }
+
+    /**
+     * Get the time left before a delivered retry is due.
+     *
+     * @param properties the properties of the delivered message
+     * @return the remaining delay, zero if due or not a delayed retry
+     */
+    public static Duration remaining(MessageProperties properties) {
+        Object due = properties.getHeader(DUE_HEADER);
+        if (due == null) {
+            return Duration.ZERO;
+        }
+        try {
+            long remaining = Long.parseLong(String.valueOf(due)) - System.currentTimeMillis();
+            return remaining > 0 ? Duration.ofMillis(remaining) : Duration.ZERO;
+        } catch (NumberFormatException e) {
+            return Duration.ZERO;
+        }
+    }
+
+    @Override
+    public boolean schedule(WorkflowMessage retryMessage, String topic, String retryDestination, Duration delay) {
+        WorkflowMessage message = retryMessage.toBuilder()
+                .status(WorkflowStatus.IN_PROGRESS)
+                .updatedAt(Instant.now())
+                .build();
+        try {
+            delay(claimCheck != null ? claimCheck.checkIn(message) : message, topic, delay);
+        } catch (RuntimeException e) {
+            log.warn("Cannot send retry of execution {} to a delay queue: {}",
+                    retryMessage.getExecutionId(), e.getMessage());
+            return false;
+        }
+        if (metrics != null) {
+            // Not seen on the retry queue, so not counted by the metrics listener
+            metrics.recordRetry(retryMessage.getTopic(), retryMessage.getRetryInfo().getAttempt());
+        }
+        return true;
+    }
+
+    /**
+     * Send a message to the delay queue of a topic matching a delay.
+     *
+     * @param message the message to send back to the topic when due
+     * @param topic   the workflow topic
+     * @param delay   the time left before the message is due
+     */
+    public void delay(WorkflowMessage message, String topic, Duration delay) {
+        String queue = queueName(topic, tierFor(delay));
+        MessageProperties properties = new MessageProperties();
+        properties.setMessageId(message.getExecutionId());
+        properties.setCorrelationId(message.getCorrelationId());
+        properties.setHeader(DUE_HEADER, System.currentTimeMillis() + delay.toMillis());
+        Message amqpMessage = messageConverter.toMessage(message, properties);
+
+        rabbitTemplate.send(exchange, queue, amqpMessage);
+        log.debug("Delayed execution {} on {} for {}", message.getExecutionId(), queue, delay);
+    }
+
+    /**
+     * The delay with the longest TTL not above a delay, or the shortest
+     * delay for shorter ones.
+     */
+    Duration tierFor(Duration delay) {
+        Duration tier = delays.get(0);
+        for (Duration candidate : delays) {
+            if (candidate.compareTo(delay) <= 0) {
+                tier = candidate;
+            }
+        }
+        return tier;
+    }
+}
@@ -0,0 +1,53 @@
+package io.stepprflow.broker.rabbitmq;
+
+import io.stepprflow.core.event.WorkflowMessageEvent;
+import io.stepprflow.core.model.WorkflowMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * RabbitMQ listener for the retry and completed queues of the workflows.
+ *
+ * <p>These queues carry no step to execute: their messages are only
+ * published as {@link WorkflowMessageEvent} for the monitor, which
+ * persists completions and polls pending retries. Workers do not need this
+ * listener; it is created when the monitor module is enabled.
+ */
+@Slf4j
+public class RabbitMQEventListener {
+
+    private final MessageConverter messageConverter;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Create a listener.
+     *
+     * @param messageConverter the message converter
+     * @param eventPublisher   the event publisher
+     */
+    public RabbitMQEventListener(MessageConverter messageConverter,
+                                 ApplicationEventPublisher eventPublisher) {
+        this.messageConverter = messageConverter;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Listen to the retry and completed queues.
+     */
+    @RabbitListener(
+            queues = "#{@rabbitMQQueueInitializer.eventQueueNames}",
+            containerFactory = "workflowRabbitListenerContainerFactory",
+            ackMode = "AUTO"
+    )
+    public void onEvent(Message message) {
+        var workflowMessage = (WorkflowMessage) messageConverter.fromMessage(message);
+        log.debug("Received workflow event: queue={}, executionId={}, status={}",
+                message.getMessageProperties().getConsumerQueue(),
+                workflowMessage.getExecutionId(), workflowMessage.getStatus());
+
+        eventPublisher.publishEvent(new WorkflowMessageEvent(this, workflowMessage));
+    }
+}
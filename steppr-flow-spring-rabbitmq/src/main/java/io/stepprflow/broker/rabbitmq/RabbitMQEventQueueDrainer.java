@@ -0,0 +1,93 @@
+package io.stepprflow.broker.rabbitmq;
+
+import io.stepprflow.core.broker.MessageBroker;
+import io.stepprflow.core.event.WorkflowMessageEvent;
+import io.stepprflow.core.model.WorkflowMessage;
+import io.stepprflow.core.model.WorkflowStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Drains the retry and completed queues of the workflows when no
+ * {@link RabbitMQEventListener} consumes them, that is without the monitor.
+ *
+ * <p>Messages are published as {@link WorkflowMessageEvent}, as the event
+ * listener does, so that local metrics still see completions and retries.
+ * Nobody polls pending retries without the monitor, so a retry found on the
+ * retry queue (one that could not be sent to a delay queue) is sent back to
+ * its workflow queue, in progress: through the delay queues for the rest of
+ * its backoff when they are enabled, at once otherwise.
+ */
+@Slf4j
+public class RabbitMQEventQueueDrainer {
+
+    private final MessageConverter messageConverter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MessageBroker messageBroker;
+    private final RabbitMQDelayQueueScheduler delayQueueScheduler;
+
+    /**
+     * Create a drainer.
+     *
+     * @param messageConverter    the message converter
+     * @param eventPublisher      the event publisher
+     * @param messageBroker       the message broker
+     * @param delayQueueScheduler the delay queue scheduler, or null when disabled
+     */
+    public RabbitMQEventQueueDrainer(MessageConverter messageConverter,
+                                     ApplicationEventPublisher eventPublisher,
+                                     MessageBroker messageBroker,
+                                     RabbitMQDelayQueueScheduler delayQueueScheduler) {
+        this.messageConverter = messageConverter;
+        this.eventPublisher = eventPublisher;
+        this.messageBroker = messageBroker;
+        this.delayQueueScheduler = delayQueueScheduler;
+    }
+
+    /**
+     * Drain the retry and completed queues.
+     */
+    @RabbitListener(
+            queues = "#{@rabbitMQQueueInitializer.eventQueueNames}",
+            containerFactory = "workflowRabbitListenerContainerFactory",
+            ackMode = "AUTO"
+    )
+    public void onEvent(Message message) {
+        var workflowMessage = (WorkflowMessage) messageConverter.fromMessage(message);
+        log.debug("Draining workflow event: queue={}, executionId={}, status={}",
+                message.getMessageProperties().getConsumerQueue(),
+                workflowMessage.getExecutionId(), workflowMessage.getStatus());
+
+        eventPublisher.publishEvent(new WorkflowMessageEvent(this, workflowMessage));
+
+        if (workflowMessage.getStatus() == WorkflowStatus.RETRY_PENDING) {
+            resume(workflowMessage);
+        }
+    }
+
+    private void resume(WorkflowMessage retryMessage) {
+        Instant now = Instant.now();
+        WorkflowMessage message = retryMessage.toBuilder()
+                .status(WorkflowStatus.IN_PROGRESS)
+                .updatedAt(now)
+                .build();
+        Instant due = retryMessage.getRetryInfo() != null ? retryMessage.getRetryInfo().getNextRetryAt() : null;
+        Duration remaining = due != null && due.isAfter(now) ? Duration.between(now, due) : Duration.ZERO;
+
+        if (delayQueueScheduler != null && !remaining.isZero()) {
+            delayQueueScheduler.delay(message, message.getTopic(), remaining);
+            return;
+        }
+        if (!remaining.isZero()) {
+            log.warn("Resuming retry of execution {} {} before it is due: no delay queues",
+                    message.getExecutionId(), remaining);
+        }
+        messageBroker.send(message.getTopic(), message);
+    }
+}
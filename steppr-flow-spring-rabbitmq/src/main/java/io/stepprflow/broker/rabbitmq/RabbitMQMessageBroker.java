@@ -10,6 +10,8 @@ import org.springframework.amqp.core.MessageProperties;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.amqp.support.converter.MessageConverter;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
 /**
@@ -92,6 +94,49 @@ public class RabbitMQMessageBroker implements MessageBroker {
         }
     }
 
+    /**
+     * Publish messages on one channel, then wait once for the publisher
+     * confirms of the whole batch.
+     */
+    @Override
+    public List<CompletableFuture<Void>> sendBatch(String destination, List<WorkflowMessage> messages) {
+        log.debug("Sending batch of {} messages to RabbitMQ exchange {} with routing key {}",
+                messages.size(), exchange, destination);
+
+        List<CompletableFuture<Void>> results = new ArrayList<>(messages.size());
+        List<CompletableFuture<Void>> published = new ArrayList<>(messages.size());
+        try {
+            rabbitTemplate.invoke(operations -> {
+                for (WorkflowMessage message : messages) {
+                    CompletableFuture<Void> result = new CompletableFuture<>();
+                    results.add(result);
+                    try {
+                        Message amqpMessage = messageConverter.toMessage(message, createMessageProperties(message));
+                        operations.send(exchange, destination, amqpMessage);
+                        published.add(result);
+                    } catch (Exception e) {
+                        result.completeExceptionally(new MessageSendException("rabbitmq", destination,
+                                message.getExecutionId(), e.getMessage(), e));
+                    }
+                }
+                operations.waitForConfirmsOrDie(5000);
+                return null;
+            });
+            published.forEach(result -> result.complete(null));
+        } catch (Exception e) {
+            log.error("Failed to send batch to exchange {} with routing key {}: {}",
+                    exchange, destination, e.getMessage(), e);
+            // Messages published before the failure may have been confirmed
+            MessageSendException failure = new MessageSendException("rabbitmq", destination, e.getMessage(), e);
+            published.forEach(result -> result.completeExceptionally(failure));
+            for (int i = results.size(); i < messages.size(); i++) {
+                results.add(CompletableFuture.failedFuture(new MessageSendException("rabbitmq", destination,
+                        messages.get(i).getExecutionId(), e.getMessage(), e)));
+            }
+        }
+        return results;
+    }
+
     @Override
     public String getBrokerType() {
         return "rabbitmq";
@@ -1,24 +1,44 @@
 package io.stepprflow.broker.rabbitmq;
 
 import com.rabbitmq.client.Channel;
+import io.stepprflow.core.dedup.MessageDeduplicator;
+import io.stepprflow.core.dispatch.ContiguousAckTracker;
+import io.stepprflow.core.dispatch.StepDispatcher;
 import io.stepprflow.core.event.WorkflowMessageEvent;
 import io.stepprflow.core.model.WorkflowMessage;
 import io.stepprflow.core.model.WorkflowStatus;
 import io.stepprflow.core.service.StepExecutor;
 import io.stepprflow.core.service.WorkflowRegistry;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.core.Message;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.amqp.support.converter.MessageConverter;
 import org.springframework.context.ApplicationEventPublisher;
 
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+
 /**
  * RabbitMQ listener for workflow messages.
  * Listens to workflow queues and delegates to StepExecutor.
  * This bean is created by RabbitMQBrokerAutoConfiguration.
+ *
+ * <p>When a {@link StepDispatcher} is configured, steps run on the
+ * dispatcher instead of the container thread, and deliveries are
+ * acknowledged per channel with a cumulative ack up to the last contiguous
+ * completed one. Raise {@code stepprflow.rabbitmq.prefetch-count} in this
+ * mode: it bounds the number of steps running per consumer.
+ *
+ * <p>When a {@link MessageDeduplicator} is configured, deliveries already
+ * processed before a channel close or restart are acknowledged without
+ * running their step again.
+ *
+ * <p>When a {@link RabbitMQDelayQueueScheduler} is configured, retries
+ * dead-lettered from a delay queue before they are due are sent down the
+ * ladder again instead of being executed.
  */
-@RequiredArgsConstructor
 @Slf4j
 public class RabbitMQMessageListener {
 
@@ -26,6 +46,89 @@ public class RabbitMQMessageListener {
     private final WorkflowRegistry registry;
     private final MessageConverter messageConverter;
     private final ApplicationEventPublisher eventPublisher;
+    private final StepDispatcher dispatcher;
+    private final MessageDeduplicator deduplicator;
+    private final RabbitMQDelayQueueScheduler delayQueueScheduler;
+    private final Map<Channel, ContiguousAckTracker<Long>> ackTrackers =
+            Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * Create a listener executing steps on the container thread.
+     *
+     * @param stepExecutor     the step executor
+     * @param registry         the workflow registry
+     * @param messageConverter the message converter
+     * @param eventPublisher   the event publisher
+     */
+    public RabbitMQMessageListener(StepExecutor stepExecutor,
+                                   WorkflowRegistry registry,
+                                   MessageConverter messageConverter,
+                                   ApplicationEventPublisher eventPublisher) {
+        this(stepExecutor, registry, messageConverter, eventPublisher, null, null);
+    }
+
+    /**
+     * Create a listener executing steps on a dispatcher.
+     *
+     * @param stepExecutor     the step executor
+     * @param registry         the workflow registry
+     * @param messageConverter the message converter
+     * @param eventPublisher   the event publisher
+     * @param dispatcher       the step dispatcher, or null to execute on the container thread
+     */
+    public RabbitMQMessageListener(StepExecutor stepExecutor,
+                                   WorkflowRegistry registry,
+                                   MessageConverter messageConverter,
+                                   ApplicationEventPublisher eventPublisher,
+                                   StepDispatcher dispatcher) {
+        this(stepExecutor, registry, messageConverter, eventPublisher, dispatcher, null);
+    }
+
+    /**
+     * Create a listener dropping already processed deliveries.
+     *
+     * @param stepExecutor     the step executor
+     * @param registry         the workflow registry
+     * @param messageConverter the message converter
+     * @param eventPublisher   the event publisher
+     * @param dispatcher       the step dispatcher, or null to execute on the container thread
+     * @param deduplicator     the redelivery deduplicator, or null to process every delivery
+     */
+    public RabbitMQMessageListener(StepExecutor stepExecutor,
+                                   WorkflowRegistry registry,
+                                   MessageConverter messageConverter,
+                                   ApplicationEventPublisher eventPublisher,
+                                   StepDispatcher dispatcher,
+                                   MessageDeduplicator deduplicator) {
+        this(stepExecutor, registry, messageConverter, eventPublisher, dispatcher, deduplicator, null);
+    }
+
+    /**
+     * Create a listener delaying retries through delay queues.
+     *
+     * @param stepExecutor        the step executor
+     * @param registry            the workflow registry
+     * @param messageConverter    the message converter
+     * @param eventPublisher      the event publisher
+     * @param dispatcher          the step dispatcher, or null to execute on the container thread
+     * @param deduplicator        the redelivery deduplicator, or null to process every delivery
+     * @param delayQueueScheduler the delay queue scheduler, or null when disabled
+     */
+    public RabbitMQMessageListener(StepExecutor stepExecutor,
+                                   WorkflowRegistry registry,
+                                   MessageConverter messageConverter,
+                                   ApplicationEventPublisher eventPublisher,
+                                   StepDispatcher dispatcher,
+                                   MessageDeduplicator deduplicator,
+                                   RabbitMQDelayQueueScheduler delayQueueScheduler) {
+        this.stepExecutor = stepExecutor;
+        this.registry = registry;
+        this.messageConverter = messageConverter;
+        this.eventPublisher = eventPublisher;
+        this.dispatcher = dispatcher;
+        this.deduplicator = deduplicator;
+        this.delayQueueScheduler = delayQueueScheduler;
+    }
 
     /**
      * Listen to workflow queue.
@@ -45,14 +148,32 @@ public class RabbitMQMessageListener {
                     queueName, workflowMessage.getExecutionId(),
                     workflowMessage.getCurrentStep(), workflowMessage.getStatus());
 
+            if (delayQueueScheduler != null) {
+                Duration remaining = RabbitMQDelayQueueScheduler.remaining(message.getMessageProperties());
+                if (!remaining.isZero()) {
+                    delayAgain(workflowMessage, remaining, message, channel);
+                    return;
+                }
+            }
+
             // Publish event for monitoring/persistence
             eventPublisher.publishEvent(new WorkflowMessageEvent(this, workflowMessage));
 
+            if (dispatcher != null) {
+                dispatch(workflowMessage, message, channel);
+                return;
+            }
+
             // Only process PENDING or IN_PROGRESS messages
             if (workflowMessage.getStatus() == WorkflowStatus.PENDING ||
                 workflowMessage.getStatus() == WorkflowStatus.IN_PROGRESS) {
+                if (deduplicator != null && deduplicator.isDuplicate(workflowMessage)) {
+                    acknowledgeMessage(channel, message);
+                    return;
+                }
                 try {
                     stepExecutor.execute(workflowMessage);
+                    markProcessed(workflowMessage);
                     acknowledgeMessage(channel, message);
                 } catch (Exception e) {
                     log.error("Error processing message: {}", e.getMessage(), e);
@@ -70,6 +191,89 @@ public class RabbitMQMessageListener {
         }
     }
 
+    private void dispatch(WorkflowMessage workflowMessage, Message message, Channel channel) {
+        long deliveryTag = message.getMessageProperties().getDeliveryTag();
+        ContiguousAckTracker<Long> tracker = ackTrackers.computeIfAbsent(channel, this::newAckTracker);
+        tracker.register(deliveryTag, deliveryTag);
+
+        if (workflowMessage.getStatus() != WorkflowStatus.PENDING &&
+            workflowMessage.getStatus() != WorkflowStatus.IN_PROGRESS) {
+            log.debug("Skipping message with status {}", workflowMessage.getStatus());
+            tracker.complete(deliveryTag, true);
+            return;
+        }
+
+        if (deduplicator != null && deduplicator.isDuplicate(workflowMessage)) {
+            tracker.complete(deliveryTag, true);
+            return;
+        }
+
+        try {
+            dispatcher.dispatch(workflowMessage, error -> {
+                if (error == null) {
+                    markProcessed(workflowMessage);
+                }
+                tracker.complete(deliveryTag, error == null);
+            });
+        } catch (InterruptedException e) {
+            // Container is stopping - unacknowledged deliveries are requeued on channel close
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void delayAgain(WorkflowMessage workflowMessage, Duration remaining,
+                            Message message, Channel channel) {
+        boolean delayed;
+        try {
+            delayQueueScheduler.delay(workflowMessage, workflowMessage.getTopic(), remaining);
+            delayed = true;
+        } catch (Exception e) {
+            log.warn("Cannot delay retry of execution {} again: {}",
+                    workflowMessage.getExecutionId(), e.getMessage());
+            delayed = false;
+        }
+        if (dispatcher != null) {
+            // Settled through the tracker, which acknowledges cumulatively
+            long deliveryTag = message.getMessageProperties().getDeliveryTag();
+            ContiguousAckTracker<Long> tracker = ackTrackers.computeIfAbsent(channel, this::newAckTracker);
+            tracker.register(deliveryTag, deliveryTag);
+            tracker.complete(deliveryTag, delayed);
+        } else if (delayed) {
+            acknowledgeMessage(channel, message);
+        } else {
+            rejectMessage(channel, message, true);
+        }
+    }
+
+    private void markProcessed(WorkflowMessage workflowMessage) {
+        if (deduplicator != null) {
+            deduplicator.markProcessed(workflowMessage);
+        }
+    }
+
+    private ContiguousAckTracker<Long> newAckTracker(Channel channel) {
+        return new ContiguousAckTracker<>(new ContiguousAckTracker.Settler<>() {
+            @Override
+            public void ack(Long deliveryTag) {
+                try {
+                    channel.basicAck(deliveryTag, true);
+                } catch (Exception e) {
+                    log.error("Failed to acknowledge messages up to {}", deliveryTag, e);
+                }
+            }
+
+            @Override
+            public void reject(Long deliveryTag) {
+                try {
+                    // Reject and requeue the message
+                    channel.basicReject(deliveryTag, true);
+                } catch (Exception e) {
+                    log.error("Failed to reject message", e);
+                }
+            }
+        });
+    }
+
     private void acknowledgeMessage(Channel channel, Message message) {
         try {
             channel.basicAck(message.getMessageProperties().getDeliveryTag(), false);
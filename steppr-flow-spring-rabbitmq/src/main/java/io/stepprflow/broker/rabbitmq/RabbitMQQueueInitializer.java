@@ -12,6 +12,7 @@ import org.springframework.amqp.core.QueueBuilder;
 import org.springframework.amqp.core.TopicExchange;
 import org.springframework.amqp.rabbit.core.RabbitAdmin;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -19,6 +20,12 @@ import java.util.List;
  * Initializes RabbitMQ queues, exchanges and bindings for workflows.
  * Uses @PostConstruct to initialize after WorkflowRegistry has scanned workflows
  * (via @DependsOn in auto-configuration).
+ *
+ * <p>Workers only consume the workflow queues ({@link #getWorkflowQueueNames()}).
+ * The retry and completed queues ({@link #getEventQueueNames()}) carry
+ * state changes, consumed by the monitor's event listener or, without the
+ * monitor, by the event queue drainer. The delay queues are consumed by the
+ * broker itself, which dead-letters expired messages to the workflow queue.
  */
 @Slf4j
 public class RabbitMQQueueInitializer {
@@ -27,9 +34,14 @@ public class RabbitMQQueueInitializer {
     private final RabbitAdmin rabbitAdmin;
     private final StepprFlowProperties properties;
 
+    /** Queues consumed by the workers. */
     @Getter
     private final List<String> workflowQueueNames = new ArrayList<>();
 
+    /** Retry and completed queues, consumed for monitoring only. */
+    @Getter
+    private final List<String> eventQueueNames = new ArrayList<>();
+
     public RabbitMQQueueInitializer(WorkflowRegistry workflowRegistry,
                                      RabbitAdmin rabbitAdmin,
                                      StepprFlowProperties properties) {
@@ -73,6 +85,7 @@ public class RabbitMQQueueInitializer {
         // Add a default fallback queue if no workflows are registered
         if (workflowQueueNames.isEmpty()) {
             workflowQueueNames.add("stepprflow-no-workflows");
+            eventQueueNames.add("stepprflow-no-workflows");
             Queue fallbackQueue = QueueBuilder.durable("stepprflow-no-workflows").build();
             rabbitAdmin.declareQueue(fallbackQueue);
         }
@@ -115,13 +128,13 @@ public class RabbitMQQueueInitializer {
                 .with(dlqQueueName);
         rabbitAdmin.declareBinding(dlqBinding);
 
-        // Create retry queue with TTL for delayed reprocessing
+        // Create retry queue, consumed through the event queues
         Queue retryQueue = QueueBuilder.durable(retryQueueName)
                 .withArgument("x-dead-letter-exchange", exchangeName)
                 .withArgument("x-dead-letter-routing-key", topic)
                 .build();
         rabbitAdmin.declareQueue(retryQueue);
-        workflowQueueNames.add(retryQueueName);
+        eventQueueNames.add(retryQueueName);
         log.debug("Declared retry queue: {}", retryQueueName);
 
         // Bind retry queue
@@ -133,7 +146,7 @@ public class RabbitMQQueueInitializer {
         // Create completed queue
         Queue completedQueue = QueueBuilder.durable(completedQueueName).build();
         rabbitAdmin.declareQueue(completedQueue);
-        workflowQueueNames.add(completedQueueName);
+        eventQueueNames.add(completedQueueName);
         log.debug("Declared completed queue: {}", completedQueueName);
 
         // Bind completed queue
@@ -142,6 +155,31 @@ public class RabbitMQQueueInitializer {
                 .with(topic + ".completed");
         rabbitAdmin.declareBinding(completedBinding);
 
+        StepprFlowProperties.RabbitMQ.DelayQueues delayQueues = properties.getRabbitmq().getDelayQueues();
+        if (delayQueues.isEnabled()) {
+            for (Duration delay : RabbitMQDelayQueueScheduler.sortedDelays(delayQueues)) {
+                createDelayQueue(topic, delay, exchange, exchangeName);
+            }
+        }
+
         log.info("Created queue infrastructure for workflow: {}", topic);
     }
+
+    private void createDelayQueue(String topic, Duration delay,
+                                  TopicExchange exchange, String exchangeName) {
+        // Expired messages keep their body and go back to the workflow queue
+        String delayQueueName = RabbitMQDelayQueueScheduler.queueName(topic, delay);
+        Queue delayQueue = QueueBuilder.durable(delayQueueName)
+                .ttl(Math.toIntExact(delay.toMillis()))
+                .withArgument("x-dead-letter-exchange", exchangeName)
+                .withArgument("x-dead-letter-routing-key", topic)
+                .build();
+        rabbitAdmin.declareQueue(delayQueue);
+        log.debug("Declared delay queue: {}", delayQueueName);
+
+        Binding delayBinding = BindingBuilder.bind(delayQueue)
+                .to(exchange)
+                .with(delayQueueName);
+        rabbitAdmin.declareBinding(delayBinding);
+    }
 }
@@ -0,0 +1,67 @@
+package io.stepprflow.broker.rabbitmq;
+
+import io.stepprflow.core.model.WorkflowMessage;
+import io.stepprflow.core.wire.WireCodec;
+import io.stepprflow.core.wire.WireCodecRegistry;
+import io.stepprflow.core.wire.WireEnvelope;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.amqp.support.converter.MessageConverter;
+
+import java.io.IOException;
+
+/**
+ * Message converter writing workflow messages with the configured wire
+ * codec, and reading them with the codec matching their content type.
+ *
+ * <p>Messages are always bound to {@link WorkflowMessage}; type headers are
+ * never used. The envelope fields are written as {@link WireEnvelope}
+ * headers, which take precedence over the body on receipt, and a received
+ * body may be forwarded as-is (see {@link WireCodecRegistry#encode(WorkflowMessage)}).
+ */
+public class WorkflowMessageConverter implements MessageConverter {
+
+    private final WireCodecRegistry codecs;
+
+    /**
+     * Create a converter.
+     *
+     * @param codecs the wire codec registry
+     */
+    public WorkflowMessageConverter(WireCodecRegistry codecs) {
+        this.codecs = codecs;
+    }
+
+    @Override
+    public Message toMessage(Object object, MessageProperties messageProperties) {
+        if (!(object instanceof WorkflowMessage workflowMessage)) {
+            throw new MessageConversionException("Cannot convert " + object.getClass().getName()
+                    + ", only WorkflowMessage is supported");
+        }
+        WireCodec codec = codecs.getWriteCodec();
+        byte[] body;
+        try {
+            body = codecs.encode(workflowMessage);
+        } catch (IOException e) {
+            throw new MessageConversionException("Cannot encode workflow message", e);
+        }
+        WireEnvelope.write(workflowMessage, messageProperties::setHeader);
+        messageProperties.setContentType(codec.getContentType());
+        messageProperties.setContentLength(body.length);
+        return new Message(body, messageProperties);
+    }
+
+    @Override
+    public Object fromMessage(Message message) {
+        MessageProperties properties = message.getMessageProperties();
+        try {
+            return codecs.decode(properties.getContentType(), message.getBody(), name -> {
+                Object value = properties.getHeader(name);
+                return value != null ? String.valueOf(value) : null;
+            });
+        } catch (IOException | IllegalArgumentException e) {
+            throw new MessageConversionException("Cannot decode workflow message", e);
+        }
+    }
+}
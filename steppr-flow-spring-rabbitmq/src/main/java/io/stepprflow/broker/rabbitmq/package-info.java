@@ -18,6 +18,10 @@
  *   <li>{@link io.stepprflow.broker.rabbitmq.RabbitMQMessageListener} - Receives and processes messages</li>
  *   <li>{@link io.stepprflow.broker.rabbitmq.RabbitMQMessageContext} - RabbitMQ acknowledgment context</li>
  *   <li>{@link io.stepprflow.broker.rabbitmq.RabbitMQQueueInitializer} - Queue/exchange setup</li>
+ *   <li>{@link io.stepprflow.broker.rabbitmq.RabbitMQDelayQueueScheduler} - Retries through TTL delay queues</li>
+ *   <li>{@link io.stepprflow.broker.rabbitmq.RabbitMQEventListener} - Retry and completion events for the monitor</li>
+ *   <li>{@link io.stepprflow.broker.rabbitmq.RabbitMQEventQueueDrainer} - Event queues without the monitor</li>
+ *   <li>{@link io.stepprflow.broker.rabbitmq.RabbitMQBacklogReader} - Workflow queue depth, for the backlog gauges</li>
  *   <li>{@link io.stepprflow.broker.rabbitmq.RabbitMQBrokerAutoConfiguration} - Spring Boot auto-config</li>
  * </ul>
  */
@@ -0,0 +1,87 @@
+package io.stepprflow.broker.rabbitmq;
+
+import io.stepprflow.core.backlog.QueueBacklog;
+import io.stepprflow.core.exception.MessageBrokerException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.AmqpConnectException;
+import org.springframework.amqp.core.QueueInformation;
+import org.springframework.amqp.rabbit.core.RabbitAdmin;
+
+import java.net.ConnectException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RabbitMQBacklogReader Tests")
+class RabbitMQBacklogReaderTest {
+
+    @Mock
+    private RabbitAdmin rabbitAdmin;
+
+    @Mock
+    private RabbitMQQueueInitializer queueInitializer;
+
+    private RabbitMQBacklogReader reader;
+
+    @BeforeEach
+    void setUp() {
+        when(queueInitializer.getWorkflowQueueNames()).thenReturn(List.of("orders", "payments"));
+        reader = new RabbitMQBacklogReader(rabbitAdmin, queueInitializer);
+    }
+
+    @Test
+    @DisplayName("Should read depth and consumers of the workflow queues")
+    void shouldReadWorkflowQueues() {
+        when(rabbitAdmin.getQueueInfo("orders")).thenReturn(new QueueInformation("orders", 12, 2));
+        when(rabbitAdmin.getQueueInfo("payments")).thenReturn(new QueueInformation("payments", 0, 1));
+
+        List<QueueBacklog> backlogs = reader.read(List.of("orders", "payments"));
+
+        assertThat(backlogs).containsExactly(
+                new QueueBacklog("orders", "orders", 12, 2),
+                new QueueBacklog("payments", "payments", 0, 1));
+    }
+
+    @Test
+    @DisplayName("Should only read the queues of the requested topics")
+    void shouldOnlyReadRequestedTopics() {
+        when(rabbitAdmin.getQueueInfo("orders")).thenReturn(new QueueInformation("orders", 3, 1));
+
+        List<QueueBacklog> backlogs = reader.read(List.of("orders"));
+
+        assertThat(backlogs).extracting(QueueBacklog::topic).containsExactly("orders");
+        verify(rabbitAdmin, never()).getQueueInfo("payments");
+    }
+
+    @Test
+    @DisplayName("Should leave out queues missing on the broker")
+    void shouldLeaveOutMissingQueues() {
+        when(rabbitAdmin.getQueueInfo("orders")).thenReturn(null);
+        when(rabbitAdmin.getQueueInfo("payments")).thenReturn(new QueueInformation("payments", 5, 1));
+
+        List<QueueBacklog> backlogs = reader.read(List.of("orders", "payments"));
+
+        assertThat(backlogs).extracting(QueueBacklog::queue).containsExactly("payments");
+    }
+
+    @Test
+    @DisplayName("Should wrap broker errors")
+    void shouldWrapBrokerErrors() {
+        when(rabbitAdmin.getQueueInfo("orders"))
+                .thenThrow(new AmqpConnectException(new ConnectException("refused")));
+
+        assertThatThrownBy(() -> reader.read(List.of("orders")))
+                .isInstanceOf(MessageBrokerException.class)
+                .hasCauseInstanceOf(AmqpConnectException.class);
+    }
+}
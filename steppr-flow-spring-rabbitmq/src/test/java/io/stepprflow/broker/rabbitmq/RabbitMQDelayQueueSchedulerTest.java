@@ -0,0 +1,133 @@
+package io.stepprflow.broker.rabbitmq;
+
+import io.stepprflow.core.StepprFlowProperties;
+import io.stepprflow.core.model.RetryInfo;
+import io.stepprflow.core.model.WorkflowMessage;
+import io.stepprflow.core.model.WorkflowStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.AmqpConnectException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.MessageConverter;
+
+import java.net.ConnectException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RabbitMQDelayQueueScheduler Tests")
+class RabbitMQDelayQueueSchedulerTest {
+
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    @Mock
+    private MessageConverter messageConverter;
+
+    private RabbitMQDelayQueueScheduler scheduler;
+
+    private final WorkflowMessage retryMessage = WorkflowMessage.builder()
+            .executionId("exec-1")
+            .topic("orders-workflow")
+            .currentStep(2)
+            .status(WorkflowStatus.RETRY_PENDING)
+            .retryInfo(RetryInfo.builder().attempt(2).maxAttempts(3).build())
+            .build();
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new RabbitMQDelayQueueScheduler(rabbitTemplate, "stepprflow.workflows", messageConverter,
+                new StepprFlowProperties.RabbitMQ.DelayQueues(), null, null);
+    }
+
+    @Nested
+    @DisplayName("Ladder")
+    class LadderTests {
+
+        @Test
+        @DisplayName("Should name delay queues after their topic and delay")
+        void shouldNameQueues() {
+            assertThat(RabbitMQDelayQueueScheduler.queueName("orders", Duration.ofSeconds(10)))
+                    .isEqualTo("orders.retry.10s");
+            assertThat(RabbitMQDelayQueueScheduler.queueName("orders", Duration.ofMillis(250)))
+                    .isEqualTo("orders.retry.250ms");
+            assertThat(RabbitMQDelayQueueScheduler.queueName("orders", Duration.ofHours(2)))
+                    .isEqualTo("orders.retry.2h");
+        }
+
+        @Test
+        @DisplayName("Should pick the longest delay not above the backoff")
+        void shouldPickTier() {
+            assertThat(scheduler.tierFor(Duration.ofSeconds(45))).isEqualTo(Duration.ofSeconds(10));
+            assertThat(scheduler.tierFor(Duration.ofMinutes(1))).isEqualTo(Duration.ofMinutes(1));
+            assertThat(scheduler.tierFor(Duration.ofHours(1))).isEqualTo(Duration.ofMinutes(10));
+            assertThat(scheduler.tierFor(Duration.ofMillis(200))).isEqualTo(Duration.ofSeconds(1));
+        }
+
+        @Test
+        @DisplayName("Should read the time left before a delivered retry is due")
+        void shouldReadRemaining() {
+            MessageProperties properties = new MessageProperties();
+            assertThat(RabbitMQDelayQueueScheduler.remaining(properties)).isZero();
+
+            properties.setHeader(RabbitMQDelayQueueScheduler.DUE_HEADER, System.currentTimeMillis() - 1);
+            assertThat(RabbitMQDelayQueueScheduler.remaining(properties)).isZero();
+
+            properties.setHeader(RabbitMQDelayQueueScheduler.DUE_HEADER, System.currentTimeMillis() + 5_000);
+            assertThat(RabbitMQDelayQueueScheduler.remaining(properties))
+                    .isBetween(Duration.ofSeconds(4), Duration.ofSeconds(5));
+        }
+    }
+
+    @Nested
+    @DisplayName("schedule()")
+    class ScheduleTests {
+
+        @Test
+        @DisplayName("Should publish the retry in progress to its delay queue with its due time")
+        void shouldPublishToDelayQueue() {
+            Message amqpMessage = new Message(new byte[0], new MessageProperties());
+            when(messageConverter.toMessage(any(), any())).thenReturn(amqpMessage);
+            long before = System.currentTimeMillis();
+
+            boolean accepted = scheduler.schedule(retryMessage, "orders-workflow", "orders-workflow.retry",
+                    Duration.ofSeconds(90));
+
+            ArgumentCaptor<WorkflowMessage> message = ArgumentCaptor.forClass(WorkflowMessage.class);
+            ArgumentCaptor<MessageProperties> properties = ArgumentCaptor.forClass(MessageProperties.class);
+            verify(messageConverter).toMessage(message.capture(), properties.capture());
+            verify(rabbitTemplate).send("stepprflow.workflows", "orders-workflow.retry.1m", amqpMessage);
+            assertThat(accepted).isTrue();
+            assertThat(message.getValue().getStatus()).isEqualTo(WorkflowStatus.IN_PROGRESS);
+            assertThat(message.getValue().getRetryInfo().getAttempt()).isEqualTo(2);
+            assertThat((Long) properties.getValue().getHeader(RabbitMQDelayQueueScheduler.DUE_HEADER))
+                    .isGreaterThanOrEqualTo(before + 90_000);
+        }
+
+        @Test
+        @DisplayName("Should decline the retry when the delay queue cannot be written")
+        void shouldDeclineOnSendFailure() {
+            Message amqpMessage = new Message(new byte[0], new MessageProperties());
+            when(messageConverter.toMessage(any(), any())).thenReturn(amqpMessage);
+            doThrow(new AmqpConnectException(new ConnectException("refused")))
+                    .when(rabbitTemplate).send(eq("stepprflow.workflows"), any(), eq(amqpMessage));
+
+            assertThat(scheduler.schedule(retryMessage, "orders-workflow", "orders-workflow.retry",
+                    Duration.ofSeconds(5))).isFalse();
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package io.stepprflow.broker.rabbitmq;
+
+import io.stepprflow.core.broker.MessageBroker;
+import io.stepprflow.core.event.WorkflowMessageEvent;
+import io.stepprflow.core.model.RetryInfo;
+import io.stepprflow.core.model.WorkflowMessage;
+import io.stepprflow.core.model.WorkflowStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RabbitMQEventQueueDrainer Tests")
+class RabbitMQEventQueueDrainerTest {
+
+    @Mock
+    private MessageConverter messageConverter;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private MessageBroker messageBroker;
+
+    @Mock
+    private RabbitMQDelayQueueScheduler delayQueueScheduler;
+
+    @Captor
+    private ArgumentCaptor<WorkflowMessage> messageCaptor;
+
+    @Captor
+    private ArgumentCaptor<Duration> delayCaptor;
+
+    private final Message amqpMessage = new Message(new byte[0], new MessageProperties());
+
+    private WorkflowMessage receive(WorkflowMessage workflowMessage) {
+        when(messageConverter.fromMessage(amqpMessage)).thenReturn(workflowMessage);
+        return workflowMessage;
+    }
+
+    private static WorkflowMessage retry(Instant nextRetryAt) {
+        return WorkflowMessage.builder()
+                .executionId("exec-1")
+                .topic("orders-workflow")
+                .currentStep(2)
+                .status(WorkflowStatus.RETRY_PENDING)
+                .retryInfo(RetryInfo.builder().attempt(2).maxAttempts(3).nextRetryAt(nextRetryAt).build())
+                .build();
+    }
+
+    @Nested
+    @DisplayName("Completed queue")
+    class CompletedTests {
+
+        @Test
+        @DisplayName("Should publish completions as local events only")
+        void shouldPublishCompletion() {
+            WorkflowMessage completed = receive(WorkflowMessage.builder()
+                    .executionId("exec-1")
+                    .topic("orders-workflow")
+                    .status(WorkflowStatus.COMPLETED)
+                    .build());
+            RabbitMQEventQueueDrainer drainer = new RabbitMQEventQueueDrainer(
+                    messageConverter, eventPublisher, messageBroker, delayQueueScheduler);
+
+            drainer.onEvent(amqpMessage);
+
+            ArgumentCaptor<WorkflowMessageEvent> event = ArgumentCaptor.forClass(WorkflowMessageEvent.class);
+            verify(eventPublisher).publishEvent(event.capture());
+            assertThat(event.getValue().getMessage()).isSameAs(completed);
+            verifyNoInteractions(messageBroker, delayQueueScheduler);
+        }
+    }
+
+    @Nested
+    @DisplayName("Retry queue")
+    class RetryTests {
+
+        @Test
+        @DisplayName("Should delay a retry for the rest of its backoff")
+        void shouldDelayRetry() {
+            receive(retry(Instant.now().plusSeconds(30)));
+            RabbitMQEventQueueDrainer drainer = new RabbitMQEventQueueDrainer(
+                    messageConverter, eventPublisher, messageBroker, delayQueueScheduler);
+
+            drainer.onEvent(amqpMessage);
+
+            verify(delayQueueScheduler).delay(messageCaptor.capture(), eq("orders-workflow"), delayCaptor.capture());
+            assertThat(messageCaptor.getValue().getStatus()).isEqualTo(WorkflowStatus.IN_PROGRESS);
+            assertThat(delayCaptor.getValue()).isBetween(Duration.ofSeconds(25), Duration.ofSeconds(30));
+            verify(eventPublisher).publishEvent(any(WorkflowMessageEvent.class));
+            verifyNoInteractions(messageBroker);
+        }
+
+        @Test
+        @DisplayName("Should send a due retry back to its workflow queue")
+        void shouldResumeDueRetry() {
+            receive(retry(Instant.now().minusSeconds(1)));
+            RabbitMQEventQueueDrainer drainer = new RabbitMQEventQueueDrainer(
+                    messageConverter, eventPublisher, messageBroker, delayQueueScheduler);
+
+            drainer.onEvent(amqpMessage);
+
+            verify(messageBroker).send(eq("orders-workflow"), messageCaptor.capture());
+            assertThat(messageCaptor.getValue().getStatus()).isEqualTo(WorkflowStatus.IN_PROGRESS);
+            assertThat(messageCaptor.getValue().getCurrentStep()).isEqualTo(2);
+            verify(delayQueueScheduler, never()).delay(any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Should send a retry back at once without delay queues")
+        void shouldResumeWithoutDelayQueues() {
+            receive(retry(Instant.now().plusSeconds(30)));
+            RabbitMQEventQueueDrainer drainer = new RabbitMQEventQueueDrainer(
+                    messageConverter, eventPublisher, messageBroker, null);
+
+            drainer.onEvent(amqpMessage);
+
+            verify(messageBroker).send(eq("orders-workflow"), messageCaptor.capture());
+            assertThat(messageCaptor.getValue().getStatus()).isEqualTo(WorkflowStatus.IN_PROGRESS);
+        }
+
+        @Test
+        @DisplayName("Should send a retry without due time back at once")
+        void shouldResumeRetryWithoutDueTime() {
+            receive(retry(null));
+            RabbitMQEventQueueDrainer drainer = new RabbitMQEventQueueDrainer(
+                    messageConverter, eventPublisher, messageBroker, delayQueueScheduler);
+
+            drainer.onEvent(amqpMessage);
+
+            verify(messageBroker).send(eq("orders-workflow"), any(WorkflowMessage.class));
+            verifyNoInteractions(delayQueueScheduler);
+        }
+    }
+}
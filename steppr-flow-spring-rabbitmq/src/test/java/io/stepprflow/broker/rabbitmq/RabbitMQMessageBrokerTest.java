@@ -21,6 +21,7 @@ import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.amqp.support.converter.MessageConverter;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
@@ -32,6 +33,7 @@ import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -256,6 +258,73 @@ class RabbitMQMessageBrokerTest {
         }
     }
 
+    @Nested
+    @DisplayName("sendBatch()")
+    class SendBatchTests {
+
+        @Mock
+        private RabbitOperations operations;
+
+        @Test
+        @DisplayName("should publish all messages on one channel and wait for confirms once")
+        @SuppressWarnings("unchecked")
+        void shouldPublishBatchWithOneConfirmWait() throws Exception {
+            // Given
+            WorkflowMessage first = createWorkflowMessage("exec-1", "batch-workflow");
+            WorkflowMessage second = createWorkflowMessage("exec-2", "batch-workflow");
+            when(messageConverter.toMessage(any(), any(MessageProperties.class))).thenReturn(amqpMessage);
+            when(rabbitTemplate.invoke(any())).thenAnswer(invocation ->
+                    ((RabbitOperations.OperationsCallback<Object>) invocation.getArgument(0)).doInRabbit(operations));
+
+            // When
+            List<CompletableFuture<Void>> results = broker.sendBatch("batch-workflow", List.of(first, second));
+
+            // Then
+            verify(operations, times(2)).send(EXCHANGE, "batch-workflow", amqpMessage);
+            verify(operations, times(1)).waitForConfirmsOrDie(5000);
+            assertThat(results).hasSize(2).allSatisfy(result -> assertThat(result).isCompleted());
+        }
+
+        @Test
+        @DisplayName("should fail only the messages that cannot be converted")
+        @SuppressWarnings("unchecked")
+        void shouldFailUnconvertedMessages() throws Exception {
+            // Given
+            WorkflowMessage valid = createWorkflowMessage("exec-1", "batch-workflow");
+            WorkflowMessage invalid = createWorkflowMessage("exec-2", "batch-workflow");
+            when(messageConverter.toMessage(eq(valid), any(MessageProperties.class))).thenReturn(amqpMessage);
+            when(messageConverter.toMessage(eq(invalid), any(MessageProperties.class)))
+                    .thenThrow(new IllegalArgumentException("cannot encode"));
+            when(rabbitTemplate.invoke(any())).thenAnswer(invocation ->
+                    ((RabbitOperations.OperationsCallback<Object>) invocation.getArgument(0)).doInRabbit(operations));
+
+            // When
+            List<CompletableFuture<Void>> results = broker.sendBatch("batch-workflow", List.of(valid, invalid));
+
+            // Then
+            assertThat(results.get(0)).isCompleted();
+            assertThat(results.get(1)).isCompletedExceptionally();
+            assertThatThrownBy(() -> results.get(1).get())
+                    .hasCauseInstanceOf(MessageSendException.class)
+                    .hasMessageContaining("exec-2");
+        }
+
+        @Test
+        @DisplayName("should fail every message when confirms are not received")
+        void shouldFailBatchWithoutConfirms() {
+            // Given
+            WorkflowMessage first = createWorkflowMessage("exec-1", "batch-workflow");
+            WorkflowMessage second = createWorkflowMessage("exec-2", "batch-workflow");
+            doThrow(new RuntimeException("Confirms timed out")).when(rabbitTemplate).invoke(any());
+
+            // When
+            List<CompletableFuture<Void>> results = broker.sendBatch("batch-workflow", List.of(first, second));
+
+            // Then
+            assertThat(results).hasSize(2).allSatisfy(result -> assertThat(result).isCompletedExceptionally());
+        }
+    }
+
     @Nested
     @DisplayName("getBrokerType()")
     class GetBrokerTypeTests {
@@ -1,6 +1,9 @@
 package io.stepprflow.broker.rabbitmq;
 
 import com.rabbitmq.client.Channel;
+import io.stepprflow.core.StepprFlowProperties;
+import io.stepprflow.core.dedup.MessageDeduplicator;
+import io.stepprflow.core.dispatch.StepDispatcher;
 import io.stepprflow.core.event.WorkflowMessageEvent;
 import io.stepprflow.core.model.WorkflowMessage;
 import io.stepprflow.core.model.WorkflowStatus;
@@ -19,8 +22,10 @@ import org.springframework.amqp.support.converter.MessageConverter;
 import org.springframework.context.ApplicationEventPublisher;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.util.Map;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
@@ -192,6 +197,211 @@ class RabbitMQMessageListenerTest {
         }
     }
 
+    @Nested
+    @DisplayName("onMessage() with dispatcher")
+    class DispatchedTests {
+
+        @Mock
+        private StepDispatcher dispatcher;
+
+        @BeforeEach
+        void setUp() {
+            listener = new RabbitMQMessageListener(
+                    stepExecutor, registry, messageConverter, eventPublisher, dispatcher);
+        }
+
+        @Test
+        @DisplayName("Should ack contiguous completions cumulatively and requeue failures")
+        @SuppressWarnings("unchecked")
+        void shouldSettleInDeliveryOrder() throws Exception {
+            // Given
+            WorkflowMessage first = createMessage(WorkflowStatus.PENDING);
+            WorkflowMessage second = createMessage(WorkflowStatus.PENDING);
+            WorkflowMessage third = createMessage(WorkflowStatus.PENDING);
+            Message firstMessage = createAmqpMessage(1L);
+            Message secondMessage = createAmqpMessage(2L);
+            Message thirdMessage = createAmqpMessage(3L);
+            when(messageConverter.fromMessage(firstMessage)).thenReturn(first);
+            when(messageConverter.fromMessage(secondMessage)).thenReturn(second);
+            when(messageConverter.fromMessage(thirdMessage)).thenReturn(third);
+            ArgumentCaptor<Consumer<Exception>> completions = ArgumentCaptor.forClass(Consumer.class);
+
+            // When
+            listener.onMessage(firstMessage, channel);
+            listener.onMessage(secondMessage, channel);
+            listener.onMessage(thirdMessage, channel);
+            verify(dispatcher, times(3)).dispatch(any(), completions.capture());
+            completions.getAllValues().get(2).accept(null);
+            completions.getAllValues().get(1).accept(new RuntimeException("Processing failed"));
+
+            // Then
+            verify(stepExecutor, never()).execute(any());
+            verifyNoInteractions(channel);
+
+            completions.getAllValues().get(0).accept(null);
+            var inOrder = inOrder(channel);
+            inOrder.verify(channel).basicAck(1L, true);
+            inOrder.verify(channel).basicReject(2L, true);
+            inOrder.verify(channel).basicAck(3L, true);
+        }
+
+        @Test
+        @DisplayName("Should acknowledge skipped message without dispatching")
+        void shouldAcknowledgeSkippedMessage() throws Exception {
+            // Given
+            WorkflowMessage workflowMessage = createMessage(WorkflowStatus.COMPLETED);
+            Message message = createAmqpMessage();
+            when(messageConverter.fromMessage(message)).thenReturn(workflowMessage);
+
+            // When
+            listener.onMessage(message, channel);
+
+            // Then
+            verify(dispatcher, never()).dispatch(any(), any());
+            verify(channel).basicAck(1L, true);
+        }
+    }
+
+    @Nested
+    @DisplayName("onMessage() with deduplicator")
+    class DeduplicatedTests {
+
+        @Mock
+        private StepDispatcher dispatcher;
+
+        private MessageDeduplicator deduplicator;
+
+        @BeforeEach
+        void setUp() {
+            deduplicator = new MessageDeduplicator(new StepprFlowProperties(), null, null);
+        }
+
+        @Test
+        @DisplayName("Should acknowledge redelivered message without executing it again")
+        void shouldDropRedeliveredMessage() throws IOException {
+            // Given
+            listener = new RabbitMQMessageListener(
+                    stepExecutor, registry, messageConverter, eventPublisher, null, deduplicator);
+            WorkflowMessage workflowMessage = createMessage(WorkflowStatus.PENDING);
+            Message delivery = createAmqpMessage(1L);
+            Message redelivery = createAmqpMessage(2L);
+            when(messageConverter.fromMessage(delivery)).thenReturn(workflowMessage);
+            when(messageConverter.fromMessage(redelivery)).thenReturn(workflowMessage);
+
+            // When
+            listener.onMessage(delivery, channel);
+            listener.onMessage(redelivery, channel);
+
+            // Then
+            verify(stepExecutor, times(1)).execute(workflowMessage);
+            verify(channel).basicAck(1L, false);
+            verify(channel).basicAck(2L, false);
+            assertThat(deduplicator.getHitCount()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should mark dispatched message processed only once its step completed")
+        @SuppressWarnings("unchecked")
+        void shouldMarkDispatchedMessageOnCompletion() throws Exception {
+            // Given
+            listener = new RabbitMQMessageListener(
+                    stepExecutor, registry, messageConverter, eventPublisher, dispatcher, deduplicator);
+            WorkflowMessage workflowMessage = createMessage(WorkflowStatus.PENDING);
+            Message delivery = createAmqpMessage(1L);
+            Message redelivery = createAmqpMessage(2L);
+            when(messageConverter.fromMessage(delivery)).thenReturn(workflowMessage);
+            when(messageConverter.fromMessage(redelivery)).thenReturn(workflowMessage);
+            ArgumentCaptor<Consumer<Exception>> completion = ArgumentCaptor.forClass(Consumer.class);
+
+            // When
+            listener.onMessage(delivery, channel);
+            verify(dispatcher).dispatch(eq(workflowMessage), completion.capture());
+            completion.getValue().accept(null);
+            listener.onMessage(redelivery, channel);
+
+            // Then
+            verify(dispatcher, times(1)).dispatch(any(), any());
+            verify(channel).basicAck(1L, true);
+            verify(channel).basicAck(2L, true);
+            assertThat(deduplicator.getHitCount()).isEqualTo(1);
+        }
+    }
+
+    @Nested
+    @DisplayName("onMessage() with delay queues")
+    class DelayQueueTests {
+
+        @Mock
+        private RabbitMQDelayQueueScheduler delayQueueScheduler;
+
+        @BeforeEach
+        void setUp() {
+            listener = new RabbitMQMessageListener(stepExecutor, registry, messageConverter, eventPublisher,
+                    null, null, delayQueueScheduler);
+        }
+
+        @Test
+        @DisplayName("Should send a retry not yet due down the ladder without executing it")
+        void shouldDelayRetryNotYetDue() {
+            // Given
+            WorkflowMessage workflowMessage = createMessage(WorkflowStatus.IN_PROGRESS);
+            messageProperties.setHeader(RabbitMQDelayQueueScheduler.DUE_HEADER,
+                    System.currentTimeMillis() + 30_000);
+            Message message = createAmqpMessage();
+            when(messageConverter.fromMessage(message)).thenReturn(workflowMessage);
+
+            // When
+            listener.onMessage(message, channel);
+
+            // Then
+            ArgumentCaptor<Duration> remaining = ArgumentCaptor.forClass(Duration.class);
+            verify(delayQueueScheduler).delay(eq(workflowMessage), eq("test-topic"), remaining.capture());
+            assertThat(remaining.getValue()).isBetween(
+                    Duration.ofSeconds(29), Duration.ofSeconds(30));
+            verify(stepExecutor, never()).execute(any());
+            verify(eventPublisher, never()).publishEvent(any());
+        }
+
+        @Test
+        @DisplayName("Should execute a due retry")
+        void shouldExecuteDueRetry() throws IOException {
+            // Given
+            WorkflowMessage workflowMessage = createMessage(WorkflowStatus.IN_PROGRESS);
+            messageProperties.setHeader(RabbitMQDelayQueueScheduler.DUE_HEADER,
+                    System.currentTimeMillis() - 1_000);
+            Message message = createAmqpMessage();
+            when(messageConverter.fromMessage(message)).thenReturn(workflowMessage);
+
+            // When
+            listener.onMessage(message, channel);
+
+            // Then
+            verify(delayQueueScheduler, never()).delay(any(), any(), any());
+            verify(stepExecutor).execute(workflowMessage);
+            verify(channel).basicAck(1L, false);
+        }
+
+        @Test
+        @DisplayName("Should requeue a retry that cannot be delayed again")
+        void shouldRequeueWhenDelayFails() throws IOException {
+            // Given
+            WorkflowMessage workflowMessage = createMessage(WorkflowStatus.IN_PROGRESS);
+            messageProperties.setHeader(RabbitMQDelayQueueScheduler.DUE_HEADER,
+                    System.currentTimeMillis() + 30_000);
+            Message message = createAmqpMessage();
+            when(messageConverter.fromMessage(message)).thenReturn(workflowMessage);
+            doThrow(new IllegalStateException("connection lost"))
+                    .when(delayQueueScheduler).delay(any(), any(), any());
+
+            // When
+            listener.onMessage(message, channel);
+
+            // Then
+            verify(channel).basicReject(1L, true);
+            verify(stepExecutor, never()).execute(any());
+        }
+    }
+
     private WorkflowMessage createMessage(WorkflowStatus status) {
         return WorkflowMessage.builder()
                 .executionId(UUID.randomUUID().toString())
@@ -207,4 +417,11 @@ class RabbitMQMessageListenerTest {
     private Message createAmqpMessage() {
         return new Message("test body".getBytes(), messageProperties);
     }
+
+    private Message createAmqpMessage(long deliveryTag) {
+        MessageProperties properties = new MessageProperties();
+        properties.setDeliveryTag(deliveryTag);
+        properties.setConsumerQueue("test-queue");
+        return new Message("test body".getBytes(), properties);
+    }
 }
\ No newline at end of file
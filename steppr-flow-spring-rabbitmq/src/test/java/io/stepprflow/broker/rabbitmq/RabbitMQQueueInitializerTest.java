@@ -160,8 +160,9 @@ class RabbitMQQueueInitializerTest {
             initializer.init();
 
             // Then
-            assertThat(initializer.getWorkflowQueueNames())
-                    .contains("wf1", "wf1.retry", "wf2", "wf2.retry");
+            assertThat(initializer.getWorkflowQueueNames()).containsExactly("wf1", "wf2");
+            assertThat(initializer.getEventQueueNames())
+                    .containsExactly("wf1.retry", "wf1.completed", "wf2.retry", "wf2.completed");
         }
 
         @Test
@@ -174,9 +175,53 @@ class RabbitMQQueueInitializerTest {
             initializer.init();
 
             // Then
-            // 2 exchanges + 4 queues per workflow (main, dlq, retry, completed) * 3 workflows = 12 queues
+            // 2 exchanges + 8 queues per workflow (main, dlq, retry, completed, 4 delays) * 3 workflows = 24 queues
             verify(rabbitAdmin, times(2)).declareExchange(any());
-            verify(rabbitAdmin, times(12)).declareQueue(any());
+            verify(rabbitAdmin, times(24)).declareQueue(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Delay queues")
+    class DelayQueueTests {
+
+        @Test
+        @DisplayName("Should create a TTL queue per delay dead-lettering to the workflow queue")
+        void shouldCreateDelayQueues() {
+            // Given
+            when(workflowRegistry.getTopics()).thenReturn(List.of("order-workflow"));
+
+            // When
+            initializer.init();
+
+            // Then
+            verify(rabbitAdmin, atLeast(1)).declareQueue(queueCaptor.capture());
+            List<Queue> delayQueues = queueCaptor.getAllValues().stream()
+                    .filter(q -> q.getName().startsWith("order-workflow.retry."))
+                    .toList();
+
+            assertThat(delayQueues).extracting(Queue::getName).containsExactly(
+                    "order-workflow.retry.1s", "order-workflow.retry.10s",
+                    "order-workflow.retry.1m", "order-workflow.retry.10m");
+            assertThat(delayQueues.get(1).getArguments())
+                    .containsEntry("x-message-ttl", 10_000)
+                    .containsEntry("x-dead-letter-exchange", "stepprflow-exchange")
+                    .containsEntry("x-dead-letter-routing-key", "order-workflow");
+            assertThat(initializer.getWorkflowQueueNames()).containsExactly("order-workflow");
+        }
+
+        @Test
+        @DisplayName("Should not create delay queues when disabled")
+        void shouldSkipDelayQueuesWhenDisabled() {
+            // Given
+            properties.getRabbitmq().getDelayQueues().setEnabled(false);
+            when(workflowRegistry.getTopics()).thenReturn(List.of("order-workflow"));
+
+            // When
+            initializer.init();
+
+            // Then
+            verify(rabbitAdmin, times(4)).declareQueue(any());
         }
     }
 
@@ -202,7 +247,7 @@ class RabbitMQQueueInitializerTest {
 
             // Then
             assertThat(initializer.getWorkflowQueueNames())
-                    .contains("my-workflow", "my-workflow.retry");
+                    .containsExactly("my-workflow");
         }
     }
 }
\ No newline at end of file
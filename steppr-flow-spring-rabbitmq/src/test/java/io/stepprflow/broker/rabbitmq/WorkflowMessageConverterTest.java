@@ -0,0 +1,71 @@
+package io.stepprflow.broker.rabbitmq;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.stepprflow.core.model.WorkflowMessage;
+import io.stepprflow.core.model.WorkflowStatus;
+import io.stepprflow.core.wire.JacksonWireCodec;
+import io.stepprflow.core.wire.WireCodecRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.MessageConversionException;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("WorkflowMessageConverter Tests")
+class WorkflowMessageConverterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private final WorkflowMessage message = WorkflowMessage.builder()
+            .executionId("exec-1")
+            .topic("orders")
+            .currentStep(1)
+            .status(WorkflowStatus.PENDING)
+            .payload(Map.of("orderId", "ORD-1"))
+            .build();
+
+    private WorkflowMessageConverter converter(String contentType) {
+        return new WorkflowMessageConverter(new WireCodecRegistry(objectMapper, contentType, List.of()));
+    }
+
+    @Test
+    @DisplayName("Should set the content type and read it back")
+    void shouldRoundTrip() {
+        MessageProperties properties = new MessageProperties();
+        properties.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+
+        Message amqpMessage = converter(JacksonWireCodec.SMILE).toMessage(message, properties);
+
+        assertThat(amqpMessage.getMessageProperties().getContentType()).isEqualTo(JacksonWireCodec.SMILE);
+        WorkflowMessage decoded = (WorkflowMessage) converter(JacksonWireCodec.JSON).fromMessage(amqpMessage);
+        assertThat(decoded.getExecutionId()).isEqualTo("exec-1");
+        assertThat(decoded.getPayload()).isEqualTo(Map.of("orderId", "ORD-1"));
+    }
+
+    @Test
+    @DisplayName("Should read JSON messages from former producers")
+    void shouldReadLegacyJson() throws Exception {
+        MessageProperties properties = new MessageProperties();
+        properties.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+        properties.setHeader("__TypeId__", "com.example.Exploit");
+        Message amqpMessage = new Message(objectMapper.writeValueAsBytes(message), properties);
+
+        WorkflowMessage decoded = (WorkflowMessage) converter(JacksonWireCodec.SMILE).fromMessage(amqpMessage);
+
+        assertThat(decoded.getExecutionId()).isEqualTo("exec-1");
+    }
+
+    @Test
+    @DisplayName("Should reject objects other than workflow messages")
+    void shouldRejectOtherObjects() {
+        assertThatThrownBy(() -> converter(JacksonWireCodec.JSON).toMessage("text", new MessageProperties()))
+                .isInstanceOf(MessageConversionException.class);
+    }
+}
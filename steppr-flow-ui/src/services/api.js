@@ -142,7 +142,9 @@ export const dashboardApi = {
 export const metricsApi = {
   getDashboard: () => api.get('/metrics'),
   getWorkflowMetrics: (topic) => api.get(`/metrics/${topic}`),
-  getSummary: () => api.get('/metrics/summary')
+  getSummary: () => api.get('/metrics/summary'),
+  getBacklog: () => api.get('/metrics/backlog'),
+  getRolling: () => api.get('/metrics/rolling')
 }
 
 // Circuit breaker endpoints (monitor module)
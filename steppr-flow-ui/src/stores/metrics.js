@@ -17,6 +17,13 @@ export const useMetricsStore = defineStore('metrics', () => {
     workflowMetrics: []
   })
 
+  // Throughput and latency percentiles over 1m/5m/15m windows
+  const rolling = ref({
+    global: {},
+    workflows: [],
+    steps: []
+  })
+
   const loading = ref(false)
   const error = ref(null)
   const lastUpdated = ref(null)
@@ -101,6 +108,20 @@ export const useMetricsStore = defineStore('metrics', () => {
     }
   }
 
+  async function fetchRolling() {
+    try {
+      const { data } = await metricsApi.getRolling()
+      rolling.value = {
+        global: data?.global ?? {},
+        workflows: Array.isArray(data?.workflows) ? data.workflows : [],
+        steps: Array.isArray(data?.steps) ? data.steps : []
+      }
+    } catch (e) {
+      console.error('Failed to fetch rolling metrics:', e)
+      // Keep previous values on error
+    }
+  }
+
   function clearError() {
     error.value = null
   }
@@ -169,6 +190,7 @@ export const useMetricsStore = defineStore('metrics', () => {
   return {
     // State
     dashboard,
+    rolling,
     loading,
     error,
     lastUpdated,
@@ -183,6 +205,7 @@ export const useMetricsStore = defineStore('metrics', () => {
     // Actions
     fetchDashboard,
     fetchWorkflowMetrics,
+    fetchRolling,
     fetchCircuitBreakers,
     fetchCircuitBreakerConfig,
     resetCircuitBreaker,
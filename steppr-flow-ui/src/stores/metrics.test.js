@@ -7,7 +7,8 @@ import { metricsApi, circuitBreakerApi } from '@/services/api'
 vi.mock('@/services/api', () => ({
   metricsApi: {
     getDashboard: vi.fn(),
-    getWorkflowMetrics: vi.fn()
+    getWorkflowMetrics: vi.fn(),
+    getRolling: vi.fn()
   },
   circuitBreakerApi: {
     getAll: vi.fn(),
@@ -182,6 +183,34 @@ describe('MetricsStore', () => {
     })
   })
 
+  describe('fetchRolling', () => {
+    it('should store rolling windows', async () => {
+      const oneMinute = { window: '1m', completedPerSecond: 2.5, p99Ms: 180 }
+      metricsApi.getRolling.mockResolvedValue({
+        data: {
+          global: { '1m': oneMinute },
+          workflows: [{ topic: 'order-workflow', serviceName: 'svc', windows: { '1m': oneMinute } }],
+          steps: []
+        }
+      })
+
+      await store.fetchRolling()
+
+      expect(store.rolling.global['1m'].p99Ms).toBe(180)
+      expect(store.rolling.workflows).toHaveLength(1)
+      expect(store.rolling.steps).toEqual([])
+    })
+
+    it('should keep previous windows on error', async () => {
+      store.rolling.workflows = [{ topic: 'order-workflow' }]
+      metricsApi.getRolling.mockRejectedValue(new Error('Network error'))
+
+      await store.fetchRolling()
+
+      expect(store.rolling.workflows).toHaveLength(1)
+    })
+  })
+
   describe('circuit breakers', () => {
     describe('fetchCircuitBreakers', () => {
       it('should fetch all circuit breakers', async () => {
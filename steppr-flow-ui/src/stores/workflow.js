@@ -17,6 +17,8 @@ export const useWorkflowStore = defineStore('workflow', () => {
   const executions = ref([])
   const recentExecutions = ref([])
   const workflows = ref([])
+  // Broker backlog (consumer lag / queue depth), when collected
+  const backlog = ref({ enabled: false, total: 0, topics: {}, queues: [] })
   const currentExecution = ref(null)
   const loading = ref(false)
 
@@ -83,6 +85,7 @@ export const useWorkflowStore = defineStore('workflow', () => {
       stats.value = data.stats || stats.value
       recentExecutions.value = data.recentExecutions || []
       workflows.value = data.workflows || []
+      backlog.value = data.backlog || backlog.value
     } catch (e) {
       setError(e)
     } finally {
@@ -241,6 +244,7 @@ export const useWorkflowStore = defineStore('workflow', () => {
     executions,
     recentExecutions,
     workflows,
+    backlog,
     currentExecution,
     loading,
     error,
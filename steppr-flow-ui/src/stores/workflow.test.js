@@ -89,6 +89,22 @@ describe('WorkflowStore', () => {
       expect(store.workflows).toHaveLength(1)
     })
 
+    it('should update broker backlog', async () => {
+      const backlog = {
+        enabled: true,
+        total: 12,
+        topics: { 'order-workflow': 12 },
+        queues: [{ topic: 'order-workflow', queue: 'order-workflow-0', backlog: 12, consumers: 1 }]
+      }
+      dashboardApi.getOverview.mockResolvedValue({ data: { stats: {}, backlog } })
+
+      await store.fetchDashboard()
+
+      expect(store.backlog.enabled).toBe(true)
+      expect(store.backlog.total).toBe(12)
+      expect(store.backlog.queues).toHaveLength(1)
+    })
+
     it('should set loading state during fetch', async () => {
       dashboardApi.getOverview.mockImplementation(() => new Promise(resolve => {
         expect(store.loading).toBe(true)